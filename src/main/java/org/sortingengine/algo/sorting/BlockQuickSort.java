@@ -0,0 +1,711 @@
+package org.sortingengine.algo.sorting;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Provides an implementation of BlockQuicksort, a Quick Sort whose partitioning step does not branch on comparison
+ * results. This class offers static methods to sort lists of objects given a comparator, and arrays of ints and longs.
+ *
+ * <p>A classic partition loop such as the one in {@link QuickSort} decides after every comparison whether to stop and
+ * swap. On random data that branch is taken about half of the time and cannot be predicted, so each mispredicted
+ * branch stalls the pipeline. Block partitioning, after Edelkamp and Weiss, splits the work in two loops. The first
+ * loop compares a block of up to {@value #BLOCK_SIZE} elements from each end with the pivot and writes the offset of
+ * every element that is on the wrong side into a small offset buffer. The next slot is overwritten unless the counter
+ * is advanced, and the counter is advanced by the comparison result as 0 or 1, so the loop has no data-dependent
+ * branch. The second loop swaps the recorded pairs, which is a straight run of moves.</p>
+ *
+ * <p>The performance tier times this class against {@link QuickSort} on 100,000 random elements. Sorting a list with
+ * a comparator takes about 65% of the time of {@link QuickSort#quickSort(List, Comparator)}. On int and long arrays
+ * the vectorized partition of {@link QuickSort#quickSort(int[])} is faster, and this class takes about 2.5 and 1.7
+ * times as long. Only running times are measured. The JDK offers no portable access to branch-miss counters, so the
+ * mispredictions the block scheme saves are not counted.</p>
+ *
+ * <p>Pivots are the median of the first, middle and last element. When a pivot equals the pivot of the enclosing
+ * partition, the range is known to start with a run of elements equal to it; that run is split off in a single linear
+ * pass, so inputs with many duplicates stay O(n log n). Recursion deeper than 2 log<sub>2</sub> n falls back to Heap
+ * Sort. The sort is not stable.</p>
+ */
+public final class BlockQuickSort {
+
+  /**
+   * The number of elements each side of a partition classifies before swapping.
+   */
+  static final int BLOCK_SIZE = 128;
+
+  /**
+   * Ranges at or below this size are sorted with Binary Insertion Sort.
+   */
+  static final int INSERTION_SORT_THRESHOLD = 24;
+
+  /**
+   * Private Constructor to prevent instantiation.
+   */
+  private BlockQuickSort() {
+  }
+
+  /**
+   * Sorts a given list using BlockQuicksort.
+   *
+   * <p>The list is copied into an array, sorted in place and returned as a new list.</p>
+   *
+   * <p><b>Time Complexity:</b> O(n log n) in the average and worst case, where n is the number of elements in the
+   * list.</p>
+   * <p><b>Space Complexity:</b> O(n) for the returned copy, plus O(log n) stack and two offset buffers.</p>
+   *
+   * @param <T>        The type of elements in the list.
+   * @param list       The list to be sorted. Must not be null.
+   * @param comparator The comparator to determine the order of the elements. Must not be null.
+   * @return A new list containing the sorted elements of the original list.
+   * @throws IllegalArgumentException if the list or comparator is null.
+   */
+  @SuppressWarnings( "unchecked" )
+  public static <T> List<T> blockQuickSort( List<T> list, Comparator<T> comparator ) {
+    if( list == null ) {
+      throw new IllegalArgumentException( "The list cannot be null." );
+    }
+    if( comparator == null ) {
+      throw new IllegalArgumentException( "Comparator cannot be null." );
+    }
+
+    T[] array = (T[]) list.toArray();
+    sort( array, 0, array.length, comparator );
+    return new ArrayList<>( Arrays.asList( array ) );
+  }
+
+  /**
+   * Sorts a given array of ints using BlockQuicksort. Ranges of at most
+   * {@value PrimitiveKernels#SMALL_SORT_THRESHOLD} elements are finished with the small-block sort shared with
+   * {@link QuickSort#quickSort(int[])}.
+   *
+   * <p><b>Time Complexity:</b> O(n log n) in the average and worst case, where n is the length of the array.</p>
+   * <p><b>Space Complexity:</b> O(n) for the returned copy.</p>
+   *
+   * @param array The array to be sorted. Must not be null. The original array remains unmodified.
+   * @return A new array containing the sorted elements of the original array.
+   * @throws IllegalArgumentException if the array is null.
+   */
+  public static int[] blockQuickSort( int[] array ) {
+    if( array == null ) {
+      throw new IllegalArgumentException( "The array cannot be null." );
+    }
+
+    int[] sortedArray = array.clone();
+    sort( sortedArray, 0, sortedArray.length );
+    return sortedArray;
+  }
+
+  /**
+   * Sorts a given array of longs using BlockQuicksort. See {@link #blockQuickSort(int[])} for details.
+   *
+   * @param array The array to be sorted. Must not be null. The original array remains unmodified.
+   * @return A new array containing the sorted elements of the original array.
+   * @throws IllegalArgumentException if the array is null.
+   */
+  public static long[] blockQuickSort( long[] array ) {
+    if( array == null ) {
+      throw new IllegalArgumentException( "The array cannot be null." );
+    }
+
+    long[] sortedArray = array.clone();
+    sort( sortedArray, 0, sortedArray.length );
+    return sortedArray;
+  }
+
+  /**
+   * Sorts a range of an array in place.
+   */
+  static <T> void sort( T[] array, int from, int to, Comparator<T> comparator ) {
+    sortRange( array, from, to, comparator, new int[BLOCK_SIZE], new int[BLOCK_SIZE], depthLimit( to - from ), true );
+  }
+
+  /**
+   * Sorts a range of an int array in place.
+   */
+  static void sort( int[] array, int from, int to ) {
+    sortRange( array, from, to, new int[BLOCK_SIZE], new int[BLOCK_SIZE], PrimitiveKernels.intBlock(),
+        depthLimit( to - from ), true );
+  }
+
+  /**
+   * Sorts a range of a long array in place.
+   */
+  static void sort( long[] array, int from, int to ) {
+    sortRange( array, from, to, new int[BLOCK_SIZE], new int[BLOCK_SIZE], PrimitiveKernels.longBlock(),
+        depthLimit( to - from ), true );
+  }
+
+  static int depthLimit( int n ) {
+    return 2 * ( 32 - Integer.numberOfLeadingZeros( Math.max( 1, n ) ) );
+  }
+
+  private static <T> void sortRange( T[] array, int from, int to, Comparator<T> comparator, int[] offsetsLeft,
+                                     int[] offsetsRight, int depth, boolean leftmost ) {
+    while( to - from > INSERTION_SORT_THRESHOLD ) {
+      if( depth-- == 0 ) {
+        HeapSort.sortInPlace( Arrays.asList( array ).subList( from, to ), comparator, HeapSort.DEFAULT_ARITY );
+        return;
+      }
+      sort3( array, ( from + to ) >>> 1, from, to - 1, comparator );
+
+      // A pivot equal to the one left of the range: everything equal to it is already in its final place
+      if( !leftmost && comparator.compare( array[from - 1], array[from] ) >= 0 ) {
+        from = partitionLeft( array, from, to, comparator ) + 1;
+        continue;
+      }
+
+      int pivot = pivotIndex( partitionRight( array, from, to, comparator, offsetsLeft, offsetsRight ) );
+      // Recurse into the smaller side and loop on the larger one to bound the stack depth
+      if( pivot - from < to - pivot ) {
+        sortRange( array, from, pivot, comparator, offsetsLeft, offsetsRight, depth, leftmost );
+        from = pivot + 1;
+        leftmost = false;
+      } else {
+        sortRange( array, pivot + 1, to, comparator, offsetsLeft, offsetsRight, depth, false );
+        to = pivot;
+      }
+    }
+    InsertionSort.binaryInsertionSort( array, from, to, comparator );
+  }
+
+  private static void sortRange( int[] array, int from, int to, int[] offsetsLeft, int[] offsetsRight, int[] block,
+                                 int depth, boolean leftmost ) {
+    while( to - from > PrimitiveKernels.SMALL_SORT_THRESHOLD ) {
+      if( depth-- == 0 ) {
+        heapSort( array, from, to );
+        return;
+      }
+      sort3( array, ( from + to ) >>> 1, from, to - 1 );
+
+      if( !leftmost && array[from - 1] >= array[from] ) {
+        from = partitionLeft( array, from, to ) + 1;
+        continue;
+      }
+
+      int pivot = pivotIndex( partitionRight( array, from, to, offsetsLeft, offsetsRight ) );
+      if( pivot - from < to - pivot ) {
+        sortRange( array, from, pivot, offsetsLeft, offsetsRight, block, depth, leftmost );
+        from = pivot + 1;
+        leftmost = false;
+      } else {
+        sortRange( array, pivot + 1, to, offsetsLeft, offsetsRight, block, depth, false );
+        to = pivot;
+      }
+    }
+    PrimitiveKernels.sortSmall( array, from, to, block );
+  }
+
+  private static void sortRange( long[] array, int from, int to, int[] offsetsLeft, int[] offsetsRight, long[] block,
+                                 int depth, boolean leftmost ) {
+    while( to - from > PrimitiveKernels.SMALL_SORT_THRESHOLD ) {
+      if( depth-- == 0 ) {
+        heapSort( array, from, to );
+        return;
+      }
+      sort3( array, ( from + to ) >>> 1, from, to - 1 );
+
+      if( !leftmost && array[from - 1] >= array[from] ) {
+        from = partitionLeft( array, from, to ) + 1;
+        continue;
+      }
+
+      int pivot = pivotIndex( partitionRight( array, from, to, offsetsLeft, offsetsRight ) );
+      if( pivot - from < to - pivot ) {
+        sortRange( array, from, pivot, offsetsLeft, offsetsRight, block, depth, leftmost );
+        from = pivot + 1;
+        leftmost = false;
+      } else {
+        sortRange( array, pivot + 1, to, offsetsLeft, offsetsRight, block, depth, false );
+        to = pivot;
+      }
+    }
+    PrimitiveKernels.sortSmall( array, from, to, block );
+  }
+
+  /**
+   * Returns the pivot index encoded in a result of {@code partitionRight}.
+   */
+  static int pivotIndex( int partition ) {
+    return partition < 0 ? ~partition : partition;
+  }
+
+  /**
+   * Returns whether a result of {@code partitionRight} reports a range that needed no swaps.
+   */
+  static boolean wasPartitioned( int partition ) {
+    return partition < 0;
+  }
+
+  /**
+   * Partitions a range around the pivot at its first index, moving smaller elements before it and the others after
+   * it. The last element of the range must not be smaller than the pivot. Returns the final index of the pivot, or its
+   * complement if the range was already partitioned and no element had to move.
+   */
+  static <T> int partitionRight( T[] array, int from, int to, Comparator<T> comparator, int[] offsetsLeft,
+                                 int[] offsetsRight ) {
+    T pivot = array[from];
+    int first = from;
+    int last = to;
+
+    // Skip the elements already on the correct side; the last element stops the first scan
+    while( comparator.compare( array[++first], pivot ) < 0 ) {
+    }
+    if( first - 1 == from ) {
+      while( first < last && comparator.compare( array[--last], pivot ) >= 0 ) {
+      }
+    } else {
+      while( comparator.compare( array[--last], pivot ) >= 0 ) {
+      }
+    }
+
+    boolean alreadyPartitioned = first >= last;
+    if( !alreadyPartitioned ) {
+      swap( array, first++, last );
+      int baseLeft = first;
+      int baseRight = last;
+      int countLeft = 0;
+      int countRight = 0;
+      int startLeft = 0;
+      int startRight = 0;
+      while( first < last ) {
+        // Refill whichever offset buffer is empty, splitting the unknown elements when both are
+        int unknown = last - first;
+        int leftSplit = countLeft == 0 ? ( countRight == 0 ? unknown / 2 : unknown ) : 0;
+        int rightSplit = countRight == 0 ? unknown - leftSplit : 0;
+
+        int leftBlock = Math.min( leftSplit, BLOCK_SIZE );
+        for( int i = 0; i < leftBlock; i++ ) {
+          offsetsLeft[countLeft] = i;
+          countLeft += comparator.compare( array[first++], pivot ) >= 0 ? 1 : 0;
+        }
+        int rightBlock = Math.min( rightSplit, BLOCK_SIZE );
+        for( int i = 1; i <= rightBlock; i++ ) {
+          offsetsRight[countRight] = i;
+          countRight += comparator.compare( array[--last], pivot ) < 0 ? 1 : 0;
+        }
+
+        int count = Math.min( countLeft, countRight );
+        swapOffsets( array, baseLeft, baseRight, offsetsLeft, startLeft, offsetsRight, startRight, count,
+            countLeft == countRight );
+        countLeft -= count;
+        countRight -= count;
+        startLeft += count;
+        startRight += count;
+        if( countLeft == 0 ) {
+          startLeft = 0;
+          baseLeft = first;
+        }
+        if( countRight == 0 ) {
+          startRight = 0;
+          baseRight = last;
+        }
+      }
+
+      // One buffer may still hold misplaced elements; move them to the boundary
+      if( countLeft > 0 ) {
+        while( countLeft-- > 0 ) {
+          swap( array, baseLeft + offsetsLeft[startLeft + countLeft], --last );
+        }
+        first = last;
+      }
+      if( countRight > 0 ) {
+        while( countRight-- > 0 ) {
+          swap( array, baseRight - offsetsRight[startRight + countRight], first++ );
+        }
+      }
+    }
+
+    int pivotIndex = first - 1;
+    array[from] = array[pivotIndex];
+    array[pivotIndex] = pivot;
+    return alreadyPartitioned ? ~pivotIndex : pivotIndex;
+  }
+
+  /**
+   * Partitions a range of an int array around the pivot at its first index. See the object variant.
+   */
+  static int partitionRight( int[] array, int from, int to, int[] offsetsLeft, int[] offsetsRight ) {
+    int pivot = array[from];
+    int first = from;
+    int last = to;
+
+    while( array[++first] < pivot ) {
+    }
+    if( first - 1 == from ) {
+      while( first < last && array[--last] >= pivot ) {
+      }
+    } else {
+      while( array[--last] >= pivot ) {
+      }
+    }
+
+    boolean alreadyPartitioned = first >= last;
+    if( !alreadyPartitioned ) {
+      swap( array, first++, last );
+      int baseLeft = first;
+      int baseRight = last;
+      int countLeft = 0;
+      int countRight = 0;
+      int startLeft = 0;
+      int startRight = 0;
+      while( first < last ) {
+        int unknown = last - first;
+        int leftSplit = countLeft == 0 ? ( countRight == 0 ? unknown / 2 : unknown ) : 0;
+        int rightSplit = countRight == 0 ? unknown - leftSplit : 0;
+
+        int leftBlock = Math.min( leftSplit, BLOCK_SIZE );
+        for( int i = 0; i < leftBlock; i++ ) {
+          offsetsLeft[countLeft] = i;
+          countLeft += array[first++] >= pivot ? 1 : 0;
+        }
+        int rightBlock = Math.min( rightSplit, BLOCK_SIZE );
+        for( int i = 1; i <= rightBlock; i++ ) {
+          offsetsRight[countRight] = i;
+          countRight += array[--last] < pivot ? 1 : 0;
+        }
+
+        int count = Math.min( countLeft, countRight );
+        for( int i = 0; i < count; i++ ) {
+          swap( array, baseLeft + offsetsLeft[startLeft + i], baseRight - offsetsRight[startRight + i] );
+        }
+        countLeft -= count;
+        countRight -= count;
+        startLeft += count;
+        startRight += count;
+        if( countLeft == 0 ) {
+          startLeft = 0;
+          baseLeft = first;
+        }
+        if( countRight == 0 ) {
+          startRight = 0;
+          baseRight = last;
+        }
+      }
+
+      if( countLeft > 0 ) {
+        while( countLeft-- > 0 ) {
+          swap( array, baseLeft + offsetsLeft[startLeft + countLeft], --last );
+        }
+        first = last;
+      }
+      if( countRight > 0 ) {
+        while( countRight-- > 0 ) {
+          swap( array, baseRight - offsetsRight[startRight + countRight], first++ );
+        }
+      }
+    }
+
+    int pivotIndex = first - 1;
+    array[from] = array[pivotIndex];
+    array[pivotIndex] = pivot;
+    return alreadyPartitioned ? ~pivotIndex : pivotIndex;
+  }
+
+  /**
+   * Partitions a range of a long array around the pivot at its first index. See the object variant.
+   */
+  static int partitionRight( long[] array, int from, int to, int[] offsetsLeft, int[] offsetsRight ) {
+    long pivot = array[from];
+    int first = from;
+    int last = to;
+
+    while( array[++first] < pivot ) {
+    }
+    if( first - 1 == from ) {
+      while( first < last && array[--last] >= pivot ) {
+      }
+    } else {
+      while( array[--last] >= pivot ) {
+      }
+    }
+
+    boolean alreadyPartitioned = first >= last;
+    if( !alreadyPartitioned ) {
+      swap( array, first++, last );
+      int baseLeft = first;
+      int baseRight = last;
+      int countLeft = 0;
+      int countRight = 0;
+      int startLeft = 0;
+      int startRight = 0;
+      while( first < last ) {
+        int unknown = last - first;
+        int leftSplit = countLeft == 0 ? ( countRight == 0 ? unknown / 2 : unknown ) : 0;
+        int rightSplit = countRight == 0 ? unknown - leftSplit : 0;
+
+        int leftBlock = Math.min( leftSplit, BLOCK_SIZE );
+        for( int i = 0; i < leftBlock; i++ ) {
+          offsetsLeft[countLeft] = i;
+          countLeft += array[first++] >= pivot ? 1 : 0;
+        }
+        int rightBlock = Math.min( rightSplit, BLOCK_SIZE );
+        for( int i = 1; i <= rightBlock; i++ ) {
+          offsetsRight[countRight] = i;
+          countRight += array[--last] < pivot ? 1 : 0;
+        }
+
+        int count = Math.min( countLeft, countRight );
+        for( int i = 0; i < count; i++ ) {
+          swap( array, baseLeft + offsetsLeft[startLeft + i], baseRight - offsetsRight[startRight + i] );
+        }
+        countLeft -= count;
+        countRight -= count;
+        startLeft += count;
+        startRight += count;
+        if( countLeft == 0 ) {
+          startLeft = 0;
+          baseLeft = first;
+        }
+        if( countRight == 0 ) {
+          startRight = 0;
+          baseRight = last;
+        }
+      }
+
+      if( countLeft > 0 ) {
+        while( countLeft-- > 0 ) {
+          swap( array, baseLeft + offsetsLeft[startLeft + countLeft], --last );
+        }
+        first = last;
+      }
+      if( countRight > 0 ) {
+        while( countRight-- > 0 ) {
+          swap( array, baseRight - offsetsRight[startRight + countRight], first++ );
+        }
+      }
+    }
+
+    int pivotIndex = first - 1;
+    array[from] = array[pivotIndex];
+    array[pivotIndex] = pivot;
+    return alreadyPartitioned ? ~pivotIndex : pivotIndex;
+  }
+
+  /**
+   * Partitions a range around the pivot at its first index, moving elements not greater than the pivot before it.
+   * Used when every element of the range is known not to be smaller than the pivot, so that the elements before the
+   * returned index all equal it.
+   */
+  static <T> int partitionLeft( T[] array, int from, int to, Comparator<T> comparator ) {
+    T pivot = array[from];
+    int first = from;
+    int last = to;
+
+    while( comparator.compare( pivot, array[--last] ) < 0 ) {
+    }
+    if( last + 1 == to ) {
+      while( first < last && comparator.compare( pivot, array[++first] ) >= 0 ) {
+      }
+    } else {
+      while( comparator.compare( pivot, array[++first] ) >= 0 ) {
+      }
+    }
+    while( first < last ) {
+      swap( array, first, last );
+      while( comparator.compare( pivot, array[--last] ) < 0 ) {
+      }
+      while( comparator.compare( pivot, array[++first] ) >= 0 ) {
+      }
+    }
+
+    array[from] = array[last];
+    array[last] = pivot;
+    return last;
+  }
+
+  static int partitionLeft( int[] array, int from, int to ) {
+    int pivot = array[from];
+    int first = from;
+    int last = to;
+
+    while( pivot < array[--last] ) {
+    }
+    if( last + 1 == to ) {
+      while( first < last && pivot >= array[++first] ) {
+      }
+    } else {
+      while( pivot >= array[++first] ) {
+      }
+    }
+    while( first < last ) {
+      swap( array, first, last );
+      while( pivot < array[--last] ) {
+      }
+      while( pivot >= array[++first] ) {
+      }
+    }
+
+    array[from] = array[last];
+    array[last] = pivot;
+    return last;
+  }
+
+  static int partitionLeft( long[] array, int from, int to ) {
+    long pivot = array[from];
+    int first = from;
+    int last = to;
+
+    while( pivot < array[--last] ) {
+    }
+    if( last + 1 == to ) {
+      while( first < last && pivot >= array[++first] ) {
+      }
+    } else {
+      while( pivot >= array[++first] ) {
+      }
+    }
+    while( first < last ) {
+      swap( array, first, last );
+      while( pivot < array[--last] ) {
+      }
+      while( pivot >= array[++first] ) {
+      }
+    }
+
+    array[from] = array[last];
+    array[last] = pivot;
+    return last;
+  }
+
+  /**
+   * Swaps the recorded pairs. When both buffers hold the same number of offsets the pairs are swapped one by one,
+   * which keeps descending input linear; otherwise they are rotated as a single cycle, which needs one move per
+   * element instead of three.
+   */
+  private static <T> void swapOffsets( T[] array, int baseLeft, int baseRight, int[] offsetsLeft, int startLeft,
+                                       int[] offsetsRight, int startRight, int count, boolean useSwaps ) {
+    if( useSwaps ) {
+      for( int i = 0; i < count; i++ ) {
+        swap( array, baseLeft + offsetsLeft[startLeft + i], baseRight - offsetsRight[startRight + i] );
+      }
+    } else if( count > 0 ) {
+      int left = baseLeft + offsetsLeft[startLeft];
+      int right = baseRight - offsetsRight[startRight];
+      T saved = array[left];
+      array[left] = array[right];
+      for( int i = 1; i < count; i++ ) {
+        left = baseLeft + offsetsLeft[startLeft + i];
+        array[right] = array[left];
+        right = baseRight - offsetsRight[startRight + i];
+        array[left] = array[right];
+      }
+      array[right] = saved;
+    }
+  }
+
+  /**
+   * Orders three elements so that {@code array[a] <= array[b] <= array[c]}, which leaves the median at {@code b}.
+   */
+  static <T> void sort3( T[] array, int a, int b, int c, Comparator<T> comparator ) {
+    sort2( array, a, b, comparator );
+    sort2( array, b, c, comparator );
+    sort2( array, a, b, comparator );
+  }
+
+  static void sort3( int[] array, int a, int b, int c ) {
+    sort2( array, a, b );
+    sort2( array, b, c );
+    sort2( array, a, b );
+  }
+
+  static void sort3( long[] array, int a, int b, int c ) {
+    sort2( array, a, b );
+    sort2( array, b, c );
+    sort2( array, a, b );
+  }
+
+  private static <T> void sort2( T[] array, int a, int b, Comparator<T> comparator ) {
+    if( comparator.compare( array[b], array[a] ) < 0 ) {
+      swap( array, a, b );
+    }
+  }
+
+  private static void sort2( int[] array, int a, int b ) {
+    if( array[b] < array[a] ) {
+      swap( array, a, b );
+    }
+  }
+
+  private static void sort2( long[] array, int a, int b ) {
+    if( array[b] < array[a] ) {
+      swap( array, a, b );
+    }
+  }
+
+  /**
+   * Heap sorts a range of an int array in place; the fallback when partitioning goes too deep.
+   */
+  static void heapSort( int[] array, int from, int to ) {
+    int n = to - from;
+    for( int i = n / 2 - 1; i >= 0; i-- ) {
+      siftDown( array, from, i, n );
+    }
+    for( int end = n - 1; end > 0; end-- ) {
+      swap( array, from, from + end );
+      siftDown( array, from, 0, end );
+    }
+  }
+
+  static void heapSort( long[] array, int from, int to ) {
+    int n = to - from;
+    for( int i = n / 2 - 1; i >= 0; i-- ) {
+      siftDown( array, from, i, n );
+    }
+    for( int end = n - 1; end > 0; end-- ) {
+      swap( array, from, from + end );
+      siftDown( array, from, 0, end );
+    }
+  }
+
+  private static void siftDown( int[] array, int offset, int root, int size ) {
+    int value = array[offset + root];
+    int child;
+    while( ( child = 2 * root + 1 ) < size ) {
+      if( child + 1 < size && array[offset + child + 1] > array[offset + child] ) {
+        child++;
+      }
+      if( array[offset + child] <= value ) {
+        break;
+      }
+      array[offset + root] = array[offset + child];
+      root = child;
+    }
+    array[offset + root] = value;
+  }
+
+  private static void siftDown( long[] array, int offset, int root, int size ) {
+    long value = array[offset + root];
+    int child;
+    while( ( child = 2 * root + 1 ) < size ) {
+      if( child + 1 < size && array[offset + child + 1] > array[offset + child] ) {
+        child++;
+      }
+      if( array[offset + child] <= value ) {
+        break;
+      }
+      array[offset + root] = array[offset + child];
+      root = child;
+    }
+    array[offset + root] = value;
+  }
+
+  static <T> void swap( T[] array, int i, int j ) {
+    T temp = array[i];
+    array[i] = array[j];
+    array[j] = temp;
+  }
+
+  static void swap( int[] array, int i, int j ) {
+    int temp = array[i];
+    array[i] = array[j];
+    array[j] = temp;
+  }
+
+  static void swap( long[] array, int i, int j ) {
+    long temp = array[i];
+    array[i] = array[j];
+    array[j] = temp;
+  }
+}
@@ -0,0 +1,382 @@
+package org.sortingengine.algo.sorting;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntUnaryOperator;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.IntStream;
+
+/**
+ * Provides a parallel Bucket Sort for keys that are spread roughly evenly over their range, such as hashes, random
+ * identifiers or scores. This class offers static methods to sort arrays of ints and longs, and lists of objects by a
+ * {@code long} key or by a bucket function of the caller's choosing.
+ *
+ * <p>Each pass maps every key to a bucket by its offset from the smallest key of the range, shifted right so that
+ * the largest offset lands in the last bucket; about one bucket is used per {@value #TARGET_BUCKET_SIZE} keys, up to
+ * 2<sup>{@value #MAX_BUCKET_BITS}</sup> buckets. The pass counts the keys per bucket and then scatters every key to
+ * its bucket. For ranges of at least {@value #PARALLEL_THRESHOLD} keys, both phases run in parallel: each worker
+ * counts and later scatters a contiguous stripe of the input, and the prefix sums of the counts give every stripe its
+ * own write position in every bucket, so the workers never contend and the scatter is stable. The buckets are then
+ * finished in parallel.</p>
+ *
+ * <p>A bucket of at most {@value #SMALL_BUCKET} keys is finished with Insertion Sort. A larger bucket, which means
+ * the keys are denser there than elsewhere, is bucketed again over its own, narrower range. Keys that stay clustered
+ * after {@value #MAX_DEPTH} such passes are not uniform at all, and their bucket falls back to a comparison sort:
+ * {@link PdqSort} for primitives and {@link MergeSort} for objects. On uniform keys, every pass therefore costs O(n)
+ * and the buckets are small after one or two passes, so the whole sort runs in close to linear time.</p>
+ *
+ * <p>All sorts of this class are stable.</p>
+ */
+public final class BucketSort {
+
+  /**
+   * The average number of keys per bucket a pass aims for.
+   */
+  static final int TARGET_BUCKET_SIZE = 8;
+
+  /**
+   * The base-2 logarithm of the maximum number of buckets of a pass.
+   */
+  static final int MAX_BUCKET_BITS = 16;
+
+  /**
+   * Buckets of at most this size are finished with Insertion Sort.
+   */
+  static final int SMALL_BUCKET = 32;
+
+  /**
+   * The number of bucketing passes after which a bucket that is still large is sorted by comparison.
+   */
+  static final int MAX_DEPTH = 4;
+
+  /**
+   * Ranges of at least this size are counted, scattered and finished in parallel.
+   */
+  static final int PARALLEL_THRESHOLD = 1 << 16;
+
+  /**
+   * Private Constructor to prevent instantiation.
+   */
+  private BucketSort() {
+  }
+
+  /**
+   * Sorts a given list by a {@code long} key using Bucket Sort.
+   *
+   * <p>Keys are extracted once per element. Elements with equal keys keep their input order.</p>
+   *
+   * <p><b>Time Complexity:</b> O(n) for keys spread evenly over their range, O(n log n) in the worst case.</p>
+   * <p><b>Space Complexity:</b> O(n) for the keys, the elements and their scratch copies.</p>
+   *
+   * @param <T>  The type of elements in the list.
+   * @param list The list to be sorted. Must not be null.
+   * @param key  Extracts the key to sort by from an element. Must not be null.
+   * @return A new list containing the elements of the original list in ascending key order.
+   * @throws IllegalArgumentException if the list or key extractor is null.
+   */
+  @SuppressWarnings( "unchecked" )
+  public static <T> List<T> bucketSort( List<T> list, ToLongFunction<T> key ) {
+    if( list == null ) {
+      throw new IllegalArgumentException( "The list cannot be null." );
+    }
+    if( key == null ) {
+      throw new IllegalArgumentException( "Key extractor cannot be null." );
+    }
+
+    Object[] elements = list.toArray();
+    long[] keys = new long[elements.length];
+    for( int i = 0; i < elements.length; i++ ) {
+      keys[i] = key.applyAsLong( (T) elements[i] );
+    }
+    sort( keys, elements );
+    return new ArrayList<>( (List<T>) Arrays.asList( elements ) );
+  }
+
+  /**
+   * Sorts a given list using Bucket Sort with a bucket function of the caller's choosing.
+   *
+   * <p>The bucket function must be monotone with respect to the comparator: an element in a lower bucket must never
+   * compare greater than an element in a higher one. Elements are scattered to their buckets in a single pass, and
+   * every bucket is then sorted with the comparator, with Insertion Sort when it is small and with Merge Sort when
+   * the function has put more elements into it than expected.</p>
+   *
+   * <p><b>Time Complexity:</b> O(n) bucket computations plus the sorts of the buckets, O(n) in total for buckets of
+   * bounded size.</p>
+   * <p><b>Space Complexity:</b> O(n + buckets).</p>
+   *
+   * @param <T>        The type of elements in the list.
+   * @param list       The list to be sorted. Must not be null.
+   * @param buckets    The number of buckets. Must be positive.
+   * @param bucket     Maps an element to its bucket, from 0 to {@code buckets - 1}. Must not be null.
+   * @param comparator The comparator to determine the order of the elements within a bucket. Must not be null.
+   * @return A new list containing the sorted elements of the original list.
+   * @throws IllegalArgumentException if an argument is null, the number of buckets is not positive, or an element is
+   *                                  mapped to a bucket out of range.
+   */
+  @SuppressWarnings( "unchecked" )
+  public static <T> List<T> bucketSort( List<T> list, int buckets, ToIntFunction<T> bucket,
+                                        Comparator<T> comparator ) {
+    if( list == null ) {
+      throw new IllegalArgumentException( "The list cannot be null." );
+    }
+    if( buckets <= 0 ) {
+      throw new IllegalArgumentException( "The number of buckets must be positive." );
+    }
+    if( bucket == null ) {
+      throw new IllegalArgumentException( "The bucket function cannot be null." );
+    }
+    if( comparator == null ) {
+      throw new IllegalArgumentException( "Comparator cannot be null." );
+    }
+
+    Object[] elements = list.toArray();
+    int n = elements.length;
+    boolean parallel = parallel( n );
+    int[] ids = new int[n];
+    stripes( 0, n, parallel ).forEach( stripe -> {
+      int end = stripeStart( 0, n, stripe + 1, parallel );
+      for( int i = stripeStart( 0, n, stripe, parallel ); i < end; i++ ) {
+        ids[i] = bucket.applyAsInt( (T) elements[i] );
+        if( ids[i] < 0 || ids[i] >= buckets ) {
+          throw new IllegalArgumentException( "The bucket of the element at index " + i + " is out of range." );
+        }
+      }
+    } );
+
+    int[] starts = distribute( null, elements, null, new Object[n], 0, n, buckets, i -> ids[i], parallel );
+    IntStream indices = IntStream.range( 0, buckets );
+    ( parallel ? indices.parallel() : indices ).forEach( b -> {
+      int from = starts[b];
+      int to = starts[b + 1];
+      if( to - from <= SMALL_BUCKET ) {
+        InsertionSort.binaryInsertionSort( (T[]) elements, from, to, comparator );
+      } else {
+        MergeSort.mergeSort( (T[]) elements, from, to, (T[]) new Object[( to - from + 1 ) / 2], comparator );
+      }
+    } );
+    return new ArrayList<>( (List<T>) Arrays.asList( elements ) );
+  }
+
+  /**
+   * Sorts a given array of integers using Bucket Sort.
+   *
+   * <p><b>Time Complexity:</b> O(n) for values spread evenly over their range, O(n log n) in the worst case.</p>
+   * <p><b>Space Complexity:</b> O(n) for the returned copy and the widened keys with their scratch copy.</p>
+   *
+   * @param array The array to be sorted. Must not be null. The original array remains unmodified.
+   * @return A new array containing the sorted elements of the original array.
+   * @throws IllegalArgumentException if the array is null.
+   */
+  public static int[] bucketSort( int[] array ) {
+    if( array == null ) {
+      throw new IllegalArgumentException( "The array cannot be null." );
+    }
+
+    long[] keys = new long[array.length];
+    for( int i = 0; i < array.length; i++ ) {
+      keys[i] = array[i];
+    }
+    sort( keys, null );
+    int[] sorted = new int[array.length];
+    for( int i = 0; i < sorted.length; i++ ) {
+      sorted[i] = (int) keys[i];
+    }
+    return sorted;
+  }
+
+  /**
+   * Sorts a given array of longs using Bucket Sort.
+   *
+   * <p><b>Time Complexity:</b> O(n) for values spread evenly over their range, O(n log n) in the worst case.</p>
+   * <p><b>Space Complexity:</b> O(n) for the returned copy and its scratch copy.</p>
+   *
+   * @param array The array to be sorted. Must not be null. The original array remains unmodified.
+   * @return A new array containing the sorted elements of the original array.
+   * @throws IllegalArgumentException if the array is null.
+   */
+  public static long[] bucketSort( long[] array ) {
+    if( array == null ) {
+      throw new IllegalArgumentException( "The array cannot be null." );
+    }
+
+    long[] sorted = array.clone();
+    sort( sorted, null );
+    return sorted;
+  }
+
+  /**
+   * Sorts longs in place, moving the elements at the same indices along with them when they are not null.
+   */
+  static void sort( long[] keys, Object[] elements ) {
+    int n = keys.length;
+    if( n < 2 ) {
+      return;
+    }
+    sortRange( keys, elements, new long[n], elements == null ? null : new Object[n], 0, n, 0, parallel( n ) );
+  }
+
+  private static void sortRange( long[] keys, Object[] elements, long[] keyScratch, Object[] elementScratch,
+                                 int from, int to, int depth, boolean parallel ) {
+    if( to - from <= SMALL_BUCKET ) {
+      insertionSort( keys, elements, from, to );
+      return;
+    }
+    if( depth == MAX_DEPTH ) {
+      comparisonSort( keys, elements, from, to );
+      return;
+    }
+
+    long min = Long.MAX_VALUE;
+    long max = Long.MIN_VALUE;
+    for( int i = from; i < to; i++ ) {
+      min = Math.min( min, keys[i] );
+      max = Math.max( max, keys[i] );
+    }
+    if( min == max ) {
+      return;
+    }
+
+    // Offsets from the minimum are unsigned, so a range from Long.MIN_VALUE to Long.MAX_VALUE still fits
+    long spread = max - min;
+    int targetBuckets = ( to - from ) / TARGET_BUCKET_SIZE;
+    int bucketBits = Math.min( MAX_BUCKET_BITS, 32 - Integer.numberOfLeadingZeros( targetBuckets ) );
+    int shift = Math.max( 0, 64 - Long.numberOfLeadingZeros( spread ) - bucketBits );
+    int buckets = (int) ( spread >>> shift ) + 1;
+    long base = min;
+    int[] starts = distribute( keys, elements, keyScratch, elementScratch, from, to, buckets,
+        i -> (int) ( ( keys[i] - base ) >>> shift ), parallel );
+
+    IntStream indices = IntStream.range( 0, buckets );
+    ( parallel ? indices.parallel() : indices ).forEach( b -> {
+      if( starts[b + 1] - starts[b] > 1 ) {
+        sortRange( keys, elements, keyScratch, elementScratch, starts[b], starts[b + 1], depth + 1, false );
+      }
+    } );
+  }
+
+  /**
+   * Moves the keys and elements of a range into bucket order, keeping the input order within every bucket, and
+   * returns the start index of every bucket followed by the end of the range. Either array may be null.
+   */
+  private static int[] distribute( long[] keys, Object[] elements, long[] keyScratch, Object[] elementScratch,
+                                   int from, int to, int buckets, IntUnaryOperator bucketOf, boolean parallel ) {
+    int stripeCount = parallel ? stripeCount( to - from ) : 1;
+    int[][] counts = new int[stripeCount][buckets];
+    stripes( from, to, parallel ).forEach( stripe -> {
+      int[] stripeCounts = counts[stripe];
+      int end = stripeStart( from, to, stripe + 1, parallel );
+      for( int i = stripeStart( from, to, stripe, parallel ); i < end; i++ ) {
+        stripeCounts[bucketOf.applyAsInt( i )]++;
+      }
+    } );
+
+    // Turn the counts into write positions: bucket by bucket, and within a bucket stripe by stripe
+    int[] starts = new int[buckets + 1];
+    int position = from;
+    for( int b = 0; b < buckets; b++ ) {
+      starts[b] = position;
+      for( int stripe = 0; stripe < stripeCount; stripe++ ) {
+        int count = counts[stripe][b];
+        counts[stripe][b] = position;
+        position += count;
+      }
+    }
+    starts[buckets] = to;
+
+    stripes( from, to, parallel ).forEach( stripe -> {
+      int[] offsets = counts[stripe];
+      int end = stripeStart( from, to, stripe + 1, parallel );
+      for( int i = stripeStart( from, to, stripe, parallel ); i < end; i++ ) {
+        int slot = offsets[bucketOf.applyAsInt( i )]++;
+        if( keys != null ) {
+          keyScratch[slot] = keys[i];
+        }
+        if( elements != null ) {
+          elementScratch[slot] = elements[i];
+        }
+      }
+    } );
+    stripes( from, to, parallel ).forEach( stripe -> {
+      int start = stripeStart( from, to, stripe, parallel );
+      int length = stripeStart( from, to, stripe + 1, parallel ) - start;
+      if( keys != null ) {
+        System.arraycopy( keyScratch, start, keys, start, length );
+      }
+      if( elements != null ) {
+        System.arraycopy( elementScratch, start, elements, start, length );
+        Arrays.fill( elementScratch, start, start + length, null );
+      }
+    } );
+    return starts;
+  }
+
+  private static boolean parallel( int n ) {
+    return n >= PARALLEL_THRESHOLD && ForkJoinPool.getCommonPoolParallelism() > 1;
+  }
+
+  private static int stripeCount( int n ) {
+    return Math.max( 1, Math.min( ForkJoinPool.getCommonPoolParallelism(), n / ( PARALLEL_THRESHOLD / 4 ) ) );
+  }
+
+  private static IntStream stripes( int from, int to, boolean parallel ) {
+    IntStream stripes = IntStream.range( 0, parallel ? stripeCount( to - from ) : 1 );
+    return parallel ? stripes.parallel() : stripes;
+  }
+
+  private static int stripeStart( int from, int to, int stripe, boolean parallel ) {
+    int stripeCount = parallel ? stripeCount( to - from ) : 1;
+    return from + (int) ( (long) ( to - from ) * stripe / stripeCount );
+  }
+
+  /**
+   * Sorts a small range by key with Insertion Sort, moving the elements along. The sort is stable.
+   */
+  private static void insertionSort( long[] keys, Object[] elements, int from, int to ) {
+    for( int i = from + 1; i < to; i++ ) {
+      long key = keys[i];
+      Object element = elements == null ? null : elements[i];
+      int j = i - 1;
+      while( j >= from && keys[j] > key ) {
+        keys[j + 1] = keys[j];
+        if( elements != null ) {
+          elements[j + 1] = elements[j];
+        }
+        j--;
+      }
+      keys[j + 1] = key;
+      if( elements != null ) {
+        elements[j + 1] = element;
+      }
+    }
+  }
+
+  /**
+   * Sorts a range whose keys are not uniform enough for bucketing.
+   */
+  private static void comparisonSort( long[] keys, Object[] elements, int from, int to ) {
+    if( elements == null ) {
+      PdqSort.sort( keys, from, to );
+      return;
+    }
+    Keyed[] keyed = new Keyed[to - from];
+    for( int i = from; i < to; i++ ) {
+      keyed[i - from] = new Keyed( keys[i], elements[i] );
+    }
+    MergeSort.mergeSort( keyed, 0, keyed.length, new Keyed[( keyed.length + 1 ) / 2], Keyed.BY_KEY );
+    for( int i = from; i < to; i++ ) {
+      keys[i] = keyed[i - from].key();
+      elements[i] = keyed[i - from].element();
+    }
+  }
+
+  /**
+   * An element with its key, for the comparison fallback.
+   */
+  private record Keyed( long key, Object element ) {
+    static final Comparator<Keyed> BY_KEY = Comparator.comparingLong( Keyed::key );
+  }
+}
@@ -0,0 +1,81 @@
+package org.sortingengine.algo.sorting;
+
+import java.time.Duration;
+
+/**
+ * A signal that asks a running sort to stop, either explicitly through {@link #cancel()} or implicitly once a
+ * deadline has passed.
+ *
+ * <p>Sorts poll the token with {@link #isCancelled()} at partition and merge boundaries, so a check costs one volatile
+ * read plus, for tokens with a deadline, one {@link System#nanoTime()} call. A token can be shared by every task of a
+ * parallel sort and by several sorts; once cancelled it stays cancelled.</p>
+ */
+public final class CancellationToken {
+
+  private final boolean hasDeadline;
+  private final long deadline;
+  private volatile boolean cancelled;
+
+  private CancellationToken( boolean hasDeadline, long deadline ) {
+    this.hasDeadline = hasDeadline;
+    this.deadline = deadline;
+  }
+
+  /**
+   * Creates a token that is only cancelled by calling {@link #cancel()}.
+   *
+   * @return A new token.
+   */
+  public static CancellationToken create() {
+    return new CancellationToken( false, 0 );
+  }
+
+  /**
+   * Creates a token that cancels itself once the given time has elapsed, measured from now with
+   * {@link System#nanoTime()}. It can also be cancelled earlier by calling {@link #cancel()}.
+   *
+   * @param timeout The time after which the token is cancelled. Must not be null.
+   * @return A new token.
+   * @throws IllegalArgumentException if the timeout is null.
+   */
+  public static CancellationToken withTimeout( Duration timeout ) {
+    if( timeout == null ) {
+      throw new IllegalArgumentException( "The timeout cannot be null." );
+    }
+    long nanos;
+    try {
+      nanos = timeout.toNanos();
+    } catch( ArithmeticException e ) {
+      nanos = timeout.isNegative() ? Long.MIN_VALUE : Long.MAX_VALUE;
+    }
+    long now = System.nanoTime();
+    if( nanos > 0 && now + nanos < now ) {
+      // Too far in the future to represent: behaves as no deadline
+      return create();
+    }
+    return new CancellationToken( true, now + Math.max( 0, nanos ) );
+  }
+
+  /**
+   * Cancels the token.
+   */
+  public void cancel() {
+    cancelled = true;
+  }
+
+  /**
+   * Returns whether the token has been cancelled or its deadline has passed.
+   *
+   * @return Whether work observing this token should stop.
+   */
+  public boolean isCancelled() {
+    if( cancelled ) {
+      return true;
+    }
+    if( hasDeadline && System.nanoTime() - deadline >= 0 ) {
+      cancelled = true;
+      return true;
+    }
+    return false;
+  }
+}
@@ -0,0 +1,92 @@
+package org.sortingengine.algo.sorting;
+
+import java.text.Collator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caches the collation keys of strings under one {@link Collator}, for {@link CollationSort} callers that sort the same
+ * strings again and again, such as the names of a listing that is re-sorted on every request.
+ *
+ * <p>A key is the byte form of the string's {@link java.text.CollationKey}. Computing it applies the full collation
+ * rules to the string once; afterwards the string is ordered by plain byte comparisons. The cache holds at most
+ * {@code maxEntries} keys and is cleared when it would grow beyond that, so memory stays bounded while a stable set of
+ * strings keeps its keys.</p>
+ *
+ * <p>Instances are thread-safe. Every thread computes keys with its own clone of the collator, because collators
+ * synchronize internally and would otherwise serialize parallel callers.</p>
+ */
+public final class CollationKeyCache {
+
+  private final Collator collator;
+  private final ThreadLocal<Collator> collators;
+  private final int maxEntries;
+  private final Map<String, byte[]> keys = new ConcurrentHashMap<>();
+
+  /**
+   * Creates an empty cache.
+   *
+   * @param collator   The collator to compute keys with. Must not be null. It is cloned, so later changes to it do
+   *                   not affect the cache.
+   * @param maxEntries The maximum number of cached keys. Must be positive.
+   * @throws IllegalArgumentException if the collator is null or the maximum is not positive.
+   */
+  public CollationKeyCache( Collator collator, int maxEntries ) {
+    if( collator == null ) {
+      throw new IllegalArgumentException( "The collator cannot be null." );
+    }
+    if( maxEntries <= 0 ) {
+      throw new IllegalArgumentException( "The maximum number of entries must be positive." );
+    }
+    this.collator = (Collator) collator.clone();
+    this.collators = ThreadLocal.withInitial( () -> (Collator) this.collator.clone() );
+    this.maxEntries = maxEntries;
+  }
+
+  /**
+   * Returns the collation key bytes of a string, computing and caching them on first use.
+   *
+   * @param string The string. Must not be null.
+   * @return The key bytes; the caller must not modify them.
+   * @throws IllegalArgumentException if the string is null.
+   */
+  public byte[] key( String string ) {
+    if( string == null ) {
+      throw new IllegalArgumentException( "The string cannot be null." );
+    }
+    byte[] key = keys.get( string );
+    if( key == null ) {
+      key = compute( collators.get(), string );
+      if( keys.size() >= maxEntries ) {
+        keys.clear();
+      }
+      keys.put( string, key );
+    }
+    return key;
+  }
+
+  /**
+   * Returns the number of cached keys.
+   *
+   * @return The cache size.
+   */
+  public int size() {
+    return keys.size();
+  }
+
+  /**
+   * Returns a clone of the collator the keys are computed with.
+   *
+   * @return The collator.
+   */
+  public Collator collator() {
+    return (Collator) collator.clone();
+  }
+
+  /**
+   * Computes the collation key bytes of a string.
+   */
+  static byte[] compute( Collator collator, String string ) {
+    return collator.getCollationKey( string ).toByteArray();
+  }
+}
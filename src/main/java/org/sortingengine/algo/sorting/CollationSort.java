@@ -0,0 +1,144 @@
+package org.sortingengine.algo.sorting;
+
+import java.text.Collator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * Sorts objects by a string under a locale's collation rules. This class offers static methods that order a list by
+ * the {@link java.text.CollationKey}s of a string extracted from each element, computed once per element rather than
+ * once per comparison.
+ *
+ * <p>Passing a {@link Collator} as the comparator of a general sort applies the full collation rules, with their
+ * expansions, contractions and multi-level weights, to both strings of every one of the O(n log n) comparisons. A
+ * collation key encodes all of that once: two strings compare under the collator exactly as their key bytes compare as
+ * unsigned values. This class computes the keys of all elements up front, in parallel for lists of at least
+ * {@value #PARALLEL_THRESHOLD} elements, and then sorts with {@link MergeSort} on byte comparisons, which the JDK
+ * runs as vectorized mismatch scans. The sort is stable.</p>
+ *
+ * <p>When the same strings are sorted repeatedly, a {@link CollationKeyCache} keeps their keys between sorts so that
+ * only new strings pay for collation.</p>
+ *
+ * <p>The byte form of a key preserves the collator's order for the JDK's {@link java.text.RuleBasedCollator}, which
+ * {@link Collator#getInstance(java.util.Locale)} returns.</p>
+ */
+public final class CollationSort {
+
+  /**
+   * Lists of at least this size have their keys computed by several threads.
+   */
+  static final int PARALLEL_THRESHOLD = 4096;
+
+  private static final Comparator<Keyed> BY_KEY = ( a, b ) -> Arrays.compareUnsigned( a.key(), b.key() );
+
+  /**
+   * Private Constructor to prevent instantiation.
+   */
+  private CollationSort() {
+  }
+
+  /**
+   * Sorts a given list by a string key under the rules of a collator.
+   *
+   * <p>The result equals sorting with {@code Comparator.comparing( key, collator )} and a stable sort, but every
+   * string is collated only once.</p>
+   *
+   * <p><b>Time Complexity:</b> O(n) key computations plus O(n log n) byte-array comparisons.</p>
+   * <p><b>Space Complexity:</b> O(n) for the keys, the returned copy and the merge buffer.</p>
+   *
+   * @param <T>      The type of elements in the list.
+   * @param list     The list to be sorted. Must not be null.
+   * @param key      Extracts the string to sort by from an element. Must not be null and must not return null.
+   * @param collator The collator defining the order. Must not be null. It is cloned for every thread computing keys.
+   * @return A new list containing the elements of the original list in collation order.
+   * @throws IllegalArgumentException if any argument is null or the key of an element is null.
+   */
+  public static <T> List<T> collationSort( List<T> list, Function<T, String> key, Collator collator ) {
+    if( list == null ) {
+      throw new IllegalArgumentException( "The list cannot be null." );
+    }
+    if( key == null ) {
+      throw new IllegalArgumentException( "Key extractor cannot be null." );
+    }
+    if( collator == null ) {
+      throw new IllegalArgumentException( "The collator cannot be null." );
+    }
+    return sort( list, key, () -> {
+      Collator local = (Collator) collator.clone();
+      return string -> CollationKeyCache.compute( local, string );
+    } );
+  }
+
+  /**
+   * Sorts a given list by a string key, taking collation keys from a cache.
+   *
+   * <p>Keys missing from the cache are computed and added, so sorting the same strings again costs only the byte
+   * comparisons.</p>
+   *
+   * <p><b>Time Complexity:</b> O(n) cache lookups plus O(n log n) byte-array comparisons.</p>
+   * <p><b>Space Complexity:</b> O(n) for the returned copy and the merge buffer, plus the cache.</p>
+   *
+   * @param <T>   The type of elements in the list.
+   * @param list  The list to be sorted. Must not be null.
+   * @param key   Extracts the string to sort by from an element. Must not be null and must not return null.
+   * @param cache The cache holding the collator and the known keys. Must not be null.
+   * @return A new list containing the elements of the original list in collation order.
+   * @throws IllegalArgumentException if any argument is null or the key of an element is null.
+   */
+  public static <T> List<T> collationSort( List<T> list, Function<T, String> key, CollationKeyCache cache ) {
+    if( list == null ) {
+      throw new IllegalArgumentException( "The list cannot be null." );
+    }
+    if( key == null ) {
+      throw new IllegalArgumentException( "Key extractor cannot be null." );
+    }
+    if( cache == null ) {
+      throw new IllegalArgumentException( "The cache cannot be null." );
+    }
+    return sort( list, key, () -> cache::key );
+  }
+
+  /**
+   * Computes the keys of all elements, each thread with a key function of its own from {@code keyFunctions}, and
+   * sorts the elements by them.
+   */
+  @SuppressWarnings( "unchecked" )
+  private static <T> List<T> sort( List<T> list, Function<T, String> key,
+                                   Supplier<Function<String, byte[]>> keyFunctions ) {
+    Object[] elements = list.toArray();
+    int n = elements.length;
+    Keyed[] keyed = new Keyed[n];
+    int chunks = n < PARALLEL_THRESHOLD ? 1
+        : Math.max( 1, Math.min( ForkJoinPool.getCommonPoolParallelism(), n / PARALLEL_THRESHOLD ) );
+    IntStream.range( 0, chunks ).parallel().forEach( chunk -> {
+      Function<String, byte[]> keyFunction = keyFunctions.get();
+      int to = (int) ( (long) n * ( chunk + 1 ) / chunks );
+      for( int i = (int) ( (long) n * chunk / chunks ); i < to; i++ ) {
+        String string = key.apply( (T) elements[i] );
+        if( string == null ) {
+          throw new IllegalArgumentException( "The key of the element at index " + i + " is null." );
+        }
+        keyed[i] = new Keyed( keyFunction.apply( string ), elements[i] );
+      }
+    } );
+
+    MergeSort.mergeSort( keyed, 0, n, new Keyed[( n + 1 ) / 2], BY_KEY );
+    List<T> sortedList = new ArrayList<>( n );
+    for( Keyed element : keyed ) {
+      sortedList.add( (T) element.element() );
+    }
+    return sortedList;
+  }
+
+  /**
+   * An element with its collation key.
+   */
+  private record Keyed( byte[] key, Object element ) {
+  }
+}
@@ -1,6 +1,7 @@
 package org.sortingengine.algo.sorting;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
@@ -10,8 +11,32 @@ import java.util.TreeMap;
  * Provides an implementation of the Counting Sort algorithm for sorting lists. This class offers a static method to
  * sort any list of objects, given a comparator. It is designed for simplicity and educational purposes rather than
  * optimal performance.
+ *
+ * <p>Besides the sort itself, the class exposes the frequency counts as first-class results: {@code distinct} returns
+ * each distinct value once, in order, and {@code counts} returns the run-length encoding of the sorted input as
+ * (value, count) pairs. Both avoid expanding duplicates into a full-size sorted list. They pick one of two strategies
+ * while running:</p>
+ * <ul>
+ *     <li><b>Count, then sort the distinct values.</b> Elements are counted in a map (a tree map ordered by the
+ *     comparator for objects, an open-addressing hash table for primitive keys), and only the k distinct values are
+ *     ordered. This costs O(n) hash updates, or O(n log k) comparisons, plus O(k log k).</li>
+ *     <li><b>Sort, then collapse adjacent duplicates.</b> Once the map holds more than roughly one distinct value in
+ *     {@value #HIGH_CARDINALITY_FRACTION} elements seen, counting stops paying off: the map is discarded, the input is
+ *     sorted as a whole and collapsed in a single pass.</li>
+ * </ul>
  */
 public final class CountingSort {
+
+  /**
+   * Counting switches to sort-and-collapse once more than one element in this many seen is a new distinct value.
+   */
+  static final int HIGH_CARDINALITY_FRACTION = 8;
+
+  /**
+   * Distinct values always tolerated by the counting strategy, so that short prefixes do not trigger a switch.
+   */
+  static final int MIN_DISTINCT_LIMIT = 1024;
+
   /**
    * Private Constructor to prevent instantiation.
    */
@@ -62,4 +87,388 @@ public final class CountingSort {
 
     return sortedList;
   }
+
+  /**
+   * Returns the distinct elements of a list in sorted order.
+   *
+   * <p>Elements are distinct when the comparator does not report them as equal. Of several equal elements, the first
+   * one in the list is returned. See the class documentation for how the work is split between counting and
+   * sorting.</p>
+   *
+   * <p><b>Time Complexity:</b> O(n log k) for k distinct elements when counting, O(n log n) after switching to
+   * sort-and-collapse.</p>
+   * <p><b>Space Complexity:</b> O(k) when counting, O(n) after switching.</p>
+   *
+   * @param <T>        The type of elements in the list.
+   * @param list       The list whose distinct elements to return. Must not be null.
+   * @param comparator The comparator to determine the order and equality of the elements. Must not be null.
+   * @return A new list containing each distinct element once, in sorted order.
+   * @throws IllegalArgumentException if the list or comparator is null.
+   */
+  public static <T> List<T> distinct( List<T> list, Comparator<T> comparator ) {
+    List<ValueCount<T>> counts = counts( list, comparator );
+    List<T> distinct = new ArrayList<>( counts.size() );
+    for( ValueCount<T> count : counts ) {
+      distinct.add( count.value() );
+    }
+    return distinct;
+  }
+
+  /**
+   * Returns the sorted histogram of a list: every distinct element with the number of times it occurs, in sorted
+   * order. This is the run-length encoding of the sorted list.
+   *
+   * <p>Elements are distinct when the comparator does not report them as equal. Of several equal elements, the first
+   * one in the list is reported. See the class documentation for how the work is split between counting and
+   * sorting.</p>
+   *
+   * <p><b>Time Complexity:</b> O(n log k) for k distinct elements when counting, O(n log n) after switching to
+   * sort-and-collapse.</p>
+   * <p><b>Space Complexity:</b> O(k) when counting, O(n) after switching.</p>
+   *
+   * @param <T>        The type of elements in the list.
+   * @param list       The list to count. Must not be null.
+   * @param comparator The comparator to determine the order and equality of the elements. Must not be null.
+   * @return A new list of (value, count) pairs in sorted order of their values.
+   * @throws IllegalArgumentException if the list or comparator is null.
+   */
+  public static <T> List<ValueCount<T>> counts( List<T> list, Comparator<T> comparator ) {
+    if( list == null ) {
+      throw new IllegalArgumentException( "The list cannot be null." );
+    }
+    if( comparator == null ) {
+      throw new IllegalArgumentException( "Comparator cannot be null." );
+    }
+
+    TreeMap<T, long[]> frequencyMap = new TreeMap<>( comparator );
+    long seen = 0;
+    for( T item : list ) {
+      long[] count = frequencyMap.get( item );
+      if( count != null ) {
+        count[0]++;
+      } else {
+        frequencyMap.put( item, new long[]{ 1 } );
+        if( frequencyMap.size() > distinctLimit( seen ) ) {
+          return sortAndCollapse( list, comparator );
+        }
+      }
+      seen++;
+    }
+
+    List<ValueCount<T>> counts = new ArrayList<>( frequencyMap.size() );
+    for( Map.Entry<T, long[]> entry : frequencyMap.entrySet() ) {
+      counts.add( new ValueCount<>( entry.getKey(), entry.getValue()[0] ) );
+    }
+    return counts;
+  }
+
+  /**
+   * Returns the distinct values of an int array in ascending order.
+   *
+   * @param array The array whose distinct values to return. Must not be null. The array is not modified.
+   * @return A new array containing each distinct value once, in ascending order.
+   * @throws IllegalArgumentException if the array is null.
+   */
+  public static int[] distinct( int[] array ) {
+    return counts( array ).values();
+  }
+
+  /**
+   * Returns the sorted histogram of an int array: its distinct values in ascending order with the number of times
+   * each occurs.
+   *
+   * <p>Values are counted in an open-addressing hash table, and only the distinct values are sorted, with
+   * {@link QuickSort#quickSort(int[])}. If the table outgrows the limit described in the class documentation, the
+   * whole array is sorted instead and collapsed in one pass.</p>
+   *
+   * <p><b>Time Complexity:</b> O(n + k log k) for k distinct values when counting, O(n log n) after switching.</p>
+   * <p><b>Space Complexity:</b> O(k) when counting, O(n) after switching.</p>
+   *
+   * @param array The array to count. Must not be null. The array is not modified.
+   * @return The distinct values and their counts.
+   * @throws IllegalArgumentException if the array is null.
+   */
+  public static IntCounts counts( int[] array ) {
+    if( array == null ) {
+      throw new IllegalArgumentException( "The array cannot be null." );
+    }
+
+    IntCountTable table = new IntCountTable();
+    for( int i = 0; i < array.length; i++ ) {
+      if( table.increment( array[i] ) && table.size > distinctLimit( i ) ) {
+        return collapse( QuickSort.quickSort( array ) );
+      }
+    }
+
+    int[] values = QuickSort.quickSort( table.keys() );
+    long[] counts = new long[values.length];
+    for( int i = 0; i < values.length; i++ ) {
+      counts[i] = table.get( values[i] );
+    }
+    return new IntCounts( values, counts );
+  }
+
+  /**
+   * Returns the distinct values of a long array in ascending order.
+   *
+   * @param array The array whose distinct values to return. Must not be null. The array is not modified.
+   * @return A new array containing each distinct value once, in ascending order.
+   * @throws IllegalArgumentException if the array is null.
+   */
+  public static long[] distinct( long[] array ) {
+    return counts( array ).values();
+  }
+
+  /**
+   * Returns the sorted histogram of a long array: its distinct values in ascending order with the number of times
+   * each occurs. The strategy is the same as for {@link #counts(int[])}.
+   *
+   * <p><b>Time Complexity:</b> O(n + k log k) for k distinct values when counting, O(n log n) after switching.</p>
+   * <p><b>Space Complexity:</b> O(k) when counting, O(n) after switching.</p>
+   *
+   * @param array The array to count. Must not be null. The array is not modified.
+   * @return The distinct values and their counts.
+   * @throws IllegalArgumentException if the array is null.
+   */
+  public static LongCounts counts( long[] array ) {
+    if( array == null ) {
+      throw new IllegalArgumentException( "The array cannot be null." );
+    }
+
+    LongCountTable table = new LongCountTable();
+    for( int i = 0; i < array.length; i++ ) {
+      if( table.increment( array[i] ) && table.size > distinctLimit( i ) ) {
+        return collapse( QuickSort.quickSort( array ) );
+      }
+    }
+
+    long[] values = QuickSort.quickSort( table.keys() );
+    long[] counts = new long[values.length];
+    for( int i = 0; i < values.length; i++ ) {
+      counts[i] = table.get( values[i] );
+    }
+    return new LongCounts( values, counts );
+  }
+
+  private static long distinctLimit( long seen ) {
+    return MIN_DISTINCT_LIMIT + seen / HIGH_CARDINALITY_FRACTION;
+  }
+
+  @SuppressWarnings( "unchecked" )
+  private static <T> List<ValueCount<T>> sortAndCollapse( List<T> list, Comparator<T> comparator ) {
+    T[] sorted = (T[]) list.toArray();
+    // Stable, so the first of several equal elements leads its run
+    new MergeSorter().sort( sorted, 0, sorted.length, comparator );
+
+    List<ValueCount<T>> counts = new ArrayList<>();
+    int runStart = 0;
+    for( int i = 1; i <= sorted.length; i++ ) {
+      if( i == sorted.length || comparator.compare( sorted[runStart], sorted[i] ) != 0 ) {
+        counts.add( new ValueCount<>( sorted[runStart], i - runStart ) );
+        runStart = i;
+      }
+    }
+    return counts;
+  }
+
+  private static IntCounts collapse( int[] sorted ) {
+    // The sorted copy is ours, so the distinct values are packed into its front
+    long[] counts = new long[sorted.length];
+    int size = 0;
+    for( int i = 0; i < sorted.length; i++ ) {
+      if( size > 0 && sorted[size - 1] == sorted[i] ) {
+        counts[size - 1]++;
+      } else {
+        sorted[size] = sorted[i];
+        counts[size++] = 1;
+      }
+    }
+    return new IntCounts( Arrays.copyOf( sorted, size ), Arrays.copyOf( counts, size ) );
+  }
+
+  private static LongCounts collapse( long[] sorted ) {
+    long[] counts = new long[sorted.length];
+    int size = 0;
+    for( int i = 0; i < sorted.length; i++ ) {
+      if( size > 0 && sorted[size - 1] == sorted[i] ) {
+        counts[size - 1]++;
+      } else {
+        sorted[size] = sorted[i];
+        counts[size++] = 1;
+      }
+    }
+    return new LongCounts( Arrays.copyOf( sorted, size ), Arrays.copyOf( counts, size ) );
+  }
+
+  /**
+   * An open-addressing hash table from int keys to counts, with linear probing. The key 0 marks an empty slot, so its
+   * count is kept aside.
+   */
+  private static final class IntCountTable {
+    private int[] keys = new int[64];
+    private long[] counts = new long[64];
+    private long zeroCount;
+    private int size;
+
+    /**
+     * Adds one to the count of a key and returns whether the key is new.
+     */
+    boolean increment( int key ) {
+      if( key == 0 ) {
+        if( zeroCount++ > 0 ) {
+          return false;
+        }
+        size++;
+        return true;
+      }
+      int mask = keys.length - 1;
+      int slot = mix( key ) & mask;
+      while( keys[slot] != 0 ) {
+        if( keys[slot] == key ) {
+          counts[slot]++;
+          return false;
+        }
+        slot = ( slot + 1 ) & mask;
+      }
+      keys[slot] = key;
+      counts[slot] = 1;
+      if( ++size > keys.length >> 1 ) {
+        rehash();
+      }
+      return true;
+    }
+
+    long get( int key ) {
+      if( key == 0 ) {
+        return zeroCount;
+      }
+      int mask = keys.length - 1;
+      int slot = mix( key ) & mask;
+      while( keys[slot] != key ) {
+        slot = ( slot + 1 ) & mask;
+      }
+      return counts[slot];
+    }
+
+    int[] keys() {
+      int[] result = new int[size];
+      int n = 0;
+      if( zeroCount > 0 ) {
+        result[n++] = 0;
+      }
+      for( int key : keys ) {
+        if( key != 0 ) {
+          result[n++] = key;
+        }
+      }
+      return result;
+    }
+
+    private void rehash() {
+      int[] oldKeys = keys;
+      long[] oldCounts = counts;
+      keys = new int[oldKeys.length * 2];
+      counts = new long[oldKeys.length * 2];
+      int mask = keys.length - 1;
+      for( int i = 0; i < oldKeys.length; i++ ) {
+        if( oldKeys[i] != 0 ) {
+          int slot = mix( oldKeys[i] ) & mask;
+          while( keys[slot] != 0 ) {
+            slot = ( slot + 1 ) & mask;
+          }
+          keys[slot] = oldKeys[i];
+          counts[slot] = oldCounts[i];
+        }
+      }
+    }
+
+    private static int mix( int key ) {
+      int h = key * 0x9e3779b9;
+      return h ^ ( h >>> 16 );
+    }
+  }
+
+  /**
+   * The long counterpart of {@link IntCountTable}.
+   */
+  private static final class LongCountTable {
+    private long[] keys = new long[64];
+    private long[] counts = new long[64];
+    private long zeroCount;
+    private int size;
+
+    boolean increment( long key ) {
+      if( key == 0 ) {
+        if( zeroCount++ > 0 ) {
+          return false;
+        }
+        size++;
+        return true;
+      }
+      int mask = keys.length - 1;
+      int slot = mix( key ) & mask;
+      while( keys[slot] != 0 ) {
+        if( keys[slot] == key ) {
+          counts[slot]++;
+          return false;
+        }
+        slot = ( slot + 1 ) & mask;
+      }
+      keys[slot] = key;
+      counts[slot] = 1;
+      if( ++size > keys.length >> 1 ) {
+        rehash();
+      }
+      return true;
+    }
+
+    long get( long key ) {
+      if( key == 0 ) {
+        return zeroCount;
+      }
+      int mask = keys.length - 1;
+      int slot = mix( key ) & mask;
+      while( keys[slot] != key ) {
+        slot = ( slot + 1 ) & mask;
+      }
+      return counts[slot];
+    }
+
+    long[] keys() {
+      long[] result = new long[size];
+      int n = 0;
+      if( zeroCount > 0 ) {
+        result[n++] = 0;
+      }
+      for( long key : keys ) {
+        if( key != 0 ) {
+          result[n++] = key;
+        }
+      }
+      return result;
+    }
+
+    private void rehash() {
+      long[] oldKeys = keys;
+      long[] oldCounts = counts;
+      keys = new long[oldKeys.length * 2];
+      counts = new long[oldKeys.length * 2];
+      int mask = keys.length - 1;
+      for( int i = 0; i < oldKeys.length; i++ ) {
+        if( oldKeys[i] != 0 ) {
+          int slot = mix( oldKeys[i] ) & mask;
+          while( keys[slot] != 0 ) {
+            slot = ( slot + 1 ) & mask;
+          }
+          keys[slot] = oldKeys[i];
+          counts[slot] = oldCounts[i];
+        }
+      }
+    }
+
+    private static int mix( long key ) {
+      long h = key * 0x9e3779b97f4a7c15L;
+      return (int) ( h ^ ( h >>> 32 ) );
+    }
+  }
 }
@@ -0,0 +1,380 @@
+package org.sortingengine.algo.sorting;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Provides sorts that can be stopped through a {@link CancellationToken}, for callers that must answer within a
+ * latency bound. This class offers static methods that sort a copy of a list, so the input is never modified, and
+ * either return the sorted copy or stop early.
+ *
+ * <p>The token is polled only at partition and merge boundaries of ranges with at least {@value #CHECK_SIZE}
+ * elements, and every {@value #CHECK_SIZE} elements inside long merges. The cost of cancellation support is therefore
+ * a few polls per thousand elements, and the work done after the token is cancelled is bounded by sorting one range of
+ * that size.</p>
+ *
+ * <p>When the token is cancelled, a sort either fails with a {@link SortCancelledException} that reports its progress,
+ * or, for {@link #sortOrTopK(List, Comparator, CancellationToken, int)}, degrades to returning the sorted prefix it has
+ * finished.</p>
+ */
+public final class DeadlineSort {
+
+  /**
+   * Ranges with at least this many elements poll the cancellation token before being split or merged.
+   */
+  static final int CHECK_SIZE = 4096;
+
+  /**
+   * Ranges at or above this size are split into parallel tasks by
+   * {@link #parallelMergeSort(List, Comparator, CancellationToken)}.
+   */
+  static final int PARALLEL_THRESHOLD = 8192;
+
+  /**
+   * Private Constructor to prevent instantiation.
+   */
+  private DeadlineSort() {
+  }
+
+  /**
+   * Sorts a given list using a cancellable Quick Sort.
+   *
+   * <p>The sort partitions three ways around a median-of-three pivot and always finishes the left side of a
+   * partition before the right one, so the sorted prefix of the result grows from the left. Recursion deeper than
+   * twice the logarithm of the size falls back to Heap Sort, which bounds the worst case.</p>
+   *
+   * <p><b>Time Complexity:</b> O(n log n).</p>
+   * <p><b>Space Complexity:</b> O(n) for the returned copy, plus O(log n) stack.</p>
+   *
+   * @param <T>        The type of elements in the list.
+   * @param list       The list to be sorted. Must not be null.
+   * @param comparator The comparator to determine the order of the elements. Must not be null.
+   * @param token      The token that stops the sort when cancelled. Must not be null.
+   * @return A new list containing the sorted elements of the original list.
+   * @throws IllegalArgumentException if the list, comparator or token is null.
+   * @throws SortCancelledException   if the token is cancelled before the sort finishes. Its progress is the
+   *                                  fraction of elements already in their final position.
+   */
+  public static <T> List<T> quickSort( List<T> list, Comparator<T> comparator, CancellationToken token ) {
+    checkArguments( list, comparator, token );
+    QuickSortRun<T> run = new QuickSortRun<>( toArray( list ), comparator, token, 0 );
+    run.sort();
+    return new ArrayList<>( Arrays.asList( run.array ) );
+  }
+
+  /**
+   * Sorts a given list using a cancellable Quick Sort, degrading to a sorted prefix when the token is cancelled.
+   *
+   * <p>The smallest {@code k} elements are always sorted, regardless of the token; because the left side of every
+   * partition is finished first, this costs about O(n + k log k). The sort then continues with the rest and, if the
+   * token is cancelled, returns every element it has already placed, which is a prefix of at least {@code k}
+   * elements of the full sorted result.</p>
+   *
+   * @param <T>        The type of elements in the list.
+   * @param list       The list to be sorted. Must not be null.
+   * @param comparator The comparator to determine the order of the elements. Must not be null.
+   * @param token      The token that stops the sort when cancelled. Must not be null.
+   * @param k          The number of smallest elements that are always returned. Must not be negative.
+   * @return The sorted list, or a sorted prefix of it if the token was cancelled first.
+   * @throws IllegalArgumentException if the list, comparator or token is null, or {@code k} is negative.
+   */
+  public static <T> SortResult<T> sortOrTopK( List<T> list, Comparator<T> comparator, CancellationToken token,
+                                              int k ) {
+    checkArguments( list, comparator, token );
+    if( k < 0 ) {
+      throw new IllegalArgumentException( "The prefix size cannot be negative." );
+    }
+
+    T[] array = toArray( list );
+    QuickSortRun<T> run = new QuickSortRun<>( array, comparator, token, Math.min( k, array.length ) );
+    try {
+      run.sort();
+      return new SortResult<>( new ArrayList<>( Arrays.asList( array ) ), true );
+    } catch( SortCancelledException e ) {
+      return new SortResult<>( new ArrayList<>( Arrays.asList( array ).subList( 0, run.settled ) ), false );
+    }
+  }
+
+  /**
+   * Sorts a given list using a cancellable, stable Merge Sort.
+   *
+   * <p>Elements that compare equal keep their relative order, exactly as with
+   * {@link MergeSort#mergeSort(List, Comparator)}.</p>
+   *
+   * <p><b>Time Complexity:</b> O(n log n).</p>
+   * <p><b>Space Complexity:</b> O(n) for the returned copy and the merge buffer.</p>
+   *
+   * @param <T>        The type of elements in the list.
+   * @param list       The list to be sorted. Must not be null.
+   * @param comparator The comparator to determine the order of the elements. Must not be null.
+   * @param token      The token that stops the sort when cancelled. Must not be null.
+   * @return A new list containing the sorted elements of the original list.
+   * @throws IllegalArgumentException if the list, comparator or token is null.
+   * @throws SortCancelledException   if the token is cancelled before the sort finishes. Its progress is the
+   *                                  estimated fraction of the merge work already done.
+   */
+  public static <T> List<T> mergeSort( List<T> list, Comparator<T> comparator, CancellationToken token ) {
+    checkArguments( list, comparator, token );
+    MergeSortRun<T> run = new MergeSortRun<>( toArray( list ), comparator, token );
+    run.sort( 0, run.array.length );
+    run.finish();
+    return new ArrayList<>( Arrays.asList( run.array ) );
+  }
+
+  /**
+   * Sorts a given list using a cancellable, stable Merge Sort that runs on the common fork/join pool.
+   *
+   * <p>Ranges of at least {@value #PARALLEL_THRESHOLD} elements are split into two tasks that sort their halves in
+   * parallel before being merged. All tasks share one stop flag: the first task to observe the cancelled token sets
+   * it, and every other task returns as soon as it next polls, without starting new work.</p>
+   *
+   * <p><b>Time Complexity:</b> O(n log n) work, with the halves sorted in parallel.</p>
+   * <p><b>Space Complexity:</b> O(n) for the returned copy and the merge buffer.</p>
+   *
+   * @param <T>        The type of elements in the list.
+   * @param list       The list to be sorted. Must not be null.
+   * @param comparator The comparator to determine the order of the elements. Must not be null.
+   * @param token      The token that stops the sort when cancelled. Must not be null.
+   * @return A new list containing the sorted elements of the original list.
+   * @throws IllegalArgumentException if the list, comparator or token is null.
+   * @throws SortCancelledException   if the token is cancelled before the sort finishes.
+   */
+  public static <T> List<T> parallelMergeSort( List<T> list, Comparator<T> comparator, CancellationToken token ) {
+    checkArguments( list, comparator, token );
+    MergeSortRun<T> run = new MergeSortRun<>( toArray( list ), comparator, token );
+    ForkJoinPool.commonPool().invoke( new MergeSortTask<>( run, 0, run.array.length ) );
+    run.finish();
+    return new ArrayList<>( Arrays.asList( run.array ) );
+  }
+
+  private static <T> void checkArguments( List<T> list, Comparator<T> comparator, CancellationToken token ) {
+    if( list == null ) {
+      throw new IllegalArgumentException( "The list cannot be null." );
+    }
+    if( comparator == null ) {
+      throw new IllegalArgumentException( "Comparator cannot be null." );
+    }
+    if( token == null ) {
+      throw new IllegalArgumentException( "The cancellation token cannot be null." );
+    }
+  }
+
+  @SuppressWarnings( "unchecked" )
+  private static <T> T[] toArray( List<T> list ) {
+    return (T[]) list.toArray();
+  }
+
+  /**
+   * State of one cancellable Quick Sort. Ranges are finished left to right, so {@code [0, settled)} is always in its
+   * final order.
+   */
+  private static final class QuickSortRun<T> {
+    private final T[] array;
+    private final Comparator<T> comparator;
+    private final CancellationToken token;
+    private final int protectedPrefix;
+    private int settled;
+
+    QuickSortRun( T[] array, Comparator<T> comparator, CancellationToken token, int protectedPrefix ) {
+      this.array = array;
+      this.comparator = comparator;
+      this.token = token;
+      this.protectedPrefix = protectedPrefix;
+    }
+
+    void sort() {
+      int n = array.length;
+      sortRange( 0, n, 2 * ( 32 - Integer.numberOfLeadingZeros( n ) ) );
+    }
+
+    private void sortRange( int from, int to, int depthLimit ) {
+      while( to - from > MergeSort.INSERTION_SORT_THRESHOLD ) {
+        if( to - from >= CHECK_SIZE && settled >= protectedPrefix && token.isCancelled() ) {
+          throw new SortCancelledException( array.length == 0 ? 1 : (double) settled / array.length );
+        }
+        if( depthLimit-- == 0 ) {
+          HeapSort.sortInPlace( Arrays.asList( array ).subList( from, to ), comparator, HeapSort.DEFAULT_ARITY );
+          settled = to;
+          return;
+        }
+
+        T pivot = medianOfThree( array[from], array[( from + to ) >>> 1], array[to - 1] );
+        int lt = from;
+        int i = from;
+        int gt = to;
+        while( i < gt ) {
+          T value = array[i];
+          int order = comparator.compare( value, pivot );
+          if( order < 0 ) {
+            array[i++] = array[lt];
+            array[lt++] = value;
+          } else if( order > 0 ) {
+            array[i] = array[--gt];
+            array[gt] = value;
+          } else {
+            i++;
+          }
+        }
+
+        sortRange( from, lt, depthLimit );
+        // The run equal to the pivot is in place once everything left of it is
+        settled = gt;
+        from = gt;
+      }
+      InsertionSort.binaryInsertionSort( array, from, to, comparator );
+      settled = to;
+    }
+
+    private T medianOfThree( T a, T b, T c ) {
+      if( comparator.compare( a, b ) > 0 ) {
+        T swap = a;
+        a = b;
+        b = swap;
+      }
+      if( comparator.compare( b, c ) <= 0 ) {
+        return b;
+      }
+      return comparator.compare( a, c ) > 0 ? a : c;
+    }
+  }
+
+  /**
+   * State of one cancellable Merge Sort, shared by all tasks of a parallel sort. Tasks work on disjoint ranges of
+   * the array and of the buffer.
+   */
+  private static final class MergeSortRun<T> {
+    private final T[] array;
+    private final T[] buffer;
+    private final Comparator<T> comparator;
+    private final CancellationToken token;
+    private final AtomicLong work = new AtomicLong();
+    private final long totalWork;
+    private volatile boolean stopped;
+
+    @SuppressWarnings( "unchecked" )
+    MergeSortRun( T[] array, Comparator<T> comparator, CancellationToken token ) {
+      this.array = array;
+      this.buffer = (T[]) new Object[array.length];
+      this.comparator = comparator;
+      this.token = token;
+      this.totalWork = Math.max( 1, cost( array.length ) );
+    }
+
+    boolean shouldStop() {
+      if( stopped ) {
+        return true;
+      }
+      if( token.isCancelled() ) {
+        stopped = true;
+        return true;
+      }
+      return false;
+    }
+
+    void finish() {
+      if( stopped ) {
+        throw new SortCancelledException( (double) work.get() / totalWork );
+      }
+    }
+
+    void sort( int from, int to ) {
+      if( to - from < CHECK_SIZE ) {
+        sortUnchecked( from, to );
+        work.addAndGet( cost( to - from ) );
+        return;
+      }
+      if( shouldStop() ) {
+        return;
+      }
+      int mid = ( from + to ) >>> 1;
+      sort( from, mid );
+      sort( mid, to );
+      merge( from, mid, to );
+    }
+
+    void merge( int from, int mid, int to ) {
+      if( shouldStop() ) {
+        return;
+      }
+      if( comparator.compare( array[mid - 1], array[mid] ) > 0 ) {
+        System.arraycopy( array, from, buffer, from, mid - from );
+        int i = from;
+        int j = mid;
+        int k = from;
+        while( i < mid && j < to ) {
+          array[k++] = comparator.compare( buffer[i], array[j] ) <= 0 ? buffer[i++] : array[j++];
+          if( ( ( k - from ) & ( CHECK_SIZE - 1 ) ) == 0 && shouldStop() ) {
+            // The range is left half-merged; the run is abandoned anyway
+            return;
+          }
+        }
+        System.arraycopy( buffer, i, array, k, mid - i );
+      }
+      work.addAndGet( to - from );
+    }
+
+    private void sortUnchecked( int from, int to ) {
+      if( to - from <= MergeSort.INSERTION_SORT_THRESHOLD ) {
+        InsertionSort.binaryInsertionSort( array, from, to, comparator );
+        return;
+      }
+      int mid = ( from + to ) >>> 1;
+      sortUnchecked( from, mid );
+      sortUnchecked( mid, to );
+      if( comparator.compare( array[mid - 1], array[mid] ) <= 0 ) {
+        return;
+      }
+      System.arraycopy( array, from, buffer, from, mid - from );
+      int i = from;
+      int j = mid;
+      int k = from;
+      while( i < mid && j < to ) {
+        array[k++] = comparator.compare( buffer[i], array[j] ) <= 0 ? buffer[i++] : array[j++];
+      }
+      System.arraycopy( buffer, i, array, k, mid - i );
+    }
+
+    /**
+     * Estimated element moves to sort a range of the given size: one per element per merge level.
+     */
+    private static long cost( int size ) {
+      int leaves = Math.max( 1, ( size - 1 ) / MergeSort.INSERTION_SORT_THRESHOLD );
+      int levels = 32 - Integer.numberOfLeadingZeros( leaves );
+      return (long) size * Math.max( 1, levels );
+    }
+  }
+
+  /**
+   * A fork/join task sorting one range of a shared {@link MergeSortRun}.
+   */
+  private static final class MergeSortTask<T> extends RecursiveAction {
+    private final MergeSortRun<T> run;
+    private final int from;
+    private final int to;
+
+    MergeSortTask( MergeSortRun<T> run, int from, int to ) {
+      this.run = run;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+      if( to - from < PARALLEL_THRESHOLD ) {
+        run.sort( from, to );
+        return;
+      }
+      if( run.shouldStop() ) {
+        return;
+      }
+      int mid = ( from + to ) >>> 1;
+      invokeAll( new MergeSortTask<>( run, from, mid ), new MergeSortTask<>( run, mid, to ) );
+      run.merge( from, mid, to );
+    }
+  }
+}
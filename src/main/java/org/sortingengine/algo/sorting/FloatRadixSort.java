@@ -0,0 +1,210 @@
+package org.sortingengine.algo.sorting;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Provides an LSD radix sort for floating-point keys. This class offers static methods to sort arrays of floats and
+ * doubles, and lists of objects by a {@code double} key, without comparisons and without boxing the keys.
+ *
+ * <p>Each value is mapped to an integer bit pattern whose signed order is the order of
+ * {@link Double#compare(double, double)}: the sign bit is kept and, for negative values, every other bit is flipped.
+ * The patterns are then sorted one byte at a time, least significant byte first, with a counting pass per byte. A
+ * single histogram pass counts all bytes at once, and a byte that is the same in every key is skipped, so keys
+ * spanning a narrow range such as prices or scores take fewer than the full 4 or 8 passes.</p>
+ *
+ * <p>The order is the total order of {@code Double.compare}, which is explicit about the cases an IEEE-754 comparison
+ * leaves open: {@code -0.0} sorts before {@code 0.0}, NaN sorts after positive infinity, and all NaN values are equal
+ * to each other. Every pass is stable, so the sort is stable.</p>
+ */
+public final class FloatRadixSort {
+
+  /**
+   * The number of buckets of a pass; keys are sorted by one byte per pass.
+   */
+  static final int RADIX = 256;
+
+  /**
+   * Private Constructor to prevent instantiation.
+   */
+  private FloatRadixSort() {
+  }
+
+  /**
+   * Sorts a given list by a {@code double} key using LSD radix sort.
+   *
+   * <p>Keys are extracted once per element, so an expensive key extractor runs n times rather than O(n log n) times
+   * as it would inside a {@link java.util.Comparator}. Elements with equal keys, including all elements with a NaN
+   * key, keep their input order.</p>
+   *
+   * <p><b>Time Complexity:</b> O(n) for at most 8 passes over the keys.</p>
+   * <p><b>Space Complexity:</b> O(n) for the keys, the elements being moved and their scratch copies.</p>
+   *
+   * @param <T>  The type of elements in the list.
+   * @param list The list to be sorted. Must not be null.
+   * @param key  Extracts the key to sort by from an element. Must not be null.
+   * @return A new list containing the elements of the original list in ascending key order.
+   * @throws IllegalArgumentException if the list or key extractor is null.
+   */
+  @SuppressWarnings( "unchecked" )
+  public static <T> List<T> radixSort( List<T> list, ToDoubleFunction<T> key ) {
+    if( list == null ) {
+      throw new IllegalArgumentException( "The list cannot be null." );
+    }
+    if( key == null ) {
+      throw new IllegalArgumentException( "Key extractor cannot be null." );
+    }
+
+    Object[] elements = list.toArray();
+    long[] keys = new long[elements.length];
+    for( int i = 0; i < elements.length; i++ ) {
+      keys[i] = SortableBits.doubleToSortableLong( key.applyAsDouble( (T) elements[i] ) );
+    }
+    sort( keys, elements );
+    return new ArrayList<>( (List<T>) Arrays.asList( elements ) );
+  }
+
+  /**
+   * Sorts a given array of floats using LSD radix sort.
+   *
+   * <p>All NaN values are returned as the canonical NaN.</p>
+   *
+   * <p><b>Time Complexity:</b> O(n) for at most 4 passes.</p>
+   * <p><b>Space Complexity:</b> O(n) for the returned copy, the bit patterns and their scratch copy.</p>
+   *
+   * @param array The array to be sorted. Must not be null. The original array remains unmodified.
+   * @return A new array containing the sorted elements of the original array.
+   * @throws IllegalArgumentException if the array is null.
+   */
+  public static float[] radixSort( float[] array ) {
+    if( array == null ) {
+      throw new IllegalArgumentException( "The array cannot be null." );
+    }
+
+    int[] sortable = SortableBits.toSortableInts( array );
+    sort( sortable );
+    return SortableBits.fromSortableInts( sortable );
+  }
+
+  /**
+   * Sorts a given array of doubles using LSD radix sort.
+   *
+   * <p>All NaN values are returned as the canonical NaN.</p>
+   *
+   * <p><b>Time Complexity:</b> O(n) for at most 8 passes.</p>
+   * <p><b>Space Complexity:</b> O(n) for the returned copy, the bit patterns and their scratch copy.</p>
+   *
+   * @param array The array to be sorted. Must not be null. The original array remains unmodified.
+   * @return A new array containing the sorted elements of the original array.
+   * @throws IllegalArgumentException if the array is null.
+   */
+  public static double[] radixSort( double[] array ) {
+    if( array == null ) {
+      throw new IllegalArgumentException( "The array cannot be null." );
+    }
+
+    long[] sortable = SortableBits.toSortableLongs( array );
+    sort( sortable, null );
+    return SortableBits.fromSortableLongs( sortable );
+  }
+
+  /**
+   * Sorts ints in signed order in place.
+   */
+  static void sort( int[] keys ) {
+    int n = keys.length;
+    int[][] counts = new int[Integer.BYTES][RADIX];
+    for( int key : keys ) {
+      // Flipping the sign bit turns signed order into the unsigned order of the bytes
+      int bits = key ^ Integer.MIN_VALUE;
+      for( int pass = 0; pass < Integer.BYTES; pass++ ) {
+        counts[pass][( bits >>> ( 8 * pass ) ) & 0xff]++;
+      }
+    }
+
+    int[] source = keys;
+    int[] target = new int[n];
+    for( int pass = 0; pass < Integer.BYTES; pass++ ) {
+      int shift = 8 * pass;
+      int[] offsets = counts[pass];
+      if( n == 0 || offsets[( ( source[0] ^ Integer.MIN_VALUE ) >>> shift ) & 0xff] == n ) {
+        continue;
+      }
+      toOffsets( offsets );
+      for( int key : source ) {
+        target[offsets[( ( key ^ Integer.MIN_VALUE ) >>> shift ) & 0xff]++] = key;
+      }
+      int[] swap = source;
+      source = target;
+      target = swap;
+    }
+    if( source != keys ) {
+      System.arraycopy( source, 0, keys, 0, n );
+    }
+  }
+
+  /**
+   * Sorts longs in signed order in place, moving the elements at the same indices along with them when they are not
+   * null.
+   */
+  static void sort( long[] keys, Object[] elements ) {
+    int n = keys.length;
+    int[][] counts = new int[Long.BYTES][RADIX];
+    for( long key : keys ) {
+      long bits = key ^ Long.MIN_VALUE;
+      for( int pass = 0; pass < Long.BYTES; pass++ ) {
+        counts[pass][(int) ( bits >>> ( 8 * pass ) ) & 0xff]++;
+      }
+    }
+
+    long[] source = keys;
+    long[] target = new long[n];
+    Object[] sourceElements = elements;
+    Object[] targetElements = elements == null ? null : new Object[n];
+    for( int pass = 0; pass < Long.BYTES; pass++ ) {
+      int shift = 8 * pass;
+      int[] offsets = counts[pass];
+      if( n == 0 || offsets[(int) ( ( source[0] ^ Long.MIN_VALUE ) >>> shift ) & 0xff] == n ) {
+        continue;
+      }
+      toOffsets( offsets );
+      if( elements == null ) {
+        for( long key : source ) {
+          target[offsets[(int) ( ( key ^ Long.MIN_VALUE ) >>> shift ) & 0xff]++] = key;
+        }
+      } else {
+        for( int i = 0; i < n; i++ ) {
+          int slot = offsets[(int) ( ( source[i] ^ Long.MIN_VALUE ) >>> shift ) & 0xff]++;
+          target[slot] = source[i];
+          targetElements[slot] = sourceElements[i];
+        }
+        Object[] swap = sourceElements;
+        sourceElements = targetElements;
+        targetElements = swap;
+      }
+      long[] swap = source;
+      source = target;
+      target = swap;
+    }
+    if( source != keys ) {
+      System.arraycopy( source, 0, keys, 0, n );
+      if( elements != null ) {
+        System.arraycopy( sourceElements, 0, elements, 0, n );
+      }
+    }
+  }
+
+  /**
+   * Turns bucket counts into the start offset of each bucket.
+   */
+  private static void toOffsets( int[] counts ) {
+    int offset = 0;
+    for( int bucket = 0; bucket < RADIX; bucket++ ) {
+      int count = counts[bucket];
+      counts[bucket] = offset;
+      offset += count;
+    }
+  }
+}
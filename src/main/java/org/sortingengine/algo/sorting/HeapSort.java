@@ -11,6 +11,11 @@ import java.util.List;
  */
 public final class HeapSort {
 
+  /**
+   * The number of children per node used by {@link #heapSort(List, Comparator)}.
+   */
+  public static final int DEFAULT_ARITY = 2;
+
   /**
    * Private Constructor to prevent instantiation.
    */
@@ -23,13 +28,20 @@ public final class HeapSort {
    * <p>This method implements Heap Sort, an efficient sorting algorithm that first transforms
    * the list into a binary heap structure and then sorts it. The largest (or smallest, depending on the comparator)
    * elements are repeatedly moved to the end of the list, and the heap size is reduced accordingly until the entire
-   * list is sorted.</p>
+   * list is sorted. Lists of at most {@value SortingNetworks#MAX_SIZE} elements are sorted directly with a sorting
+   * network from {@link SortingNetworks}.</p>
+   *
+   * <p>Both the heap construction and the extraction phase use Floyd's bottom-up sift-down: instead of comparing the
+   * sifted element against both children at every level, the hole left at the top is first walked down to a leaf
+   * along the larger children, and the element is then sifted back up from there. Since the element usually belongs
+   * near the bottom, this needs about half the comparisons of the classic sift-down. The sift is iterative, so the
+   * stack depth is constant.</p>
    *
    * <p>This implementation includes null checks and throws an IllegalArgumentException
    * if either the list or the comparator is null, ensuring that the method operates on valid inputs.</p>
    *
    * <p><b>Time Complexity:</b> O(n log n), where n is the number of elements in the list.</p>
-   * <p><b>Space Complexity:</b> O(1) as it sorts the list in place.</p>
+   * <p><b>Space Complexity:</b> O(1) beyond the returned copy, as it sorts that copy in place.</p>
    *
    * <p>Note: Heap Sort is particularly useful for datasets that are too large to fit entirely in memory.</p>
    *
@@ -40,59 +52,105 @@ public final class HeapSort {
    * @throws IllegalArgumentException if the list or comparator is null.
    */
   public static <T> List<T> heapSort( List<T> list, Comparator<T> comparator ) {
+    return heapSort( list, comparator, DEFAULT_ARITY );
+  }
+
+  /**
+   * Sorts a given list using the Heap Sort algorithm on a d-ary heap.
+   *
+   * <p>This method behaves like {@link #heapSort(List, Comparator)}, but every node of the heap has {@code arity}
+   * children instead of two. A wider heap is shallower, so each sift touches fewer levels, and the children of a node
+   * sit next to each other in memory. On very large inputs this trades a few extra comparisons per level for far
+   * fewer cache misses; arities of 4 or 8 are typical choices.</p>
+   *
+   * <p>There is no upper limit on the arity: child indices are computed in {@code long}, so even
+   * {@link Integer#MAX_VALUE} cannot overflow. An arity of at least {@code n - 1} gives a heap of a root and n - 1
+   * leaves, and degrades the sort to O(n<sup>2</sup>) comparisons.</p>
+   *
+   * <p><b>Time Complexity:</b> O(n log n), where n is the number of elements in the list; each level of the heap
+   * costs {@code arity - 1} comparisons and there are log<sub>arity</sub>(n) levels.</p>
+   * <p><b>Space Complexity:</b> O(1) beyond the returned copy, as it sorts that copy in place.</p>
+   *
+   * @param <T>        The type of elements in the list.
+   * @param list       The list to be sorted. Must not be null.
+   * @param comparator The comparator to determine the order of the elements. Must not be null.
+   * @param arity      The number of children per heap node. Must be at least 2.
+   * @return A new list containing the sorted elements of the original list.
+   * @throws IllegalArgumentException if the list or comparator is null, or the arity is below 2.
+   */
+  public static <T> List<T> heapSort( List<T> list, Comparator<T> comparator, int arity ) {
     if( list == null ) {
       throw new IllegalArgumentException( "The list cannot be null." );
     }
     if( comparator == null ) {
       throw new IllegalArgumentException( "Comparator cannot be null." );
     }
+    if( arity < 2 ) {
+      throw new IllegalArgumentException( "The arity must be at least 2." );
+    }
 
     // Create a copy of the original list to sort
     List<T> resultList = new ArrayList<>( list );
     int n = resultList.size();
 
-    // Build heap
-    for( int i = n / 2 - 1; i >= 0; i-- ) {
-      heapify( resultList, n, i, comparator );
-    }
-
-    // Extract elements from heap one by one
-    for( int i = n - 1; i >= 0; i-- ) {
-      // Move current root to end
-      T temp = resultList.get( 0 );
-      resultList.set( 0, resultList.get( i ) );
-      resultList.set( i, temp );
-
-      // Call max heapify on the reduced heap
-      heapify( resultList, i, 0, comparator );
+    // Tiny inputs are cheaper to run through a fixed network than to heapify
+    if( n <= SortingNetworks.MAX_SIZE ) {
+      SortingNetworks.sort( resultList, 0, n, comparator );
+      return resultList;
     }
 
+    sortInPlace( resultList, comparator, arity );
     return resultList;
   }
 
-  private static <T> void heapify( List<T> list, int n, int i, Comparator<T> comparator ) {
-    int largest = i; // Initialize largest as root
-    int left = 2 * i + 1; // left = 2*i + 1
-    int right = 2 * i + 2; // right = 2*i + 2
+  /**
+   * Heap sorts a list in place. The list should support constant-time positional access; sorting a range of an array
+   * works by passing an {@code Arrays.asList(array).subList(from, to)} view.
+   */
+  static <T> void sortInPlace( List<T> list, Comparator<T> comparator, int arity ) {
+    int n = list.size();
 
-    // If left child is larger than root
-    if( left < n && comparator.compare( list.get( left ), list.get( largest ) ) > 0 ) {
-      largest = left;
+    // Build heap
+    for( int i = ( n - 2 ) / arity; i >= 0; i-- ) {
+      siftDown( list, i, list.get( i ), n, comparator, arity );
     }
 
-    // If right child is larger than largest so far
-    if( right < n && comparator.compare( list.get( right ), list.get( largest ) ) > 0 ) {
-      largest = right;
+    // Extract elements from heap one by one
+    for( int end = n - 1; end > 0; end-- ) {
+      // Move current root to end and sift the displaced last element into the reduced heap
+      T last = list.get( end );
+      list.set( end, list.get( 0 ) );
+      siftDown( list, 0, last, end, comparator, arity );
     }
+  }
 
-    // If largest is not root
-    if( largest != i ) {
-      T swap = list.get( i );
-      list.set( i, list.get( largest ) );
-      list.set( largest, swap );
+  private static <T> void siftDown( List<T> list, int root, T value, int size, Comparator<T> comparator,
+                                    int arity ) {
+    // Walk the hole down to a leaf along the largest children, without comparing against the sifted value
+    // Child indices are computed in long, as arity * hole overflows an int for large arities
+    int hole = root;
+    for( long child = (long) arity * hole + 1; child < size; child = (long) arity * hole + 1 ) {
+      int largest = (int) child;
+      int lastChild = (int) Math.min( child + arity, size );
+      for( int k = largest + 1; k < lastChild; k++ ) {
+        if( comparator.compare( list.get( k ), list.get( largest ) ) > 0 ) {
+          largest = k;
+        }
+      }
+      list.set( hole, list.get( largest ) );
+      hole = largest;
+    }
 
-      // Recursively heapify the affected subtree
-      heapify( list, n, largest, comparator );
+    // Sift the value back up from the leaf to where it belongs
+    while( hole > root ) {
+      int parent = ( hole - 1 ) / arity;
+      T parentValue = list.get( parent );
+      if( comparator.compare( parentValue, value ) >= 0 ) {
+        break;
+      }
+      list.set( hole, parentValue );
+      hole = parent;
     }
+    list.set( hole, value );
   }
 }
@@ -0,0 +1,148 @@
+package org.sortingengine.algo.sorting;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Keeps a sorted list up to date by applying a batch of changes instead of re-sorting it. This class offers a static
+ * method that merges a sorted delta of inserts and deletes into a sorted base list; {@link SortedChunkList} offers the
+ * same operations on a structure that is updated in place.
+ *
+ * <p>An update of an element is expressed as the delete of its old value plus the insert of its new value. The
+ * delta is sorted on its own, which costs O(d log d) for d changes, and is then merged into the base by galloping:
+ * the position of each change is found with an exponential search starting at the previous one, and the untouched
+ * stretch of the base in between is copied in bulk. Comparisons therefore scale with the delta, O(d log(n / d)), and
+ * only the bulk copy of the base is linear.</p>
+ */
+public final class IncrementalSort {
+
+  /**
+   * Private Constructor to prevent instantiation.
+   */
+  private IncrementalSort() {
+  }
+
+  /**
+   * Returns a new sorted list with a batch of inserts and deletes applied to a sorted base list.
+   *
+   * <p>Inserted elements are placed after any base elements they compare equal to, and after each other in their
+   * delta order, as a stable sort of the concatenated lists would place them. A delete removes one element of the base
+   * that compares equal to it and is {@link Object#equals(Object) equal} to it; deletes are applied before inserts
+   * that compare equal.</p>
+   *
+   * <p><b>Time Complexity:</b> O(d log d + d log(n / d)) comparisons and O(n + d) copied references, where n is the
+   * size of the base and d the size of the delta.</p>
+   * <p><b>Space Complexity:</b> O(n + d) for the returned list.</p>
+   *
+   * @param <T>        The type of elements in the lists.
+   * @param sortedBase The list to update, sorted according to the comparator. Must not be null. It is not modified.
+   * @param inserts    The elements to insert, in any order. Must not be null.
+   * @param deletes    The elements to remove, in any order. Must not be null.
+   * @param comparator The comparator the base is sorted by. Must not be null.
+   * @return A new sorted list containing the base without the deleted and with the inserted elements.
+   * @throws IllegalArgumentException if an argument is null, or a deleted element is not in the base.
+   */
+  @SuppressWarnings( "unchecked" )
+  public static <T> List<T> applyDelta( List<T> sortedBase, List<T> inserts, List<T> deletes,
+                                        Comparator<T> comparator ) {
+    if( sortedBase == null || inserts == null || deletes == null ) {
+      throw new IllegalArgumentException( "The list cannot be null." );
+    }
+    if( comparator == null ) {
+      throw new IllegalArgumentException( "Comparator cannot be null." );
+    }
+
+    List<T> base = sortedBase instanceof RandomAccess ? sortedBase : new ArrayList<>( sortedBase );
+    T[] added = (T[]) inserts.toArray();
+    T[] removed = (T[]) deletes.toArray();
+    MergeSorter sorter = new MergeSorter();
+    sorter.sort( added, 0, added.length, comparator );
+    sorter.sort( removed, 0, removed.length, comparator );
+
+    int n = base.size();
+    List<T> result = new ArrayList<>( Math.max( 0, n + added.length - removed.length ) );
+    int position = 0;
+    int i = 0;
+    int j = 0;
+    while( i < added.length || j < removed.length ) {
+      if( j < removed.length && ( i == added.length || comparator.compare( removed[j], added[i] ) <= 0 ) ) {
+        // Deletes that compare equal are matched together against the run of equal base elements
+        T target = removed[j];
+        int groupEnd = j + 1;
+        while( groupEnd < removed.length && comparator.compare( removed[groupEnd], target ) == 0 ) {
+          groupEnd++;
+        }
+        int start = gallop( base, position, target, comparator, false );
+        int end = gallop( base, start, target, comparator, true );
+        result.addAll( base.subList( position, start ) );
+        boolean[] matched = new boolean[groupEnd - j];
+        int unmatched = matched.length;
+        for( int k = start; k < end; k++ ) {
+          T element = base.get( k );
+          int match = -1;
+          for( int d = 0; d < matched.length && match < 0 && unmatched > 0; d++ ) {
+            if( !matched[d] && Objects.equals( element, removed[j + d] ) ) {
+              match = d;
+            }
+          }
+          if( match >= 0 ) {
+            matched[match] = true;
+            unmatched--;
+          } else {
+            result.add( element );
+          }
+        }
+        for( int d = 0; d < matched.length; d++ ) {
+          if( !matched[d] ) {
+            throw new IllegalArgumentException( "A deleted element is not in the base list: " + removed[j + d] );
+          }
+        }
+        position = end;
+        j = groupEnd;
+      } else {
+        T element = added[i++];
+        int end = gallop( base, position, element, comparator, true );
+        result.addAll( base.subList( position, end ) );
+        result.add( element );
+        position = end;
+      }
+    }
+    result.addAll( base.subList( position, n ) );
+    return result;
+  }
+
+  /**
+   * Returns the first index at or after {@code from} whose element is greater than the key ({@code upper}) or not
+   * smaller than the key (not {@code upper}), probing at exponentially growing distances before a binary search.
+   */
+  static <T> int gallop( List<T> list, int from, T key, Comparator<T> comparator, boolean upper ) {
+    int n = list.size();
+    int low = from;
+    int step = 1;
+    int high = from;
+    // Grow the probe until it passes the key, keeping low on the last probe that did not
+    while( high < n && before( list.get( high ), key, comparator, upper ) ) {
+      low = high + 1;
+      high = from + step;
+      step <<= 1;
+    }
+    high = Math.min( high, n );
+    while( low < high ) {
+      int mid = ( low + high ) >>> 1;
+      if( before( list.get( mid ), key, comparator, upper ) ) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  private static <T> boolean before( T element, T key, Comparator<T> comparator, boolean upper ) {
+    int order = comparator.compare( element, key );
+    return upper ? order <= 0 : order < 0;
+  }
+}
@@ -1,8 +1,11 @@
 package org.sortingengine.algo.sorting;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Provides an implementation of the Insertion Sort algorithm for sorting lists. This class offers a static method to
@@ -63,4 +66,192 @@ public final class InsertionSort {
     }
     return sortedList;
   }
+
+  /**
+   * Sorts a given list using Binary Insertion Sort.
+   *
+   * <p>This variant finds the insertion point of each element with a binary search over the sorted prefix instead of
+   * a linear scan, and then shifts the block of larger elements one slot to the right with a single
+   * {@link System#arraycopy} on a backing array. The search places an element after every element equal to it, so the
+   * sort is stable.</p>
+   *
+   * <p>It pays off when comparisons are expensive, such as collation or multi-field comparators: the number of
+   * comparisons drops from O(n^2) to O(n log n), while the moves stay quadratic but become bulk memory copies.</p>
+   *
+   * <p><b>Time Complexity:</b> O(n log n) comparisons and O(n^2) element moves in the worst case.</p>
+   * <p><b>Space Complexity:</b> O(n) for the backing array and the returned list.</p>
+   *
+   * @param <T>        The type of elements in the list.
+   * @param list       The list to be sorted. Must not be null.
+   * @param comparator The comparator to determine the order of the elements. Must not be null.
+   * @return A new list containing the sorted elements of the original list.
+   * @throws IllegalArgumentException if the list or comparator is null.
+   */
+  @SuppressWarnings( "unchecked" )
+  public static <T> List<T> binaryInsertionSort( List<T> list, Comparator<T> comparator ) {
+    if( list == null ) {
+      throw new IllegalArgumentException( "The list cannot be null." );
+    }
+    if( comparator == null ) {
+      throw new IllegalArgumentException( "Comparator cannot be null." );
+    }
+
+    T[] array = (T[]) list.toArray();
+    binaryInsertionSort( array, 0, array.length, comparator );
+    return new ArrayList<>( Arrays.asList( array ) );
+  }
+
+  /**
+   * Sorts a range of an array in place using Binary Insertion Sort. The sort is stable.
+   */
+  static <T> void binaryInsertionSort( T[] array, int from, int to, Comparator<T> comparator ) {
+    for( int i = from + 1; i < to; i++ ) {
+      T current = array[i];
+      // Already in place: the common case for nearly sorted input costs a single comparison
+      if( comparator.compare( array[i - 1], current ) <= 0 ) {
+        continue;
+      }
+      int low = from;
+      int high = i - 1;
+      while( low < high ) {
+        int mid = ( low + high ) >>> 1;
+        if( comparator.compare( current, array[mid] ) < 0 ) {
+          high = mid;
+        } else {
+          low = mid + 1;
+        }
+      }
+      System.arraycopy( array, low, array, low + 1, i - low );
+      array[low] = current;
+    }
+  }
+
+  /**
+   * Sorts a given list with as few comparisons as practical, using the Ford-Johnson merge-insertion algorithm.
+   *
+   * <p>The elements are paired and each pair is compared once. The larger elements of the pairs are sorted
+   * recursively, and the smaller ones are then binary-inserted into that chain in an order driven by the Jacobsthal
+   * numbers, which keeps every binary search within a range of size 2<sup>k</sup> - 1, where it costs exactly k
+   * comparisons. The resulting worst-case comparison count is the lowest known for general comparison sorts and is
+   * optimal for up to 11 elements.</p>
+   *
+   * <p>Elements that compare equal are ordered by their position in the input, so the sort is stable. Use this mode
+   * only when a comparison costs far more than moving an element, for example a remote or model-based comparator:
+   * the bookkeeping costs O(n^2) moves and allocates per level of recursion.</p>
+   *
+   * <p><b>Time Complexity:</b> about n log<sub>2</sub> n - 1.415n comparisons, and O(n^2) moves.</p>
+   * <p><b>Space Complexity:</b> O(n).</p>
+   *
+   * @param <T>        The type of elements in the list.
+   * @param list       The list to be sorted. Must not be null.
+   * @param comparator The comparator to determine the order of the elements. Must not be null.
+   * @return A new list containing the sorted elements of the original list.
+   * @throws IllegalArgumentException if the list or comparator is null.
+   */
+  public static <T> List<T> mergeInsertionSort( List<T> list, Comparator<T> comparator ) {
+    if( list == null ) {
+      throw new IllegalArgumentException( "The list cannot be null." );
+    }
+    if( comparator == null ) {
+      throw new IllegalArgumentException( "Comparator cannot be null." );
+    }
+
+    List<Item<T>> items = new ArrayList<>( list.size() );
+    int index = 0;
+    for( T value : list ) {
+      items.add( new Item<>( value, index++ ) );
+    }
+    // Equal elements are ordered by input position, which makes the order total and the sort stable
+    Comparator<Item<T>> order = ( a, b ) -> {
+      int result = comparator.compare( a.value(), b.value() );
+      return result != 0 ? result : Integer.compare( a.index(), b.index() );
+    };
+
+    List<Item<T>> sorted = mergeInsertion( items, order );
+    List<T> sortedList = new ArrayList<>( sorted.size() );
+    for( Item<T> item : sorted ) {
+      sortedList.add( item.value() );
+    }
+    return sortedList;
+  }
+
+  private static <T> List<Item<T>> mergeInsertion( List<Item<T>> items, Comparator<Item<T>> order ) {
+    int n = items.size();
+    if( n <= 1 ) {
+      return new ArrayList<>( items );
+    }
+
+    // Compare each pair once and remember the smaller element of each larger one
+    List<Item<T>> larger = new ArrayList<>( n / 2 );
+    Map<Item<T>, Item<T>> partners = new IdentityHashMap<>( n );
+    for( int i = 0; i + 1 < n; i += 2 ) {
+      Item<T> a = items.get( i );
+      Item<T> b = items.get( i + 1 );
+      if( order.compare( a, b ) > 0 ) {
+        larger.add( a );
+        partners.put( a, b );
+      } else {
+        larger.add( b );
+        partners.put( b, a );
+      }
+    }
+    Item<T> straggler = n % 2 == 1 ? items.get( n - 1 ) : null;
+
+    List<Item<T>> chain = mergeInsertion( larger, order );
+    List<Item<T>> mainChain = new ArrayList<>( chain );
+    int pending = chain.size() + ( straggler != null ? 1 : 0 );
+
+    // The partner of the smallest larger element precedes it and needs no comparison
+    mainChain.add( 0, partners.get( chain.get( 0 ) ) );
+
+    // Insert the remaining partners in Jacobsthal groups, each group from its highest index down
+    int previous = 1;
+    for( int k = 2; previous < pending; k++ ) {
+      int jacobsthal = (int) ( ( ( 1L << ( k + 1 ) ) + ( k % 2 == 0 ? 1 : -1 ) ) / 3 );
+      int upper = Math.min( jacobsthal, pending );
+      for( int i = upper; i > previous; i-- ) {
+        Item<T> item;
+        int bound;
+        if( i <= chain.size() ) {
+          Item<T> chained = chain.get( i - 1 );
+          item = partners.get( chained );
+          bound = indexOf( mainChain, chained );
+        } else {
+          item = straggler;
+          bound = mainChain.size();
+        }
+        mainChain.add( insertionPoint( mainChain, bound, item, order ), item );
+      }
+      previous = upper;
+    }
+    return mainChain;
+  }
+
+  private static <T> int insertionPoint( List<Item<T>> chain, int bound, Item<T> item, Comparator<Item<T>> order ) {
+    int low = 0;
+    int high = bound;
+    while( low < high ) {
+      int mid = ( low + high ) >>> 1;
+      if( order.compare( item, chain.get( mid ) ) < 0 ) {
+        high = mid;
+      } else {
+        low = mid + 1;
+      }
+    }
+    return low;
+  }
+
+  private static <T> int indexOf( List<Item<T>> chain, Item<T> item ) {
+    for( int i = 0; ; i++ ) {
+      if( chain.get( i ) == item ) {
+        return i;
+      }
+    }
+  }
+
+  /**
+   * An element together with its position in the input.
+   */
+  private record Item<T>( T value, int index ) {
+  }
 }
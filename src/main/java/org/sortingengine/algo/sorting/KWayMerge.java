@@ -0,0 +1,322 @@
+package org.sortingengine.algo.sorting;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Provides a k-way merge of sources that are already sorted. This class offers static methods to merge lists,
+ * iterators and primitive arrays without re-sorting the concatenated input.
+ *
+ * <p>The merge is driven by a tournament tree of losers. Each internal node of the tree remembers the source that
+ * lost the match played at that node, and the overall winner is kept at the root. After the winning element is
+ * emitted, only the path from the winner's leaf to the root is replayed, so every output element costs about
+ * log<sub>2</sub>(k) comparisons, independent of how the sources interleave.</p>
+ *
+ * <p>All merges are stable: when elements from different sources compare equal, the one from the source with the
+ * lower index is emitted first, and elements from the same source keep their order.</p>
+ *
+ * <p><b>Time Complexity:</b> O(n log k), where n is the total number of elements and k is the number of sources.</p>
+ * <p><b>Space Complexity:</b> O(k) for the tree, plus the output for the eager variants.</p>
+ */
+public final class KWayMerge {
+
+  /**
+   * Private Constructor to prevent instantiation.
+   */
+  private KWayMerge() {
+  }
+
+  /**
+   * Merges sorted lists into a single new sorted list.
+   *
+   * @param <T>        The type of elements in the lists.
+   * @param sources    The lists to merge, each sorted according to the comparator. Must not be null or contain null.
+   * @param comparator The comparator the sources are sorted by. Must not be null.
+   * @return A new list containing every element of the sources in sorted order.
+   * @throws IllegalArgumentException if the sources, any source, or the comparator is null.
+   */
+  public static <T> List<T> merge( List<List<T>> sources, Comparator<T> comparator ) {
+    if( sources == null ) {
+      throw new IllegalArgumentException( "The sources cannot be null." );
+    }
+    int total = 0;
+    List<Iterator<T>> iterators = new ArrayList<>( sources.size() );
+    for( List<T> source : sources ) {
+      if( source == null ) {
+        throw new IllegalArgumentException( "A source cannot be null." );
+      }
+      total += source.size();
+      iterators.add( source.iterator() );
+    }
+
+    Iterator<T> merged = mergeIterators( iterators, comparator );
+    List<T> mergedList = new ArrayList<>( total );
+    while( merged.hasNext() ) {
+      mergedList.add( merged.next() );
+    }
+    return mergedList;
+  }
+
+  /**
+   * Lazily merges sorted iterators.
+   *
+   * <p>The returned iterator pulls from a source only when the element it holds has been emitted, so at most one
+   * element per source is buffered at any time. This makes it suitable for streaming sources such as files or
+   * network shards. The source iterators must not be used by the caller once passed in.</p>
+   *
+   * @param <T>        The type of elements in the iterators.
+   * @param sources    The iterators to merge, each yielding elements sorted according to the comparator. Must not be
+   *                   null or contain null.
+   * @param comparator The comparator the sources are sorted by. Must not be null.
+   * @return An iterator over every element of the sources in sorted order.
+   * @throws IllegalArgumentException if the sources, any source, or the comparator is null.
+   */
+  public static <T> Iterator<T> mergeIterators( List<Iterator<T>> sources, Comparator<T> comparator ) {
+    if( sources == null ) {
+      throw new IllegalArgumentException( "The sources cannot be null." );
+    }
+    if( comparator == null ) {
+      throw new IllegalArgumentException( "Comparator cannot be null." );
+    }
+    for( Iterator<T> source : sources ) {
+      if( source == null ) {
+        throw new IllegalArgumentException( "A source cannot be null." );
+      }
+    }
+    return new LoserTreeIterator<>( new ArrayList<>( sources ), comparator );
+  }
+
+  /**
+   * Merges sorted int arrays into a single new sorted array.
+   *
+   * @param sources The arrays to merge, each sorted in ascending order. Must not be null or contain null.
+   * @return A new array containing every element of the sources in ascending order.
+   * @throws IllegalArgumentException if the sources or any source is null.
+   */
+  public static int[] merge( int[][] sources ) {
+    if( sources == null ) {
+      throw new IllegalArgumentException( "The sources cannot be null." );
+    }
+    int k = sources.length;
+    long total = 0;
+    for( int[] source : sources ) {
+      if( source == null ) {
+        throw new IllegalArgumentException( "A source cannot be null." );
+      }
+      total += source.length;
+    }
+    int[] merged = new int[Math.toIntExact( total )];
+    if( k == 0 ) {
+      return merged;
+    }
+
+    int[] positions = new int[k];
+    int[] tree = new int[k];
+    int[] winners = new int[2 * k];
+    for( int i = 0; i < k; i++ ) {
+      winners[k + i] = i;
+    }
+    for( int node = k - 1; node >= 1; node-- ) {
+      int left = winners[2 * node];
+      int right = winners[2 * node + 1];
+      boolean leftWins = beats( sources, positions, left, right );
+      winners[node] = leftWins ? left : right;
+      tree[node] = leftWins ? right : left;
+    }
+    int winner = k == 1 ? 0 : winners[1];
+
+    for( int out = 0; out < merged.length; out++ ) {
+      merged[out] = sources[winner][positions[winner]++];
+      for( int node = ( winner + k ) >> 1; node >= 1; node >>= 1 ) {
+        if( beats( sources, positions, tree[node], winner ) ) {
+          int loser = winner;
+          winner = tree[node];
+          tree[node] = loser;
+        }
+      }
+    }
+    return merged;
+  }
+
+  /**
+   * Merges sorted long arrays into a single new sorted array.
+   *
+   * @param sources The arrays to merge, each sorted in ascending order. Must not be null or contain null.
+   * @return A new array containing every element of the sources in ascending order.
+   * @throws IllegalArgumentException if the sources or any source is null.
+   */
+  public static long[] merge( long[][] sources ) {
+    if( sources == null ) {
+      throw new IllegalArgumentException( "The sources cannot be null." );
+    }
+    int k = sources.length;
+    long total = 0;
+    for( long[] source : sources ) {
+      if( source == null ) {
+        throw new IllegalArgumentException( "A source cannot be null." );
+      }
+      total += source.length;
+    }
+    long[] merged = new long[Math.toIntExact( total )];
+    if( k == 0 ) {
+      return merged;
+    }
+
+    int[] positions = new int[k];
+    int[] tree = new int[k];
+    int[] winners = new int[2 * k];
+    for( int i = 0; i < k; i++ ) {
+      winners[k + i] = i;
+    }
+    for( int node = k - 1; node >= 1; node-- ) {
+      int left = winners[2 * node];
+      int right = winners[2 * node + 1];
+      boolean leftWins = beats( sources, positions, left, right );
+      winners[node] = leftWins ? left : right;
+      tree[node] = leftWins ? right : left;
+    }
+    int winner = k == 1 ? 0 : winners[1];
+
+    for( int out = 0; out < merged.length; out++ ) {
+      merged[out] = sources[winner][positions[winner]++];
+      for( int node = ( winner + k ) >> 1; node >= 1; node >>= 1 ) {
+        if( beats( sources, positions, tree[node], winner ) ) {
+          int loser = winner;
+          winner = tree[node];
+          tree[node] = loser;
+        }
+      }
+    }
+    return merged;
+  }
+
+  private static boolean beats( int[][] sources, int[] positions, int a, int b ) {
+    if( positions[a] == sources[a].length ) {
+      return false;
+    }
+    if( positions[b] == sources[b].length ) {
+      return true;
+    }
+    int x = sources[a][positions[a]];
+    int y = sources[b][positions[b]];
+    return x < y || ( x == y && a < b );
+  }
+
+  private static boolean beats( long[][] sources, int[] positions, int a, int b ) {
+    if( positions[a] == sources[a].length ) {
+      return false;
+    }
+    if( positions[b] == sources[b].length ) {
+      return true;
+    }
+    long x = sources[a][positions[a]];
+    long y = sources[b][positions[b]];
+    return x < y || ( x == y && a < b );
+  }
+
+  /**
+   * A lazy iterator over the merge of k sorted iterators, organized as a tree of losers.
+   *
+   * <p>Leaf {@code i} of the tree is source {@code i}; {@code tree[node]} for {@code 1 <= node < k} holds the index
+   * of the source that lost the match at that node, and {@code winner} holds the current overall winner. Exhausted
+   * sources lose every match.</p>
+   */
+  private static final class LoserTreeIterator<T> implements Iterator<T> {
+    private final List<Iterator<T>> sources;
+    private final Comparator<T> comparator;
+    private final Object[] heads;
+    private final boolean[] exhausted;
+    private final int[] tree;
+    private final int k;
+    private int winner;
+
+    LoserTreeIterator( List<Iterator<T>> sources, Comparator<T> comparator ) {
+      this.sources = sources;
+      this.comparator = comparator;
+      this.k = sources.size();
+      this.heads = new Object[k];
+      this.exhausted = new boolean[k];
+      this.tree = new int[Math.max( 1, k )];
+      for( int i = 0; i < k; i++ ) {
+        advance( i );
+      }
+      buildTree();
+    }
+
+    @Override
+    public boolean hasNext() {
+      return k > 0 && !exhausted[winner];
+    }
+
+    @Override
+    @SuppressWarnings( "unchecked" )
+    public T next() {
+      if( !hasNext() ) {
+        throw new NoSuchElementException();
+      }
+      T result = (T) heads[winner];
+      advance( winner );
+      replay();
+      return result;
+    }
+
+    private void advance( int source ) {
+      Iterator<T> iterator = sources.get( source );
+      if( iterator.hasNext() ) {
+        heads[source] = iterator.next();
+      } else {
+        heads[source] = null;
+        exhausted[source] = true;
+      }
+    }
+
+    private void buildTree() {
+      if( k <= 1 ) {
+        winner = 0;
+        return;
+      }
+      int[] winners = new int[2 * k];
+      for( int i = 0; i < k; i++ ) {
+        winners[k + i] = i;
+      }
+      for( int node = k - 1; node >= 1; node-- ) {
+        int left = winners[2 * node];
+        int right = winners[2 * node + 1];
+        if( beats( left, right ) ) {
+          winners[node] = left;
+          tree[node] = right;
+        } else {
+          winners[node] = right;
+          tree[node] = left;
+        }
+      }
+      winner = winners[1];
+    }
+
+    private void replay() {
+      // Only the matches on the path from the previous winner's leaf to the root can change
+      for( int node = ( winner + k ) >> 1; node >= 1; node >>= 1 ) {
+        if( beats( tree[node], winner ) ) {
+          int loser = winner;
+          winner = tree[node];
+          tree[node] = loser;
+        }
+      }
+    }
+
+    @SuppressWarnings( "unchecked" )
+    private boolean beats( int a, int b ) {
+      if( exhausted[a] ) {
+        return false;
+      }
+      if( exhausted[b] ) {
+        return true;
+      }
+      int order = comparator.compare( (T) heads[a], (T) heads[b] );
+      return order < 0 || ( order == 0 && a < b );
+    }
+  }
+}
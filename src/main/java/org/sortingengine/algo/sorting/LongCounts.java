@@ -0,0 +1,20 @@
+package org.sortingengine.algo.sorting;
+
+/**
+ * The run-length encoding of a sorted long array, as produced by {@link CountingSort#counts(long[])}: distinct values
+ * in ascending order and, at the same index, the number of times each occurs.
+ *
+ * @param values The distinct values in ascending order.
+ * @param counts The number of occurrences of each value.
+ */
+public record LongCounts( long[] values, long[] counts ) {
+
+  /**
+   * Returns the number of distinct values.
+   *
+   * @return The number of distinct values.
+   */
+  public int size() {
+    return values.length;
+  }
+}
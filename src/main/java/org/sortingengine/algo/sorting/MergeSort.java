@@ -11,6 +11,11 @@ import java.util.List;
  */
 public final class MergeSort {
 
+  /**
+   * Ranges at or below this size are sorted with Binary Insertion Sort by the array-based variant.
+   */
+  static final int INSERTION_SORT_THRESHOLD = 16;
+
   /**
    * Private Constructor to prevent instantiation.
    */
@@ -21,9 +26,10 @@ public final class MergeSort {
    * Sorts a given list using the Merge Sort algorithm.
    *
    * <p>This method implements Merge Sort, an efficient, stable, comparison-based, divide and conquer sorting
-   * algorithm. The list is recursively divided into two halves until each sublist contains a single element. Then,
-   * these sublist are repeatedly merged to produce new sorted sublist until there is only one sublist remaining. This
-   * final sublist is the sorted list.</p>
+   * algorithm. The list is recursively divided into two halves until each sublist contains at most
+   * {@value SortingNetworks#MAX_SIZE} elements, which are sorted with a stable sorting network from
+   * {@link SortingNetworks}. Then, these sublist are repeatedly merged to produce new sorted sublist until there is
+   * only one sublist remaining. This final sublist is the sorted list.</p>
    *
    * <p>This implementation includes checks for null inputs and throws an IllegalArgumentException
    * if either the list or the comparator is null. This ensures that the method operates on valid inputs.</p>
@@ -48,8 +54,10 @@ public final class MergeSort {
       throw new IllegalArgumentException( "Comparator cannot be null." );
     }
 
-    if( list.size() <= 1 ) {
-      return new ArrayList<>( list );
+    if( list.size() <= SortingNetworks.MAX_SIZE ) {
+      List<T> sortedList = new ArrayList<>( list );
+      SortingNetworks.stableSort( sortedList, 0, sortedList.size(), comparator );
+      return sortedList;
     }
 
     int mid = list.size() / 2;
@@ -59,6 +67,233 @@ public final class MergeSort {
     return merge( left, right, comparator );
   }
 
+  /**
+   * Sorts a range of an array in place using the Merge Sort algorithm, merging through a caller-supplied scratch array.
+   *
+   * <p>This variant is meant for callers that sort many inputs in a row: instead of allocating temporary sublists on
+   * every level of recursion, the left half of each merge is copied into {@code scratch}, which can be reused across
+   * calls. Ranges of at most {@value #INSERTION_SORT_THRESHOLD} elements are finished with Binary Insertion Sort, and a
+   * merge is skipped entirely when the two halves are already in order.</p>
+   *
+   * <p>The sort is stable and performs no allocation of its own. Elements of {@code scratch} are left holding
+   * references to sorted elements when the method returns; callers that pool the array should clear it if that
+   * matters.</p>
+   *
+   * <p><b>Time Complexity:</b> O(n log n), where n is the length of the range.</p>
+   * <p><b>Space Complexity:</b> O(log n) for the recursion; the merge buffer is provided by the caller.</p>
+   *
+   * @param <T>        The type of elements in the array.
+   * @param array      The array holding the range to sort. Must not be null.
+   * @param fromIndex  The index of the first element to sort, inclusive.
+   * @param toIndex    The index of the last element to sort, exclusive.
+   * @param scratch    The merge buffer. Must not be null and must hold at least half of the range, rounded up.
+   * @param comparator The comparator to determine the order of the elements. Must not be null.
+   * @throws IllegalArgumentException if an argument is null, the range is invalid, or the scratch array is too short.
+   */
+  public static <T> void mergeSort( T[] array, int fromIndex, int toIndex, T[] scratch, Comparator<T> comparator ) {
+    if( array == null ) {
+      throw new IllegalArgumentException( "The array cannot be null." );
+    }
+    if( scratch == null ) {
+      throw new IllegalArgumentException( "The scratch array cannot be null." );
+    }
+    if( comparator == null ) {
+      throw new IllegalArgumentException( "Comparator cannot be null." );
+    }
+    if( fromIndex < 0 || toIndex > array.length || fromIndex > toIndex ) {
+      throw new IllegalArgumentException( "Invalid range [" + fromIndex + ", " + toIndex + ")." );
+    }
+    if( scratch.length < ( toIndex - fromIndex + 1 ) / 2 ) {
+      throw new IllegalArgumentException( "The scratch array is too short for the range." );
+    }
+
+    mergeSortRange( array, fromIndex, toIndex, scratch, comparator );
+  }
+
+  /**
+   * Sorts a given array of ints using a bottom-up Merge Sort.
+   *
+   * <p>The array is first cut into blocks of {@value PrimitiveKernels#SMALL_SORT_THRESHOLD} elements, each sorted by a
+   * dedicated small-block sort, and the blocks are then merged pairwise, alternating between the result and a single
+   * buffer of the same length. When the {@code jdk.incubator.vector} module is available the block sort is a
+   * branch-free bitonic network running on SIMD registers; otherwise it is scalar code. The result is the same either
+   * way.</p>
+   *
+   * <p><b>Time Complexity:</b> O(n log n), where n is the number of elements in the array.</p>
+   * <p><b>Space Complexity:</b> O(n), for the returned copy and the merge buffer.</p>
+   *
+   * @param array The array to be sorted. Must not be null. The original array remains unmodified.
+   * @return A new array containing the sorted elements of the original array.
+   * @throws IllegalArgumentException if the array is null.
+   */
+  public static int[] mergeSort( int[] array ) {
+    if( array == null ) {
+      throw new IllegalArgumentException( "The array cannot be null." );
+    }
+
+    int[] sortedArray = array.clone();
+    int n = sortedArray.length;
+    int[] buffer = n > PrimitiveKernels.SMALL_SORT_THRESHOLD ? new int[n] : sortedArray;
+    return bottomUpMergeSort( sortedArray, n, buffer, PrimitiveKernels.intBlock() );
+  }
+
+  /**
+   * Sorts a given array of longs using a bottom-up Merge Sort. See {@link #mergeSort(int[])} for details.
+   *
+   * @param array The array to be sorted. Must not be null. The original array remains unmodified.
+   * @return A new array containing the sorted elements of the original array.
+   * @throws IllegalArgumentException if the array is null.
+   */
+  public static long[] mergeSort( long[] array ) {
+    if( array == null ) {
+      throw new IllegalArgumentException( "The array cannot be null." );
+    }
+
+    long[] sortedArray = array.clone();
+    int n = sortedArray.length;
+    long[] buffer = n > PrimitiveKernels.SMALL_SORT_THRESHOLD ? new long[n] : sortedArray;
+    return bottomUpMergeSort( sortedArray, n, buffer, PrimitiveKernels.longBlock() );
+  }
+
+  /**
+   * Sorts a given array of floats using a bottom-up Merge Sort.
+   *
+   * <p>The values are mapped to order-preserving int bit patterns and sorted with {@link #mergeSort(int[])}, so the
+   * order is the one defined by {@link Float#compare(float, float)}: {@code -0.0f} precedes {@code 0.0f} and NaN comes
+   * last. All NaN values are returned as the canonical NaN.</p>
+   *
+   * @param array The array to be sorted. Must not be null. The original array remains unmodified.
+   * @return A new array containing the sorted elements of the original array.
+   * @throws IllegalArgumentException if the array is null.
+   */
+  public static float[] mergeSort( float[] array ) {
+    if( array == null ) {
+      throw new IllegalArgumentException( "The array cannot be null." );
+    }
+    return SortableBits.fromSortableInts( mergeSort( SortableBits.toSortableInts( array ) ) );
+  }
+
+  /**
+   * Sorts a given array of doubles using a bottom-up Merge Sort.
+   *
+   * <p>The values are mapped to order-preserving long bit patterns and sorted with {@link #mergeSort(long[])}, so the
+   * order is the one defined by {@link Double#compare(double, double)}: {@code -0.0} precedes {@code 0.0} and NaN
+   * comes last. All NaN values are returned as the canonical NaN.</p>
+   *
+   * @param array The array to be sorted. Must not be null. The original array remains unmodified.
+   * @return A new array containing the sorted elements of the original array.
+   * @throws IllegalArgumentException if the array is null.
+   */
+  public static double[] mergeSort( double[] array ) {
+    if( array == null ) {
+      throw new IllegalArgumentException( "The array cannot be null." );
+    }
+    return SortableBits.fromSortableLongs( mergeSort( SortableBits.toSortableLongs( array ) ) );
+  }
+
+  /**
+   * Sorts {@code array[0, n)} bottom-up, alternating between {@code array} and {@code buffer}, and returns whichever
+   * of the two holds the sorted result. {@code buffer} must hold at least {@code n} elements unless {@code n} is at
+   * most {@link PrimitiveKernels#SMALL_SORT_THRESHOLD}, in which case it is never touched.
+   */
+  static int[] bottomUpMergeSort( int[] array, int n, int[] buffer, int[] block ) {
+    int blockSize = PrimitiveKernels.SMALL_SORT_THRESHOLD;
+    for( int from = 0; from < n; from += blockSize ) {
+      PrimitiveKernels.sortSmall( array, from, Math.min( n, from + blockSize ), block );
+    }
+
+    int[] source = array;
+    int[] target = buffer;
+    for( int width = blockSize; width < n; width <<= 1 ) {
+      for( int from = 0; from < n; from += width << 1 ) {
+        int mid = Math.min( n, from + width );
+        int to = Math.min( n, mid + width );
+        mergeRuns( source, from, mid, to, target );
+      }
+      int[] swap = source;
+      source = target;
+      target = swap;
+    }
+    return source;
+  }
+
+  /**
+   * The long counterpart of {@link #bottomUpMergeSort(int[], int, int[], int[])}.
+   */
+  static long[] bottomUpMergeSort( long[] array, int n, long[] buffer, long[] block ) {
+    int blockSize = PrimitiveKernels.SMALL_SORT_THRESHOLD;
+    for( int from = 0; from < n; from += blockSize ) {
+      PrimitiveKernels.sortSmall( array, from, Math.min( n, from + blockSize ), block );
+    }
+
+    long[] source = array;
+    long[] target = buffer;
+    for( int width = blockSize; width < n; width <<= 1 ) {
+      for( int from = 0; from < n; from += width << 1 ) {
+        int mid = Math.min( n, from + width );
+        int to = Math.min( n, mid + width );
+        mergeRuns( source, from, mid, to, target );
+      }
+      long[] swap = source;
+      source = target;
+      target = swap;
+    }
+    return source;
+  }
+
+  private static void mergeRuns( int[] source, int from, int mid, int to, int[] target ) {
+    int i = from;
+    int j = mid;
+    int k = from;
+    while( i < mid && j < to ) {
+      target[k++] = source[i] <= source[j] ? source[i++] : source[j++];
+    }
+    System.arraycopy( source, i, target, k, mid - i );
+    System.arraycopy( source, j, target, k + mid - i, to - j );
+  }
+
+  private static void mergeRuns( long[] source, int from, int mid, int to, long[] target ) {
+    int i = from;
+    int j = mid;
+    int k = from;
+    while( i < mid && j < to ) {
+      target[k++] = source[i] <= source[j] ? source[i++] : source[j++];
+    }
+    System.arraycopy( source, i, target, k, mid - i );
+    System.arraycopy( source, j, target, k + mid - i, to - j );
+  }
+
+  private static <T> void mergeSortRange( T[] array, int from, int to, T[] scratch, Comparator<T> comparator ) {
+    if( to - from <= INSERTION_SORT_THRESHOLD ) {
+      InsertionSort.binaryInsertionSort( array, from, to, comparator );
+      return;
+    }
+
+    int mid = ( from + to ) >>> 1;
+    mergeSortRange( array, from, mid, scratch, comparator );
+    mergeSortRange( array, mid, to, scratch, comparator );
+
+    // Halves already in order: nothing to merge
+    if( comparator.compare( array[mid - 1], array[mid] ) <= 0 ) {
+      return;
+    }
+
+    int leftLength = mid - from;
+    System.arraycopy( array, from, scratch, 0, leftLength );
+    int i = 0;
+    int j = mid;
+    int k = from;
+    while( i < leftLength && j < to ) {
+      if( comparator.compare( scratch[i], array[j] ) <= 0 ) {
+        array[k++] = scratch[i++];
+      } else {
+        array[k++] = array[j++];
+      }
+    }
+    // Whatever remains of the right half is already in place
+    System.arraycopy( scratch, i, array, k, leftLength - i );
+  }
+
   private static <T> List<T> merge( List<T> left, List<T> right, Comparator<T> comparator ) {
     List<T> merged = new ArrayList<>();
     int i = 0;
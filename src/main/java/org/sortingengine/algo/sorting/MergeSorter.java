@@ -0,0 +1,218 @@
+package org.sortingengine.algo.sorting;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.RandomAccess;
+
+/**
+ * A reusable, stateful Merge Sort. Unlike the static methods of {@link MergeSort}, which allocate a fresh result and
+ * fresh temporary storage on every call, an instance owns its scratch arrays and sorts in place, so repeated sorts of
+ * inputs no larger than any previous one allocate nothing.
+ *
+ * <p>The scratch arrays grow on demand, by at least half their current size, and are kept until {@link #release()} is
+ * called. Object scratch slots are cleared after every sort, so an idle sorter never keeps sorted elements
+ * reachable.</p>
+ *
+ * <p>Instances are not thread-safe. Code that sorts from many threads can either keep one instance per thread through
+ * {@link #threadLocal()} or borrow instances from a pool, as {@code SortExecutor} does for its virtual threads.</p>
+ *
+ * <p>All sorts are stable and produce the same order as {@link MergeSort#mergeSort(List, Comparator)}. The
+ * primitive-array counterpart for Quick Sort is {@link QuickSorter}.</p>
+ */
+public final class MergeSorter {
+
+  private static final ThreadLocal<MergeSorter> THREAD_LOCAL = ThreadLocal.withInitial( MergeSorter::new );
+
+  private Object[] work = new Object[0];
+  private Object[] merge = new Object[0];
+  private int[] intBuffer = new int[0];
+  private long[] longBuffer = new long[0];
+  private int[] intBlock;
+  private long[] longBlock;
+
+  /**
+   * Creates a sorter with empty scratch arrays.
+   */
+  public MergeSorter() {
+  }
+
+  /**
+   * Returns the sorter owned by the calling thread, creating it on first use.
+   *
+   * <p>This suits long-lived platform threads such as those of a fixed thread pool. Virtual threads are usually
+   * created per task, so a thread-local sorter would rarely be reused there; prefer a pool of instances instead.</p>
+   *
+   * @return The calling thread's sorter.
+   */
+  public static MergeSorter threadLocal() {
+    return THREAD_LOCAL.get();
+  }
+
+  /**
+   * Sorts a list in place.
+   *
+   * <p>The elements are copied into the sorter's work array, sorted with
+   * {@link MergeSort#mergeSort(Object[], int, int, Object[], Comparator)} and written back through {@code set}, so the
+   * list must be modifiable. Random-access lists are copied by index, which keeps the whole call allocation-free once
+   * the scratch arrays are large enough.</p>
+   *
+   * @param <T>        The type of elements in the list.
+   * @param list       The list to be sorted in place. Must not be null.
+   * @param comparator The comparator to determine the order of the elements. Must not be null.
+   * @throws IllegalArgumentException if the list or comparator is null.
+   */
+  @SuppressWarnings( "unchecked" )
+  public <T> void sort( List<T> list, Comparator<T> comparator ) {
+    if( list == null ) {
+      throw new IllegalArgumentException( "The list cannot be null." );
+    }
+    if( comparator == null ) {
+      throw new IllegalArgumentException( "Comparator cannot be null." );
+    }
+
+    int n = list.size();
+    ensureObjectCapacity( n );
+    T[] elements = (T[]) work;
+    try {
+      if( list instanceof RandomAccess ) {
+        for( int i = 0; i < n; i++ ) {
+          elements[i] = list.get( i );
+        }
+      } else {
+        Iterator<T> iterator = list.iterator();
+        for( int i = 0; i < n; i++ ) {
+          elements[i] = iterator.next();
+        }
+      }
+
+      MergeSort.mergeSort( elements, 0, n, (T[]) merge, comparator );
+
+      if( list instanceof RandomAccess ) {
+        for( int i = 0; i < n; i++ ) {
+          list.set( i, elements[i] );
+        }
+      } else {
+        ListIterator<T> iterator = list.listIterator();
+        for( int i = 0; i < n; i++ ) {
+          iterator.next();
+          iterator.set( elements[i] );
+        }
+      }
+    } finally {
+      Arrays.fill( work, 0, n, null );
+      Arrays.fill( merge, 0, Math.min( merge.length, ( n + 1 ) / 2 ), null );
+    }
+  }
+
+  /**
+   * Sorts a range of an array in place, merging through the sorter's scratch array.
+   *
+   * @param <T>        The type of elements in the array.
+   * @param array      The array holding the range to sort. Must not be null.
+   * @param fromIndex  The index of the first element to sort, inclusive.
+   * @param toIndex    The index of the last element to sort, exclusive.
+   * @param comparator The comparator to determine the order of the elements. Must not be null.
+   * @throws IllegalArgumentException if the array or comparator is null, or the range is invalid.
+   */
+  @SuppressWarnings( "unchecked" )
+  public <T> void sort( T[] array, int fromIndex, int toIndex, Comparator<T> comparator ) {
+    if( array == null ) {
+      throw new IllegalArgumentException( "The array cannot be null." );
+    }
+    if( fromIndex < 0 || toIndex > array.length || fromIndex > toIndex ) {
+      throw new IllegalArgumentException( "Invalid range [" + fromIndex + ", " + toIndex + ")." );
+    }
+
+    int n = toIndex - fromIndex;
+    ensureObjectCapacity( n );
+    try {
+      MergeSort.mergeSort( array, fromIndex, toIndex, (T[]) merge, comparator );
+    } finally {
+      Arrays.fill( merge, 0, Math.min( merge.length, ( n + 1 ) / 2 ), null );
+    }
+  }
+
+  /**
+   * Sorts an int array in place using the bottom-up Merge Sort of {@link MergeSort#mergeSort(int[])}.
+   *
+   * @param array The array to be sorted in place. Must not be null.
+   * @throws IllegalArgumentException if the array is null.
+   */
+  public void sort( int[] array ) {
+    if( array == null ) {
+      throw new IllegalArgumentException( "The array cannot be null." );
+    }
+
+    int n = array.length;
+    if( intBuffer.length < n ) {
+      intBuffer = new int[grow( intBuffer.length, n )];
+    }
+    if( intBlock == null ) {
+      intBlock = PrimitiveKernels.intBlock();
+    }
+    int[] sorted = MergeSort.bottomUpMergeSort( array, n, intBuffer, intBlock );
+    if( sorted != array ) {
+      System.arraycopy( sorted, 0, array, 0, n );
+    }
+  }
+
+  /**
+   * Sorts a long array in place using the bottom-up Merge Sort of {@link MergeSort#mergeSort(long[])}.
+   *
+   * @param array The array to be sorted in place. Must not be null.
+   * @throws IllegalArgumentException if the array is null.
+   */
+  public void sort( long[] array ) {
+    if( array == null ) {
+      throw new IllegalArgumentException( "The array cannot be null." );
+    }
+
+    int n = array.length;
+    if( longBuffer.length < n ) {
+      longBuffer = new long[grow( longBuffer.length, n )];
+    }
+    if( longBlock == null ) {
+      longBlock = PrimitiveKernels.longBlock();
+    }
+    long[] sorted = MergeSort.bottomUpMergeSort( array, n, longBuffer, longBlock );
+    if( sorted != array ) {
+      System.arraycopy( sorted, 0, array, 0, n );
+    }
+  }
+
+  /**
+   * Returns the number of objects this sorter can currently sort without growing its scratch arrays.
+   *
+   * @return The current object capacity.
+   */
+  public int capacity() {
+    return work.length;
+  }
+
+  /**
+   * Drops all scratch arrays, returning the sorter to its initial, empty state.
+   */
+  public void release() {
+    work = new Object[0];
+    merge = new Object[0];
+    intBuffer = new int[0];
+    longBuffer = new long[0];
+    intBlock = null;
+    longBlock = null;
+  }
+
+  private void ensureObjectCapacity( int n ) {
+    if( work.length < n ) {
+      int capacity = grow( work.length, n );
+      work = new Object[capacity];
+      merge = new Object[( capacity + 1 ) / 2];
+    }
+  }
+
+  private static int grow( int current, int needed ) {
+    return (int) Math.min( Integer.MAX_VALUE - 8, Math.max( needed, current + ( (long) current >> 1 ) ) );
+  }
+}
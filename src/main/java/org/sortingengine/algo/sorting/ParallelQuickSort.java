@@ -0,0 +1,544 @@
+package org.sortingengine.algo.sorting;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Provides a parallel, in-place Quick Sort on a {@link ForkJoinPool}. This class offers static methods to sort lists
+ * of objects given a comparator, and arrays of ints and longs, on the common pool or on a given pool.
+ *
+ * <p>Every range above {@value #SEQUENTIAL_THRESHOLD} elements is partitioned around the ninther of nine spread-out
+ * elements, and the two sides are sorted as separate fork/join tasks. Smaller ranges are sorted on the worker that
+ * reaches them with {@link PdqSort}. Recursion deeper than 2 log<sub>2</sub> n also hands the range to {@link PdqSort},
+ * whose Heap Sort fallback keeps the worst case at O(n log n).</p>
+ *
+ * <p>Ranges of at least {@value #PARALLEL_PARTITION_THRESHOLD} elements are partitioned in parallel as well, so the
+ * first linear pass over the input is not done by a single thread while the others wait. The range is cut into one
+ * chunk per worker and every chunk is partitioned on its own. Each chunk then holds its smaller elements in front of
+ * its larger ones, and the final split point is the sum of the smaller counts. The larger elements left of the split
+ * point and the smaller elements right of it come in at most one run per chunk and are equal in number; they are
+ * paired up run by run and swapped, again in parallel. Apart from the per-chunk counts no memory is needed.</p>
+ *
+ * <p>A range whose pivot is its smallest value has nothing to put left of the pivot. All elements equal to the pivot
+ * are then split off instead and never looked at again, so inputs with few distinct values do not degrade. The sort is
+ * not stable; see {@link MergeSort} for a stable sort at the cost of O(n) scratch memory.</p>
+ */
+public final class ParallelQuickSort {
+
+  /**
+   * Ranges at or below this size are sorted sequentially with {@link PdqSort}.
+   */
+  static final int SEQUENTIAL_THRESHOLD = 1 << 13;
+
+  /**
+   * Ranges of at least this size are partitioned by several workers at once.
+   */
+  static final int PARALLEL_PARTITION_THRESHOLD = 1 << 17;
+
+  /**
+   * Private Constructor to prevent instantiation.
+   */
+  private ParallelQuickSort() {
+  }
+
+  /**
+   * Sorts a given list with a parallel Quick Sort on the common {@link ForkJoinPool}.
+   *
+   * @param <T>        The type of elements in the list.
+   * @param list       The list to be sorted. Must not be null.
+   * @param comparator The comparator to determine the order of the elements. Must not be null. It is called from
+   *                   several threads at once.
+   * @return A new list containing the sorted elements of the original list.
+   * @throws IllegalArgumentException if the list or comparator is null.
+   * @see #parallelQuickSort(List, Comparator, ForkJoinPool)
+   */
+  public static <T> List<T> parallelQuickSort( List<T> list, Comparator<T> comparator ) {
+    return parallelQuickSort( list, comparator, ForkJoinPool.commonPool() );
+  }
+
+  /**
+   * Sorts a given list with a parallel Quick Sort on the given {@link ForkJoinPool}.
+   *
+   * <p>The list is copied into an array, sorted in place and returned as a new list. The calling thread waits until
+   * the pool has finished.</p>
+   *
+   * <p><b>Time Complexity:</b> O(n log n) work in the average and worst case, and O(n / p + log<sup>2</sup> n) time on
+   * p workers in the average case.</p>
+   * <p><b>Space Complexity:</b> O(n) for the returned copy, plus O(log n) stack per worker and O(p) per parallel
+   * partition.</p>
+   *
+   * @param <T>        The type of elements in the list.
+   * @param list       The list to be sorted. Must not be null.
+   * @param comparator The comparator to determine the order of the elements. Must not be null. It is called from
+   *                   several threads at once.
+   * @param pool       The pool to sort on. Must not be null.
+   * @return A new list containing the sorted elements of the original list.
+   * @throws IllegalArgumentException if the list, comparator or pool is null.
+   */
+  @SuppressWarnings( "unchecked" )
+  public static <T> List<T> parallelQuickSort( List<T> list, Comparator<T> comparator, ForkJoinPool pool ) {
+    if( list == null ) {
+      throw new IllegalArgumentException( "The list cannot be null." );
+    }
+    if( comparator == null ) {
+      throw new IllegalArgumentException( "Comparator cannot be null." );
+    }
+    if( pool == null ) {
+      throw new IllegalArgumentException( "The pool cannot be null." );
+    }
+
+    T[] array = (T[]) list.toArray();
+    int depth = BlockQuickSort.depthLimit( array.length );
+    pool.invoke( new ObjectSortTask<>( array, 0, array.length, comparator, depth ) );
+    return new ArrayList<>( Arrays.asList( array ) );
+  }
+
+  /**
+   * Sorts a given array of ints with a parallel Quick Sort on the common {@link ForkJoinPool}.
+   *
+   * @param array The array to be sorted. Must not be null. The original array remains unmodified.
+   * @return A new array containing the sorted elements of the original array.
+   * @throws IllegalArgumentException if the array is null.
+   * @see #parallelQuickSort(int[], ForkJoinPool)
+   */
+  public static int[] parallelQuickSort( int[] array ) {
+    return parallelQuickSort( array, ForkJoinPool.commonPool() );
+  }
+
+  /**
+   * Sorts a given array of ints with a parallel Quick Sort on the given {@link ForkJoinPool}. See
+   * {@link #parallelQuickSort(List, Comparator, ForkJoinPool)} for the complexity.
+   *
+   * @param array The array to be sorted. Must not be null. The original array remains unmodified.
+   * @param pool  The pool to sort on. Must not be null.
+   * @return A new array containing the sorted elements of the original array.
+   * @throws IllegalArgumentException if the array or pool is null.
+   */
+  public static int[] parallelQuickSort( int[] array, ForkJoinPool pool ) {
+    if( array == null ) {
+      throw new IllegalArgumentException( "The array cannot be null." );
+    }
+    if( pool == null ) {
+      throw new IllegalArgumentException( "The pool cannot be null." );
+    }
+
+    int[] sortedArray = array.clone();
+    pool.invoke( new IntSortTask( sortedArray, 0, sortedArray.length, BlockQuickSort.depthLimit( array.length ) ) );
+    return sortedArray;
+  }
+
+  /**
+   * Sorts a given array of longs with a parallel Quick Sort on the common {@link ForkJoinPool}.
+   *
+   * @param array The array to be sorted. Must not be null. The original array remains unmodified.
+   * @return A new array containing the sorted elements of the original array.
+   * @throws IllegalArgumentException if the array is null.
+   * @see #parallelQuickSort(long[], ForkJoinPool)
+   */
+  public static long[] parallelQuickSort( long[] array ) {
+    return parallelQuickSort( array, ForkJoinPool.commonPool() );
+  }
+
+  /**
+   * Sorts a given array of longs with a parallel Quick Sort on the given {@link ForkJoinPool}. See
+   * {@link #parallelQuickSort(List, Comparator, ForkJoinPool)} for the complexity.
+   *
+   * @param array The array to be sorted. Must not be null. The original array remains unmodified.
+   * @param pool  The pool to sort on. Must not be null.
+   * @return A new array containing the sorted elements of the original array.
+   * @throws IllegalArgumentException if the array or pool is null.
+   */
+  public static long[] parallelQuickSort( long[] array, ForkJoinPool pool ) {
+    if( array == null ) {
+      throw new IllegalArgumentException( "The array cannot be null." );
+    }
+    if( pool == null ) {
+      throw new IllegalArgumentException( "The pool cannot be null." );
+    }
+
+    long[] sortedArray = array.clone();
+    pool.invoke( new LongSortTask( sortedArray, 0, sortedArray.length, BlockQuickSort.depthLimit( array.length ) ) );
+    return sortedArray;
+  }
+
+  /**
+   * Sorts a range of an array, forking the sides of every partition.
+   */
+  private static final class ObjectSortTask<T> extends RecursiveAction {
+    private final T[] array;
+    private final int from;
+    private final int to;
+    private final Comparator<T> comparator;
+    private final int depth;
+
+    ObjectSortTask( T[] array, int from, int to, Comparator<T> comparator, int depth ) {
+      this.array = array;
+      this.from = from;
+      this.to = to;
+      this.comparator = comparator;
+      this.depth = depth;
+    }
+
+    @Override
+    protected void compute() {
+      int start = from;
+      while( to - start > SEQUENTIAL_THRESHOLD && depth > 0 ) {
+        T pivot = ninther( array, start, to, comparator );
+        int split = partition( array, start, to, pivot, false, comparator );
+        if( split > start ) {
+          invokeAll( new ObjectSortTask<>( array, start, split, comparator, depth - 1 ),
+              new ObjectSortTask<>( array, split, to, comparator, depth - 1 ) );
+          return;
+        }
+        // The pivot is the smallest value: the elements equal to it are in their final place
+        start = partition( array, start, to, pivot, true, comparator );
+      }
+      PdqSort.sort( array, start, to, comparator );
+    }
+  }
+
+  /**
+   * Sorts a range of an int array, forking the sides of every partition.
+   */
+  private static final class IntSortTask extends RecursiveAction {
+    private final int[] array;
+    private final int from;
+    private final int to;
+    private final int depth;
+
+    IntSortTask( int[] array, int from, int to, int depth ) {
+      this.array = array;
+      this.from = from;
+      this.to = to;
+      this.depth = depth;
+    }
+
+    @Override
+    protected void compute() {
+      int start = from;
+      while( to - start > SEQUENTIAL_THRESHOLD && depth > 0 ) {
+        int pivot = ninther( array, start, to );
+        int split = partition( array, start, to, pivot, false );
+        if( split > start ) {
+          invokeAll( new IntSortTask( array, start, split, depth - 1 ),
+              new IntSortTask( array, split, to, depth - 1 ) );
+          return;
+        }
+        start = partition( array, start, to, pivot, true );
+      }
+      PdqSort.sort( array, start, to );
+    }
+  }
+
+  /**
+   * Sorts a range of a long array, forking the sides of every partition.
+   */
+  private static final class LongSortTask extends RecursiveAction {
+    private final long[] array;
+    private final int from;
+    private final int to;
+    private final int depth;
+
+    LongSortTask( long[] array, int from, int to, int depth ) {
+      this.array = array;
+      this.from = from;
+      this.to = to;
+      this.depth = depth;
+    }
+
+    @Override
+    protected void compute() {
+      int start = from;
+      while( to - start > SEQUENTIAL_THRESHOLD && depth > 0 ) {
+        long pivot = ninther( array, start, to );
+        int split = partition( array, start, to, pivot, false );
+        if( split > start ) {
+          invokeAll( new LongSortTask( array, start, split, depth - 1 ),
+              new LongSortTask( array, split, to, depth - 1 ) );
+          return;
+        }
+        start = partition( array, start, to, pivot, true );
+      }
+      PdqSort.sort( array, start, to );
+    }
+  }
+
+  /**
+   * Moves the elements below the pivot, or not above it when {@code inclusive} is set, to the front of the range and
+   * returns the index of the first element that was not moved there. Must be called from within a fork/join task.
+   */
+  static <T> int partition( T[] array, int from, int to, T pivot, boolean inclusive, Comparator<T> comparator ) {
+    int chunks = chunks( to - from );
+    if( chunks == 1 ) {
+      return partitionChunk( array, from, to, pivot, inclusive, comparator );
+    }
+
+    int[] bounds = chunkBounds( from, to, chunks );
+    int[] splits = new int[chunks];
+    ForkJoinTask<?>[] tasks = new ForkJoinTask<?>[chunks];
+    for( int c = 0; c < chunks; c++ ) {
+      int chunk = c;
+      tasks[c] = ForkJoinTask.adapt( () -> {
+        splits[chunk] = partitionChunk( array, bounds[chunk], bounds[chunk + 1], pivot, inclusive, comparator );
+      } );
+    }
+    ForkJoinTask.invokeAll( tasks );
+
+    int split = splitPoint( bounds, splits );
+    int[] runs = swapRuns( bounds, splits, split );
+    tasks = new ForkJoinTask<?>[runs.length / 3];
+    for( int r = 0; r < tasks.length; r++ ) {
+      int left = runs[3 * r];
+      int right = runs[3 * r + 1];
+      int length = runs[3 * r + 2];
+      tasks[r] = ForkJoinTask.adapt( () -> swapRanges( array, left, right, length ) );
+    }
+    ForkJoinTask.invokeAll( tasks );
+    return split;
+  }
+
+  /**
+   * Moves the int elements below the pivot, or not above it when {@code inclusive} is set, to the front of the range.
+   * See {@link #partition(Object[], int, int, Object, boolean, Comparator)}.
+   */
+  static int partition( int[] array, int from, int to, int pivot, boolean inclusive ) {
+    int chunks = chunks( to - from );
+    if( chunks == 1 ) {
+      return partitionChunk( array, from, to, pivot, inclusive );
+    }
+
+    int[] bounds = chunkBounds( from, to, chunks );
+    int[] splits = new int[chunks];
+    ForkJoinTask<?>[] tasks = new ForkJoinTask<?>[chunks];
+    for( int c = 0; c < chunks; c++ ) {
+      int chunk = c;
+      tasks[c] = ForkJoinTask.adapt( () -> {
+        splits[chunk] = partitionChunk( array, bounds[chunk], bounds[chunk + 1], pivot, inclusive );
+      } );
+    }
+    ForkJoinTask.invokeAll( tasks );
+
+    int split = splitPoint( bounds, splits );
+    int[] runs = swapRuns( bounds, splits, split );
+    tasks = new ForkJoinTask<?>[runs.length / 3];
+    for( int r = 0; r < tasks.length; r++ ) {
+      int left = runs[3 * r];
+      int right = runs[3 * r + 1];
+      int length = runs[3 * r + 2];
+      tasks[r] = ForkJoinTask.adapt( () -> swapRanges( array, left, right, length ) );
+    }
+    ForkJoinTask.invokeAll( tasks );
+    return split;
+  }
+
+  /**
+   * Moves the long elements below the pivot, or not above it when {@code inclusive} is set, to the front of the
+   * range. See {@link #partition(Object[], int, int, Object, boolean, Comparator)}.
+   */
+  static int partition( long[] array, int from, int to, long pivot, boolean inclusive ) {
+    int chunks = chunks( to - from );
+    if( chunks == 1 ) {
+      return partitionChunk( array, from, to, pivot, inclusive );
+    }
+
+    int[] bounds = chunkBounds( from, to, chunks );
+    int[] splits = new int[chunks];
+    ForkJoinTask<?>[] tasks = new ForkJoinTask<?>[chunks];
+    for( int c = 0; c < chunks; c++ ) {
+      int chunk = c;
+      tasks[c] = ForkJoinTask.adapt( () -> {
+        splits[chunk] = partitionChunk( array, bounds[chunk], bounds[chunk + 1], pivot, inclusive );
+      } );
+    }
+    ForkJoinTask.invokeAll( tasks );
+
+    int split = splitPoint( bounds, splits );
+    int[] runs = swapRuns( bounds, splits, split );
+    tasks = new ForkJoinTask<?>[runs.length / 3];
+    for( int r = 0; r < tasks.length; r++ ) {
+      int left = runs[3 * r];
+      int right = runs[3 * r + 1];
+      int length = runs[3 * r + 2];
+      tasks[r] = ForkJoinTask.adapt( () -> swapRanges( array, left, right, length ) );
+    }
+    ForkJoinTask.invokeAll( tasks );
+    return split;
+  }
+
+  /**
+   * Returns the number of chunks to partition a range of the given size in: one per worker of the current pool for
+   * ranges of at least {@value #PARALLEL_PARTITION_THRESHOLD} elements, and one otherwise.
+   */
+  private static int chunks( int size ) {
+    if( size < PARALLEL_PARTITION_THRESHOLD ) {
+      return 1;
+    }
+    ForkJoinPool pool = ForkJoinTask.getPool();
+    return pool == null ? 1 : Math.max( 1, Math.min( pool.getParallelism(), size / SEQUENTIAL_THRESHOLD ) );
+  }
+
+  private static int[] chunkBounds( int from, int to, int chunks ) {
+    int[] bounds = new int[chunks + 1];
+    for( int c = 0; c <= chunks; c++ ) {
+      bounds[c] = from + (int) ( (long) ( to - from ) * c / chunks );
+    }
+    return bounds;
+  }
+
+  private static int splitPoint( int[] bounds, int[] splits ) {
+    int split = bounds[0];
+    for( int c = 0; c < splits.length; c++ ) {
+      split += splits[c] - bounds[c];
+    }
+    return split;
+  }
+
+  /**
+   * Pairs up the misplaced elements of partitioned chunks. Chunk {@code c} spans {@code [bounds[c], bounds[c + 1])}
+   * and holds its smaller elements before {@code splits[c]}; after the returned runs are swapped, the whole range
+   * holds its smaller elements before {@code split}.
+   *
+   * @return Triples of the start of a run of larger elements left of {@code split}, the start of a run of smaller
+   *     elements right of it, and their common length.
+   */
+  static int[] swapRuns( int[] bounds, int[] splits, int split ) {
+    int chunks = splits.length;
+    int[] runs = new int[6 * chunks];
+    int count = 0;
+    int left = 0;
+    int right = 0;
+    int leftStart = Math.min( splits[0], split );
+    int leftEnd = Math.min( bounds[1], split );
+    int rightStart = Math.max( bounds[0], split );
+    int rightEnd = Math.max( splits[0], split );
+    while( true ) {
+      // Skip to the next chunk with larger elements left of the split point, and the next with smaller ones right of it
+      while( leftStart == leftEnd && ++left < chunks ) {
+        leftStart = Math.min( splits[left], split );
+        leftEnd = Math.min( bounds[left + 1], split );
+      }
+      while( rightStart == rightEnd && ++right < chunks ) {
+        rightStart = Math.max( bounds[right], split );
+        rightEnd = Math.max( splits[right], split );
+      }
+      if( left == chunks || right == chunks ) {
+        return Arrays.copyOf( runs, count );
+      }
+      int length = Math.min( leftEnd - leftStart, rightEnd - rightStart );
+      runs[count++] = leftStart;
+      runs[count++] = rightStart;
+      runs[count++] = length;
+      leftStart += length;
+      rightStart += length;
+    }
+  }
+
+  /**
+   * Partitions a range sequentially. Every element is swapped into the next slot of the front part, which grows by the
+   * comparison result as 0 or 1, so the loop has no data-dependent branch.
+   */
+  private static <T> int partitionChunk( T[] array, int from, int to, T pivot, boolean inclusive,
+                                         Comparator<T> comparator ) {
+    int store = from;
+    for( int i = from; i < to; i++ ) {
+      T value = array[i];
+      int order = comparator.compare( value, pivot );
+      array[i] = array[store];
+      array[store] = value;
+      store += ( inclusive ? order <= 0 : order < 0 ) ? 1 : 0;
+    }
+    return store;
+  }
+
+  private static int partitionChunk( int[] array, int from, int to, int pivot, boolean inclusive ) {
+    int store = from;
+    for( int i = from; i < to; i++ ) {
+      int value = array[i];
+      array[i] = array[store];
+      array[store] = value;
+      store += ( inclusive ? value <= pivot : value < pivot ) ? 1 : 0;
+    }
+    return store;
+  }
+
+  private static int partitionChunk( long[] array, int from, int to, long pivot, boolean inclusive ) {
+    int store = from;
+    for( int i = from; i < to; i++ ) {
+      long value = array[i];
+      array[i] = array[store];
+      array[store] = value;
+      store += ( inclusive ? value <= pivot : value < pivot ) ? 1 : 0;
+    }
+    return store;
+  }
+
+  private static <T> void swapRanges( T[] array, int left, int right, int length ) {
+    for( int i = 0; i < length; i++ ) {
+      BlockQuickSort.swap( array, left + i, right + i );
+    }
+  }
+
+  private static void swapRanges( int[] array, int left, int right, int length ) {
+    for( int i = 0; i < length; i++ ) {
+      BlockQuickSort.swap( array, left + i, right + i );
+    }
+  }
+
+  private static void swapRanges( long[] array, int left, int right, int length ) {
+    for( int i = 0; i < length; i++ ) {
+      BlockQuickSort.swap( array, left + i, right + i );
+    }
+  }
+
+  /**
+   * Returns the median of three medians of three of nine elements spread evenly over the range, without moving them.
+   */
+  private static <T> T ninther( T[] array, int from, int to, Comparator<T> comparator ) {
+    int step = ( to - from ) / 9;
+    int first = from + step / 2;
+    return median( median( array[first], array[first + step], array[first + 2 * step], comparator ),
+        median( array[first + 3 * step], array[first + 4 * step], array[first + 5 * step], comparator ),
+        median( array[first + 6 * step], array[first + 7 * step], array[first + 8 * step], comparator ), comparator );
+  }
+
+  private static int ninther( int[] array, int from, int to ) {
+    int step = ( to - from ) / 9;
+    int first = from + step / 2;
+    return median( median( array[first], array[first + step], array[first + 2 * step] ),
+        median( array[first + 3 * step], array[first + 4 * step], array[first + 5 * step] ),
+        median( array[first + 6 * step], array[first + 7 * step], array[first + 8 * step] ) );
+  }
+
+  private static long ninther( long[] array, int from, int to ) {
+    int step = ( to - from ) / 9;
+    int first = from + step / 2;
+    return median( median( array[first], array[first + step], array[first + 2 * step] ),
+        median( array[first + 3 * step], array[first + 4 * step], array[first + 5 * step] ),
+        median( array[first + 6 * step], array[first + 7 * step], array[first + 8 * step] ) );
+  }
+
+  private static <T> T median( T a, T b, T c, Comparator<T> comparator ) {
+    if( comparator.compare( a, b ) > 0 ) {
+      T swap = a;
+      a = b;
+      b = swap;
+    }
+    if( comparator.compare( b, c ) <= 0 ) {
+      return b;
+    }
+    return comparator.compare( a, c ) > 0 ? a : c;
+  }
+
+  private static int median( int a, int b, int c ) {
+    return Math.max( Math.min( a, b ), Math.min( Math.max( a, b ), c ) );
+  }
+
+  private static long median( long a, long b, long c ) {
+    return Math.max( Math.min( a, b ), Math.min( Math.max( a, b ), c ) );
+  }
+}
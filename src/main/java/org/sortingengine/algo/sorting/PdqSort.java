@@ -0,0 +1,461 @@
+package org.sortingengine.algo.sorting;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Provides an implementation of pattern-defeating quicksort (pdqsort). This class offers static methods to sort lists
+ * of objects given a comparator, and arrays of ints and longs.
+ *
+ * <p>pdqsort is a Quick Sort that adapts to the patterns common in real inputs while keeping an O(n log n) worst
+ * case:</p>
+ * <ul>
+ *     <li><b>Pivot choice.</b> Ranges above {@value #NINTHER_THRESHOLD} elements use Tukey's ninther, the median of
+ *     three medians of three; smaller ranges use the median of three.</li>
+ *     <li><b>Partitioning.</b> The branchless block partition of {@link BlockQuickSort}.</li>
+ *     <li><b>Presorted input.</b> When a partition moved no element, both sides are tried with an insertion sort that
+ *     gives up after {@value #PARTIAL_INSERTION_SORT_LIMIT} moved elements. Sorted and nearly sorted inputs therefore
+ *     finish in linear time.</li>
+ *     <li><b>Duplicates.</b> When the pivot equals the pivot of the enclosing partition, all elements equal to it are
+ *     split off in one pass and never looked at again, so inputs with few distinct values take O(n k) for k distinct
+ *     values.</li>
+ *     <li><b>Bad partitions.</b> A partition leaving less than an eighth of the range on one side counts as bad. After
+ *     each bad partition a few elements on both sides are swapped to fixed, spread-out positions, which breaks up the
+ *     patterns that fooled the pivot choice. After log<sub>2</sub> n bad partitions the range is finished with Heap
+ *     Sort.</li>
+ * </ul>
+ *
+ * <p>The sort is not stable.</p>
+ */
+public final class PdqSort {
+
+  /**
+   * Ranges at or below this size are sorted with Binary Insertion Sort.
+   */
+  static final int INSERTION_SORT_THRESHOLD = 24;
+
+  /**
+   * Ranges above this size choose their pivot as the median of three medians.
+   */
+  static final int NINTHER_THRESHOLD = 128;
+
+  /**
+   * The number of moved elements after which an attempt to finish a presorted range by insertion is abandoned.
+   */
+  static final int PARTIAL_INSERTION_SORT_LIMIT = 8;
+
+  /**
+   * Private Constructor to prevent instantiation.
+   */
+  private PdqSort() {
+  }
+
+  /**
+   * Sorts a given list using pattern-defeating quicksort.
+   *
+   * <p>The list is copied into an array, sorted in place and returned as a new list.</p>
+   *
+   * <p><b>Time Complexity:</b> O(n log n) in the worst case; O(n) for sorted, reversed and nearly sorted lists and
+   * O(n k) for lists with k distinct values.</p>
+   * <p><b>Space Complexity:</b> O(n) for the returned copy, plus O(log n) stack.</p>
+   *
+   * @param <T>        The type of elements in the list.
+   * @param list       The list to be sorted. Must not be null.
+   * @param comparator The comparator to determine the order of the elements. Must not be null.
+   * @return A new list containing the sorted elements of the original list.
+   * @throws IllegalArgumentException if the list or comparator is null.
+   */
+  @SuppressWarnings( "unchecked" )
+  public static <T> List<T> pdqSort( List<T> list, Comparator<T> comparator ) {
+    if( list == null ) {
+      throw new IllegalArgumentException( "The list cannot be null." );
+    }
+    if( comparator == null ) {
+      throw new IllegalArgumentException( "Comparator cannot be null." );
+    }
+
+    T[] array = (T[]) list.toArray();
+    sort( array, 0, array.length, comparator );
+    return new ArrayList<>( Arrays.asList( array ) );
+  }
+
+  /**
+   * Sorts a given array of ints using pattern-defeating quicksort. Ranges of at most
+   * {@value PrimitiveKernels#SMALL_SORT_THRESHOLD} elements are finished with the small-block sort shared with
+   * {@link QuickSort#quickSort(int[])}.
+   *
+   * <p><b>Time Complexity:</b> O(n log n) in the worst case; O(n) for sorted and nearly sorted arrays.</p>
+   * <p><b>Space Complexity:</b> O(n) for the returned copy.</p>
+   *
+   * @param array The array to be sorted. Must not be null. The original array remains unmodified.
+   * @return A new array containing the sorted elements of the original array.
+   * @throws IllegalArgumentException if the array is null.
+   */
+  public static int[] pdqSort( int[] array ) {
+    if( array == null ) {
+      throw new IllegalArgumentException( "The array cannot be null." );
+    }
+
+    int[] sortedArray = array.clone();
+    sort( sortedArray, 0, sortedArray.length );
+    return sortedArray;
+  }
+
+  /**
+   * Sorts a given array of longs using pattern-defeating quicksort. See {@link #pdqSort(int[])} for details.
+   *
+   * @param array The array to be sorted. Must not be null. The original array remains unmodified.
+   * @return A new array containing the sorted elements of the original array.
+   * @throws IllegalArgumentException if the array is null.
+   */
+  public static long[] pdqSort( long[] array ) {
+    if( array == null ) {
+      throw new IllegalArgumentException( "The array cannot be null." );
+    }
+
+    long[] sortedArray = array.clone();
+    sort( sortedArray, 0, sortedArray.length );
+    return sortedArray;
+  }
+
+  /**
+   * Sorts a range of an array in place.
+   */
+  static <T> void sort( T[] array, int from, int to, Comparator<T> comparator ) {
+    int[] offsetsLeft = new int[BlockQuickSort.BLOCK_SIZE];
+    int[] offsetsRight = new int[BlockQuickSort.BLOCK_SIZE];
+    sortRange( array, from, to, comparator, offsetsLeft, offsetsRight, log2( to - from ), true );
+  }
+
+  /**
+   * Sorts a range of an int array in place.
+   */
+  static void sort( int[] array, int from, int to ) {
+    int[] offsetsLeft = new int[BlockQuickSort.BLOCK_SIZE];
+    int[] offsetsRight = new int[BlockQuickSort.BLOCK_SIZE];
+    sortRange( array, from, to, offsetsLeft, offsetsRight, PrimitiveKernels.intBlock(), log2( to - from ), true );
+  }
+
+  /**
+   * Sorts a range of a long array in place.
+   */
+  static void sort( long[] array, int from, int to ) {
+    int[] offsetsLeft = new int[BlockQuickSort.BLOCK_SIZE];
+    int[] offsetsRight = new int[BlockQuickSort.BLOCK_SIZE];
+    sortRange( array, from, to, offsetsLeft, offsetsRight, PrimitiveKernels.longBlock(), log2( to - from ), true );
+  }
+
+  private static <T> void sortRange( T[] array, int from, int to, Comparator<T> comparator, int[] offsetsLeft,
+                                     int[] offsetsRight, int badAllowed, boolean leftmost ) {
+    while( true ) {
+      int size = to - from;
+      if( size <= INSERTION_SORT_THRESHOLD ) {
+        InsertionSort.binaryInsertionSort( array, from, to, comparator );
+        return;
+      }
+
+      // Move the pivot to the front; the last three elements are then guards for the partition scans
+      int half = size / 2;
+      if( size > NINTHER_THRESHOLD ) {
+        BlockQuickSort.sort3( array, from, from + half, to - 1, comparator );
+        BlockQuickSort.sort3( array, from + 1, from + half - 1, to - 2, comparator );
+        BlockQuickSort.sort3( array, from + 2, from + half + 1, to - 3, comparator );
+        BlockQuickSort.sort3( array, from + half - 1, from + half, from + half + 1, comparator );
+        BlockQuickSort.swap( array, from, from + half );
+      } else {
+        BlockQuickSort.sort3( array, from + half, from, to - 1, comparator );
+      }
+
+      // A pivot equal to the one left of the range: everything equal to it is already in its final place
+      if( !leftmost && comparator.compare( array[from - 1], array[from] ) >= 0 ) {
+        from = BlockQuickSort.partitionLeft( array, from, to, comparator ) + 1;
+        continue;
+      }
+
+      int partition = BlockQuickSort.partitionRight( array, from, to, comparator, offsetsLeft, offsetsRight );
+      int pivot = BlockQuickSort.pivotIndex( partition );
+      int leftSize = pivot - from;
+      int rightSize = to - pivot - 1;
+      if( leftSize < size / 8 || rightSize < size / 8 ) {
+        if( --badAllowed == 0 ) {
+          HeapSort.sortInPlace( Arrays.asList( array ).subList( from, to ), comparator, HeapSort.DEFAULT_ARITY );
+          return;
+        }
+        breakPatterns( array, from, pivot, to, INSERTION_SORT_THRESHOLD );
+      } else if( BlockQuickSort.wasPartitioned( partition )
+          && partialInsertionSort( array, from, pivot, comparator )
+          && partialInsertionSort( array, pivot + 1, to, comparator ) ) {
+        return;
+      }
+
+      // Recurse into the smaller side and loop on the larger one to bound the stack depth
+      if( leftSize < rightSize ) {
+        sortRange( array, from, pivot, comparator, offsetsLeft, offsetsRight, badAllowed, leftmost );
+        from = pivot + 1;
+        leftmost = false;
+      } else {
+        sortRange( array, pivot + 1, to, comparator, offsetsLeft, offsetsRight, badAllowed, false );
+        to = pivot;
+      }
+    }
+  }
+
+  private static void sortRange( int[] array, int from, int to, int[] offsetsLeft, int[] offsetsRight, int[] block,
+                                 int badAllowed, boolean leftmost ) {
+    while( true ) {
+      int size = to - from;
+      if( size <= PrimitiveKernels.SMALL_SORT_THRESHOLD ) {
+        PrimitiveKernels.sortSmall( array, from, to, block );
+        return;
+      }
+
+      int half = size / 2;
+      if( size > NINTHER_THRESHOLD ) {
+        BlockQuickSort.sort3( array, from, from + half, to - 1 );
+        BlockQuickSort.sort3( array, from + 1, from + half - 1, to - 2 );
+        BlockQuickSort.sort3( array, from + 2, from + half + 1, to - 3 );
+        BlockQuickSort.sort3( array, from + half - 1, from + half, from + half + 1 );
+        BlockQuickSort.swap( array, from, from + half );
+      } else {
+        BlockQuickSort.sort3( array, from + half, from, to - 1 );
+      }
+
+      if( !leftmost && array[from - 1] >= array[from] ) {
+        from = BlockQuickSort.partitionLeft( array, from, to ) + 1;
+        continue;
+      }
+
+      int partition = BlockQuickSort.partitionRight( array, from, to, offsetsLeft, offsetsRight );
+      int pivot = BlockQuickSort.pivotIndex( partition );
+      int leftSize = pivot - from;
+      int rightSize = to - pivot - 1;
+      if( leftSize < size / 8 || rightSize < size / 8 ) {
+        if( --badAllowed == 0 ) {
+          BlockQuickSort.heapSort( array, from, to );
+          return;
+        }
+        breakPatterns( array, from, pivot, to, PrimitiveKernels.SMALL_SORT_THRESHOLD );
+      } else if( BlockQuickSort.wasPartitioned( partition )
+          && partialInsertionSort( array, from, pivot )
+          && partialInsertionSort( array, pivot + 1, to ) ) {
+        return;
+      }
+
+      if( leftSize < rightSize ) {
+        sortRange( array, from, pivot, offsetsLeft, offsetsRight, block, badAllowed, leftmost );
+        from = pivot + 1;
+        leftmost = false;
+      } else {
+        sortRange( array, pivot + 1, to, offsetsLeft, offsetsRight, block, badAllowed, false );
+        to = pivot;
+      }
+    }
+  }
+
+  private static void sortRange( long[] array, int from, int to, int[] offsetsLeft, int[] offsetsRight, long[] block,
+                                 int badAllowed, boolean leftmost ) {
+    while( true ) {
+      int size = to - from;
+      if( size <= PrimitiveKernels.SMALL_SORT_THRESHOLD ) {
+        PrimitiveKernels.sortSmall( array, from, to, block );
+        return;
+      }
+
+      int half = size / 2;
+      if( size > NINTHER_THRESHOLD ) {
+        BlockQuickSort.sort3( array, from, from + half, to - 1 );
+        BlockQuickSort.sort3( array, from + 1, from + half - 1, to - 2 );
+        BlockQuickSort.sort3( array, from + 2, from + half + 1, to - 3 );
+        BlockQuickSort.sort3( array, from + half - 1, from + half, from + half + 1 );
+        BlockQuickSort.swap( array, from, from + half );
+      } else {
+        BlockQuickSort.sort3( array, from + half, from, to - 1 );
+      }
+
+      if( !leftmost && array[from - 1] >= array[from] ) {
+        from = BlockQuickSort.partitionLeft( array, from, to ) + 1;
+        continue;
+      }
+
+      int partition = BlockQuickSort.partitionRight( array, from, to, offsetsLeft, offsetsRight );
+      int pivot = BlockQuickSort.pivotIndex( partition );
+      int leftSize = pivot - from;
+      int rightSize = to - pivot - 1;
+      if( leftSize < size / 8 || rightSize < size / 8 ) {
+        if( --badAllowed == 0 ) {
+          BlockQuickSort.heapSort( array, from, to );
+          return;
+        }
+        breakPatterns( array, from, pivot, to, PrimitiveKernels.SMALL_SORT_THRESHOLD );
+      } else if( BlockQuickSort.wasPartitioned( partition )
+          && partialInsertionSort( array, from, pivot )
+          && partialInsertionSort( array, pivot + 1, to ) ) {
+        return;
+      }
+
+      if( leftSize < rightSize ) {
+        sortRange( array, from, pivot, offsetsLeft, offsetsRight, block, badAllowed, leftmost );
+        from = pivot + 1;
+        leftmost = false;
+      } else {
+        sortRange( array, pivot + 1, to, offsetsLeft, offsetsRight, block, badAllowed, false );
+        to = pivot;
+      }
+    }
+  }
+
+  /**
+   * Swaps elements near the ends of both sides of a bad partition with elements a quarter of the way in, so that the
+   * next pivot choice sees different candidates.
+   */
+  private static <T> void breakPatterns( T[] array, int from, int pivot, int to, int threshold ) {
+    int leftSize = pivot - from;
+    int rightSize = to - pivot - 1;
+    if( leftSize >= threshold ) {
+      int quarter = leftSize / 4;
+      BlockQuickSort.swap( array, from, from + quarter );
+      BlockQuickSort.swap( array, pivot - 1, pivot - quarter );
+      if( leftSize > NINTHER_THRESHOLD ) {
+        BlockQuickSort.swap( array, from + 1, from + quarter + 1 );
+        BlockQuickSort.swap( array, from + 2, from + quarter + 2 );
+        BlockQuickSort.swap( array, pivot - 2, pivot - quarter - 1 );
+        BlockQuickSort.swap( array, pivot - 3, pivot - quarter - 2 );
+      }
+    }
+    if( rightSize >= threshold ) {
+      int quarter = rightSize / 4;
+      BlockQuickSort.swap( array, pivot + 1, pivot + 1 + quarter );
+      BlockQuickSort.swap( array, to - 1, to - quarter );
+      if( rightSize > NINTHER_THRESHOLD ) {
+        BlockQuickSort.swap( array, pivot + 2, pivot + 2 + quarter );
+        BlockQuickSort.swap( array, pivot + 3, pivot + 3 + quarter );
+        BlockQuickSort.swap( array, to - 2, to - quarter - 1 );
+        BlockQuickSort.swap( array, to - 3, to - quarter - 2 );
+      }
+    }
+  }
+
+  private static void breakPatterns( int[] array, int from, int pivot, int to, int threshold ) {
+    int leftSize = pivot - from;
+    int rightSize = to - pivot - 1;
+    if( leftSize >= threshold ) {
+      int quarter = leftSize / 4;
+      BlockQuickSort.swap( array, from, from + quarter );
+      BlockQuickSort.swap( array, pivot - 1, pivot - quarter );
+      if( leftSize > NINTHER_THRESHOLD ) {
+        BlockQuickSort.swap( array, from + 1, from + quarter + 1 );
+        BlockQuickSort.swap( array, from + 2, from + quarter + 2 );
+        BlockQuickSort.swap( array, pivot - 2, pivot - quarter - 1 );
+        BlockQuickSort.swap( array, pivot - 3, pivot - quarter - 2 );
+      }
+    }
+    if( rightSize >= threshold ) {
+      int quarter = rightSize / 4;
+      BlockQuickSort.swap( array, pivot + 1, pivot + 1 + quarter );
+      BlockQuickSort.swap( array, to - 1, to - quarter );
+      if( rightSize > NINTHER_THRESHOLD ) {
+        BlockQuickSort.swap( array, pivot + 2, pivot + 2 + quarter );
+        BlockQuickSort.swap( array, pivot + 3, pivot + 3 + quarter );
+        BlockQuickSort.swap( array, to - 2, to - quarter - 1 );
+        BlockQuickSort.swap( array, to - 3, to - quarter - 2 );
+      }
+    }
+  }
+
+  private static void breakPatterns( long[] array, int from, int pivot, int to, int threshold ) {
+    int leftSize = pivot - from;
+    int rightSize = to - pivot - 1;
+    if( leftSize >= threshold ) {
+      int quarter = leftSize / 4;
+      BlockQuickSort.swap( array, from, from + quarter );
+      BlockQuickSort.swap( array, pivot - 1, pivot - quarter );
+      if( leftSize > NINTHER_THRESHOLD ) {
+        BlockQuickSort.swap( array, from + 1, from + quarter + 1 );
+        BlockQuickSort.swap( array, from + 2, from + quarter + 2 );
+        BlockQuickSort.swap( array, pivot - 2, pivot - quarter - 1 );
+        BlockQuickSort.swap( array, pivot - 3, pivot - quarter - 2 );
+      }
+    }
+    if( rightSize >= threshold ) {
+      int quarter = rightSize / 4;
+      BlockQuickSort.swap( array, pivot + 1, pivot + 1 + quarter );
+      BlockQuickSort.swap( array, to - 1, to - quarter );
+      if( rightSize > NINTHER_THRESHOLD ) {
+        BlockQuickSort.swap( array, pivot + 2, pivot + 2 + quarter );
+        BlockQuickSort.swap( array, pivot + 3, pivot + 3 + quarter );
+        BlockQuickSort.swap( array, to - 2, to - quarter - 1 );
+        BlockQuickSort.swap( array, to - 3, to - quarter - 2 );
+      }
+    }
+  }
+
+  /**
+   * Insertion sorts a range, giving up once more than {@value #PARTIAL_INSERTION_SORT_LIMIT} elements have been moved.
+   * Returns whether the range is sorted.
+   */
+  static <T> boolean partialInsertionSort( T[] array, int from, int to, Comparator<T> comparator ) {
+    int moved = 0;
+    for( int i = from + 1; i < to; i++ ) {
+      if( moved > PARTIAL_INSERTION_SORT_LIMIT ) {
+        return false;
+      }
+      T current = array[i];
+      if( comparator.compare( current, array[i - 1] ) < 0 ) {
+        int j = i;
+        do {
+          array[j] = array[j - 1];
+          j--;
+        } while( j > from && comparator.compare( current, array[j - 1] ) < 0 );
+        array[j] = current;
+        moved += i - j;
+      }
+    }
+    return true;
+  }
+
+  static boolean partialInsertionSort( int[] array, int from, int to ) {
+    int moved = 0;
+    for( int i = from + 1; i < to; i++ ) {
+      if( moved > PARTIAL_INSERTION_SORT_LIMIT ) {
+        return false;
+      }
+      int current = array[i];
+      if( current < array[i - 1] ) {
+        int j = i;
+        do {
+          array[j] = array[j - 1];
+          j--;
+        } while( j > from && current < array[j - 1] );
+        array[j] = current;
+        moved += i - j;
+      }
+    }
+    return true;
+  }
+
+  static boolean partialInsertionSort( long[] array, int from, int to ) {
+    int moved = 0;
+    for( int i = from + 1; i < to; i++ ) {
+      if( moved > PARTIAL_INSERTION_SORT_LIMIT ) {
+        return false;
+      }
+      long current = array[i];
+      if( current < array[i - 1] ) {
+        int j = i;
+        do {
+          array[j] = array[j - 1];
+          j--;
+        } while( j > from && current < array[j - 1] );
+        array[j] = current;
+        moved += i - j;
+      }
+    }
+    return true;
+  }
+
+  private static int log2( int n ) {
+    return 31 - Integer.numberOfLeadingZeros( Math.max( 1, n ) );
+  }
+}
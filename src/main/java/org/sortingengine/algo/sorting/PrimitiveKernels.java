@@ -0,0 +1,204 @@
+package org.sortingengine.algo.sorting;
+
+/**
+ * Leaf and partition kernels shared by the primitive-array sorts in {@link QuickSort} and {@link MergeSort}.
+ *
+ * <p>Each kernel has a scalar implementation here and, when the {@code jdk.incubator.vector} module is present in the
+ * boot layer, a SIMD implementation in {@link VectorKernels}. The choice is made once, when this class is
+ * initialized. Setting the system property {@value #DISABLE_VECTOR_PROPERTY} to {@code true} forces the scalar
+ * kernels, which is useful for comparing the two.</p>
+ *
+ * <p>Without the Vector API, ranges of up to {@value SortingNetworks#MAX_SIZE} elements are finished with the
+ * branch-free networks from {@link SortingNetworks} and larger leaves with Insertion Sort.</p>
+ *
+ * <p>Partition kernels return the bounds of the run of elements equal to the pivot packed into a single
+ * {@code long}; see {@link #bounds(int, int)}.</p>
+ */
+final class PrimitiveKernels {
+
+  /**
+   * System property that disables the vectorized kernels when set to {@code true}.
+   */
+  static final String DISABLE_VECTOR_PROPERTY = "org.sortingengine.vector.disabled";
+
+  /**
+   * Ranges at or below this size are finished by {@link #sortSmall} instead of being partitioned or split further.
+   */
+  static final int SMALL_SORT_THRESHOLD = 64;
+
+  /**
+   * Ranges below this size are not worth loading into vectors and always use the scalar leaf sort.
+   */
+  static final int MIN_VECTOR_BLOCK = 8;
+
+  /**
+   * Whether the vectorized kernels are in use.
+   */
+  static final boolean VECTORIZED = detectVectorSupport();
+
+  /**
+   * Private Constructor to prevent instantiation.
+   */
+  private PrimitiveKernels() {
+  }
+
+  /**
+   * Allocates the block buffer needed by {@link #sortSmall(int[], int, int, int[])}.
+   */
+  static int[] intBlock() {
+    return new int[VECTORIZED ? Math.max( SMALL_SORT_THRESHOLD, VectorKernels.intLanes() ) : 0];
+  }
+
+  /**
+   * Allocates the block buffer needed by {@link #sortSmall(long[], int, int, long[])}.
+   */
+  static long[] longBlock() {
+    return new long[VECTORIZED ? Math.max( SMALL_SORT_THRESHOLD, VectorKernels.longLanes() ) : 0];
+  }
+
+  /**
+   * Allocates one of the two partition buffers needed by {@link #partition(int[], int, int, int, int[], int[])} for
+   * ranges of up to {@code n} elements, or an empty array when the scalar partition is in use.
+   */
+  static int[] intPartitionBuffer( int n ) {
+    return new int[VECTORIZED ? n + VectorKernels.intLanes() : 0];
+  }
+
+  /**
+   * Allocates one of the two partition buffers needed by {@link #partition(long[], int, int, long, long[], long[])}
+   * for ranges of up to {@code n} elements, or an empty array when the scalar partition is in use.
+   */
+  static long[] longPartitionBuffer( int n ) {
+    return new long[VECTORIZED ? n + VectorKernels.longLanes() : 0];
+  }
+
+  static void sortSmall( int[] array, int from, int to, int[] block ) {
+    if( VECTORIZED && to - from >= MIN_VECTOR_BLOCK ) {
+      VectorKernels.bitonicSort( array, from, to, block );
+    } else if( to - from <= SortingNetworks.MAX_SIZE ) {
+      SortingNetworks.sortUnchecked( array, from, to );
+    } else {
+      insertionSort( array, from, to );
+    }
+  }
+
+  static void sortSmall( long[] array, int from, int to, long[] block ) {
+    if( VECTORIZED && to - from >= MIN_VECTOR_BLOCK ) {
+      VectorKernels.bitonicSort( array, from, to, block );
+    } else if( to - from <= SortingNetworks.MAX_SIZE ) {
+      SortingNetworks.sortUnchecked( array, from, to );
+    } else {
+      insertionSort( array, from, to );
+    }
+  }
+
+  static long partition( int[] array, int from, int to, int pivot, int[] less, int[] greater ) {
+    if( VECTORIZED ) {
+      return VectorKernels.partition( array, from, to, pivot, less, greater );
+    }
+    return partitionScalar( array, from, to, pivot );
+  }
+
+  static long partition( long[] array, int from, int to, long pivot, long[] less, long[] greater ) {
+    if( VECTORIZED ) {
+      return VectorKernels.partition( array, from, to, pivot, less, greater );
+    }
+    return partitionScalar( array, from, to, pivot );
+  }
+
+  static void insertionSort( int[] array, int from, int to ) {
+    for( int i = from + 1; i < to; i++ ) {
+      int current = array[i];
+      int j = i - 1;
+      while( j >= from && array[j] > current ) {
+        array[j + 1] = array[j];
+        j--;
+      }
+      array[j + 1] = current;
+    }
+  }
+
+  static void insertionSort( long[] array, int from, int to ) {
+    for( int i = from + 1; i < to; i++ ) {
+      long current = array[i];
+      int j = i - 1;
+      while( j >= from && array[j] > current ) {
+        array[j + 1] = array[j];
+        j--;
+      }
+      array[j + 1] = current;
+    }
+  }
+
+  /**
+   * Dijkstra's three-way partition: {@code [from, lt)} ends up below the pivot, {@code [lt, gt)} equal to it and
+   * {@code [gt, to)} above it.
+   */
+  static long partitionScalar( int[] array, int from, int to, int pivot ) {
+    int lt = from;
+    int i = from;
+    int gt = to;
+    while( i < gt ) {
+      int value = array[i];
+      if( value < pivot ) {
+        array[i++] = array[lt];
+        array[lt++] = value;
+      } else if( value > pivot ) {
+        array[i] = array[--gt];
+        array[gt] = value;
+      } else {
+        i++;
+      }
+    }
+    return bounds( lt, gt );
+  }
+
+  static long partitionScalar( long[] array, int from, int to, long pivot ) {
+    int lt = from;
+    int i = from;
+    int gt = to;
+    while( i < gt ) {
+      long value = array[i];
+      if( value < pivot ) {
+        array[i++] = array[lt];
+        array[lt++] = value;
+      } else if( value > pivot ) {
+        array[i] = array[--gt];
+        array[gt] = value;
+      } else {
+        i++;
+      }
+    }
+    return bounds( lt, gt );
+  }
+
+  /**
+   * Packs the start and end of the run equal to the pivot into one value.
+   */
+  static long bounds( int equalStart, int greaterStart ) {
+    return ( (long) equalStart << 32 ) | ( greaterStart & 0xffffffffL );
+  }
+
+  static int equalStart( long bounds ) {
+    return (int) ( bounds >>> 32 );
+  }
+
+  static int greaterStart( long bounds ) {
+    return (int) bounds;
+  }
+
+  private static boolean detectVectorSupport() {
+    if( Boolean.getBoolean( DISABLE_VECTOR_PROPERTY ) ) {
+      return false;
+    }
+    if( ModuleLayer.boot().findModule( "jdk.incubator.vector" ).isEmpty() ) {
+      return false;
+    }
+    try {
+      // Narrow preferred species (no SIMD unit) gain nothing over the scalar code
+      return VectorKernels.intLanes() >= 4;
+    } catch( LinkageError e ) {
+      return false;
+    }
+  }
+}
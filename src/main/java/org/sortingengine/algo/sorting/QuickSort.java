@@ -23,7 +23,8 @@ public final class QuickSort {
    * It selects a 'pivot' element from the list and partitions the other elements into two sub-lists, according to
    * whether they are less than or greater than the pivot. The sub-lists are then recursively sorted. This
    * implementation chooses the pivot as the median of the first, middle, and last elements to improve performance on
-   * sorted and nearly sorted data.</p>
+   * sorted and nearly sorted data. Partitions of at most {@value SortingNetworks#MAX_SIZE} elements are finished with
+   * a sorting network from {@link SortingNetworks}.</p>
    *
    * <p>This implementation includes checks for null inputs and throws an IllegalArgumentException
    * if either the list or the comparator is null. This ensures that the method operates on valid inputs.</p>
@@ -54,8 +55,155 @@ public final class QuickSort {
     return sortedList;
   }
 
+  /**
+   * Sorts a given array of ints using the Quick Sort algorithm.
+   *
+   * <p>This method partitions the array three ways around a median-of-three pivot, so runs of duplicates are settled
+   * in a single pass, and always recurses into the smaller side to keep the stack shallow. Ranges of at most
+   * {@value PrimitiveKernels#SMALL_SORT_THRESHOLD} elements are finished with a dedicated small-block sort.</p>
+   *
+   * <p>When the {@code jdk.incubator.vector} module is available (for example with
+   * {@code --add-modules jdk.incubator.vector}), partitioning compresses whole vectors of elements into the "less" and
+   * "greater" buffers at once, and small blocks are sorted with a branch-free bitonic network. Without the module the
+   * same steps run as scalar code. The result is the same either way.</p>
+   *
+   * <p><b>Time Complexity:</b> Average case O(n log n), with worst-case O(n^2).</p>
+   * <p><b>Space Complexity:</b> O(n) for the returned copy, plus O(n) partition buffers when vectorized.</p>
+   *
+   * @param array The array to be sorted. Must not be null. The original array remains unmodified.
+   * @return A new array containing the sorted elements of the original array.
+   * @throws IllegalArgumentException if the array is null.
+   */
+  public static int[] quickSort( int[] array ) {
+    if( array == null ) {
+      throw new IllegalArgumentException( "The array cannot be null." );
+    }
+
+    int[] sortedArray = array.clone();
+    int n = sortedArray.length;
+    quickSortRange( sortedArray, 0, n, PrimitiveKernels.intPartitionBuffer( n ),
+        PrimitiveKernels.intPartitionBuffer( n ), PrimitiveKernels.intBlock() );
+    return sortedArray;
+  }
+
+  /**
+   * Sorts a given array of longs using the Quick Sort algorithm. See {@link #quickSort(int[])} for details.
+   *
+   * @param array The array to be sorted. Must not be null. The original array remains unmodified.
+   * @return A new array containing the sorted elements of the original array.
+   * @throws IllegalArgumentException if the array is null.
+   */
+  public static long[] quickSort( long[] array ) {
+    if( array == null ) {
+      throw new IllegalArgumentException( "The array cannot be null." );
+    }
+
+    long[] sortedArray = array.clone();
+    int n = sortedArray.length;
+    quickSortRange( sortedArray, 0, n, PrimitiveKernels.longPartitionBuffer( n ),
+        PrimitiveKernels.longPartitionBuffer( n ), PrimitiveKernels.longBlock() );
+    return sortedArray;
+  }
+
+  /**
+   * Sorts a given array of floats using the Quick Sort algorithm.
+   *
+   * <p>The values are mapped to order-preserving int bit patterns and sorted with {@link #quickSort(int[])}, so the
+   * order is the one defined by {@link Float#compare(float, float)}: {@code -0.0f} precedes {@code 0.0f} and NaN comes
+   * last. All NaN values are returned as the canonical NaN.</p>
+   *
+   * @param array The array to be sorted. Must not be null. The original array remains unmodified.
+   * @return A new array containing the sorted elements of the original array.
+   * @throws IllegalArgumentException if the array is null.
+   */
+  public static float[] quickSort( float[] array ) {
+    if( array == null ) {
+      throw new IllegalArgumentException( "The array cannot be null." );
+    }
+
+    int[] sortable = SortableBits.toSortableInts( array );
+    quickSortRange( sortable, 0, sortable.length, PrimitiveKernels.intPartitionBuffer( sortable.length ),
+        PrimitiveKernels.intPartitionBuffer( sortable.length ), PrimitiveKernels.intBlock() );
+    return SortableBits.fromSortableInts( sortable );
+  }
+
+  /**
+   * Sorts a given array of doubles using the Quick Sort algorithm.
+   *
+   * <p>The values are mapped to order-preserving long bit patterns and sorted with {@link #quickSort(long[])}, so the
+   * order is the one defined by {@link Double#compare(double, double)}: {@code -0.0} precedes {@code 0.0} and NaN
+   * comes last. All NaN values are returned as the canonical NaN.</p>
+   *
+   * @param array The array to be sorted. Must not be null. The original array remains unmodified.
+   * @return A new array containing the sorted elements of the original array.
+   * @throws IllegalArgumentException if the array is null.
+   */
+  public static double[] quickSort( double[] array ) {
+    if( array == null ) {
+      throw new IllegalArgumentException( "The array cannot be null." );
+    }
+
+    long[] sortable = SortableBits.toSortableLongs( array );
+    quickSortRange( sortable, 0, sortable.length, PrimitiveKernels.longPartitionBuffer( sortable.length ),
+        PrimitiveKernels.longPartitionBuffer( sortable.length ), PrimitiveKernels.longBlock() );
+    return SortableBits.fromSortableLongs( sortable );
+  }
+
+  /**
+   * Sorts a range in place with the given partition buffers and block buffer, as allocated by
+   * {@link PrimitiveKernels} for at least the length of the range. {@link QuickSorter} passes buffers it keeps between
+   * calls.
+   */
+  static void quickSortRange( int[] array, int from, int to, int[] less, int[] greater, int[] block ) {
+    while( to - from > PrimitiveKernels.SMALL_SORT_THRESHOLD ) {
+      int pivot = medianOfThree( array[from], array[( from + to ) >>> 1], array[to - 1] );
+      long bounds = PrimitiveKernels.partition( array, from, to, pivot, less, greater );
+      int equalStart = PrimitiveKernels.equalStart( bounds );
+      int greaterStart = PrimitiveKernels.greaterStart( bounds );
+      // Recurse into the smaller side and loop on the larger one to bound the stack depth
+      if( equalStart - from < to - greaterStart ) {
+        quickSortRange( array, from, equalStart, less, greater, block );
+        from = greaterStart;
+      } else {
+        quickSortRange( array, greaterStart, to, less, greater, block );
+        to = equalStart;
+      }
+    }
+    PrimitiveKernels.sortSmall( array, from, to, block );
+  }
+
+  static void quickSortRange( long[] array, int from, int to, long[] less, long[] greater, long[] block ) {
+    while( to - from > PrimitiveKernels.SMALL_SORT_THRESHOLD ) {
+      long pivot = medianOfThree( array[from], array[( from + to ) >>> 1], array[to - 1] );
+      long bounds = PrimitiveKernels.partition( array, from, to, pivot, less, greater );
+      int equalStart = PrimitiveKernels.equalStart( bounds );
+      int greaterStart = PrimitiveKernels.greaterStart( bounds );
+      if( equalStart - from < to - greaterStart ) {
+        quickSortRange( array, from, equalStart, less, greater, block );
+        from = greaterStart;
+      } else {
+        quickSortRange( array, greaterStart, to, less, greater, block );
+        to = equalStart;
+      }
+    }
+    PrimitiveKernels.sortSmall( array, from, to, block );
+  }
+
+  private static int medianOfThree( int a, int b, int c ) {
+    return Math.max( Math.min( a, b ), Math.min( Math.max( a, b ), c ) );
+  }
+
+  private static long medianOfThree( long a, long b, long c ) {
+    return Math.max( Math.min( a, b ), Math.min( Math.max( a, b ), c ) );
+  }
+
   private static <T> void quickSortRecursive( List<T> list, int start, int end, Comparator<T> comparator ) {
-    if( start < end ) {
+    if( end - start < SortingNetworks.MAX_SIZE ) {
+      // Small partitions are finished by a fixed network instead of further data-dependent partitioning
+      if( start < end ) {
+        SortingNetworks.sort( list, start, end + 1, comparator );
+      }
+    } else {
       int pivotIndex = partition( list, start, end, comparator );
       quickSortRecursive( list, start, pivotIndex - 1, comparator );
       quickSortRecursive( list, pivotIndex, end, comparator ); // Changed to 'pivotIndex' from 'pivotIndex + 1'
@@ -0,0 +1,121 @@
+package org.sortingengine.algo.sorting;
+
+/**
+ * A reusable, stateful Quick Sort for primitive arrays. The static {@link QuickSort#quickSort(int[])} and
+ * {@link QuickSort#quickSort(long[])} allocate a copy of the input, two partition buffers and a block buffer on every
+ * call. An instance owns the buffers instead and sorts in place, so repeated sorts of arrays no larger than any
+ * previous one allocate nothing.
+ *
+ * <p>The partition buffers grow on demand, by at least half their current size, and are kept until
+ * {@link #release()} is called. When the vectorized kernels are not in use, the scalar partition needs no buffers,
+ * and the sorter holds none.</p>
+ *
+ * <p>Instances are not thread-safe. Code that sorts from many threads can keep one instance per thread through
+ * {@link #threadLocal()}, as with {@link MergeSorter}.</p>
+ *
+ * <p>The sorts produce the same order as the static methods of {@link QuickSort}.</p>
+ */
+public final class QuickSorter {
+
+  private static final ThreadLocal<QuickSorter> THREAD_LOCAL = ThreadLocal.withInitial( QuickSorter::new );
+
+  private int intCapacity;
+  private int longCapacity;
+  private int[] intLess = new int[0];
+  private int[] intGreater = new int[0];
+  private long[] longLess = new long[0];
+  private long[] longGreater = new long[0];
+  private int[] intBlock;
+  private long[] longBlock;
+
+  /**
+   * Creates a sorter with empty buffers.
+   */
+  public QuickSorter() {
+  }
+
+  /**
+   * Returns the sorter owned by the calling thread, creating it on first use.
+   *
+   * <p>This suits long-lived platform threads such as those of a fixed thread pool. Virtual threads are usually
+   * created per task, so a thread-local sorter would rarely be reused there; prefer a pool of instances instead.</p>
+   *
+   * @return The calling thread's sorter.
+   */
+  public static QuickSorter threadLocal() {
+    return THREAD_LOCAL.get();
+  }
+
+  /**
+   * Sorts an int array in place using the Quick Sort of {@link QuickSort#quickSort(int[])}.
+   *
+   * @param array The array to be sorted in place. Must not be null.
+   * @throws IllegalArgumentException if the array is null.
+   */
+  public void sort( int[] array ) {
+    if( array == null ) {
+      throw new IllegalArgumentException( "The array cannot be null." );
+    }
+
+    int n = array.length;
+    if( intCapacity < n ) {
+      intCapacity = grow( intCapacity, n );
+      intLess = PrimitiveKernels.intPartitionBuffer( intCapacity );
+      intGreater = PrimitiveKernels.intPartitionBuffer( intCapacity );
+    }
+    if( intBlock == null ) {
+      intBlock = PrimitiveKernels.intBlock();
+    }
+    QuickSort.quickSortRange( array, 0, n, intLess, intGreater, intBlock );
+  }
+
+  /**
+   * Sorts a long array in place using the Quick Sort of {@link QuickSort#quickSort(long[])}.
+   *
+   * @param array The array to be sorted in place. Must not be null.
+   * @throws IllegalArgumentException if the array is null.
+   */
+  public void sort( long[] array ) {
+    if( array == null ) {
+      throw new IllegalArgumentException( "The array cannot be null." );
+    }
+
+    int n = array.length;
+    if( longCapacity < n ) {
+      longCapacity = grow( longCapacity, n );
+      longLess = PrimitiveKernels.longPartitionBuffer( longCapacity );
+      longGreater = PrimitiveKernels.longPartitionBuffer( longCapacity );
+    }
+    if( longBlock == null ) {
+      longBlock = PrimitiveKernels.longBlock();
+    }
+    QuickSort.quickSortRange( array, 0, n, longLess, longGreater, longBlock );
+  }
+
+  /**
+   * Returns the length of the longest int array this sorter can currently sort without growing its buffers.
+   *
+   * @return The current int capacity.
+   */
+  public int capacity() {
+    return intCapacity;
+  }
+
+  /**
+   * Drops all buffers, returning the sorter to its initial, empty state.
+   */
+  public void release() {
+    intCapacity = 0;
+    longCapacity = 0;
+    intLess = new int[0];
+    intGreater = new int[0];
+    longLess = new long[0];
+    longGreater = new long[0];
+    intBlock = null;
+    longBlock = null;
+  }
+
+  private static int grow( int current, int needed ) {
+    return (int) Math.min( Integer.MAX_VALUE - 64, Math.max( needed, current + ( (long) current >> 1 ) ) );
+  }
+}
@@ -0,0 +1,35 @@
+package org.sortingengine.algo.sorting;
+
+import java.util.concurrent.CancellationException;
+
+/**
+ * Thrown by the sorts of {@link DeadlineSort} when their {@link CancellationToken} is cancelled before they finish.
+ *
+ * <p>The exception reports how far the sort got, as an estimated fraction of its total work, so callers can tell a
+ * sort that barely started from one that was close to done, for example to tune their deadlines. The input of the
+ * sort is never modified, so nothing needs to be rolled back.</p>
+ */
+public class SortCancelledException extends CancellationException {
+
+  private final double progress;
+
+  /**
+   * Creates an exception for a sort that stopped after completing the given fraction of its work.
+   *
+   * @param progress The completed fraction of the work, clamped to {@code [0, 1]}.
+   */
+  public SortCancelledException( double progress ) {
+    super( String.format( "The sort was cancelled after completing %.1f%% of its work.",
+        100 * Math.max( 0, Math.min( 1, progress ) ) ) );
+    this.progress = Math.max( 0, Math.min( 1, progress ) );
+  }
+
+  /**
+   * Returns the estimated fraction of the work the sort completed before it stopped.
+   *
+   * @return A value between 0 and 1.
+   */
+  public double progress() {
+    return progress;
+  }
+}
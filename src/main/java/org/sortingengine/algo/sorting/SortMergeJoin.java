@@ -0,0 +1,472 @@
+package org.sortingengine.algo.sorting;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Joins two inputs that are sorted by a join key. This class offers static methods for inner, left outer, semi and
+ * anti joins of lists and iterators, computed by merging the inputs instead of building a hash table of either side.
+ *
+ * <p>Both inputs are walked in key order. Elements of one side whose keys are smaller than the current key of the
+ * other side have no partner and are emitted or skipped according to the join type. Where the keys are equal, the
+ * whole group of equal keys is taken from both sides, and every left element of the group is paired with every right
+ * element of the group. Within a group, pairs are produced in left order and, for each left element, in right order,
+ * so the output of an inner or left join is sorted by key as well and can feed another join.</p>
+ *
+ * <p>The list variants gallop through runs of unmatched keys once one side has advanced
+ * {@value SortedSetOperations#MIN_GALLOP} times in a row, so joining a small input with a large one costs
+ * O(m log(n / m)) comparisons. The iterator variants are lazy and hold only the current group of equal keys of the
+ * right input, so their memory is bounded by the largest such group, not by the size of either input. Sorting the
+ * inputs first, for example with {@link MergeSort} or as run files, therefore joins data sets that would not fit in
+ * a hash table.</p>
+ */
+public final class SortMergeJoin {
+
+  /**
+   * Private Constructor to prevent instantiation.
+   */
+  private SortMergeJoin() {
+  }
+
+  /**
+   * Returns the inner join of two lists sorted by their keys: one combined element for every pair of a left and a
+   * right element with equal keys.
+   *
+   * <p><b>Time Complexity:</b> O(n + m + p) for p output pairs, fewer comparisons when galloping.</p>
+   * <p><b>Space Complexity:</b> O(p) for the returned list.</p>
+   *
+   * @param <L>      The type of the left elements.
+   * @param <R>      The type of the right elements.
+   * @param <K>      The type of the join key.
+   * @param <O>      The type of the combined elements.
+   * @param left     The left list, sorted by its keys. Must not be null.
+   * @param right    The right list, sorted by its keys. Must not be null.
+   * @param leftKey  Extracts the join key from a left element. Must not be null.
+   * @param rightKey Extracts the join key from a right element. Must not be null.
+   * @param keyOrder The order both lists are sorted in. Must not be null.
+   * @param combiner Combines a left and a right element with equal keys. Must not be null.
+   * @return A new list of the combined elements, in key order.
+   * @throws IllegalArgumentException if any argument is null.
+   */
+  public static <L, R, K, O> List<O> innerJoin( List<L> left, List<R> right, Function<L, K> leftKey,
+                                                Function<R, K> rightKey, Comparator<K> keyOrder,
+                                                BiFunction<L, R, O> combiner ) {
+    return join( JoinType.INNER, left, right, leftKey, rightKey, keyOrder, combiner );
+  }
+
+  /**
+   * Returns the left outer join of two lists sorted by their keys: the inner join plus one combined element for every
+   * left element without a partner, for which the combiner receives null as the right element.
+   *
+   * <p><b>Time Complexity:</b> O(n + m + p) for p output pairs, fewer comparisons when galloping.</p>
+   * <p><b>Space Complexity:</b> O(n + p) for the returned list.</p>
+   *
+   * @param <L>      The type of the left elements.
+   * @param <R>      The type of the right elements.
+   * @param <K>      The type of the join key.
+   * @param <O>      The type of the combined elements.
+   * @param left     The left list, sorted by its keys. Must not be null.
+   * @param right    The right list, sorted by its keys. Must not be null.
+   * @param leftKey  Extracts the join key from a left element. Must not be null.
+   * @param rightKey Extracts the join key from a right element. Must not be null.
+   * @param keyOrder The order both lists are sorted in. Must not be null.
+   * @param combiner Combines a left element with a right element of equal key, or with null. Must not be null.
+   * @return A new list of the combined elements, in key order.
+   * @throws IllegalArgumentException if any argument is null.
+   */
+  public static <L, R, K, O> List<O> leftJoin( List<L> left, List<R> right, Function<L, K> leftKey,
+                                               Function<R, K> rightKey, Comparator<K> keyOrder,
+                                               BiFunction<L, R, O> combiner ) {
+    return join( JoinType.LEFT, left, right, leftKey, rightKey, keyOrder, combiner );
+  }
+
+  /**
+   * Returns the semi join of two lists sorted by their keys: every left element that has at least one partner,
+   * once.
+   *
+   * <p><b>Time Complexity:</b> O(n + m), fewer comparisons when galloping.</p>
+   * <p><b>Space Complexity:</b> O(n) for the returned list.</p>
+   *
+   * @param <L>      The type of the left elements.
+   * @param <R>      The type of the right elements.
+   * @param <K>      The type of the join key.
+   * @param left     The left list, sorted by its keys. Must not be null.
+   * @param right    The right list, sorted by its keys. Must not be null.
+   * @param leftKey  Extracts the join key from a left element. Must not be null.
+   * @param rightKey Extracts the join key from a right element. Must not be null.
+   * @param keyOrder The order both lists are sorted in. Must not be null.
+   * @return A new list of the matched left elements, in their original order.
+   * @throws IllegalArgumentException if any argument is null.
+   */
+  public static <L, R, K> List<L> semiJoin( List<L> left, List<R> right, Function<L, K> leftKey,
+                                            Function<R, K> rightKey, Comparator<K> keyOrder ) {
+    return join( JoinType.SEMI, left, right, leftKey, rightKey, keyOrder, ( element, partner ) -> element );
+  }
+
+  /**
+   * Returns the anti join of two lists sorted by their keys: every left element without a partner.
+   *
+   * <p><b>Time Complexity:</b> O(n + m), fewer comparisons when galloping.</p>
+   * <p><b>Space Complexity:</b> O(n) for the returned list.</p>
+   *
+   * @param <L>      The type of the left elements.
+   * @param <R>      The type of the right elements.
+   * @param <K>      The type of the join key.
+   * @param left     The left list, sorted by its keys. Must not be null.
+   * @param right    The right list, sorted by its keys. Must not be null.
+   * @param leftKey  Extracts the join key from a left element. Must not be null.
+   * @param rightKey Extracts the join key from a right element. Must not be null.
+   * @param keyOrder The order both lists are sorted in. Must not be null.
+   * @return A new list of the unmatched left elements, in their original order.
+   * @throws IllegalArgumentException if any argument is null.
+   */
+  public static <L, R, K> List<L> antiJoin( List<L> left, List<R> right, Function<L, K> leftKey,
+                                            Function<R, K> rightKey, Comparator<K> keyOrder ) {
+    return join( JoinType.ANTI, left, right, leftKey, rightKey, keyOrder, ( element, partner ) -> element );
+  }
+
+  /**
+   * Lazily computes the inner join of two iterators sorted by their keys. The iterators must not be used by the
+   * caller once passed in.
+   *
+   * @param <L>      The type of the left elements.
+   * @param <R>      The type of the right elements.
+   * @param <K>      The type of the join key.
+   * @param <O>      The type of the combined elements.
+   * @param left     The left iterator, sorted by its keys. Must not be null.
+   * @param right    The right iterator, sorted by its keys. Must not be null.
+   * @param leftKey  Extracts the join key from a left element. Must not be null.
+   * @param rightKey Extracts the join key from a right element. Must not be null.
+   * @param keyOrder The order both iterators are sorted in. Must not be null.
+   * @param combiner Combines a left and a right element with equal keys. Must not be null.
+   * @return An iterator over the combined elements, in key order.
+   * @throws IllegalArgumentException if any argument is null.
+   */
+  public static <L, R, K, O> Iterator<O> innerJoin( Iterator<L> left, Iterator<R> right, Function<L, K> leftKey,
+                                                    Function<R, K> rightKey, Comparator<K> keyOrder,
+                                                    BiFunction<L, R, O> combiner ) {
+    return join( JoinType.INNER, left, right, leftKey, rightKey, keyOrder, combiner );
+  }
+
+  /**
+   * Lazily computes the left outer join of two iterators sorted by their keys. The combiner receives null as the
+   * right element of a left element without a partner. The iterators must not be used by the caller once passed in.
+   *
+   * @param <L>      The type of the left elements.
+   * @param <R>      The type of the right elements.
+   * @param <K>      The type of the join key.
+   * @param <O>      The type of the combined elements.
+   * @param left     The left iterator, sorted by its keys. Must not be null.
+   * @param right    The right iterator, sorted by its keys. Must not be null.
+   * @param leftKey  Extracts the join key from a left element. Must not be null.
+   * @param rightKey Extracts the join key from a right element. Must not be null.
+   * @param keyOrder The order both iterators are sorted in. Must not be null.
+   * @param combiner Combines a left element with a right element of equal key, or with null. Must not be null.
+   * @return An iterator over the combined elements, in key order.
+   * @throws IllegalArgumentException if any argument is null.
+   */
+  public static <L, R, K, O> Iterator<O> leftJoin( Iterator<L> left, Iterator<R> right, Function<L, K> leftKey,
+                                                   Function<R, K> rightKey, Comparator<K> keyOrder,
+                                                   BiFunction<L, R, O> combiner ) {
+    return join( JoinType.LEFT, left, right, leftKey, rightKey, keyOrder, combiner );
+  }
+
+  /**
+   * Lazily computes the semi join of two iterators sorted by their keys. The iterators must not be used by the caller
+   * once passed in.
+   *
+   * @param <L>      The type of the left elements.
+   * @param <R>      The type of the right elements.
+   * @param <K>      The type of the join key.
+   * @param left     The left iterator, sorted by its keys. Must not be null.
+   * @param right    The right iterator, sorted by its keys. Must not be null.
+   * @param leftKey  Extracts the join key from a left element. Must not be null.
+   * @param rightKey Extracts the join key from a right element. Must not be null.
+   * @param keyOrder The order both iterators are sorted in. Must not be null.
+   * @return An iterator over the matched left elements, in their original order.
+   * @throws IllegalArgumentException if any argument is null.
+   */
+  public static <L, R, K> Iterator<L> semiJoin( Iterator<L> left, Iterator<R> right, Function<L, K> leftKey,
+                                                Function<R, K> rightKey, Comparator<K> keyOrder ) {
+    return join( JoinType.SEMI, left, right, leftKey, rightKey, keyOrder, ( element, partner ) -> element );
+  }
+
+  /**
+   * Lazily computes the anti join of two iterators sorted by their keys. The iterators must not be used by the caller
+   * once passed in.
+   *
+   * @param <L>      The type of the left elements.
+   * @param <R>      The type of the right elements.
+   * @param <K>      The type of the join key.
+   * @param left     The left iterator, sorted by its keys. Must not be null.
+   * @param right    The right iterator, sorted by its keys. Must not be null.
+   * @param leftKey  Extracts the join key from a left element. Must not be null.
+   * @param rightKey Extracts the join key from a right element. Must not be null.
+   * @param keyOrder The order both iterators are sorted in. Must not be null.
+   * @return An iterator over the unmatched left elements, in their original order.
+   * @throws IllegalArgumentException if any argument is null.
+   */
+  public static <L, R, K> Iterator<L> antiJoin( Iterator<L> left, Iterator<R> right, Function<L, K> leftKey,
+                                                Function<R, K> rightKey, Comparator<K> keyOrder ) {
+    return join( JoinType.ANTI, left, right, leftKey, rightKey, keyOrder, ( element, partner ) -> element );
+  }
+
+  private static <L, R, K, O> List<O> join( JoinType type, List<L> left, List<R> right, Function<L, K> leftKey,
+                                            Function<R, K> rightKey, Comparator<K> keyOrder,
+                                            BiFunction<L, R, O> combiner ) {
+    if( left == null || right == null ) {
+      throw new IllegalArgumentException( "The list cannot be null." );
+    }
+    validate( leftKey, rightKey, keyOrder, combiner );
+
+    List<L> a = left instanceof RandomAccess ? left : new ArrayList<>( left );
+    List<R> b = right instanceof RandomAccess ? right : new ArrayList<>( right );
+    List<K> leftKeys = keys( a, leftKey );
+    List<K> rightKeys = keys( b, rightKey );
+    int n = a.size();
+    int m = b.size();
+    List<O> result = new ArrayList<>();
+    int i = 0;
+    int j = 0;
+    int runLeft = 0;
+    int runRight = 0;
+    while( i < n && j < m ) {
+      K key = leftKeys.get( i );
+      int order = keyOrder.compare( key, rightKeys.get( j ) );
+      if( order < 0 ) {
+        int end = ++runLeft >= SortedSetOperations.MIN_GALLOP
+            ? IncrementalSort.gallop( leftKeys, i + 1, rightKeys.get( j ), keyOrder, false ) : i + 1;
+        if( type.keepsUnmatched ) {
+          for( int k = i; k < end; k++ ) {
+            result.add( combiner.apply( a.get( k ), null ) );
+          }
+        }
+        i = end;
+        runRight = 0;
+      } else if( order > 0 ) {
+        j = ++runRight >= SortedSetOperations.MIN_GALLOP
+            ? IncrementalSort.gallop( rightKeys, j + 1, key, keyOrder, false ) : j + 1;
+        runLeft = 0;
+      } else {
+        // The groups of equal keys on both sides
+        int leftEnd = IncrementalSort.gallop( leftKeys, i + 1, key, keyOrder, true );
+        int rightEnd = IncrementalSort.gallop( rightKeys, j + 1, key, keyOrder, true );
+        for( int k = i; k < leftEnd; k++ ) {
+          if( type.pairsMatches ) {
+            for( int r = j; r < rightEnd; r++ ) {
+              result.add( combiner.apply( a.get( k ), b.get( r ) ) );
+            }
+          } else if( type.keepsMatched ) {
+            result.add( combiner.apply( a.get( k ), b.get( j ) ) );
+          }
+        }
+        i = leftEnd;
+        j = rightEnd;
+        runLeft = 0;
+        runRight = 0;
+      }
+    }
+    if( type.keepsUnmatched ) {
+      for( int k = i; k < n; k++ ) {
+        result.add( combiner.apply( a.get( k ), null ) );
+      }
+    }
+    return result;
+  }
+
+  private static <L, R, K, O> Iterator<O> join( JoinType type, Iterator<L> left, Iterator<R> right,
+                                                Function<L, K> leftKey, Function<R, K> rightKey,
+                                                Comparator<K> keyOrder, BiFunction<L, R, O> combiner ) {
+    if( left == null || right == null ) {
+      throw new IllegalArgumentException( "The iterator cannot be null." );
+    }
+    validate( leftKey, rightKey, keyOrder, combiner );
+    return new JoinIterator<>( type, left, right, leftKey, rightKey, keyOrder, combiner );
+  }
+
+  private static void validate( Function<?, ?> leftKey, Function<?, ?> rightKey, Comparator<?> keyOrder,
+                                BiFunction<?, ?, ?> combiner ) {
+    if( leftKey == null || rightKey == null ) {
+      throw new IllegalArgumentException( "Key extractor cannot be null." );
+    }
+    if( keyOrder == null ) {
+      throw new IllegalArgumentException( "Comparator cannot be null." );
+    }
+    if( combiner == null ) {
+      throw new IllegalArgumentException( "The combiner cannot be null." );
+    }
+  }
+
+  /**
+   * Returns a view of the keys of a random-access list, extracted on every access.
+   */
+  private static <E, K> List<K> keys( List<E> list, Function<E, K> key ) {
+    return new KeyView<>( list, key );
+  }
+
+  /**
+   * What a join emits for matched and unmatched left elements.
+   */
+  private enum JoinType {
+    INNER( true, false, false ),
+    LEFT( true, false, true ),
+    SEMI( false, true, false ),
+    ANTI( false, false, true );
+
+    /**
+     * Whether every pair of a group of equal keys is combined.
+     */
+    final boolean pairsMatches;
+
+    /**
+     * Whether a matched left element is emitted once.
+     */
+    final boolean keepsMatched;
+
+    /**
+     * Whether an unmatched left element is emitted, combined with null.
+     */
+    final boolean keepsUnmatched;
+
+    JoinType( boolean pairsMatches, boolean keepsMatched, boolean keepsUnmatched ) {
+      this.pairsMatches = pairsMatches;
+      this.keepsMatched = keepsMatched;
+      this.keepsUnmatched = keepsUnmatched;
+    }
+  }
+
+  /**
+   * A read-only view mapping the elements of a random-access list to their keys.
+   */
+  private static final class KeyView<E, K> extends AbstractList<K> implements RandomAccess {
+    private final List<E> list;
+    private final Function<E, K> key;
+
+    KeyView( List<E> list, Function<E, K> key ) {
+      this.list = list;
+      this.key = key;
+    }
+
+    @Override
+    public K get( int index ) {
+      return key.apply( list.get( index ) );
+    }
+
+    @Override
+    public int size() {
+      return list.size();
+    }
+  }
+
+  /**
+   * A lazy join of two sorted iterators. It buffers the right elements of the current key, so that a group of equal
+   * left keys is paired with them without reading the right input again.
+   */
+  private static final class JoinIterator<L, R, K, O> implements Iterator<O> {
+    private final JoinType type;
+    private final Iterator<L> left;
+    private final Iterator<R> right;
+    private final Function<L, K> leftKey;
+    private final Function<R, K> rightKey;
+    private final Comparator<K> keyOrder;
+    private final BiFunction<L, R, O> combiner;
+    private final List<R> group = new ArrayList<>();
+    private K groupKey;
+    private R head;
+    private K headKey;
+    private boolean hasHead;
+    private L pending;
+    private boolean pairing;
+    private int pairIndex;
+    private O next;
+    private boolean ready;
+    private boolean available;
+
+    JoinIterator( JoinType type, Iterator<L> left, Iterator<R> right, Function<L, K> leftKey,
+                  Function<R, K> rightKey, Comparator<K> keyOrder, BiFunction<L, R, O> combiner ) {
+      this.type = type;
+      this.left = left;
+      this.right = right;
+      this.leftKey = leftKey;
+      this.rightKey = rightKey;
+      this.keyOrder = keyOrder;
+      this.combiner = combiner;
+      advanceRight();
+    }
+
+    @Override
+    public boolean hasNext() {
+      if( !ready ) {
+        available = computeNext();
+        ready = true;
+      }
+      return available;
+    }
+
+    @Override
+    public O next() {
+      if( !hasNext() ) {
+        throw new NoSuchElementException();
+      }
+      ready = false;
+      O result = next;
+      next = null;
+      return result;
+    }
+
+    private boolean computeNext() {
+      while( true ) {
+        if( pairing && pairIndex < group.size() ) {
+          next = combiner.apply( pending, group.get( pairIndex++ ) );
+          return true;
+        }
+        pairing = false;
+        pending = null;
+        if( !left.hasNext() ) {
+          return false;
+        }
+
+        L element = left.next();
+        K key = leftKey.apply( element );
+        if( group.isEmpty() || keyOrder.compare( groupKey, key ) != 0 ) {
+          group.clear();
+          while( hasHead && keyOrder.compare( headKey, key ) < 0 ) {
+            advanceRight();
+          }
+          while( hasHead && keyOrder.compare( headKey, key ) == 0 ) {
+            group.add( head );
+            advanceRight();
+          }
+          groupKey = key;
+        }
+
+        if( group.isEmpty() ) {
+          if( type.keepsUnmatched ) {
+            next = combiner.apply( element, null );
+            return true;
+          }
+        } else if( type.pairsMatches ) {
+          pending = element;
+          pairing = true;
+          pairIndex = 0;
+        } else if( type.keepsMatched ) {
+          next = combiner.apply( element, group.get( 0 ) );
+          return true;
+        }
+      }
+    }
+
+    private void advanceRight() {
+      hasHead = right.hasNext();
+      head = hasHead ? right.next() : null;
+      headKey = hasHead ? rightKey.apply( head ) : null;
+    }
+  }
+}
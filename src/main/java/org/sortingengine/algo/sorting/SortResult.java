@@ -0,0 +1,15 @@
+package org.sortingengine.algo.sorting;
+
+import java.util.List;
+
+/**
+ * The outcome of a sort that may stop early, as returned by
+ * {@link DeadlineSort#sortOrTopK(List, java.util.Comparator, CancellationToken, int)}.
+ *
+ * @param <T>      The type of the sorted elements.
+ * @param elements The sorted elements. When the sort completed, these are all elements of the input; otherwise they
+ *                 are the smallest elements of the input, in order, which is a prefix of the full sorted result.
+ * @param complete Whether the sort completed.
+ */
+public record SortResult<T>( List<T> elements, boolean complete ) {
+}
@@ -0,0 +1,68 @@
+package org.sortingengine.algo.sorting;
+
+/**
+ * Order-preserving conversions between floating-point values and integer bit patterns.
+ *
+ * <p>Flipping every bit except the sign bit of a negative IEEE-754 value yields an integer whose signed order matches
+ * {@link Float#compare(float, float)} and {@link Double#compare(double, double)}: {@code -0.0} sorts before
+ * {@code 0.0}, and NaN sorts after positive infinity. NaN values are canonicalized first, so distinct NaN payloads
+ * all collapse to the canonical NaN. The conversions are their own inverses.</p>
+ */
+final class SortableBits {
+
+  /**
+   * Private Constructor to prevent instantiation.
+   */
+  private SortableBits() {
+  }
+
+  static int floatToSortableInt( float value ) {
+    int bits = Float.floatToIntBits( value );
+    return bits ^ ( ( bits >> 31 ) & 0x7fffffff );
+  }
+
+  static float sortableIntToFloat( int sortable ) {
+    return Float.intBitsToFloat( sortable ^ ( ( sortable >> 31 ) & 0x7fffffff ) );
+  }
+
+  static long doubleToSortableLong( double value ) {
+    long bits = Double.doubleToLongBits( value );
+    return bits ^ ( ( bits >> 63 ) & 0x7fffffffffffffffL );
+  }
+
+  static double sortableLongToDouble( long sortable ) {
+    return Double.longBitsToDouble( sortable ^ ( ( sortable >> 63 ) & 0x7fffffffffffffffL ) );
+  }
+
+  static int[] toSortableInts( float[] values ) {
+    int[] sortable = new int[values.length];
+    for( int i = 0; i < values.length; i++ ) {
+      sortable[i] = floatToSortableInt( values[i] );
+    }
+    return sortable;
+  }
+
+  static float[] fromSortableInts( int[] sortable ) {
+    float[] values = new float[sortable.length];
+    for( int i = 0; i < sortable.length; i++ ) {
+      values[i] = sortableIntToFloat( sortable[i] );
+    }
+    return values;
+  }
+
+  static long[] toSortableLongs( double[] values ) {
+    long[] sortable = new long[values.length];
+    for( int i = 0; i < values.length; i++ ) {
+      sortable[i] = doubleToSortableLong( values[i] );
+    }
+    return sortable;
+  }
+
+  static double[] fromSortableLongs( long[] sortable ) {
+    double[] values = new double[sortable.length];
+    for( int i = 0; i < sortable.length; i++ ) {
+      values[i] = sortableLongToDouble( sortable[i] );
+    }
+    return values;
+  }
+}
@@ -0,0 +1,268 @@
+package org.sortingengine.algo.sorting;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * A sorted list that stays sorted under inserts and deletes, stored as a sequence of small sorted chunks.
+ *
+ * <p>Each change costs a binary search over the chunks, a binary search inside one chunk and a shift of at most
+ * {@value #MAX_CHUNK_SIZE} elements, so updates cost O(log n + c) for chunks of size c, independent of how large the
+ * list grows. A chunk that outgrows {@value #MAX_CHUNK_SIZE} elements is split in two and an empty chunk is dropped.
+ * Positional reads through {@link #get(int)} use chunk start offsets that are recomputed lazily after changes;
+ * iteration walks the chunks directly.</p>
+ *
+ * <p>The list is read-only through the {@link List} interface; it is changed only through {@link #insert(Object)},
+ * {@link #delete(Object)} and {@link #applyDelta(Collection, Collection)}. Equal elements keep their insertion order.
+ * Instances are not thread-safe.</p>
+ *
+ * @param <T> The type of elements in the list.
+ */
+public final class SortedChunkList<T> extends AbstractList<T> {
+
+  /**
+   * Chunks are split once they hold more than this many elements.
+   */
+  static final int MAX_CHUNK_SIZE = 1024;
+
+  private final Comparator<T> comparator;
+  private final List<List<T>> chunks = new ArrayList<>();
+  private int[] offsets = new int[0];
+  private int validOffsets;
+  private int size;
+
+  /**
+   * Creates an empty list.
+   *
+   * @param comparator The comparator that orders the list. Must not be null.
+   * @throws IllegalArgumentException if the comparator is null.
+   */
+  public SortedChunkList( Comparator<T> comparator ) {
+    if( comparator == null ) {
+      throw new IllegalArgumentException( "Comparator cannot be null." );
+    }
+    this.comparator = comparator;
+  }
+
+  /**
+   * Creates a list from elements that are already sorted, cutting them into half-full chunks without comparing them.
+   *
+   * @param <T>        The type of elements in the list.
+   * @param sorted     The elements, sorted according to the comparator. Must not be null.
+   * @param comparator The comparator the elements are sorted by. Must not be null.
+   * @return A new list holding the elements.
+   * @throws IllegalArgumentException if the elements or the comparator are null.
+   */
+  public static <T> SortedChunkList<T> fromSorted( List<T> sorted, Comparator<T> comparator ) {
+    if( sorted == null ) {
+      throw new IllegalArgumentException( "The list cannot be null." );
+    }
+    SortedChunkList<T> list = new SortedChunkList<>( comparator );
+    int chunkSize = MAX_CHUNK_SIZE / 2;
+    List<T> chunk = new ArrayList<>( MAX_CHUNK_SIZE + 1 );
+    for( T element : sorted ) {
+      chunk.add( element );
+      if( chunk.size() == chunkSize ) {
+        list.chunks.add( chunk );
+        chunk = new ArrayList<>( MAX_CHUNK_SIZE + 1 );
+      }
+    }
+    if( !chunk.isEmpty() ) {
+      list.chunks.add( chunk );
+    }
+    list.size = sorted.size();
+    return list;
+  }
+
+  /**
+   * Inserts an element at its sorted position, after any elements equal to it.
+   *
+   * @param element The element to insert.
+   */
+  public void insert( T element ) {
+    if( chunks.isEmpty() ) {
+      List<T> chunk = new ArrayList<>( MAX_CHUNK_SIZE + 1 );
+      chunk.add( element );
+      chunks.add( chunk );
+      size = 1;
+      validOffsets = 0;
+      return;
+    }
+
+    int c = firstChunkEndingAfter( element, true );
+    if( c == chunks.size() ) {
+      c--;
+    }
+    List<T> chunk = chunks.get( c );
+    chunk.add( IncrementalSort.gallop( chunk, 0, element, comparator, true ), element );
+    size++;
+    if( chunk.size() > MAX_CHUNK_SIZE ) {
+      List<T> upper = new ArrayList<>( MAX_CHUNK_SIZE + 1 );
+      List<T> tail = chunk.subList( chunk.size() / 2, chunk.size() );
+      upper.addAll( tail );
+      tail.clear();
+      chunks.add( c + 1, upper );
+    }
+    validOffsets = Math.min( validOffsets, c );
+  }
+
+  /**
+   * Removes one element that compares equal to the given one and is {@link Object#equals(Object) equal} to it.
+   *
+   * @param element The element to remove.
+   * @return Whether an element was removed.
+   */
+  public boolean delete( T element ) {
+    for( int c = firstChunkEndingAfter( element, false ); c < chunks.size(); c++ ) {
+      List<T> chunk = chunks.get( c );
+      for( int i = IncrementalSort.gallop( chunk, 0, element, comparator, false ); i < chunk.size(); i++ ) {
+        T candidate = chunk.get( i );
+        if( comparator.compare( candidate, element ) != 0 ) {
+          return false;
+        }
+        if( Objects.equals( candidate, element ) ) {
+          chunk.remove( i );
+          if( chunk.isEmpty() ) {
+            chunks.remove( c );
+          }
+          size--;
+          validOffsets = Math.min( validOffsets, c );
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Applies a batch of changes: first every delete, then every insert. An update is a delete of the old value
+   * together with an insert of the new one.
+   *
+   * <p>The inserts are sorted first, so consecutive inserts land in the same or the next chunk and the search for
+   * their chunk stays in cache.</p>
+   *
+   * @param inserts The elements to insert. Must not be null.
+   * @param deletes The elements to remove. Must not be null.
+   * @return The number of deletes that found an element to remove.
+   * @throws IllegalArgumentException if the inserts or deletes are null.
+   */
+  @SuppressWarnings( "unchecked" )
+  public int applyDelta( Collection<T> inserts, Collection<T> deletes ) {
+    if( inserts == null || deletes == null ) {
+      throw new IllegalArgumentException( "The list cannot be null." );
+    }
+    int deleted = 0;
+    for( T element : deletes ) {
+      if( delete( element ) ) {
+        deleted++;
+      }
+    }
+    T[] added = (T[]) inserts.toArray();
+    new MergeSorter().sort( added, 0, added.length, comparator );
+    for( T element : added ) {
+      insert( element );
+    }
+    return deleted;
+  }
+
+  @Override
+  public T get( int index ) {
+    if( index < 0 || index >= size ) {
+      throw new IndexOutOfBoundsException( "Index " + index + " out of bounds for length " + size + "." );
+    }
+    updateOffsets();
+    int low = 0;
+    int high = chunks.size() - 1;
+    while( low < high ) {
+      int mid = ( low + high + 1 ) >>> 1;
+      if( offsets[mid] <= index ) {
+        low = mid;
+      } else {
+        high = mid - 1;
+      }
+    }
+    return chunks.get( low ).get( index - offsets[low] );
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public Iterator<T> iterator() {
+    return new Iterator<>() {
+      private int chunk;
+      private int index;
+
+      @Override
+      public boolean hasNext() {
+        return chunk < chunks.size() && index < chunks.get( chunk ).size();
+      }
+
+      @Override
+      public T next() {
+        if( !hasNext() ) {
+          throw new NoSuchElementException();
+        }
+        List<T> current = chunks.get( chunk );
+        T element = current.get( index++ );
+        if( index == current.size() ) {
+          chunk++;
+          index = 0;
+        }
+        return element;
+      }
+    };
+  }
+
+  /**
+   * Returns the number of chunks currently in use.
+   *
+   * @return The chunk count.
+   */
+  int chunkCount() {
+    return chunks.size();
+  }
+
+  /**
+   * Returns the first chunk whose last element is greater than the key ({@code upper}) or not smaller than it.
+   */
+  private int firstChunkEndingAfter( T key, boolean upper ) {
+    int low = 0;
+    int high = chunks.size();
+    while( low < high ) {
+      int mid = ( low + high ) >>> 1;
+      List<T> chunk = chunks.get( mid );
+      int order = comparator.compare( chunk.get( chunk.size() - 1 ), key );
+      if( upper ? order <= 0 : order < 0 ) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  private void updateOffsets() {
+    if( offsets.length < chunks.size() ) {
+      offsets = Arrays.copyOf( offsets, Math.max( chunks.size(), offsets.length * 2 ) );
+    }
+    if( validOffsets >= chunks.size() ) {
+      return;
+    }
+    int offset = validOffsets == 0 ? 0 : offsets[validOffsets - 1] + chunks.get( validOffsets - 1 ).size();
+    for( int c = validOffsets; c < chunks.size(); c++ ) {
+      offsets[c] = offset;
+      offset += chunks.get( c ).size();
+    }
+    validOffsets = chunks.size();
+  }
+}
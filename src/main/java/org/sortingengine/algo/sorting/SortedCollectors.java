@@ -0,0 +1,256 @@
+package org.sortingengine.algo.sorting;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collector;
+import java.util.stream.StreamSupport;
+
+/**
+ * Provides {@link Collector}s that produce sorted lists. This class offers static methods returning collectors that
+ * sort while a stream, typically a parallel one, is being collected, instead of sorting the collected list
+ * afterwards.
+ *
+ * <p>A parallel stream splits its source into chunks, accumulates each chunk on a worker thread and combines the
+ * results pairwise. The collectors of this class sort a chunk the first time it takes part in a combination, on the
+ * thread doing the combination, and combine two sorted chunks by merging them. The O(n log n) part of the work is
+ * therefore spread over the workers of the stream, and only the last merge, which is linear, runs on a single
+ * thread. A sequential stream has a single chunk, which is sorted when the collection finishes.</p>
+ *
+ * <p>The stable collectors sort chunks with the calling thread's {@link MergeSorter}, whose scratch arrays are reused
+ * by every chunk the thread sorts, and merge left chunk first, so equal elements keep their encounter order. The
+ * workers of a parallel stream live as long as their pool, so a sorter that had to grow past
+ * {@value #MAX_RETAINED_CAPACITY} elements is released after the chunk instead of keeping its scratch arrays. The
+ * unstable collectors sort chunks with {@link PdqSort} in place and declare themselves unordered.</p>
+ */
+public final class SortedCollectors {
+
+  /**
+   * The largest scratch capacity a thread's {@link MergeSorter} keeps after sorting a chunk.
+   */
+  static final int MAX_RETAINED_CAPACITY = 1 << 14;
+
+  /**
+   * Private Constructor to prevent instantiation.
+   */
+  private SortedCollectors() {
+  }
+
+  /**
+   * Returns a collector producing a stably sorted list.
+   *
+   * <p>The result equals collecting the elements into a list and sorting it with
+   * {@link MergeSort#mergeSort(List, Comparator)}.</p>
+   *
+   * <p><b>Time Complexity:</b> O(n log n) comparisons, of which only the final O(n) merge is sequential.</p>
+   * <p><b>Space Complexity:</b> O(n) for the chunks and the merge buffers.</p>
+   *
+   * @param <T>        The type of the elements.
+   * @param comparator The comparator to determine the order of the elements. Must not be null.
+   * @return A collector into a new, modifiable, sorted list.
+   * @throws IllegalArgumentException if the comparator is null.
+   */
+  public static <T> Collector<T, ?, List<T>> toSortedList( Comparator<T> comparator ) {
+    return sorting( comparator, true );
+  }
+
+  /**
+   * Returns a collector producing a sorted list in which equal elements may appear in any order.
+   *
+   * <p><b>Time Complexity:</b> O(n log n) comparisons, of which only the final O(n) merge is sequential.</p>
+   * <p><b>Space Complexity:</b> O(n) for the chunks and the merge buffers.</p>
+   *
+   * @param <T>        The type of the elements.
+   * @param comparator The comparator to determine the order of the elements. Must not be null.
+   * @return A collector into a new, modifiable, sorted list.
+   * @throws IllegalArgumentException if the comparator is null.
+   */
+  public static <T> Collector<T, ?, List<T>> toUnstableSortedList( Comparator<T> comparator ) {
+    return sorting( comparator, false );
+  }
+
+  /**
+   * Returns a collector producing the k smallest elements in stable sorted order.
+   *
+   * <p>Each chunk keeps at most 2k elements: once it is full, it is sorted and cut back to its k smallest elements,
+   * so memory stays proportional to k and the number of chunks however long the stream is. Of several elements
+   * that compare equal, those encountered first are kept.</p>
+   *
+   * <p><b>Time Complexity:</b> O(n log k) comparisons.</p>
+   * <p><b>Space Complexity:</b> O(k) per chunk.</p>
+   *
+   * @param <T>        The type of the elements.
+   * @param k          The maximum number of elements to keep. Must not be negative.
+   * @param comparator The comparator to determine the order of the elements. Must not be null.
+   * @return A collector into a new, modifiable, sorted list of at most k elements.
+   * @throws IllegalArgumentException if k is negative or the comparator is null.
+   */
+  public static <T> Collector<T, ?, List<T>> topK( int k, Comparator<T> comparator ) {
+    if( k < 0 ) {
+      throw new IllegalArgumentException( "The number of elements cannot be negative." );
+    }
+    if( comparator == null ) {
+      throw new IllegalArgumentException( "Comparator cannot be null." );
+    }
+    return Collector.of( Chunk<T>::new, ( chunk, element ) -> {
+      chunk.add( element );
+      if( chunk.size - k >= k ) {
+        chunk.truncate( k, comparator );
+      }
+    }, ( left, right ) -> {
+      left.addAll( right );
+      if( left.size - k >= k ) {
+        left.truncate( k, comparator );
+      }
+      return left;
+    }, chunk -> {
+      chunk.truncate( k, comparator );
+      return chunk.toList();
+    } );
+  }
+
+  /**
+   * Sorts the elements of a spliterator in parallel.
+   *
+   * <p>If the spliterator reports that it is already {@link Spliterator#SORTED sorted} by the given comparator, as
+   * the spliterators of sorted sets and maps do, its elements are copied without sorting. Otherwise they are
+   * collected from a parallel stream with {@link #toSortedList(Comparator)}, so the spliterator is split as far as
+   * its own {@link Spliterator#trySplit()} allows.</p>
+   *
+   * @param <T>        The type of the elements.
+   * @param source     The elements to sort. Must not be null. It is consumed.
+   * @param comparator The comparator to determine the order of the elements. Must not be null.
+   * @return A new, modifiable list of the elements in stable sorted order.
+   * @throws IllegalArgumentException if the source or comparator is null.
+   */
+  public static <T> List<T> sorted( Spliterator<T> source, Comparator<T> comparator ) {
+    if( source == null ) {
+      throw new IllegalArgumentException( "The spliterator cannot be null." );
+    }
+    if( comparator == null ) {
+      throw new IllegalArgumentException( "Comparator cannot be null." );
+    }
+
+    if( source.hasCharacteristics( Spliterator.SORTED ) ) {
+      // A null comparator of a sorted spliterator stands for the natural order
+      Comparator<? super T> order = source.getComparator();
+      if( comparator.equals( order == null ? Comparator.naturalOrder() : order ) ) {
+        List<T> list = new ArrayList<>();
+        source.forEachRemaining( list::add );
+        return list;
+      }
+    }
+    return StreamSupport.stream( source, true ).collect( toSortedList( comparator ) );
+  }
+
+  private static <T> Collector<T, ?, List<T>> sorting( Comparator<T> comparator, boolean stable ) {
+    if( comparator == null ) {
+      throw new IllegalArgumentException( "Comparator cannot be null." );
+    }
+    Collector.Characteristics[] characteristics = stable ? new Collector.Characteristics[0]
+        : new Collector.Characteristics[]{ Collector.Characteristics.UNORDERED };
+    return Collector.of( Chunk<T>::new, Chunk::add, ( left, right ) -> {
+      left.sort( comparator, stable );
+      right.sort( comparator, stable );
+      return left.merge( right, comparator );
+    }, chunk -> {
+      chunk.sort( comparator, stable );
+      return chunk.toList();
+    }, characteristics );
+  }
+
+  /**
+   * The accumulation of one chunk of a stream: a growable array and whether it is sorted.
+   */
+  private static final class Chunk<T> {
+    private Object[] elements = new Object[16];
+    private int size;
+    private boolean sorted = true;
+
+    void add( T element ) {
+      if( size == elements.length ) {
+        elements = Arrays.copyOf( elements, size + ( size >> 1 ) );
+      }
+      elements[size++] = element;
+      sorted = size == 1;
+    }
+
+    void addAll( Chunk<T> other ) {
+      if( size + other.size > elements.length ) {
+        elements = Arrays.copyOf( elements, Math.max( size + other.size, size + ( size >> 1 ) ) );
+      }
+      System.arraycopy( other.elements, 0, elements, size, other.size );
+      size += other.size;
+      sorted = size <= 1;
+    }
+
+    @SuppressWarnings( "unchecked" )
+    void sort( Comparator<T> comparator, boolean stable ) {
+      if( sorted ) {
+        return;
+      }
+      if( stable ) {
+        MergeSorter sorter = MergeSorter.threadLocal();
+        sorter.sort( (T[]) elements, 0, size, comparator );
+        if( sorter.capacity() > MAX_RETAINED_CAPACITY ) {
+          sorter.release();
+        }
+      } else {
+        PdqSort.sort( (T[]) elements, 0, size, comparator );
+      }
+      sorted = true;
+    }
+
+    /**
+     * Keeps only the k smallest elements, sorted stably.
+     */
+    void truncate( int k, Comparator<T> comparator ) {
+      sort( comparator, true );
+      if( size > k ) {
+        Arrays.fill( elements, k, size, null );
+        size = k;
+      }
+    }
+
+    /**
+     * Merges another sorted chunk into this one, taking elements of this chunk first among equal ones, and returns
+     * the chunk holding the result.
+     */
+    @SuppressWarnings( "unchecked" )
+    Chunk<T> merge( Chunk<T> other, Comparator<T> comparator ) {
+      if( other.size == 0 ) {
+        return this;
+      }
+      if( size == 0 ) {
+        return other;
+      }
+      Object[] merged = new Object[size + other.size];
+      int i = 0;
+      int j = 0;
+      int k = 0;
+      // Chunks of an already sorted source are in order and only need to be concatenated
+      if( comparator.compare( (T) elements[size - 1], (T) other.elements[0] ) > 0 ) {
+        while( i < size && j < other.size ) {
+          if( comparator.compare( (T) other.elements[j], (T) elements[i] ) < 0 ) {
+            merged[k++] = other.elements[j++];
+          } else {
+            merged[k++] = elements[i++];
+          }
+        }
+      }
+      System.arraycopy( elements, i, merged, k, size - i );
+      k += size - i;
+      System.arraycopy( other.elements, j, merged, k, other.size - j );
+      elements = merged;
+      size = merged.length;
+      return this;
+    }
+
+    @SuppressWarnings( "unchecked" )
+    List<T> toList() {
+      return new ArrayList<>( (List<T>) Arrays.asList( elements ).subList( 0, size ) );
+    }
+  }
+}
@@ -0,0 +1,532 @@
+package org.sortingengine.algo.sorting;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+
+/**
+ * Provides union, intersection and difference of sorted inputs. This class offers static methods that combine two
+ * lists, iterators or primitive arrays, each sorted in the same order, in a single merge pass and without hashing.
+ *
+ * <p>Inputs are treated as multisets, so duplicate groups are handled element by element: the i-th occurrence of a
+ * value in the first input is paired with its i-th occurrence in the second. If a value occurs m times in the first
+ * input and n times in the second, the union holds it max(m, n) times, the intersection min(m, n) times and the
+ * difference max(m - n, 0) times. Inputs without duplicates therefore give the usual set results. Where both inputs
+ * contribute an equal element, the element of the first input is returned.</p>
+ *
+ * <p>The list and array variants gallop: once one input has supplied {@value #MIN_GALLOP} elements in a row, the end
+ * of its run is found with an exponential search instead of one comparison per element, and the run is copied or
+ * skipped in bulk. Combining a small input with a large one therefore costs O(m log(n / m)) comparisons rather than
+ * O(n + m), while inputs that interleave closely still cost one comparison per element. The iterator variants are
+ * lazy and hold one element per input.</p>
+ */
+public final class SortedSetOperations {
+
+  /**
+   * The number of consecutive elements one input must supply before the merge starts galloping through it.
+   */
+  static final int MIN_GALLOP = 7;
+
+  /**
+   * Private Constructor to prevent instantiation.
+   */
+  private SortedSetOperations() {
+  }
+
+  /**
+   * Returns the union of two sorted lists.
+   *
+   * <p><b>Time Complexity:</b> O(n + m) element copies and at most O(n + m) comparisons.</p>
+   * <p><b>Space Complexity:</b> O(n + m) for the returned list.</p>
+   *
+   * @param <T>        The type of elements in the lists.
+   * @param first      The first list, sorted according to the comparator. Must not be null.
+   * @param second     The second list, sorted according to the comparator. Must not be null.
+   * @param comparator The comparator the lists are sorted by. Must not be null.
+   * @return A new sorted list containing the union of the lists.
+   * @throws IllegalArgumentException if any argument is null.
+   */
+  public static <T> List<T> union( List<T> first, List<T> second, Comparator<T> comparator ) {
+    return apply( Operation.UNION, first, second, comparator );
+  }
+
+  /**
+   * Returns the intersection of two sorted lists.
+   *
+   * <p><b>Time Complexity:</b> O(m log(n / m)) comparisons when galloping, where m is the size of the smaller list.</p>
+   * <p><b>Space Complexity:</b> O(min(n, m)) for the returned list.</p>
+   *
+   * @param <T>        The type of elements in the lists.
+   * @param first      The first list, sorted according to the comparator. Must not be null.
+   * @param second     The second list, sorted according to the comparator. Must not be null.
+   * @param comparator The comparator the lists are sorted by. Must not be null.
+   * @return A new sorted list containing the elements of the first list that are also in the second.
+   * @throws IllegalArgumentException if any argument is null.
+   */
+  public static <T> List<T> intersection( List<T> first, List<T> second, Comparator<T> comparator ) {
+    return apply( Operation.INTERSECTION, first, second, comparator );
+  }
+
+  /**
+   * Returns the difference of two sorted lists.
+   *
+   * <p><b>Time Complexity:</b> O(n) element copies and O(m log(n / m)) comparisons when galloping.</p>
+   * <p><b>Space Complexity:</b> O(n) for the returned list.</p>
+   *
+   * @param <T>        The type of elements in the lists.
+   * @param first      The list to remove elements from, sorted according to the comparator. Must not be null.
+   * @param second     The elements to remove, sorted according to the comparator. Must not be null.
+   * @param comparator The comparator the lists are sorted by. Must not be null.
+   * @return A new sorted list containing the elements of the first list that are not in the second.
+   * @throws IllegalArgumentException if any argument is null.
+   */
+  public static <T> List<T> difference( List<T> first, List<T> second, Comparator<T> comparator ) {
+    return apply( Operation.DIFFERENCE, first, second, comparator );
+  }
+
+  /**
+   * Lazily computes the union of two sorted iterators. The iterators must not be used by the caller once passed in.
+   *
+   * @param <T>        The type of elements in the iterators.
+   * @param first      The first iterator, sorted according to the comparator. Must not be null.
+   * @param second     The second iterator, sorted according to the comparator. Must not be null.
+   * @param comparator The comparator the iterators are sorted by. Must not be null.
+   * @return An iterator over the union, in sorted order.
+   * @throws IllegalArgumentException if any argument is null.
+   */
+  public static <T> Iterator<T> union( Iterator<T> first, Iterator<T> second, Comparator<T> comparator ) {
+    return apply( Operation.UNION, first, second, comparator );
+  }
+
+  /**
+   * Lazily computes the intersection of two sorted iterators. The iterators must not be used by the caller once
+   * passed in.
+   *
+   * @param <T>        The type of elements in the iterators.
+   * @param first      The first iterator, sorted according to the comparator. Must not be null.
+   * @param second     The second iterator, sorted according to the comparator. Must not be null.
+   * @param comparator The comparator the iterators are sorted by. Must not be null.
+   * @return An iterator over the intersection, in sorted order.
+   * @throws IllegalArgumentException if any argument is null.
+   */
+  public static <T> Iterator<T> intersection( Iterator<T> first, Iterator<T> second, Comparator<T> comparator ) {
+    return apply( Operation.INTERSECTION, first, second, comparator );
+  }
+
+  /**
+   * Lazily computes the difference of two sorted iterators. The iterators must not be used by the caller once passed
+   * in.
+   *
+   * @param <T>        The type of elements in the iterators.
+   * @param first      The iterator to remove elements from, sorted according to the comparator. Must not be null.
+   * @param second     The elements to remove, sorted according to the comparator. Must not be null.
+   * @param comparator The comparator the iterators are sorted by. Must not be null.
+   * @return An iterator over the difference, in sorted order.
+   * @throws IllegalArgumentException if any argument is null.
+   */
+  public static <T> Iterator<T> difference( Iterator<T> first, Iterator<T> second, Comparator<T> comparator ) {
+    return apply( Operation.DIFFERENCE, first, second, comparator );
+  }
+
+  /**
+   * Returns the union of two sorted int arrays.
+   *
+   * @param first  The first array, sorted in ascending order. Must not be null.
+   * @param second The second array, sorted in ascending order. Must not be null.
+   * @return A new sorted array containing the union of the arrays.
+   * @throws IllegalArgumentException if either array is null.
+   */
+  public static int[] union( int[] first, int[] second ) {
+    return apply( Operation.UNION, first, second );
+  }
+
+  /**
+   * Returns the intersection of two sorted int arrays.
+   *
+   * @param first  The first array, sorted in ascending order. Must not be null.
+   * @param second The second array, sorted in ascending order. Must not be null.
+   * @return A new sorted array containing the elements of the first array that are also in the second.
+   * @throws IllegalArgumentException if either array is null.
+   */
+  public static int[] intersection( int[] first, int[] second ) {
+    return apply( Operation.INTERSECTION, first, second );
+  }
+
+  /**
+   * Returns the difference of two sorted int arrays.
+   *
+   * @param first  The array to remove elements from, sorted in ascending order. Must not be null.
+   * @param second The elements to remove, sorted in ascending order. Must not be null.
+   * @return A new sorted array containing the elements of the first array that are not in the second.
+   * @throws IllegalArgumentException if either array is null.
+   */
+  public static int[] difference( int[] first, int[] second ) {
+    return apply( Operation.DIFFERENCE, first, second );
+  }
+
+  /**
+   * Returns the union of two sorted long arrays.
+   *
+   * @param first  The first array, sorted in ascending order. Must not be null.
+   * @param second The second array, sorted in ascending order. Must not be null.
+   * @return A new sorted array containing the union of the arrays.
+   * @throws IllegalArgumentException if either array is null.
+   */
+  public static long[] union( long[] first, long[] second ) {
+    return apply( Operation.UNION, first, second );
+  }
+
+  /**
+   * Returns the intersection of two sorted long arrays.
+   *
+   * @param first  The first array, sorted in ascending order. Must not be null.
+   * @param second The second array, sorted in ascending order. Must not be null.
+   * @return A new sorted array containing the elements of the first array that are also in the second.
+   * @throws IllegalArgumentException if either array is null.
+   */
+  public static long[] intersection( long[] first, long[] second ) {
+    return apply( Operation.INTERSECTION, first, second );
+  }
+
+  /**
+   * Returns the difference of two sorted long arrays.
+   *
+   * @param first  The array to remove elements from, sorted in ascending order. Must not be null.
+   * @param second The elements to remove, sorted in ascending order. Must not be null.
+   * @return A new sorted array containing the elements of the first array that are not in the second.
+   * @throws IllegalArgumentException if either array is null.
+   */
+  public static long[] difference( long[] first, long[] second ) {
+    return apply( Operation.DIFFERENCE, first, second );
+  }
+
+  private static <T> List<T> apply( Operation operation, List<T> first, List<T> second, Comparator<T> comparator ) {
+    if( first == null || second == null ) {
+      throw new IllegalArgumentException( "The list cannot be null." );
+    }
+    if( comparator == null ) {
+      throw new IllegalArgumentException( "Comparator cannot be null." );
+    }
+
+    List<T> a = first instanceof RandomAccess ? first : new ArrayList<>( first );
+    List<T> b = second instanceof RandomAccess ? second : new ArrayList<>( second );
+    int n = a.size();
+    int m = b.size();
+    List<T> result = new ArrayList<>( operation.capacity( n, m ) );
+    int i = 0;
+    int j = 0;
+    int runA = 0;
+    int runB = 0;
+    while( i < n && j < m ) {
+      int order = comparator.compare( a.get( i ), b.get( j ) );
+      if( order < 0 ) {
+        int end = ++runA >= MIN_GALLOP ? IncrementalSort.gallop( a, i + 1, b.get( j ), comparator, false ) : i + 1;
+        if( operation.keepsFirst ) {
+          result.addAll( a.subList( i, end ) );
+        }
+        i = end;
+        runB = 0;
+      } else if( order > 0 ) {
+        int end = ++runB >= MIN_GALLOP ? IncrementalSort.gallop( b, j + 1, a.get( i ), comparator, false ) : j + 1;
+        if( operation.keepsSecond ) {
+          result.addAll( b.subList( j, end ) );
+        }
+        j = end;
+        runA = 0;
+      } else {
+        if( operation.keepsBoth ) {
+          result.add( a.get( i ) );
+        }
+        i++;
+        j++;
+        runA = 0;
+        runB = 0;
+      }
+    }
+    if( operation.keepsFirst ) {
+      result.addAll( a.subList( i, n ) );
+    }
+    if( operation.keepsSecond ) {
+      result.addAll( b.subList( j, m ) );
+    }
+    return result;
+  }
+
+  private static <T> Iterator<T> apply( Operation operation, Iterator<T> first, Iterator<T> second,
+                                        Comparator<T> comparator ) {
+    if( first == null || second == null ) {
+      throw new IllegalArgumentException( "The iterator cannot be null." );
+    }
+    if( comparator == null ) {
+      throw new IllegalArgumentException( "Comparator cannot be null." );
+    }
+    return new SetOperationIterator<>( operation, first, second, comparator );
+  }
+
+  private static int[] apply( Operation operation, int[] a, int[] b ) {
+    if( a == null || b == null ) {
+      throw new IllegalArgumentException( "The array cannot be null." );
+    }
+
+    int n = a.length;
+    int m = b.length;
+    int[] result = new int[operation.capacity( n, m )];
+    int size = 0;
+    int i = 0;
+    int j = 0;
+    int runA = 0;
+    int runB = 0;
+    while( i < n && j < m ) {
+      if( a[i] < b[j] ) {
+        int end = ++runA >= MIN_GALLOP ? gallop( a, i + 1, b[j] ) : i + 1;
+        if( operation.keepsFirst ) {
+          System.arraycopy( a, i, result, size, end - i );
+          size += end - i;
+        }
+        i = end;
+        runB = 0;
+      } else if( a[i] > b[j] ) {
+        int end = ++runB >= MIN_GALLOP ? gallop( b, j + 1, a[i] ) : j + 1;
+        if( operation.keepsSecond ) {
+          System.arraycopy( b, j, result, size, end - j );
+          size += end - j;
+        }
+        j = end;
+        runA = 0;
+      } else {
+        if( operation.keepsBoth ) {
+          result[size++] = a[i];
+        }
+        i++;
+        j++;
+        runA = 0;
+        runB = 0;
+      }
+    }
+    if( operation.keepsFirst ) {
+      System.arraycopy( a, i, result, size, n - i );
+      size += n - i;
+    }
+    if( operation.keepsSecond ) {
+      System.arraycopy( b, j, result, size, m - j );
+      size += m - j;
+    }
+    return size == result.length ? result : Arrays.copyOf( result, size );
+  }
+
+  private static long[] apply( Operation operation, long[] a, long[] b ) {
+    if( a == null || b == null ) {
+      throw new IllegalArgumentException( "The array cannot be null." );
+    }
+
+    int n = a.length;
+    int m = b.length;
+    long[] result = new long[operation.capacity( n, m )];
+    int size = 0;
+    int i = 0;
+    int j = 0;
+    int runA = 0;
+    int runB = 0;
+    while( i < n && j < m ) {
+      if( a[i] < b[j] ) {
+        int end = ++runA >= MIN_GALLOP ? gallop( a, i + 1, b[j] ) : i + 1;
+        if( operation.keepsFirst ) {
+          System.arraycopy( a, i, result, size, end - i );
+          size += end - i;
+        }
+        i = end;
+        runB = 0;
+      } else if( a[i] > b[j] ) {
+        int end = ++runB >= MIN_GALLOP ? gallop( b, j + 1, a[i] ) : j + 1;
+        if( operation.keepsSecond ) {
+          System.arraycopy( b, j, result, size, end - j );
+          size += end - j;
+        }
+        j = end;
+        runA = 0;
+      } else {
+        if( operation.keepsBoth ) {
+          result[size++] = a[i];
+        }
+        i++;
+        j++;
+        runA = 0;
+        runB = 0;
+      }
+    }
+    if( operation.keepsFirst ) {
+      System.arraycopy( a, i, result, size, n - i );
+      size += n - i;
+    }
+    if( operation.keepsSecond ) {
+      System.arraycopy( b, j, result, size, m - j );
+      size += m - j;
+    }
+    return size == result.length ? result : Arrays.copyOf( result, size );
+  }
+
+  /**
+   * Returns the first index at or after {@code from} whose element is not smaller than the key, probing at
+   * exponentially growing distances before a binary search.
+   */
+  static int gallop( int[] array, int from, int key ) {
+    int n = array.length;
+    int low = from;
+    int high = from;
+    int step = 1;
+    while( high < n && array[high] < key ) {
+      low = high + 1;
+      high = from + step;
+      step <<= 1;
+    }
+    high = Math.min( high, n );
+    while( low < high ) {
+      int mid = ( low + high ) >>> 1;
+      if( array[mid] < key ) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Returns the first index at or after {@code from} whose element is not smaller than the key, probing at
+   * exponentially growing distances before a binary search.
+   */
+  static int gallop( long[] array, int from, long key ) {
+    int n = array.length;
+    int low = from;
+    int high = from;
+    int step = 1;
+    while( high < n && array[high] < key ) {
+      low = high + 1;
+      high = from + step;
+      step <<= 1;
+    }
+    high = Math.min( high, n );
+    while( low < high ) {
+      int mid = ( low + high ) >>> 1;
+      if( array[mid] < key ) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * The elements each operation keeps: those only in the first input, those only in the second, and one of each pair
+   * of equal elements.
+   */
+  private enum Operation {
+    UNION( true, true, true ),
+    INTERSECTION( false, false, true ),
+    DIFFERENCE( true, false, false );
+
+    final boolean keepsFirst;
+    final boolean keepsSecond;
+    final boolean keepsBoth;
+
+    Operation( boolean keepsFirst, boolean keepsSecond, boolean keepsBoth ) {
+      this.keepsFirst = keepsFirst;
+      this.keepsSecond = keepsSecond;
+      this.keepsBoth = keepsBoth;
+    }
+
+    int capacity( int n, int m ) {
+      return this == UNION ? n + m : this == INTERSECTION ? Math.min( n, m ) : n;
+    }
+  }
+
+  /**
+   * A lazy iterator over a set operation of two sorted iterators, holding the current head of each.
+   */
+  private static final class SetOperationIterator<T> implements Iterator<T> {
+    private final Operation operation;
+    private final Iterator<T> first;
+    private final Iterator<T> second;
+    private final Comparator<T> comparator;
+    private T headA;
+    private T headB;
+    private boolean hasA;
+    private boolean hasB;
+    private T next;
+    private boolean ready;
+    private boolean available;
+
+    SetOperationIterator( Operation operation, Iterator<T> first, Iterator<T> second, Comparator<T> comparator ) {
+      this.operation = operation;
+      this.first = first;
+      this.second = second;
+      this.comparator = comparator;
+      advanceA();
+      advanceB();
+    }
+
+    @Override
+    public boolean hasNext() {
+      if( !ready ) {
+        available = computeNext();
+        ready = true;
+      }
+      return available;
+    }
+
+    @Override
+    public T next() {
+      if( !hasNext() ) {
+        throw new NoSuchElementException();
+      }
+      ready = false;
+      T result = next;
+      next = null;
+      return result;
+    }
+
+    private boolean computeNext() {
+      while( hasA && hasB ) {
+        int order = comparator.compare( headA, headB );
+        T element = order <= 0 ? headA : headB;
+        boolean keep = order < 0 ? operation.keepsFirst : order > 0 ? operation.keepsSecond : operation.keepsBoth;
+        if( order <= 0 ) {
+          advanceA();
+        }
+        if( order >= 0 ) {
+          advanceB();
+        }
+        if( keep ) {
+          next = element;
+          return true;
+        }
+      }
+      if( hasA && operation.keepsFirst ) {
+        next = headA;
+        advanceA();
+        return true;
+      }
+      if( hasB && operation.keepsSecond ) {
+        next = headB;
+        advanceB();
+        return true;
+      }
+      return false;
+    }
+
+    private void advanceA() {
+      hasA = first.hasNext();
+      headA = hasA ? first.next() : null;
+    }
+
+    private void advanceB() {
+      hasB = second.hasNext();
+      headB = hasB ? second.next() : null;
+    }
+  }
+}
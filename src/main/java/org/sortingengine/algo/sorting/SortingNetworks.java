@@ -0,0 +1,276 @@
+package org.sortingengine.algo.sorting;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Provides size-specialized sorting networks for sorting very small ranges, from 2 up to {@value #MAX_SIZE} elements.
+ * The divide and conquer sorters in this package use them as their base case instead of recursing down to single
+ * elements.
+ *
+ * <p>A sorting network is a fixed sequence of compare-exchange operations: the same pairs of positions are compared in
+ * the same order regardless of the data. For primitive arrays each compare-exchange is written as a {@code min}/
+ * {@code max} pair, which the JIT compiles to conditional moves, so sorting a small range has no data-dependent
+ * branches at all and cannot suffer branch mispredictions. For generic comparators the compare itself is opaque, but
+ * the control flow of the network is still fixed.</p>
+ *
+ * <p>The networks for up to 12 inputs are the known size-optimal ones. The networks for 13 to 16 inputs are derived
+ * from Green's 60-comparator network for 16 inputs; they are optimal or within one comparator of the best known.</p>
+ *
+ * <p>Sorting networks are not stable. {@link #stableSort(List, int, int, Comparator)} breaks ties by original
+ * position, which makes the result stable at the cost of a small index array.</p>
+ */
+public final class SortingNetworks {
+
+  /**
+   * The largest range size for which a network is available.
+   */
+  public static final int MAX_SIZE = 16;
+
+  /**
+   * Flattened comparator pairs, indexed by the number of inputs. Entry {@code n} lists the positions compared by the
+   * network for {@code n} inputs, two at a time, lower position first.
+   */
+  private static final int[][] NETWORKS = {
+      {},
+      {},
+      // 2 inputs, 1 comparator
+      { 0, 1 },
+      // 3 inputs, 3 comparators
+      { 0, 1, 0, 2, 1, 2 },
+      // 4 inputs, 5 comparators
+      { 0, 1, 2, 3, 0, 2, 1, 3, 1, 2 },
+      // 5 inputs, 9 comparators
+      { 0, 1, 3, 4, 2, 4, 2, 3, 1, 4, 0, 3, 0, 2, 1, 3, 1, 2 },
+      // 6 inputs, 12 comparators
+      { 1, 2, 4, 5, 0, 2, 3, 5, 0, 1, 3, 4, 1, 4, 0, 3, 2, 5, 1, 3, 2, 4, 2, 3 },
+      // 7 inputs, 16 comparators
+      { 1, 2, 3, 4, 5, 6, 0, 2, 3, 5, 4, 6, 0, 1, 4, 5, 2, 6, 0, 4, 1, 5, 0, 3, 2, 5, 1, 3, 2, 4, 2, 3 },
+      // 8 inputs, 19 comparators
+      {
+          0, 2, 1, 3, 4, 6, 5, 7, 0, 4, 1, 5, 2, 6, 3, 7, 0, 1, 2, 3, 4, 5, 6, 7, 2, 4, 3, 5, 1, 4, 3, 6, 1, 2, 3, 4,
+          5, 6
+      },
+      // 9 inputs, 25 comparators
+      {
+          0, 3, 1, 7, 2, 5, 4, 8, 0, 7, 2, 4, 3, 8, 5, 6, 0, 2, 1, 3, 4, 5, 7, 8, 1, 4, 3, 6, 5, 7, 0, 1, 2, 4, 3, 5,
+          6, 8, 2, 3, 4, 5, 6, 7, 1, 2, 3, 4, 5, 6
+      },
+      // 10 inputs, 29 comparators
+      {
+          0, 8, 1, 9, 2, 7, 3, 5, 4, 6, 0, 2, 1, 4, 5, 8, 7, 9, 0, 3, 2, 4, 5, 7, 6, 9, 0, 1, 3, 6, 8, 9, 1, 5, 2, 3,
+          4, 8, 6, 7, 1, 2, 3, 5, 4, 6, 7, 8, 2, 3, 4, 5, 6, 7, 3, 4, 5, 6
+      },
+      // 11 inputs, 35 comparators
+      {
+          0, 8, 1, 7, 2, 6, 4, 10, 5, 9, 0, 1, 2, 5, 3, 4, 6, 9, 7, 8, 0, 2, 1, 6, 5, 10, 0, 3, 1, 2, 4, 6, 5, 7,
+          9, 10, 1, 4, 3, 5, 6, 8, 7, 10, 1, 3, 2, 5, 6, 9, 8, 10, 2, 3, 4, 5, 6, 7, 8, 9, 4, 6, 5, 7, 3, 4, 5, 6,
+          7, 8
+      },
+      // 12 inputs, 39 comparators
+      {
+          0, 8, 1, 7, 2, 6, 3, 11, 4, 10, 5, 9, 0, 1, 2, 5, 3, 4, 6, 9, 7, 8, 10, 11, 0, 2, 1, 6, 5, 10, 9, 11, 0, 3,
+          1, 2, 4, 6, 5, 7, 8, 11, 9, 10, 1, 4, 3, 5, 6, 8, 7, 10, 1, 3, 2, 5, 6, 9, 8, 10, 2, 3, 4, 5, 6, 7, 8, 9,
+          4, 6, 5, 7, 3, 4, 5, 6, 7, 8
+      },
+      // 13 inputs, 46 comparators
+      {
+          1, 12, 4, 8, 5, 6, 7, 11, 9, 10, 0, 5, 1, 7, 2, 9, 3, 4, 11, 12, 0, 1, 2, 3, 4, 5, 6, 8, 7, 9, 10, 11, 0, 2,
+          1, 3, 4, 10, 5, 11, 6, 7, 8, 9, 1, 2, 3, 12, 4, 6, 5, 7, 8, 10, 9, 11, 1, 4, 2, 6, 5, 8, 7, 10, 2, 4, 3, 6,
+          9, 12, 3, 5, 6, 8, 7, 9, 10, 12, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 6, 7, 8, 9
+      },
+      // 14 inputs, 51 comparators
+      {
+          0, 13, 1, 12, 4, 8, 5, 6, 7, 11, 9, 10, 0, 5, 1, 7, 2, 9, 3, 4, 6, 13, 11, 12, 0, 1, 2, 3, 4, 5, 6, 8, 7, 9,
+          10, 11, 12, 13, 0, 2, 1, 3, 4, 10, 5, 11, 6, 7, 8, 9, 1, 2, 3, 12, 4, 6, 5, 7, 8, 10, 9, 11, 1, 4, 2, 6,
+          5, 8, 7, 10, 9, 13, 2, 4, 3, 6, 9, 12, 11, 13, 3, 5, 6, 8, 7, 9, 10, 12, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12,
+          6, 7, 8, 9
+      },
+      // 15 inputs, 56 comparators
+      {
+          0, 13, 1, 12, 3, 14, 4, 8, 5, 6, 7, 11, 9, 10, 0, 5, 1, 7, 2, 9, 3, 4, 6, 13, 8, 14, 11, 12, 0, 1, 2, 3,
+          4, 5, 6, 8, 7, 9, 10, 11, 12, 13, 0, 2, 1, 3, 4, 10, 5, 11, 6, 7, 8, 9, 12, 14, 1, 2, 3, 12, 4, 6, 5, 7,
+          8, 10, 9, 11, 13, 14, 1, 4, 2, 6, 5, 8, 7, 10, 9, 13, 11, 14, 2, 4, 3, 6, 9, 12, 11, 13, 3, 5, 6, 8, 7, 9,
+          10, 12, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 6, 7, 8, 9
+      },
+      // 16 inputs, 60 comparators
+      {
+          0, 13, 1, 12, 2, 15, 3, 14, 4, 8, 5, 6, 7, 11, 9, 10, 0, 5, 1, 7, 2, 9, 3, 4, 6, 13, 8, 14, 10, 15, 11, 12,
+          0, 1, 2, 3, 4, 5, 6, 8, 7, 9, 10, 11, 12, 13, 14, 15, 0, 2, 1, 3, 4, 10, 5, 11, 6, 7, 8, 9, 12, 14, 13, 15,
+          1, 2, 3, 12, 4, 6, 5, 7, 8, 10, 9, 11, 13, 14, 1, 4, 2, 6, 5, 8, 7, 10, 9, 13, 11, 14, 2, 4, 3, 6, 9, 12,
+          11, 13, 3, 5, 6, 8, 7, 9, 10, 12, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 6, 7, 8, 9
+      }  };
+
+  /**
+   * Private Constructor to prevent instantiation.
+   */
+  private SortingNetworks() {
+  }
+
+  /**
+   * Sorts a range of a list in place using the sorting network for its size.
+   *
+   * <p>The range is copied into a small local array, run through the network and written back, so each element is
+   * read and written once regardless of how many comparators touch it.</p>
+   *
+   * <p><b>Time Complexity:</b> O(1) for a fixed size; at most 60 comparisons for {@value #MAX_SIZE} elements.</p>
+   * <p><b>Space Complexity:</b> O(n) for the local copy of the range.</p>
+   *
+   * @param <T>        The type of elements in the list.
+   * @param list       The list holding the range to sort. Must not be null.
+   * @param fromIndex  The index of the first element to sort, inclusive.
+   * @param toIndex    The index of the last element to sort, exclusive.
+   * @param comparator The comparator to determine the order of the elements. Must not be null.
+   * @throws IllegalArgumentException if the list or comparator is null, the range is invalid, or the range is longer
+   *                                  than {@value #MAX_SIZE} elements.
+   */
+  @SuppressWarnings( "unchecked" )
+  public static <T> void sort( List<T> list, int fromIndex, int toIndex, Comparator<T> comparator ) {
+    if( list == null ) {
+      throw new IllegalArgumentException( "The list cannot be null." );
+    }
+    checkArguments( list.size(), fromIndex, toIndex, comparator );
+
+    int n = toIndex - fromIndex;
+    Object[] values = list.subList( fromIndex, toIndex ).toArray();
+    int[] network = NETWORKS[n];
+    for( int c = 0; c < network.length; c += 2 ) {
+      int i = network[c];
+      int j = network[c + 1];
+      T a = (T) values[i];
+      T b = (T) values[j];
+      if( comparator.compare( a, b ) > 0 ) {
+        values[i] = b;
+        values[j] = a;
+      }
+    }
+    for( int i = 0; i < n; i++ ) {
+      list.set( fromIndex + i, (T) values[i] );
+    }
+  }
+
+  /**
+   * Sorts a range of a list in place using the sorting network for its size, keeping equal elements in their original
+   * order.
+   *
+   * <p>Each compare-exchange falls back to comparing the original positions of the two elements when the comparator
+   * reports them equal. Because the network sorts correctly under any total order, the result is ordered by the
+   * comparator and, among equal elements, by original position.</p>
+   *
+   * @param <T>        The type of elements in the list.
+   * @param list       The list holding the range to sort. Must not be null.
+   * @param fromIndex  The index of the first element to sort, inclusive.
+   * @param toIndex    The index of the last element to sort, exclusive.
+   * @param comparator The comparator to determine the order of the elements. Must not be null.
+   * @throws IllegalArgumentException if the list or comparator is null, the range is invalid, or the range is longer
+   *                                  than {@value #MAX_SIZE} elements.
+   */
+  @SuppressWarnings( "unchecked" )
+  public static <T> void stableSort( List<T> list, int fromIndex, int toIndex, Comparator<T> comparator ) {
+    if( list == null ) {
+      throw new IllegalArgumentException( "The list cannot be null." );
+    }
+    checkArguments( list.size(), fromIndex, toIndex, comparator );
+
+    int n = toIndex - fromIndex;
+    Object[] values = list.subList( fromIndex, toIndex ).toArray();
+    int[] positions = new int[n];
+    for( int i = 0; i < n; i++ ) {
+      positions[i] = i;
+    }
+    int[] network = NETWORKS[n];
+    for( int c = 0; c < network.length; c += 2 ) {
+      int i = network[c];
+      int j = network[c + 1];
+      T a = (T) values[i];
+      T b = (T) values[j];
+      int order = comparator.compare( a, b );
+      if( order > 0 || ( order == 0 && positions[i] > positions[j] ) ) {
+        values[i] = b;
+        values[j] = a;
+        int position = positions[i];
+        positions[i] = positions[j];
+        positions[j] = position;
+      }
+    }
+    for( int i = 0; i < n; i++ ) {
+      list.set( fromIndex + i, (T) values[i] );
+    }
+  }
+
+  /**
+   * Sorts a range of an int array in place using the sorting network for its size. Every compare-exchange is a
+   * branch-free {@code min}/{@code max} pair.
+   *
+   * @param array     The array holding the range to sort. Must not be null.
+   * @param fromIndex The index of the first element to sort, inclusive.
+   * @param toIndex   The index of the last element to sort, exclusive.
+   * @throws IllegalArgumentException if the array is null, the range is invalid, or the range is longer than
+   *                                  {@value #MAX_SIZE} elements.
+   */
+  public static void sort( int[] array, int fromIndex, int toIndex ) {
+    if( array == null ) {
+      throw new IllegalArgumentException( "The array cannot be null." );
+    }
+    checkRange( array.length, fromIndex, toIndex );
+    sortUnchecked( array, fromIndex, toIndex );
+  }
+
+  /**
+   * Sorts a range of a long array in place using the sorting network for its size. Every compare-exchange is a
+   * branch-free {@code min}/{@code max} pair.
+   *
+   * @param array     The array holding the range to sort. Must not be null.
+   * @param fromIndex The index of the first element to sort, inclusive.
+   * @param toIndex   The index of the last element to sort, exclusive.
+   * @throws IllegalArgumentException if the array is null, the range is invalid, or the range is longer than
+   *                                  {@value #MAX_SIZE} elements.
+   */
+  public static void sort( long[] array, int fromIndex, int toIndex ) {
+    if( array == null ) {
+      throw new IllegalArgumentException( "The array cannot be null." );
+    }
+    checkRange( array.length, fromIndex, toIndex );
+    sortUnchecked( array, fromIndex, toIndex );
+  }
+
+  static void sortUnchecked( int[] array, int fromIndex, int toIndex ) {
+    int[] network = NETWORKS[toIndex - fromIndex];
+    for( int c = 0; c < network.length; c += 2 ) {
+      int i = fromIndex + network[c];
+      int j = fromIndex + network[c + 1];
+      int a = array[i];
+      int b = array[j];
+      array[i] = Math.min( a, b );
+      array[j] = Math.max( a, b );
+    }
+  }
+
+  static void sortUnchecked( long[] array, int fromIndex, int toIndex ) {
+    int[] network = NETWORKS[toIndex - fromIndex];
+    for( int c = 0; c < network.length; c += 2 ) {
+      int i = fromIndex + network[c];
+      int j = fromIndex + network[c + 1];
+      long a = array[i];
+      long b = array[j];
+      array[i] = Math.min( a, b );
+      array[j] = Math.max( a, b );
+    }
+  }
+
+  private static <T> void checkArguments( int size, int fromIndex, int toIndex, Comparator<T> comparator ) {
+    if( comparator == null ) {
+      throw new IllegalArgumentException( "Comparator cannot be null." );
+    }
+    checkRange( size, fromIndex, toIndex );
+  }
+
+  private static void checkRange( int size, int fromIndex, int toIndex ) {
+    if( fromIndex < 0 || toIndex > size || fromIndex > toIndex ) {
+      throw new IllegalArgumentException( "Invalid range [" + fromIndex + ", " + toIndex + ")." );
+    }
+    if( toIndex - fromIndex > MAX_SIZE ) {
+      throw new IllegalArgumentException( "Sorting networks are only available for up to " + MAX_SIZE + " elements." );
+    }
+  }
+}
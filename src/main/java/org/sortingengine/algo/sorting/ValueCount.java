@@ -0,0 +1,12 @@
+package org.sortingengine.algo.sorting;
+
+/**
+ * A distinct value and the number of times it occurs, as produced by
+ * {@link CountingSort#counts(java.util.List, java.util.Comparator)}.
+ *
+ * @param <T>   The type of the value.
+ * @param value The value; of several elements that compare equal, the first one encountered.
+ * @param count The number of elements that compare equal to the value.
+ */
+public record ValueCount<T>( T value, long count ) {
+}
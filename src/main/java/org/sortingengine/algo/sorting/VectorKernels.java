@@ -0,0 +1,206 @@
+package org.sortingengine.algo.sorting;
+
+import java.util.Arrays;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShuffle;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD kernels for primitive sorts, built on the incubating {@code jdk.incubator.vector} API.
+ *
+ * <p>This class must only be touched after {@link PrimitiveKernels#VECTORIZED} has confirmed that the module is
+ * present; otherwise loading it fails with a {@code NoClassDefFoundError}. It provides two kernels per element
+ * type:</p>
+ * <ul>
+ *     <li>A bitonic sorting network for small blocks. The block is padded with the maximum value up to a power of two
+ *     that is at least one vector wide, then sorted with lane-wise {@code min}/{@code max}. Compare-exchanges between
+ *     vectors use whole-vector min/max; those inside a vector pair each lane with its butterfly partner through a
+ *     precomputed shuffle and select the result with a mask, so the network has no data-dependent branches.</li>
+ *     <li>A three-way partition that compresses the lanes below and above the pivot into two buffers and fills the
+ *     gap between them with the pivot.</li>
+ * </ul>
+ */
+final class VectorKernels {
+
+  private static final VectorSpecies<Integer> INT_SPECIES = IntVector.SPECIES_PREFERRED;
+  private static final VectorSpecies<Long> LONG_SPECIES = LongVector.SPECIES_PREFERRED;
+  private static final IntVector INT_IOTA = IntVector.zero( INT_SPECIES ).addIndex( 1 );
+  private static final LongVector LONG_IOTA = LongVector.zero( LONG_SPECIES ).addIndex( 1 );
+  private static final VectorShuffle<Integer>[] INT_BUTTERFLIES = butterflies( INT_SPECIES );
+  private static final VectorShuffle<Long>[] LONG_BUTTERFLIES = butterflies( LONG_SPECIES );
+
+  /**
+   * Private Constructor to prevent instantiation.
+   */
+  private VectorKernels() {
+  }
+
+  static int intLanes() {
+    return INT_SPECIES.length();
+  }
+
+  static int longLanes() {
+    return LONG_SPECIES.length();
+  }
+
+  static void bitonicSort( int[] array, int from, int to, int[] block ) {
+    int n = to - from;
+    int lanes = INT_SPECIES.length();
+    int size = Math.max( lanes, Integer.highestOneBit( Math.max( 1, n - 1 ) ) << 1 );
+    System.arraycopy( array, from, block, 0, n );
+    Arrays.fill( block, n, size, Integer.MAX_VALUE );
+
+    for( int k = 2; k <= size; k <<= 1 ) {
+      for( int j = k >> 1; j > 0; j >>= 1 ) {
+        if( j >= lanes ) {
+          // Partners live in different vectors: one min/max per pair of vectors
+          for( int i = 0; i < size; i += lanes ) {
+            if( ( i & j ) != 0 ) {
+              continue;
+            }
+            IntVector low = IntVector.fromArray( INT_SPECIES, block, i );
+            IntVector high = IntVector.fromArray( INT_SPECIES, block, i + j );
+            IntVector min = low.min( high );
+            IntVector max = low.max( high );
+            if( ( i & k ) == 0 ) {
+              min.intoArray( block, i );
+              max.intoArray( block, i + j );
+            } else {
+              max.intoArray( block, i );
+              min.intoArray( block, i + j );
+            }
+          }
+        } else {
+          // Partners live in the same vector: swap lanes with the butterfly and select min or max per lane
+          VectorShuffle<Integer> butterfly = INT_BUTTERFLIES[Integer.numberOfTrailingZeros( j )];
+          for( int i = 0; i < size; i += lanes ) {
+            IntVector v = IntVector.fromArray( INT_SPECIES, block, i );
+            IntVector partner = v.rearrange( butterfly );
+            IntVector index = INT_IOTA.add( i );
+            VectorMask<Integer> lower = index.and( j ).compare( VectorOperators.EQ, 0 );
+            VectorMask<Integer> ascending = index.and( k ).compare( VectorOperators.EQ, 0 );
+            v.max( partner ).blend( v.min( partner ), lower.eq( ascending ) ).intoArray( block, i );
+          }
+        }
+      }
+    }
+    System.arraycopy( block, 0, array, from, n );
+  }
+
+  static void bitonicSort( long[] array, int from, int to, long[] block ) {
+    int n = to - from;
+    int lanes = LONG_SPECIES.length();
+    int size = Math.max( lanes, Integer.highestOneBit( Math.max( 1, n - 1 ) ) << 1 );
+    System.arraycopy( array, from, block, 0, n );
+    Arrays.fill( block, n, size, Long.MAX_VALUE );
+
+    for( int k = 2; k <= size; k <<= 1 ) {
+      for( int j = k >> 1; j > 0; j >>= 1 ) {
+        if( j >= lanes ) {
+          for( int i = 0; i < size; i += lanes ) {
+            if( ( i & j ) != 0 ) {
+              continue;
+            }
+            LongVector low = LongVector.fromArray( LONG_SPECIES, block, i );
+            LongVector high = LongVector.fromArray( LONG_SPECIES, block, i + j );
+            LongVector min = low.min( high );
+            LongVector max = low.max( high );
+            if( ( i & k ) == 0 ) {
+              min.intoArray( block, i );
+              max.intoArray( block, i + j );
+            } else {
+              max.intoArray( block, i );
+              min.intoArray( block, i + j );
+            }
+          }
+        } else {
+          VectorShuffle<Long> butterfly = LONG_BUTTERFLIES[Integer.numberOfTrailingZeros( j )];
+          for( int i = 0; i < size; i += lanes ) {
+            LongVector v = LongVector.fromArray( LONG_SPECIES, block, i );
+            LongVector partner = v.rearrange( butterfly );
+            LongVector index = LONG_IOTA.add( i );
+            VectorMask<Long> lower = index.and( j ).compare( VectorOperators.EQ, 0L );
+            VectorMask<Long> ascending = index.and( k ).compare( VectorOperators.EQ, 0L );
+            v.max( partner ).blend( v.min( partner ), lower.eq( ascending ) ).intoArray( block, i );
+          }
+        }
+      }
+    }
+    System.arraycopy( block, 0, array, from, n );
+  }
+
+  static long partition( int[] array, int from, int to, int pivot, int[] less, int[] greater ) {
+    int lessCount = 0;
+    int greaterCount = 0;
+    int i = from;
+    int bound = from + INT_SPECIES.loopBound( to - from );
+    for( ; i < bound; i += INT_SPECIES.length() ) {
+      IntVector v = IntVector.fromArray( INT_SPECIES, array, i );
+      VectorMask<Integer> lt = v.compare( VectorOperators.LT, pivot );
+      VectorMask<Integer> gt = v.compare( VectorOperators.GT, pivot );
+      v.compress( lt ).intoArray( less, lessCount );
+      lessCount += lt.trueCount();
+      v.compress( gt ).intoArray( greater, greaterCount );
+      greaterCount += gt.trueCount();
+    }
+    for( ; i < to; i++ ) {
+      int value = array[i];
+      if( value < pivot ) {
+        less[lessCount++] = value;
+      } else if( value > pivot ) {
+        greater[greaterCount++] = value;
+      }
+    }
+
+    int greaterStart = to - greaterCount;
+    System.arraycopy( less, 0, array, from, lessCount );
+    Arrays.fill( array, from + lessCount, greaterStart, pivot );
+    System.arraycopy( greater, 0, array, greaterStart, greaterCount );
+    return PrimitiveKernels.bounds( from + lessCount, greaterStart );
+  }
+
+  static long partition( long[] array, int from, int to, long pivot, long[] less, long[] greater ) {
+    int lessCount = 0;
+    int greaterCount = 0;
+    int i = from;
+    int bound = from + LONG_SPECIES.loopBound( to - from );
+    for( ; i < bound; i += LONG_SPECIES.length() ) {
+      LongVector v = LongVector.fromArray( LONG_SPECIES, array, i );
+      VectorMask<Long> lt = v.compare( VectorOperators.LT, pivot );
+      VectorMask<Long> gt = v.compare( VectorOperators.GT, pivot );
+      v.compress( lt ).intoArray( less, lessCount );
+      lessCount += lt.trueCount();
+      v.compress( gt ).intoArray( greater, greaterCount );
+      greaterCount += gt.trueCount();
+    }
+    for( ; i < to; i++ ) {
+      long value = array[i];
+      if( value < pivot ) {
+        less[lessCount++] = value;
+      } else if( value > pivot ) {
+        greater[greaterCount++] = value;
+      }
+    }
+
+    int greaterStart = to - greaterCount;
+    System.arraycopy( less, 0, array, from, lessCount );
+    Arrays.fill( array, from + lessCount, greaterStart, pivot );
+    System.arraycopy( greater, 0, array, greaterStart, greaterCount );
+    return PrimitiveKernels.bounds( from + lessCount, greaterStart );
+  }
+
+  @SuppressWarnings( "unchecked" )
+  private static <E> VectorShuffle<E>[] butterflies( VectorSpecies<E> species ) {
+    int levels = Integer.numberOfTrailingZeros( species.length() );
+    VectorShuffle<E>[] shuffles = new VectorShuffle[Math.max( 1, levels )];
+    for( int level = 0; level < levels; level++ ) {
+      int distance = 1 << level;
+      shuffles[level] = VectorShuffle.fromOp( species, lane -> lane ^ distance );
+    }
+    return shuffles;
+  }
+}
@@ -0,0 +1,194 @@
+package org.sortingengine.io;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.BiFunction;
+
+/**
+ * A forward-only position in the blocks of a run file, shared by {@link RunFileReader} and {@link SortedIndex}.
+ *
+ * <p>Subclasses only locate a block and verify its checksum; this class decodes the records of the block, with or
+ * without prefix compression, from the buffer they return. It also finds the block that can hold a key from the first
+ * keys of the block index, positions a new cursor at the first record not smaller than a key, and stops before an
+ * optional end key. Keys are compared as unsigned bytes. Cursors are not thread-safe.</p>
+ */
+abstract class BlockCursor {
+
+  private final boolean prefixCompression;
+  private final int blockCount;
+  private final byte[] toKey;
+  private int nextBlock;
+  private ByteBuffer block;
+  private byte[] key = RunFileWriter.EMPTY;
+  private byte[] value = RunFileWriter.EMPTY;
+  private boolean held;
+  private boolean done;
+
+  /**
+   * Creates a cursor positioned before the first record of a block.
+   *
+   * @param prefixCompression Whether the keys are prefix-compressed.
+   * @param blockCount        The number of blocks of the file.
+   * @param firstBlock        The block to start at.
+   * @param toKey             The key to stop before, or null to continue to the last record.
+   */
+  BlockCursor( boolean prefixCompression, int blockCount, int firstBlock, byte[] toKey ) {
+    this.prefixCompression = prefixCompression;
+    this.blockCount = blockCount;
+    this.nextBlock = firstBlock;
+    this.toKey = toKey;
+  }
+
+  /**
+   * Advances to the next record.
+   *
+   * @return Whether there was a next record.
+   * @throws IOException if reading a block fails or a block is corrupt.
+   */
+  public boolean next() throws IOException {
+    if( done ) {
+      return false;
+    }
+    if( held ) {
+      held = false;
+    } else if( !decodeNext() ) {
+      done = true;
+      return false;
+    }
+    if( toKey != null && Arrays.compareUnsigned( key, toKey ) >= 0 ) {
+      done = true;
+      return false;
+    }
+    return true;
+  }
+
+  /**
+   * Returns the key of the current record. The array is not copied and must not be modified.
+   *
+   * @return The key bytes.
+   */
+  public byte[] key() {
+    return key;
+  }
+
+  /**
+   * Returns the value of the current record. The array is not copied and must not be modified.
+   *
+   * @return The value bytes.
+   */
+  public byte[] value() {
+    return value;
+  }
+
+  /**
+   * Reads and verifies a block.
+   *
+   * @return A buffer whose remaining bytes are the records of the block, without its checksum.
+   */
+  abstract ByteBuffer loadBlock( int index ) throws IOException;
+
+  /**
+   * Skips the records smaller than a key, so that the next call of {@link #next()} returns the first record not
+   * smaller than it. The cursor must start at {@link #findBlock(byte[][], byte[])} for the key.
+   */
+  void seek( byte[] fromKey ) throws IOException {
+    while( next() ) {
+      if( Arrays.compareUnsigned( key, fromKey ) >= 0 ) {
+        held = true;
+        return;
+      }
+    }
+  }
+
+  /**
+   * Returns an iterator over values built from the records this cursor advances to. I/O failures are rethrown as
+   * {@link UncheckedIOException}.
+   */
+  <E> Iterator<E> iterator( BiFunction<byte[], byte[], E> decoder ) {
+    return new Iterator<>() {
+      private boolean ready;
+      private boolean available;
+
+      @Override
+      public boolean hasNext() {
+        if( !ready ) {
+          try {
+            available = BlockCursor.this.next();
+          } catch( IOException e ) {
+            throw new UncheckedIOException( e );
+          }
+          ready = true;
+        }
+        return available;
+      }
+
+      @Override
+      public E next() {
+        if( !hasNext() ) {
+          throw new NoSuchElementException();
+        }
+        ready = false;
+        return decoder.apply( key, value );
+      }
+    };
+  }
+
+  /**
+   * Returns the block that can hold the first record not smaller than a key: every record before the last block
+   * starting below the key is smaller than the key.
+   */
+  static int findBlock( byte[][] firstKeys, byte[] key ) {
+    int low = 0;
+    int high = firstKeys.length - 1;
+    int block = 0;
+    while( low <= high ) {
+      int mid = ( low + high ) >>> 1;
+      if( Arrays.compareUnsigned( firstKeys[mid], key ) < 0 ) {
+        block = mid;
+        low = mid + 1;
+      } else {
+        high = mid - 1;
+      }
+    }
+    return block;
+  }
+
+  /**
+   * Reads a varint as written by {@link RunFileWriter}: seven bits per byte, lowest first.
+   */
+  static int readVarint( ByteBuffer buffer ) {
+    int result = 0;
+    for( int shift = 0; ; shift += 7 ) {
+      byte b = buffer.get();
+      result |= ( b & 0x7f ) << shift;
+      if( b >= 0 ) {
+        return result;
+      }
+    }
+  }
+
+  private boolean decodeNext() throws IOException {
+    while( block == null || !block.hasRemaining() ) {
+      if( nextBlock >= blockCount ) {
+        return false;
+      }
+      block = loadBlock( nextBlock++ );
+      key = RunFileWriter.EMPTY;
+    }
+
+    int shared = prefixCompression ? readVarint( block ) : 0;
+    int suffixLength = readVarint( block );
+    int valueLength = readVarint( block );
+    byte[] nextKey = new byte[shared + suffixLength];
+    System.arraycopy( key, 0, nextKey, 0, shared );
+    block.get( nextKey, shared, suffixLength );
+    key = nextKey;
+    value = valueLength == 0 ? RunFileWriter.EMPTY : new byte[valueLength];
+    block.get( value );
+    return true;
+  }
+}
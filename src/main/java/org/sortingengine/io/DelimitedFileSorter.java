@@ -0,0 +1,336 @@
+package org.sortingengine.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+import org.sortingengine.algo.sorting.MergeSorter;
+
+/**
+ * Sorts the lines of a delimited text file (CSV, TSV and similar) by one of its columns. This class offers static
+ * methods that read the input through a {@link FileChannel}, keep only what is needed to sort in memory, and write the
+ * original line bytes back out in sorted order.
+ *
+ * <p>The pipeline has three phases:</p>
+ * <ol>
+ *     <li><b>Scan.</b> The file is read sequentially in large {@link ByteBuffer} chunks. For every line, only the
+ *     bytes of the sort column are decoded and parsed into a key, which is stored together with the line's byte offset
+ *     and length. The rest of the line is never materialized.</li>
+ *     <li><b>Sort.</b> The (key, offset, length) entries are sorted with a {@link MergeSorter}, so lines with equal
+ *     keys keep their input order.</li>
+ *     <li><b>Copy.</b> Lines are copied from the input to the output in sorted order as raw bytes. Lines that are
+ *     adjacent in both the input and the output are coalesced into a single copy; large copies go through
+ *     {@link FileChannel#transferTo}, small ones through positional reads into a large staging buffer.</li>
+ * </ol>
+ *
+ * <p>Working memory therefore scales with the number of lines times the key size, not with the record size. Fields
+ * are split on every occurrence of the delimiter; quoted fields containing the delimiter are not supported. A line
+ * with fewer columns than requested gets the empty string as its key text. Both {@code \n} and {@code \r\n} line
+ * endings are accepted and preserved, and a final line without a terminator is written with a {@code \n}.</p>
+ */
+public final class DelimitedFileSorter {
+
+  /**
+   * Size of the read and staging buffers.
+   */
+  static final int BUFFER_SIZE = 1 << 20;
+
+  /**
+   * Copies of at least this many bytes use {@link FileChannel#transferTo} instead of the staging buffer.
+   */
+  private static final int TRANSFER_THRESHOLD = 64 * 1024;
+
+  /**
+   * Private Constructor to prevent instantiation.
+   */
+  private DelimitedFileSorter() {
+  }
+
+  /**
+   * Sorts the lines of a delimited file by the text of one column, in natural {@code String} order.
+   *
+   * @param input     The file to sort. Must not be null.
+   * @param output    The file to write the sorted lines to. It is created or truncated. Must not be null and must not
+   *                  be the input file.
+   * @param delimiter The field delimiter. Must be an ASCII character.
+   * @param column    The zero-based index of the column to sort by. Must not be negative.
+   * @throws IllegalArgumentException if an argument is null or out of range, or the output is the input file.
+   * @throws IOException              if reading the input or writing the output fails.
+   */
+  public static void sortByColumn( Path input, Path output, char delimiter, int column ) throws IOException {
+    sortByColumn( input, output, delimiter, column, false, Function.identity(), Comparator.naturalOrder() );
+  }
+
+  /**
+   * Sorts the lines of a delimited file by a key parsed from one column.
+   *
+   * <p>The parser is applied once per line, during the scan, so keys can be converted to numbers or other compact
+   * representations before sorting. Parser exceptions propagate unchanged.</p>
+   *
+   * @param <K>           The type of the parsed sort key.
+   * @param input         The file to sort. Must not be null.
+   * @param output        The file to write the sorted lines to. It is created or truncated. Must not be null and
+   *                      must not be the input file.
+   * @param delimiter     The field delimiter. Must be an ASCII character.
+   * @param column        The zero-based index of the column to sort by. Must not be negative.
+   * @param hasHeader     Whether the first line is a header, which is copied first and excluded from sorting.
+   * @param keyParser     Converts the column text into a sort key. Must not be null.
+   * @param keyComparator The comparator to determine the order of the keys. Must not be null.
+   * @throws IllegalArgumentException if an argument is null or out of range, or the output is the input file.
+   * @throws IOException              if reading the input or writing the output fails.
+   */
+  public static <K> void sortByColumn( Path input, Path output, char delimiter, int column, boolean hasHeader,
+                                       Function<String, K> keyParser, Comparator<K> keyComparator )
+      throws IOException {
+    sortByColumn( input, output, delimiter, column, hasHeader, keyParser, keyComparator, BUFFER_SIZE );
+  }
+
+  static <K> void sortByColumn( Path input, Path output, char delimiter, int column, boolean hasHeader,
+                                Function<String, K> keyParser, Comparator<K> keyComparator, int bufferSize )
+      throws IOException {
+    if( input == null || output == null ) {
+      throw new IllegalArgumentException( "The input and output paths cannot be null." );
+    }
+    if( delimiter > 0x7f ) {
+      throw new IllegalArgumentException( "The delimiter must be an ASCII character." );
+    }
+    if( column < 0 ) {
+      throw new IllegalArgumentException( "The column index cannot be negative." );
+    }
+    if( keyParser == null ) {
+      throw new IllegalArgumentException( "The key parser cannot be null." );
+    }
+    if( keyComparator == null ) {
+      throw new IllegalArgumentException( "Comparator cannot be null." );
+    }
+    // Opening the output truncates it, which would destroy the input before it has been read
+    if( Files.exists( output ) && Files.isSameFile( input, output ) ) {
+      throw new IllegalArgumentException( "The output cannot be the input file." );
+    }
+
+    try( FileChannel in = FileChannel.open( input, StandardOpenOption.READ );
+         FileChannel out = FileChannel.open( output, StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+             StandardOpenOption.TRUNCATE_EXISTING ) ) {
+      LineScanner<K> scanner = new LineScanner<>( (byte) delimiter, column, hasHeader, keyParser );
+      scanner.scan( in, bufferSize );
+
+      List<LineRef<K>> lines = scanner.lines;
+      new MergeSorter().sort( lines, ( a, b ) -> keyComparator.compare( a.key(), b.key() ) );
+
+      LineWriter writer = new LineWriter( in, out, in.size(), bufferSize );
+      if( scanner.header != null ) {
+        writer.copy( scanner.header.offset(), scanner.header.length() );
+      }
+      for( LineRef<K> line : lines ) {
+        writer.copy( line.offset(), line.length() );
+      }
+      writer.flush();
+    }
+  }
+
+  /**
+   * A parsed sort key and the location of its line, including the line terminator, in the input file.
+   */
+  private record LineRef<K>( K key, long offset, int length ) {
+  }
+
+  /**
+   * Splits the input into lines and extracts the key of each.
+   */
+  private static final class LineScanner<K> {
+    private final byte delimiter;
+    private final int column;
+    private final Function<String, K> keyParser;
+    private final List<LineRef<K>> lines = new ArrayList<>();
+    private boolean headerPending;
+    private LineRef<K> header;
+
+    LineScanner( byte delimiter, int column, boolean hasHeader, Function<String, K> keyParser ) {
+      this.delimiter = delimiter;
+      this.column = column;
+      this.keyParser = keyParser;
+      this.headerPending = hasHeader;
+    }
+
+    void scan( FileChannel in, int bufferSize ) throws IOException {
+      ByteBuffer buffer = ByteBuffer.allocate( bufferSize );
+      long bufferOffset = 0;
+      int scanned = 0;
+      int lineStart = 0;
+      while( true ) {
+        int read = in.read( buffer );
+        byte[] bytes = buffer.array();
+        int limit = buffer.position();
+        for( int i = scanned; i < limit; i++ ) {
+          if( bytes[i] == '\n' ) {
+            addLine( bytes, lineStart, i + 1, bufferOffset + lineStart );
+            lineStart = i + 1;
+          }
+        }
+        scanned = limit;
+
+        if( read < 0 ) {
+          if( lineStart < limit ) {
+            addLine( bytes, lineStart, limit, bufferOffset + lineStart );
+          }
+          return;
+        }
+
+        if( lineStart == 0 && limit == buffer.capacity() ) {
+          // A single line fills the whole buffer: grow it
+          ByteBuffer larger = ByteBuffer.allocate( buffer.capacity() * 2 );
+          buffer.flip();
+          larger.put( buffer );
+          buffer = larger;
+        } else if( limit == buffer.capacity() ) {
+          // Move the incomplete last line to the front and keep reading behind it
+          int remaining = limit - lineStart;
+          System.arraycopy( bytes, lineStart, bytes, 0, remaining );
+          bufferOffset += lineStart;
+          scanned -= lineStart;
+          lineStart = 0;
+          buffer.position( remaining );
+        }
+      }
+    }
+
+    private void addLine( byte[] bytes, int start, int end, long offset ) {
+      LineRef<K> line = new LineRef<>( headerPending ? null : keyParser.apply( columnText( bytes, start, end ) ),
+          offset, end - start );
+      if( headerPending ) {
+        header = line;
+        headerPending = false;
+      } else {
+        lines.add( line );
+      }
+    }
+
+    private String columnText( byte[] bytes, int start, int end ) {
+      int contentEnd = end;
+      if( contentEnd > start && bytes[contentEnd - 1] == '\n' ) {
+        contentEnd--;
+      }
+      if( contentEnd > start && bytes[contentEnd - 1] == '\r' ) {
+        contentEnd--;
+      }
+
+      int fieldStart = start;
+      int field = 0;
+      for( int i = start; i < contentEnd && field < column; i++ ) {
+        if( bytes[i] == delimiter ) {
+          field++;
+          fieldStart = i + 1;
+        }
+      }
+      if( field < column ) {
+        return "";
+      }
+      int fieldEnd = fieldStart;
+      while( fieldEnd < contentEnd && bytes[fieldEnd] != delimiter ) {
+        fieldEnd++;
+      }
+      return new String( bytes, fieldStart, fieldEnd - fieldStart, StandardCharsets.UTF_8 );
+    }
+  }
+
+  /**
+   * Copies byte ranges of the input to the output, coalescing ranges that are contiguous in the input.
+   */
+  private static final class LineWriter {
+    private final FileChannel in;
+    private final FileChannel out;
+    private final long inputSize;
+    private final ByteBuffer staging;
+    private long pendingOffset = -1;
+    private long pendingLength;
+
+    LineWriter( FileChannel in, FileChannel out, long inputSize, int bufferSize ) {
+      this.in = in;
+      this.out = out;
+      this.inputSize = inputSize;
+      this.staging = ByteBuffer.allocateDirect( bufferSize );
+    }
+
+    void copy( long offset, int length ) throws IOException {
+      if( pendingOffset >= 0 && pendingOffset + pendingLength == offset && !endsUnterminated( offset, length ) ) {
+        pendingLength += length;
+        return;
+      }
+      drainPending();
+      pendingOffset = offset;
+      pendingLength = length;
+      if( endsUnterminated( offset, length ) ) {
+        // The last input line has no terminator; write it now and add one
+        drainPending();
+        writeStaged( ByteBuffer.wrap( new byte[]{ '\n' } ) );
+      }
+    }
+
+    void flush() throws IOException {
+      drainPending();
+      staging.flip();
+      while( staging.hasRemaining() ) {
+        out.write( staging );
+      }
+      staging.clear();
+    }
+
+    private boolean endsUnterminated( long offset, int length ) throws IOException {
+      if( offset + length != inputSize || length == 0 ) {
+        return false;
+      }
+      ByteBuffer last = ByteBuffer.allocate( 1 );
+      in.read( last, offset + length - 1 );
+      return last.get( 0 ) != '\n';
+    }
+
+    private void drainPending() throws IOException {
+      if( pendingOffset < 0 ) {
+        return;
+      }
+      long offset = pendingOffset;
+      long length = pendingLength;
+      pendingOffset = -1;
+      pendingLength = 0;
+
+      if( length >= TRANSFER_THRESHOLD || length > staging.capacity() ) {
+        flush();
+        while( length > 0 ) {
+          long transferred = in.transferTo( offset, length, out );
+          offset += transferred;
+          length -= transferred;
+        }
+        return;
+      }
+
+      if( length > staging.remaining() ) {
+        flush();
+      }
+      int end = staging.position() + (int) length;
+      staging.limit( end );
+      while( staging.position() < end ) {
+        int read = in.read( staging, offset );
+        if( read < 0 ) {
+          throw new IOException( "The input file was truncated while sorting." );
+        }
+        offset += read;
+      }
+      staging.limit( staging.capacity() );
+    }
+
+    private void writeStaged( ByteBuffer bytes ) throws IOException {
+      if( bytes.remaining() > staging.remaining() ) {
+        flush();
+      }
+      staging.put( bytes );
+    }
+  }
+}
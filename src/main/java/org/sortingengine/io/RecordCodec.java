@@ -0,0 +1,133 @@
+package org.sortingengine.io;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Converts records to and from the key and value bytes stored in a run file.
+ *
+ * <p>Run files order and index records by their key bytes, compared as unsigned values. A codec whose key encoding
+ * preserves the order of the records, so that {@code compare(a, b) < 0} exactly when the key of {@code a} is
+ * lexicographically smaller than the key of {@code b}, lets a run be searched with {@link RunFileReader#seek(byte[])}
+ * and merged without decoding. The codecs returned by the static methods of this interface have that property.</p>
+ *
+ * @param <T> The type of the records.
+ */
+public interface RecordCodec<T> {
+
+  /**
+   * Encodes the key of a record.
+   *
+   * @param record The record to encode.
+   * @return The key bytes.
+   */
+  byte[] encodeKey( T record );
+
+  /**
+   * Encodes the part of a record that is not in its key.
+   *
+   * @param record The record to encode.
+   * @return The value bytes, possibly empty.
+   */
+  byte[] encodeValue( T record );
+
+  /**
+   * Rebuilds a record from its key and value bytes.
+   *
+   * @param key   The key bytes produced by {@link #encodeKey(Object)}.
+   * @param value The value bytes produced by {@link #encodeValue(Object)}.
+   * @return The decoded record.
+   */
+  T decode( byte[] key, byte[] value );
+
+  /**
+   * Returns a codec storing strings as UTF-8 keys with empty values.
+   *
+   * <p>UTF-8 byte order equals code point order, which matches {@link String#compareTo(String)} for all strings
+   * without supplementary characters.</p>
+   *
+   * @return The string codec.
+   */
+  static RecordCodec<String> utf8() {
+    return new RecordCodec<>() {
+      @Override
+      public byte[] encodeKey( String record ) {
+        return record.getBytes( StandardCharsets.UTF_8 );
+      }
+
+      @Override
+      public byte[] encodeValue( String record ) {
+        return RunFileWriter.EMPTY;
+      }
+
+      @Override
+      public String decode( byte[] key, byte[] value ) {
+        return new String( key, StandardCharsets.UTF_8 );
+      }
+    };
+  }
+
+  /**
+   * Returns a codec storing integers as 4-byte big-endian keys with the sign bit flipped, so that unsigned byte order
+   * equals signed numeric order.
+   *
+   * @return The integer codec.
+   */
+  static RecordCodec<Integer> ints() {
+    return new RecordCodec<>() {
+      @Override
+      public byte[] encodeKey( Integer record ) {
+        int bits = record ^ Integer.MIN_VALUE;
+        return new byte[]{ (byte) ( bits >>> 24 ), (byte) ( bits >>> 16 ), (byte) ( bits >>> 8 ), (byte) bits };
+      }
+
+      @Override
+      public byte[] encodeValue( Integer record ) {
+        return RunFileWriter.EMPTY;
+      }
+
+      @Override
+      public Integer decode( byte[] key, byte[] value ) {
+        int bits = 0;
+        for( int i = 0; i < Integer.BYTES; i++ ) {
+          bits = ( bits << 8 ) | ( key[i] & 0xff );
+        }
+        return bits ^ Integer.MIN_VALUE;
+      }
+    };
+  }
+
+  /**
+   * Returns a codec storing longs as 8-byte big-endian keys with the sign bit flipped, so that unsigned byte order
+   * equals signed numeric order.
+   *
+   * @return The long codec.
+   */
+  static RecordCodec<Long> longs() {
+    return new RecordCodec<>() {
+      @Override
+      public byte[] encodeKey( Long record ) {
+        long bits = record ^ Long.MIN_VALUE;
+        byte[] key = new byte[Long.BYTES];
+        for( int i = Long.BYTES - 1; i >= 0; i-- ) {
+          key[i] = (byte) bits;
+          bits >>>= 8;
+        }
+        return key;
+      }
+
+      @Override
+      public byte[] encodeValue( Long record ) {
+        return RunFileWriter.EMPTY;
+      }
+
+      @Override
+      public Long decode( byte[] key, byte[] value ) {
+        long bits = 0;
+        for( int i = 0; i < Long.BYTES; i++ ) {
+          bits = ( bits << 8 ) | ( key[i] & 0xff );
+        }
+        return bits ^ Long.MIN_VALUE;
+      }
+    };
+  }
+}
@@ -0,0 +1,249 @@
+package org.sortingengine.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.zip.CRC32;
+
+/**
+ * Reads a run file written by {@link RunFileWriter}.
+ *
+ * <p>Opening a reader loads and verifies the footer and the block index, which hold one entry per block. Records are
+ * then read through {@link Cursor}s, each of which loads one whole block per positional read and verifies its
+ * checksum before decoding it. Because cursors share no file position, any number of them can be open on the same
+ * reader, for example one per merge input.</p>
+ *
+ * <p>{@link #seek(byte[])} uses the first keys in the index to find the only block that can hold the target, so it
+ * costs one block read plus a scan of at most one block.</p>
+ */
+public final class RunFileReader implements Closeable {
+
+  private final FileChannel channel;
+  private final boolean prefixCompression;
+  private final long recordCount;
+  private final long[] blockOffsets;
+  private final int[] blockLengths;
+  private final byte[][] firstKeys;
+
+  /**
+   * Opens a run file and reads its index.
+   *
+   * @param path The file to read. Must not be null.
+   * @throws IllegalArgumentException if the path is null.
+   * @throws IOException              if the file cannot be read, is not a run file, or its index is corrupt.
+   */
+  public RunFileReader( Path path ) throws IOException {
+    if( path == null ) {
+      throw new IllegalArgumentException( "The path cannot be null." );
+    }
+    this.channel = FileChannel.open( path, StandardOpenOption.READ );
+    try {
+      long size = channel.size();
+      if( size < RunFileWriter.HEADER_SIZE + RunFileWriter.FOOTER_SIZE ) {
+        throw new IOException( "Not a run file: " + path );
+      }
+      ByteBuffer header = read( 0, RunFileWriter.HEADER_SIZE );
+      if( header.getInt() != RunFileWriter.MAGIC ) {
+        throw new IOException( "Not a run file: " + path );
+      }
+      if( header.get() != RunFileWriter.VERSION ) {
+        throw new IOException( "Unsupported run file version: " + path );
+      }
+      this.prefixCompression = ( header.get() & RunFileWriter.FLAG_PREFIX_COMPRESSION ) != 0;
+
+      ByteBuffer footer = read( size - RunFileWriter.FOOTER_SIZE, RunFileWriter.FOOTER_SIZE );
+      long indexOffset = footer.getLong();
+      int indexLength = footer.getInt();
+      int indexCrc = footer.getInt();
+      this.recordCount = footer.getLong();
+      if( footer.getInt() != RunFileWriter.MAGIC ) {
+        throw new IOException( "The run file is truncated: " + path );
+      }
+      // The footer is not covered by a checksum, so its index location is checked before anything is allocated
+      if( indexLength < 0 || indexOffset < RunFileWriter.HEADER_SIZE
+          || indexOffset > size - RunFileWriter.FOOTER_SIZE - indexLength ) {
+        throw new IOException( "The run file index is corrupt: " + path );
+      }
+
+      ByteBuffer index = read( indexOffset, indexLength );
+      verify( index.array(), 0, indexLength, indexCrc, indexOffset );
+      int blockCount = BlockCursor.readVarint( index );
+      this.blockOffsets = new long[blockCount];
+      this.blockLengths = new int[blockCount];
+      this.firstKeys = new byte[blockCount][];
+      for( int i = 0; i < blockCount; i++ ) {
+        blockOffsets[i] = index.getLong();
+        blockLengths[i] = BlockCursor.readVarint( index );
+        BlockCursor.readVarint( index );
+        firstKeys[i] = new byte[BlockCursor.readVarint( index )];
+        index.get( firstKeys[i] );
+      }
+    } catch( IOException | RuntimeException e ) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Returns the number of records in the file.
+   *
+   * @return The record count.
+   */
+  public long recordCount() {
+    return recordCount;
+  }
+
+  /**
+   * Returns the number of blocks in the file.
+   *
+   * @return The block count.
+   */
+  public int blockCount() {
+    return blockOffsets.length;
+  }
+
+  /**
+   * Returns whether the keys of the file are prefix-compressed.
+   */
+  boolean prefixCompression() {
+    return prefixCompression;
+  }
+
+  /**
+   * Returns the file offset of every block.
+   */
+  long[] blockOffsets() {
+    return blockOffsets;
+  }
+
+  /**
+   * Returns the length of every block, including its checksum.
+   */
+  int[] blockLengths() {
+    return blockLengths;
+  }
+
+  /**
+   * Returns the first key of every block.
+   */
+  byte[][] firstKeys() {
+    return firstKeys;
+  }
+
+  /**
+   * Returns the channel the file is read through.
+   */
+  FileChannel channel() {
+    return channel;
+  }
+
+  /**
+   * Returns a cursor positioned before the first record.
+   *
+   * @return A new cursor.
+   */
+  public Cursor cursor() {
+    return new Cursor( 0 );
+  }
+
+  /**
+   * Returns a cursor positioned before the first record whose key is not smaller than the given key, comparing keys
+   * as unsigned bytes. The file must be sorted in that order.
+   *
+   * @param key The key to search for. Must not be null.
+   * @return A new cursor; its first {@link Cursor#next()} returns false if every key is smaller than the given one.
+   * @throws IllegalArgumentException if the key is null.
+   * @throws IOException              if reading a block fails or a block is corrupt.
+   */
+  public Cursor seek( byte[] key ) throws IOException {
+    if( key == null ) {
+      throw new IllegalArgumentException( "The key cannot be null." );
+    }
+
+    Cursor cursor = new Cursor( BlockCursor.findBlock( firstKeys, key ) );
+    cursor.seek( key );
+    return cursor;
+  }
+
+  /**
+   * Returns an iterator decoding every record of the file with a codec. I/O failures are rethrown as
+   * {@link UncheckedIOException}.
+   *
+   * @param <T>   The type of the records.
+   * @param codec The codec to decode the records with. Must not be null.
+   * @return An iterator over the decoded records, in file order.
+   * @throws IllegalArgumentException if the codec is null.
+   */
+  public <T> Iterator<T> iterator( RecordCodec<T> codec ) {
+    if( codec == null ) {
+      throw new IllegalArgumentException( "The codec cannot be null." );
+    }
+    return cursor().iterator( codec::decode );
+  }
+
+  /**
+   * Closes the file. Cursors of this reader must not be used afterwards.
+   *
+   * @throws IOException if closing fails.
+   */
+  @Override
+  public void close() throws IOException {
+    channel.close();
+  }
+
+  /**
+   * A forward-only position in a run file, which reads one whole block at a time. Cursors are not thread-safe.
+   */
+  public final class Cursor extends BlockCursor {
+    private byte[] block = RunFileWriter.EMPTY;
+
+    private Cursor( int firstBlock ) {
+      super( prefixCompression, blockOffsets.length, firstBlock, null );
+    }
+
+    @Override
+    ByteBuffer loadBlock( int index ) throws IOException {
+      int length = blockLengths[index];
+      if( block.length < length ) {
+        block = new byte[Math.max( length, block.length * 2 )];
+      }
+      ByteBuffer buffer = ByteBuffer.wrap( block, 0, length );
+      long offset = blockOffsets[index];
+      readFully( buffer, offset );
+      int payload = length - Integer.BYTES;
+      verify( block, 0, payload, buffer.getInt( payload ), offset );
+      return buffer.position( 0 ).limit( payload );
+    }
+  }
+
+  private ByteBuffer read( long offset, int length ) throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate( length );
+    readFully( buffer, offset );
+    buffer.flip();
+    return buffer;
+  }
+
+  private void readFully( ByteBuffer buffer, long offset ) throws IOException {
+    while( buffer.hasRemaining() ) {
+      int read = channel.read( buffer, offset );
+      if( read < 0 ) {
+        throw new IOException( "The run file is truncated." );
+      }
+      offset += read;
+    }
+  }
+
+  private static void verify( byte[] bytes, int offset, int length, int expected, long fileOffset )
+      throws IOException {
+    CRC32 crc = new CRC32();
+    crc.update( bytes, offset, length );
+    if( (int) crc.getValue() != expected ) {
+      throw new IOException( "Checksum mismatch in the run file at offset " + fileOffset + "." );
+    }
+  }
+}
@@ -0,0 +1,294 @@
+package org.sortingengine.io;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * Writes a sorted run to disk in a compact, checksummed binary format that can be read back sequentially or searched
+ * by key with {@link RunFileReader}.
+ *
+ * <p>A run file has the following layout. All fixed-width integers are big-endian; variable-length integers use
+ * 7 bits per byte with the high bit marking continuation.</p>
+ * <ol>
+ *     <li><b>Header</b>: the magic number {@code "SRUN"}, a version byte and a flags byte.</li>
+ *     <li><b>Blocks</b>: records are grouped into blocks of roughly {@code blockSize} bytes. Each record is stored as
+ *     {@code [shared] suffixLength valueLength suffix value}. With prefix compression enabled, {@code shared} is the
+ *     number of leading bytes the key has in common with the previous key of the same block, and only the remaining
+ *     suffix is stored; without it, the field is omitted and the suffix is the whole key. The first record of a block
+ *     never shares a prefix, so every block decodes on its own. A CRC32 of the block follows it.</li>
+ *     <li><b>Index</b>: for each block, its file offset, length, record count and first key.</li>
+ *     <li><b>Footer</b>: the index offset, index length, index CRC32, total record count and the magic number.</li>
+ * </ol>
+ *
+ * <p>Records are expected in ascending order of their key bytes compared as unsigned values, which is what the
+ * block index and {@link RunFileReader#seek(byte[])} rely on. The writer does not enforce this, so a run ordered by
+ * some other comparator can still be spilled and read back sequentially.</p>
+ *
+ * <p>Output is staged in memory one block at a time and written through a large buffered stream, so every block
+ * costs a single sequential write. Instances are not thread-safe.</p>
+ */
+public final class RunFileWriter implements Closeable {
+
+  /**
+   * The default target size of a block in bytes.
+   */
+  public static final int DEFAULT_BLOCK_SIZE = 64 * 1024;
+
+  static final int MAGIC = 0x5352554e;
+  static final byte VERSION = 1;
+  static final byte FLAG_PREFIX_COMPRESSION = 1;
+  static final int HEADER_SIZE = 6;
+  static final int FOOTER_SIZE = 28;
+  static final byte[] EMPTY = new byte[0];
+
+  private final OutputStream out;
+  private final int blockSize;
+  private final boolean prefixCompression;
+  private final ByteSink block = new ByteSink( 1024 );
+  private final ByteSink index = new ByteSink( 256 );
+  private final CRC32 crc = new CRC32();
+  private byte[] previousKey = new byte[64];
+  private int previousKeyLength;
+  private byte[] firstKey;
+  private int blockRecords;
+  private int blockCount;
+  private long recordCount;
+  private long position;
+  private boolean closed;
+
+  /**
+   * Creates a writer with the default block size and prefix compression enabled.
+   *
+   * @param path The file to write. It is created or truncated. Must not be null.
+   * @throws IllegalArgumentException if the path is null.
+   * @throws IOException              if the file cannot be opened.
+   */
+  public RunFileWriter( Path path ) throws IOException {
+    this( path, DEFAULT_BLOCK_SIZE, true );
+  }
+
+  /**
+   * Creates a writer.
+   *
+   * @param path              The file to write. It is created or truncated. Must not be null.
+   * @param blockSize         The target size of a block in bytes. Smaller blocks make seeks cheaper, larger ones
+   *                          compress better and cost fewer index entries. Must be positive.
+   * @param prefixCompression Whether to store only the part of each key that differs from the previous key.
+   * @throws IllegalArgumentException if the path is null or the block size is not positive.
+   * @throws IOException              if the file cannot be opened.
+   */
+  public RunFileWriter( Path path, int blockSize, boolean prefixCompression ) throws IOException {
+    if( path == null ) {
+      throw new IllegalArgumentException( "The path cannot be null." );
+    }
+    if( blockSize <= 0 ) {
+      throw new IllegalArgumentException( "The block size must be positive." );
+    }
+    this.blockSize = blockSize;
+    this.prefixCompression = prefixCompression;
+    this.out = new BufferedOutputStream( Files.newOutputStream( path ), Math.max( blockSize, 1 << 16 ) + 8 );
+
+    ByteSink header = new ByteSink( HEADER_SIZE );
+    header.writeInt( MAGIC );
+    header.write( VERSION );
+    header.write( prefixCompression ? FLAG_PREFIX_COMPRESSION : 0 );
+    emit( header );
+  }
+
+  /**
+   * Appends a record.
+   *
+   * @param key   The key bytes. Must not be null.
+   * @param value The value bytes. Must not be null.
+   * @throws IllegalArgumentException if the key or value is null.
+   * @throws IllegalStateException    if the writer has been closed.
+   * @throws IOException              if writing a completed block fails.
+   */
+  public void append( byte[] key, byte[] value ) throws IOException {
+    if( key == null || value == null ) {
+      throw new IllegalArgumentException( "The key and value cannot be null." );
+    }
+    if( closed ) {
+      throw new IllegalStateException( "The writer has been closed." );
+    }
+
+    if( blockRecords == 0 ) {
+      index.writeLong( position );
+    }
+    if( prefixCompression ) {
+      int shared = 0;
+      if( blockRecords > 0 ) {
+        int mismatch = Arrays.mismatch( previousKey, 0, previousKeyLength, key, 0, key.length );
+        shared = mismatch < 0 ? key.length : mismatch;
+      }
+      block.writeVarint( shared );
+      block.writeVarint( key.length - shared );
+      block.writeVarint( value.length );
+      block.write( key, shared, key.length - shared );
+    } else {
+      block.writeVarint( key.length );
+      block.writeVarint( value.length );
+      block.write( key, 0, key.length );
+    }
+    block.write( value, 0, value.length );
+
+    if( blockRecords == 0 ) {
+      // The rest of the index entry is written once the block is complete
+      firstKey = key.clone();
+    }
+    if( prefixCompression ) {
+      if( previousKey.length < key.length ) {
+        previousKey = new byte[Math.max( key.length, previousKey.length * 2 )];
+      }
+      System.arraycopy( key, 0, previousKey, 0, key.length );
+      previousKeyLength = key.length;
+    }
+    blockRecords++;
+    recordCount++;
+    if( block.length >= blockSize ) {
+      flushBlock();
+    }
+  }
+
+  /**
+   * Appends a record encoded with a codec.
+   *
+   * @param <T>    The type of the record.
+   * @param record The record to append.
+   * @param codec  The codec to encode the record with. Must not be null.
+   * @throws IllegalArgumentException if the codec is null.
+   * @throws IllegalStateException    if the writer has been closed.
+   * @throws IOException              if writing a completed block fails.
+   */
+  public <T> void append( T record, RecordCodec<T> codec ) throws IOException {
+    if( codec == null ) {
+      throw new IllegalArgumentException( "The codec cannot be null." );
+    }
+    append( codec.encodeKey( record ), codec.encodeValue( record ) );
+  }
+
+  /**
+   * Returns the number of records appended so far.
+   *
+   * @return The record count.
+   */
+  public long recordCount() {
+    return recordCount;
+  }
+
+  /**
+   * Writes the last block, the index and the footer, and closes the file. Closing twice has no effect.
+   *
+   * @throws IOException if writing or closing fails.
+   */
+  @Override
+  public void close() throws IOException {
+    if( closed ) {
+      return;
+    }
+    closed = true;
+    try {
+      if( blockRecords > 0 ) {
+        flushBlock();
+      }
+      long indexOffset = position;
+      ByteSink indexSection = new ByteSink( index.length + 5 );
+      indexSection.writeVarint( blockCount );
+      indexSection.write( index.bytes, 0, index.length );
+      crc.reset();
+      crc.update( indexSection.bytes, 0, indexSection.length );
+      int indexCrc = (int) crc.getValue();
+      emit( indexSection );
+
+      ByteSink footer = new ByteSink( FOOTER_SIZE );
+      footer.writeLong( indexOffset );
+      footer.writeInt( indexSection.length );
+      footer.writeInt( indexCrc );
+      footer.writeLong( recordCount );
+      footer.writeInt( MAGIC );
+      emit( footer );
+    } finally {
+      out.close();
+    }
+  }
+
+  private void flushBlock() throws IOException {
+    crc.reset();
+    crc.update( block.bytes, 0, block.length );
+    block.writeInt( (int) crc.getValue() );
+
+    index.writeVarint( block.length );
+    index.writeVarint( blockRecords );
+    index.writeVarint( firstKey.length );
+    index.write( firstKey, 0, firstKey.length );
+
+    emit( block );
+    block.length = 0;
+    blockRecords = 0;
+    blockCount++;
+    firstKey = null;
+  }
+
+  private void emit( ByteSink sink ) throws IOException {
+    out.write( sink.bytes, 0, sink.length );
+    position += sink.length;
+  }
+
+  /**
+   * A growable byte array with big-endian and varint writers.
+   */
+  static final class ByteSink {
+    byte[] bytes;
+    int length;
+
+    ByteSink( int capacity ) {
+      this.bytes = new byte[capacity];
+    }
+
+    void write( int b ) {
+      ensure( 1 );
+      bytes[length++] = (byte) b;
+    }
+
+    void write( byte[] source, int offset, int count ) {
+      ensure( count );
+      System.arraycopy( source, offset, bytes, length, count );
+      length += count;
+    }
+
+    void writeInt( int value ) {
+      ensure( Integer.BYTES );
+      for( int shift = 24; shift >= 0; shift -= 8 ) {
+        bytes[length++] = (byte) ( value >>> shift );
+      }
+    }
+
+    void writeLong( long value ) {
+      ensure( Long.BYTES );
+      for( int shift = 56; shift >= 0; shift -= 8 ) {
+        bytes[length++] = (byte) ( value >>> shift );
+      }
+    }
+
+    void writeVarint( int value ) {
+      ensure( 5 );
+      while( ( value & ~0x7f ) != 0 ) {
+        bytes[length++] = (byte) ( ( value & 0x7f ) | 0x80 );
+        value >>>= 7;
+      }
+      bytes[length++] = (byte) value;
+    }
+
+    private void ensure( int extra ) {
+      if( length + extra > bytes.length ) {
+        bytes = Arrays.copyOf( bytes, Math.max( length + extra, bytes.length * 2 ) );
+      }
+    }
+  }
+}
@@ -0,0 +1,433 @@
+package org.sortingengine.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.CRC32;
+
+import org.sortingengine.algo.sorting.KWayMerge;
+
+/**
+ * An immutable, memory-mapped index over sorted data, so that sorted reference data is written once and later
+ * opened and searched instead of being sorted again.
+ *
+ * <p>An index is a run file written by {@link RunFileWriter} whose records are in ascending order of their key bytes
+ * compared as unsigned values. {@link #write(Iterable, RecordCodec, Path)} persists the output of any sorter in that
+ * form and checks the order while writing. Opening an index verifies the footer and loads the block index, which
+ * holds the offset and first key of every block, and maps the file into memory. Nothing else is read, so opening
+ * costs the same for a small and a large file.</p>
+ *
+ * <p>A point lookup or the start of a range scan binary-searches the first keys for the only block that can hold
+ * the target and decodes records of that block straight from the mapping: no system call and no copy of the block.
+ * The checksum of a block is verified the first time the block is read. Because every read is relative to a fixed
+ * offset of the mapping, any number of threads can search the same index concurrently; the {@link Cursor}s they use
+ * are not thread-safe themselves.</p>
+ *
+ * <p>{@link #merge(List, Path)} combines several indexes into one with a k-way merge, without decoding records.</p>
+ *
+ * <p>Both {@link #write(Iterable, RecordCodec, Path)} and {@link #merge(List, Path)} write to a temporary file that is
+ * moved into place once it is complete, and refuse to replace an index that is open in this JVM. A mapped file that
+ * is truncated under its readers makes their next access crash the JVM.</p>
+ */
+public final class SortedIndex implements Closeable {
+
+  /**
+   * The size of the file regions mapped at a time. Each mapping extends past its region by the longest block, so
+   * that every block lies within a single mapping.
+   */
+  static final long REGION_SIZE = 1L << 30;
+
+  private static final Comparator<Entry> BY_KEY = ( a, b ) -> Arrays.compareUnsigned( a.key(), b.key() );
+
+  /**
+   * The files of the indexes open in this JVM, by file key, with the number of indexes open on each.
+   */
+  private static final Map<Object, Integer> OPEN_FILES = new ConcurrentHashMap<>();
+
+  private final boolean prefixCompression;
+  private final long recordCount;
+  private final long[] blockOffsets;
+  private final int[] blockLengths;
+  private final byte[][] firstKeys;
+  private final boolean[] verified;
+  private final Object fileKey;
+  private final AtomicBoolean closed = new AtomicBoolean();
+  private volatile ByteBuffer[] regions;
+
+  private SortedIndex( RunFileReader reader, Object fileKey ) throws IOException {
+    this.fileKey = fileKey;
+    this.prefixCompression = reader.prefixCompression();
+    this.recordCount = reader.recordCount();
+    this.blockOffsets = reader.blockOffsets();
+    this.blockLengths = reader.blockLengths();
+    this.firstKeys = reader.firstKeys();
+    this.verified = new boolean[blockOffsets.length];
+
+    int longestBlock = 0;
+    for( int length : blockLengths ) {
+      longestBlock = Math.max( longestBlock, length );
+    }
+    FileChannel channel = reader.channel();
+    long size = channel.size();
+    ByteBuffer[] mapped = new ByteBuffer[(int) ( ( size + REGION_SIZE - 1 ) / REGION_SIZE )];
+    for( int i = 0; i < mapped.length; i++ ) {
+      long start = i * REGION_SIZE;
+      mapped[i] = channel.map( FileChannel.MapMode.READ_ONLY, start, Math.min( REGION_SIZE + longestBlock,
+          size - start ) );
+    }
+    this.regions = mapped;
+  }
+
+  /**
+   * Opens an index file. The file stays mapped until the index is closed and garbage collected.
+   *
+   * @param path The file to open. Must not be null.
+   * @return The opened index.
+   * @throws IllegalArgumentException if the path is null.
+   * @throws IOException              if the file cannot be read, is not a run file, or its index is corrupt.
+   */
+  public static SortedIndex open( Path path ) throws IOException {
+    try( RunFileReader reader = new RunFileReader( path ) ) {
+      SortedIndex index = new SortedIndex( reader, fileKey( path ) );
+      OPEN_FILES.merge( index.fileKey, 1, Integer::sum );
+      return index;
+    }
+  }
+
+  /**
+   * Writes sorted records to an index file.
+   *
+   * <p>The records are typically the output of a sort by a comparator that agrees with the key encoding of the
+   * codec, such as the natural order for the codecs of {@link RecordCodec}. Records with equal keys are kept in their
+   * input order.</p>
+   *
+   * @param <T>     The type of the records.
+   * @param records The records in ascending order of their encoded keys. Must not be null.
+   * @param codec   The codec to encode the records with. Must not be null.
+   * @param path    The file to write. It is created or replaced and must not be an open index. Must not be null.
+   * @return The number of records written.
+   * @throws IllegalArgumentException if any argument is null, the path is an open index, or the records are not
+   *                                  sorted by key, in which case the file is left unchanged.
+   * @throws IOException              if writing fails.
+   */
+  public static <T> long write( Iterable<T> records, RecordCodec<T> codec, Path path ) throws IOException {
+    if( records == null ) {
+      throw new IllegalArgumentException( "The records cannot be null." );
+    }
+    if( codec == null ) {
+      throw new IllegalArgumentException( "The codec cannot be null." );
+    }
+    if( path == null ) {
+      throw new IllegalArgumentException( "The path cannot be null." );
+    }
+    checkNotOpen( path );
+
+    Path temporary = temporaryFile( path );
+    try {
+      long recordCount;
+      try( RunFileWriter writer = new RunFileWriter( temporary ) ) {
+        byte[] previous = null;
+        for( T record : records ) {
+          byte[] key = codec.encodeKey( record );
+          if( previous != null && Arrays.compareUnsigned( previous, key ) > 0 ) {
+            throw new IllegalArgumentException( "The records are not sorted by key at index " + writer.recordCount()
+                + "." );
+          }
+          writer.append( key, codec.encodeValue( record ) );
+          previous = key;
+        }
+        recordCount = writer.recordCount();
+      }
+      moveIntoPlace( temporary, path );
+      return recordCount;
+    } catch( Throwable e ) {
+      deleteTemporary( temporary, e );
+      throw e;
+    }
+  }
+
+  /**
+   * Merges several index files into a new one.
+   *
+   * <p>Records with equal keys are written in the order of the inputs that hold them, and records of the same input
+   * keep their order, so merging the indexes of consecutive batches keeps equal keys in arrival order.</p>
+   *
+   * <p>The merge is written to a temporary file next to the output, which is moved into place once it is complete,
+   * so a failed merge leaves no partial output behind and an existing output is only replaced by a complete one.</p>
+   *
+   * <p><b>Time Complexity:</b> O(n log k), where n is the total number of records and k is the number of inputs.</p>
+   * <p><b>Space Complexity:</b> O(k) blocks in memory.</p>
+   *
+   * @param inputs The index files to merge. Must not be null or contain null.
+   * @param output The file to write. It is created or replaced and must not be one of the inputs or an open index.
+   *               Must not be null.
+   * @return The number of records written.
+   * @throws IllegalArgumentException if the inputs, any input, or the output is null, or the output is one of the
+   *                                  inputs or an open index.
+   * @throws IOException              if reading an input or writing the output fails.
+   */
+  public static long merge( List<Path> inputs, Path output ) throws IOException {
+    if( inputs == null ) {
+      throw new IllegalArgumentException( "The inputs cannot be null." );
+    }
+    if( output == null ) {
+      throw new IllegalArgumentException( "The path cannot be null." );
+    }
+    for( Path input : inputs ) {
+      if( input == null ) {
+        throw new IllegalArgumentException( "An input cannot be null." );
+      }
+    }
+    for( Path input : inputs ) {
+      // Rewriting a mapped input would pull the pages out from under the merge and crash the JVM
+      if( Files.exists( output ) && Files.isSameFile( input, output ) ) {
+        throw new IllegalArgumentException( "The output cannot be one of the inputs." );
+      }
+    }
+    checkNotOpen( output );
+
+    Path temporary = temporaryFile( output );
+    List<SortedIndex> indexes = new ArrayList<>( inputs.size() );
+    try {
+      List<Iterator<Entry>> sources = new ArrayList<>( inputs.size() );
+      for( Path input : inputs ) {
+        SortedIndex index = open( input );
+        indexes.add( index );
+        sources.add( index.entries() );
+      }
+      long recordCount;
+      try( RunFileWriter writer = new RunFileWriter( temporary ) ) {
+        Iterator<Entry> merged = KWayMerge.mergeIterators( sources, BY_KEY );
+        while( merged.hasNext() ) {
+          Entry entry = merged.next();
+          writer.append( entry.key(), entry.value() );
+        }
+        recordCount = writer.recordCount();
+      } catch( UncheckedIOException e ) {
+        throw e.getCause();
+      }
+      moveIntoPlace( temporary, output );
+      return recordCount;
+    } catch( Throwable e ) {
+      deleteTemporary( temporary, e );
+      throw e;
+    } finally {
+      for( SortedIndex index : indexes ) {
+        index.close();
+      }
+    }
+  }
+
+  /**
+   * Returns the number of records in the index.
+   *
+   * @return The record count.
+   */
+  public long recordCount() {
+    return recordCount;
+  }
+
+  /**
+   * Returns the number of blocks in the index.
+   *
+   * @return The block count.
+   */
+  public int blockCount() {
+    return blockOffsets.length;
+  }
+
+  /**
+   * Looks up the value of a key. If the key occurs more than once, the value of its first record is returned.
+   *
+   * <p><b>Time Complexity:</b> O(log b) key comparisons for b blocks, plus the decoding of at most one block.</p>
+   *
+   * @param key The key to look up. Must not be null.
+   * @return The value bytes, or null if the key is not in the index.
+   * @throws IllegalArgumentException if the key is null.
+   * @throws IllegalStateException    if the index has been closed.
+   * @throws IOException              if the block holding the key is corrupt.
+   */
+  public byte[] get( byte[] key ) throws IOException {
+    if( key == null ) {
+      throw new IllegalArgumentException( "The key cannot be null." );
+    }
+    Cursor cursor = range( key, null );
+    return cursor.next() && Arrays.equals( cursor.key(), key ) ? cursor.value() : null;
+  }
+
+  /**
+   * Looks up a record by a probe record with the same key.
+   *
+   * @param <T>   The type of the records.
+   * @param probe A record whose key is looked up; only its key is encoded.
+   * @param codec The codec the index was written with. Must not be null.
+   * @return The first stored record with the key of the probe, or null if there is none.
+   * @throws IllegalArgumentException if the codec is null.
+   * @throws IllegalStateException    if the index has been closed.
+   * @throws IOException              if the block holding the key is corrupt.
+   */
+  public <T> T get( T probe, RecordCodec<T> codec ) throws IOException {
+    if( codec == null ) {
+      throw new IllegalArgumentException( "The codec cannot be null." );
+    }
+    byte[] key = codec.encodeKey( probe );
+    byte[] value = get( key );
+    return value == null ? null : codec.decode( key, value );
+  }
+
+  /**
+   * Returns a cursor over the records whose keys lie in a range, comparing keys as unsigned bytes.
+   *
+   * @param fromKey The smallest key to include, or null to start at the first record.
+   * @param toKey   The key to stop before, or null to continue to the last record.
+   * @return A new cursor positioned before the first record of the range.
+   * @throws IllegalStateException if the index has been closed.
+   * @throws IOException           if the block holding the start of the range is corrupt.
+   */
+  public Cursor range( byte[] fromKey, byte[] toKey ) throws IOException {
+    ByteBuffer[] mapped = regions();
+    if( fromKey == null ) {
+      return new Cursor( mapped, 0, toKey );
+    }
+
+    Cursor cursor = new Cursor( mapped, BlockCursor.findBlock( firstKeys, fromKey ), toKey );
+    cursor.seek( fromKey );
+    return cursor;
+  }
+
+  /**
+   * Returns an iterator decoding the records whose keys lie in a range. I/O failures are rethrown as
+   * {@link UncheckedIOException}.
+   *
+   * @param <T>   The type of the records.
+   * @param from  The smallest record to include, or null to start at the first record; only its key is encoded.
+   * @param to    The record to stop before, or null to continue to the last record; only its key is encoded.
+   * @param codec The codec the index was written with. Must not be null.
+   * @return An iterator over the decoded records of the range, in key order.
+   * @throws IllegalArgumentException if the codec is null.
+   * @throws IllegalStateException    if the index has been closed.
+   * @throws IOException              if the block holding the start of the range is corrupt.
+   */
+  public <T> Iterator<T> range( T from, T to, RecordCodec<T> codec ) throws IOException {
+    if( codec == null ) {
+      throw new IllegalArgumentException( "The codec cannot be null." );
+    }
+    Cursor cursor = range( from == null ? null : codec.encodeKey( from ), to == null ? null : codec.encodeKey( to ) );
+    return cursor.iterator( codec::decode );
+  }
+
+  /**
+   * Releases the index. The mapping itself is released by the garbage collector once no cursor refers to it, so
+   * cursors opened before closing stay readable. Closing twice has no effect.
+   */
+  @Override
+  public void close() {
+    if( closed.compareAndSet( false, true ) ) {
+      regions = null;
+      OPEN_FILES.computeIfPresent( fileKey, ( key, count ) -> count == 1 ? null : count - 1 );
+    }
+  }
+
+  private ByteBuffer[] regions() {
+    ByteBuffer[] mapped = regions;
+    if( mapped == null ) {
+      throw new IllegalStateException( "The index has been closed." );
+    }
+    return mapped;
+  }
+
+  /**
+   * Returns what identifies a file independently of the path it is reached by.
+   */
+  private static Object fileKey( Path path ) throws IOException {
+    Object key = Files.readAttributes( path, BasicFileAttributes.class ).fileKey();
+    return key != null ? key : path.toRealPath();
+  }
+
+  private static void checkNotOpen( Path path ) throws IOException {
+    if( Files.exists( path ) && OPEN_FILES.containsKey( fileKey( path ) ) ) {
+      throw new IllegalArgumentException( "The path cannot be an open index." );
+    }
+  }
+
+  private static Path temporaryFile( Path output ) throws IOException {
+    Path absolute = output.toAbsolutePath();
+    return Files.createTempFile( absolute.getParent(), absolute.getFileName().toString(), ".tmp" );
+  }
+
+  private static void moveIntoPlace( Path temporary, Path output ) throws IOException {
+    try {
+      Files.move( temporary, output, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE );
+    } catch( AtomicMoveNotSupportedException e ) {
+      Files.move( temporary, output, StandardCopyOption.REPLACE_EXISTING );
+    }
+  }
+
+  /**
+   * Deletes the temporary file of a failed write, keeping the failure of the write as the primary exception.
+   */
+  private static void deleteTemporary( Path temporary, Throwable failure ) {
+    try {
+      Files.deleteIfExists( temporary );
+    } catch( IOException e ) {
+      failure.addSuppressed( e );
+    }
+  }
+
+  private Iterator<Entry> entries() throws IOException {
+    return range( null, null ).iterator( Entry::new );
+  }
+
+  /**
+   * A forward-only position in an index, which decodes records straight from the mapping. Cursors are not
+   * thread-safe.
+   */
+  public final class Cursor extends BlockCursor {
+    private final ByteBuffer[] mapped;
+
+    private Cursor( ByteBuffer[] mapped, int firstBlock, byte[] toKey ) {
+      super( prefixCompression, blockOffsets.length, firstBlock, toKey );
+      this.mapped = mapped;
+    }
+
+    @Override
+    ByteBuffer loadBlock( int index ) throws IOException {
+      long offset = blockOffsets[index];
+      ByteBuffer region = mapped[(int) ( offset / REGION_SIZE )];
+      int start = (int) ( offset % REGION_SIZE );
+      int end = start + blockLengths[index] - Integer.BYTES;
+      ByteBuffer block = region.slice( start, end - start );
+      if( !verified[index] ) {
+        CRC32 crc = new CRC32();
+        crc.update( block.duplicate() );
+        if( (int) crc.getValue() != region.getInt( end ) ) {
+          throw new IOException( "Checksum mismatch in the index at offset " + offset + "." );
+        }
+        // A race only repeats the check
+        verified[index] = true;
+      }
+      return block;
+    }
+  }
+
+  /**
+   * A record as its key and value bytes.
+   */
+  private record Entry( byte[] key, byte[] value ) {
+  }
+}
@@ -0,0 +1,416 @@
+package org.sortingengine.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+
+import com.sun.management.ThreadMXBean;
+import org.sortingengine.algo.sorting.HeapSort;
+import org.sortingengine.algo.sorting.KWayMerge;
+import org.sortingengine.algo.sorting.MergeSort;
+import org.sortingengine.io.RecordCodec;
+import org.sortingengine.io.RunFileReader;
+import org.sortingengine.io.RunFileWriter;
+
+/**
+ * Sorts within an explicit memory budget. This class offers static methods that estimate the footprint of each
+ * {@link SortStrategy}, run the fastest one that fits the budget, and return a {@link SortReport} with the estimated
+ * peak and the measured allocation, so that callers can size containers and pack sort jobs by their real cost.
+ *
+ * <p>Two entry points are offered:</p>
+ * <ul>
+ *     <li><b>Lists.</b> The list and the returned copy are already in memory, so the budget covers only the scratch
+ *     memory of the sort. {@link SortStrategy#BUFFERED_MERGE} is used when its merge buffer of n / 2 references fits,
+ *     and {@link SortStrategy#IN_PLACE} otherwise.</li>
+ *     <li><b>Streams.</b> Records are pulled from an iterator and pushed to a consumer, so the budget covers the
+ *     buffered records themselves. When they all fit together with the merge buffer they are sorted with
+ *     {@link SortStrategy#BUFFERED_MERGE}; otherwise they are cut into runs that fit, spilled to run files and merged
+ *     back ({@link SortStrategy#SPILL}).</li>
+ * </ul>
+ *
+ * <p>Footprints are estimates. A reference is counted as {@value #REFERENCE_BYTES} bytes and an array header as
+ * {@value #ARRAY_HEADER_BYTES} bytes. The size of a streamed record is estimated from its encoded key and value plus
+ * {@value #RECORD_OVERHEAD_BYTES} bytes of object overhead, sampled on every {@value #SAMPLE_INTERVAL}th record; a
+ * run file writer is counted as two blocks and every open run file reader as one block.</p>
+ */
+public final class BudgetedSort {
+
+  /**
+   * Estimated size of a reference, in bytes.
+   */
+  static final int REFERENCE_BYTES = 8;
+
+  /**
+   * Estimated size of an array header, in bytes.
+   */
+  static final int ARRAY_HEADER_BYTES = 16;
+
+  /**
+   * Estimated object overhead of a streamed record on top of its encoded bytes.
+   */
+  static final int RECORD_OVERHEAD_BYTES = 32;
+
+  /**
+   * Every this many streamed records, one is encoded to refine the record size estimate.
+   */
+  static final int SAMPLE_INTERVAL = 32;
+
+  private static final int BLOCK_SIZE = RunFileWriter.DEFAULT_BLOCK_SIZE;
+
+  /**
+   * Private Constructor to prevent instantiation.
+   */
+  private BudgetedSort() {
+  }
+
+  /**
+   * Sorts a given list using at most the given amount of scratch memory.
+   *
+   * <p>The result is stable when the strategy is {@link SortStrategy#BUFFERED_MERGE}, which is the case whenever the
+   * budget holds {@code (n + 1) / 2} references plus an array header. A smaller budget, including zero, selects Heap
+   * Sort on the result, which needs no scratch memory but may reorder equal elements.</p>
+   *
+   * <p><b>Time Complexity:</b> O(n log n), where n is the number of elements in the list.</p>
+   * <p><b>Space Complexity:</b> O(n) for the returned list, plus the scratch memory reported.</p>
+   *
+   * @param <T>         The type of elements in the list.
+   * @param list        The list to be sorted. Must not be null. The original list remains unmodified.
+   * @param comparator  The comparator to determine the order of the elements. Must not be null.
+   * @param budgetBytes The scratch memory the sort may use, in bytes. Must not be negative.
+   * @return The sorted elements together with a report of the chosen strategy and its memory use.
+   * @throws IllegalArgumentException if the list or comparator is null, or the budget is negative.
+   */
+  @SuppressWarnings( "unchecked" )
+  public static <T> BudgetedSortResult<T> sort( List<T> list, Comparator<T> comparator, long budgetBytes ) {
+    if( list == null ) {
+      throw new IllegalArgumentException( "The list cannot be null." );
+    }
+    if( comparator == null ) {
+      throw new IllegalArgumentException( "Comparator cannot be null." );
+    }
+    if( budgetBytes < 0 ) {
+      throw new IllegalArgumentException( "The memory budget cannot be negative." );
+    }
+
+    long allocatedBefore = allocatedBytes();
+    int n = list.size();
+    long mergeBytes = mergeScratchBytes( n );
+    List<T> elements;
+    SortStrategy strategy;
+    long peak;
+    if( mergeBytes <= budgetBytes ) {
+      T[] array = (T[]) list.toArray();
+      MergeSort.mergeSort( array, 0, n, (T[]) new Object[( n + 1 ) / 2], comparator );
+      elements = new ArrayList<>( Arrays.asList( array ) );
+      strategy = SortStrategy.BUFFERED_MERGE;
+      peak = mergeBytes;
+    } else {
+      elements = HeapSort.heapSort( list, comparator );
+      strategy = SortStrategy.IN_PLACE;
+      peak = 0;
+    }
+    SortReport report = new SortReport( strategy, budgetBytes, peak, allocatedSince( allocatedBefore ), 0 );
+    return new BudgetedSortResult<>( elements, report );
+  }
+
+  /**
+   * Sorts a stream of records using at most the given amount of memory, spilling to run files when the records do not
+   * fit.
+   *
+   * <p>Records are buffered until they, their sort buffers and a run file writer reach the budget. If the input ends
+   * first, the buffer is sorted in memory and emitted. Otherwise each full buffer is sorted and written as a run file
+   * in {@code spillDirectory} with the codec, and the runs are merged with
+   * {@link KWayMerge#mergeIterators(List, Comparator)}. When more runs exist than the budget has room for open readers,
+   * consecutive groups of runs are first merged into larger runs. Runs always hold consecutive stretches of the input
+   * and are merged in input order, so the sort is stable. Run files are deleted before this method returns, also when
+   * it fails.</p>
+   *
+   * <p>The order of the output is defined by the comparator alone; the codec only needs to round-trip records, its
+   * keys need not preserve their order. A budget too small for one record, a writer and two readers is exceeded rather
+   * than rejected, and the report's estimated peak then shows by how much.</p>
+   *
+   * <p><b>Time Complexity:</b> O(n log n) comparisons, plus O(n log<sub>k</sub> r) record reads and writes for r runs
+   * merged k at a time.</p>
+   * <p><b>Space Complexity:</b> O(budget) in memory, and up to twice the encoded input on disk.</p>
+   *
+   * @param <T>            The type of the records.
+   * @param input          The records to sort. Must not be null.
+   * @param comparator     The comparator to determine the order of the records. Must not be null.
+   * @param codec          The codec used to size records and to write and read spilled runs. Must not be null.
+   * @param budgetBytes    The memory the sort may use, in bytes. Must not be negative.
+   * @param spillDirectory The directory for run files. Must not be null.
+   * @param output         Receives the records in sorted order. Must not be null.
+   * @return A report of the chosen strategy and its memory use.
+   * @throws IllegalArgumentException if an argument is null or the budget is negative.
+   * @throws IOException              if a run file cannot be written or read.
+   */
+  public static <T> SortReport sort( Iterator<T> input, Comparator<T> comparator, RecordCodec<T> codec,
+                                     long budgetBytes, Path spillDirectory, Consumer<T> output ) throws IOException {
+    if( input == null || codec == null || spillDirectory == null || output == null ) {
+      throw new IllegalArgumentException( "The input, codec, spill directory and output cannot be null." );
+    }
+    if( comparator == null ) {
+      throw new IllegalArgumentException( "Comparator cannot be null." );
+    }
+    if( budgetBytes < 0 ) {
+      throw new IllegalArgumentException( "The memory budget cannot be negative." );
+    }
+
+    long allocatedBefore = allocatedBytes();
+    ExternalSort<T> sort = new ExternalSort<>( comparator, codec, budgetBytes, spillDirectory );
+    SortReport report;
+    try {
+      report = sort.run( input, output, allocatedBefore );
+    } catch( Throwable e ) {
+      try {
+        sort.deleteRuns();
+      } catch( IOException cleanup ) {
+        e.addSuppressed( cleanup );
+      }
+      throw e;
+    }
+    sort.deleteRuns();
+    return report;
+  }
+
+  /**
+   * Returns the estimated merge buffer footprint of Merge Sort on n elements.
+   */
+  static long mergeScratchBytes( int n ) {
+    return ARRAY_HEADER_BYTES + ( ( n + 1L ) / 2 ) * REFERENCE_BYTES;
+  }
+
+  private static long allocatedBytes() {
+    if( ManagementFactory.getThreadMXBean() instanceof ThreadMXBean threads
+        && threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled() ) {
+      return threads.getCurrentThreadAllocatedBytes();
+    }
+    return -1;
+  }
+
+  private static long allocatedSince( long before ) {
+    long now = allocatedBytes();
+    return before < 0 || now < 0 ? -1 : now - before;
+  }
+
+  /**
+   * The state of one streamed sort: the record buffer, the size estimate and the run files written so far.
+   */
+  private static final class ExternalSort<T> {
+    private final Comparator<T> comparator;
+    private final RecordCodec<T> codec;
+    private final long budget;
+    private final Path directory;
+    private final List<T> buffer = new ArrayList<>();
+    private final List<Path> runs = new ArrayList<>();
+    private final List<Path> created = new ArrayList<>();
+    private long sampledBytes;
+    private long sampledCount;
+    private long seen;
+    private long peak;
+
+    ExternalSort( Comparator<T> comparator, RecordCodec<T> codec, long budget, Path directory ) {
+      this.comparator = comparator;
+      this.codec = codec;
+      this.budget = budget;
+      this.directory = directory;
+    }
+
+    SortReport run( Iterator<T> input, Consumer<T> output, long allocatedBefore ) throws IOException {
+      while( input.hasNext() ) {
+        T record = input.next();
+        if( seen++ % SAMPLE_INTERVAL == 0 ) {
+          sampledBytes += RECORD_OVERHEAD_BYTES + codec.encodeKey( record ).length + codec.encodeValue( record ).length;
+          sampledCount++;
+        }
+        // The buffer always leaves room for the run file writer, so spilling it never exceeds the budget
+        if( !buffer.isEmpty() && bufferBytes( buffer.size() + 1 ) + writerBytes() > budget ) {
+          writeRun();
+        }
+        buffer.add( record );
+      }
+
+      if( runs.isEmpty() ) {
+        peak = Math.max( peak, bufferBytes( buffer.size() ) );
+        for( T record : sortBuffer() ) {
+          output.accept( record );
+        }
+        return new SortReport( SortStrategy.BUFFERED_MERGE, budget, peak, allocatedSince( allocatedBefore ), 0 );
+      }
+
+      if( !buffer.isEmpty() ) {
+        writeRun();
+      }
+      mergeRuns( output );
+      return new SortReport( SortStrategy.SPILL, budget, peak, allocatedSince( allocatedBefore ), created.size() );
+    }
+
+    /**
+     * Returns the estimated footprint of k buffered records while they are sorted: the records, the buffer slot and
+     * the sort array slot of each, and the merge buffer.
+     */
+    private long bufferBytes( int k ) {
+      return k * ( recordBytes() + 2L * REFERENCE_BYTES ) + ARRAY_HEADER_BYTES * 2L + mergeScratchBytes( k );
+    }
+
+    private long recordBytes() {
+      return sampledCount == 0 ? RECORD_OVERHEAD_BYTES : sampledBytes / sampledCount;
+    }
+
+    private static long writerBytes() {
+      return 2L * BLOCK_SIZE;
+    }
+
+    private long readerBytes() {
+      return BLOCK_SIZE + recordBytes() + 2L * REFERENCE_BYTES;
+    }
+
+    @SuppressWarnings( "unchecked" )
+    private List<T> sortBuffer() {
+      int k = buffer.size();
+      T[] array = (T[]) buffer.toArray();
+      buffer.clear();
+      MergeSort.mergeSort( array, 0, k, (T[]) new Object[( k + 1 ) / 2], comparator );
+      return Arrays.asList( array );
+    }
+
+    private void writeRun() throws IOException {
+      peak = Math.max( peak, bufferBytes( buffer.size() ) + writerBytes() );
+      List<T> sorted = sortBuffer();
+      Path run = newRun();
+      try( RunFileWriter writer = new RunFileWriter( run ) ) {
+        for( T record : sorted ) {
+          writer.append( record, codec );
+        }
+      }
+      runs.add( run );
+    }
+
+    private void mergeRuns( Consumer<T> output ) throws IOException {
+      int finalFanIn = (int) Math.max( 2, Math.min( Integer.MAX_VALUE, budget / readerBytes() ) );
+      int passFanIn = (int) Math.max( 2, Math.min( Integer.MAX_VALUE, ( budget - writerBytes() ) / readerBytes() ) );
+
+      // Merge consecutive groups until the remaining runs can all be open at once
+      while( runs.size() > finalFanIn ) {
+        List<Path> merged = new ArrayList<>();
+        for( int from = 0; from < runs.size(); from += passFanIn ) {
+          List<Path> group = runs.subList( from, Math.min( runs.size(), from + passFanIn ) );
+          if( group.size() == 1 ) {
+            merged.add( group.get( 0 ) );
+            continue;
+          }
+          peak = Math.max( peak, group.size() * readerBytes() + writerBytes() );
+          Path run = newRun();
+          try( RunFileWriter writer = new RunFileWriter( run ) ) {
+            merge( group, record -> writer.append( record, codec ) );
+          }
+          for( Path path : group ) {
+            Files.deleteIfExists( path );
+          }
+          merged.add( run );
+        }
+        runs.clear();
+        runs.addAll( merged );
+      }
+
+      peak = Math.max( peak, runs.size() * readerBytes() );
+      merge( runs, output::accept );
+    }
+
+    private void merge( List<Path> group, RecordSink<T> output ) throws IOException {
+      List<RunFileReader> readers = new ArrayList<>( group.size() );
+      try {
+        List<Iterator<T>> sources = new ArrayList<>( group.size() );
+        for( Path path : group ) {
+          RunFileReader reader = new RunFileReader( path );
+          readers.add( reader );
+          sources.add( new RunIterator<>( reader.iterator( codec ) ) );
+        }
+        Iterator<T> merged = KWayMerge.mergeIterators( sources, comparator );
+        while( merged.hasNext() ) {
+          output.accept( merged.next() );
+        }
+      } catch( RunReadException e ) {
+        throw e.getCause();
+      } finally {
+        for( RunFileReader reader : readers ) {
+          reader.close();
+        }
+      }
+    }
+
+    private Path newRun() throws IOException {
+      Path run = Files.createTempFile( directory, "sort-", ".run" );
+      created.add( run );
+      return run;
+    }
+
+    void deleteRuns() throws IOException {
+      for( Path run : created ) {
+        Files.deleteIfExists( run );
+      }
+    }
+  }
+
+  /**
+   * Receives merged records. Unlike a {@link Consumer}, it may fail with an {@link IOException}, so that a failed
+   * write to an intermediate run reaches the caller as one.
+   */
+  @FunctionalInterface
+  private interface RecordSink<T> {
+    void accept( T record ) throws IOException;
+  }
+
+  /**
+   * Wraps the record iterator of a run file so that its read failures can be told apart from unchecked exceptions of
+   * the caller's comparator and consumer, which pass through the merge unchanged.
+   */
+  private static final class RunIterator<T> implements Iterator<T> {
+    private final Iterator<T> run;
+
+    RunIterator( Iterator<T> run ) {
+      this.run = run;
+    }
+
+    @Override
+    public boolean hasNext() {
+      try {
+        return run.hasNext();
+      } catch( UncheckedIOException e ) {
+        throw new RunReadException( e.getCause() );
+      }
+    }
+
+    @Override
+    public T next() {
+      try {
+        return run.next();
+      } catch( UncheckedIOException e ) {
+        throw new RunReadException( e.getCause() );
+      }
+    }
+  }
+
+  /**
+   * Carries a run file read failure out of the merge iterators.
+   */
+  private static final class RunReadException extends RuntimeException {
+
+    RunReadException( IOException cause ) {
+      super( cause );
+    }
+
+    @Override
+    public synchronized IOException getCause() {
+      return (IOException) super.getCause();
+    }
+  }
+}
@@ -0,0 +1,13 @@
+package org.sortingengine.service;
+
+import java.util.List;
+
+/**
+ * The outcome of {@link BudgetedSort#sort(List, java.util.Comparator, long)}.
+ *
+ * @param <T>      The type of the sorted elements.
+ * @param elements The sorted elements.
+ * @param report   How the sort ran and how much memory it used.
+ */
+public record BudgetedSortResult<T>( List<T> elements, SortReport report ) {
+}
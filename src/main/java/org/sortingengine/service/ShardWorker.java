@@ -0,0 +1,131 @@
+package org.sortingengine.service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import org.sortingengine.algo.sorting.MergeSort;
+
+/**
+ * The worker process of a {@link ShardedSort}. It is started by the coordinator in its own JVM and is not meant to be
+ * run by hand.
+ *
+ * <p>The worker connects back to the coordinator on the loopback interface, identifies itself with the token it was
+ * started with, and then sorts shards until the coordinator closes the connection. A shard is a stream of records,
+ * each framed as {@code keyLength key valueLength value} with big-endian int lengths, and ended by a key length of
+ * {@value #END_OF_SHARD}. The worker reads the whole shard, sorts it by key bytes compared as unsigned values with
+ * {@link MergeSort}, which keeps records with equal keys in the order they arrived, and writes it back in the same
+ * framing.</p>
+ */
+public final class ShardWorker {
+
+  /**
+   * The key length that ends a shard.
+   */
+  static final int END_OF_SHARD = -1;
+
+  /**
+   * The size of the socket stream buffers, in bytes.
+   */
+  static final int BUFFER_SIZE = 64 * 1024;
+
+  private static final Comparator<Entry> BY_KEY = ( a, b ) -> Arrays.compareUnsigned( a.key(), b.key() );
+
+  /**
+   * Private Constructor to prevent instantiation.
+   */
+  private ShardWorker() {
+  }
+
+  /**
+   * Connects to the coordinator and sorts shards until the connection is closed.
+   *
+   * @param args The coordinator's port on the loopback interface and the token to identify with.
+   * @throws IOException if the connection fails or a shard is truncated.
+   */
+  public static void main( String[] args ) throws IOException {
+    if( args.length != 2 ) {
+      throw new IllegalArgumentException( "Usage: ShardWorker <port> <token>" );
+    }
+    int port = Integer.parseInt( args[0] );
+    long token = Long.parseLong( args[1] );
+
+    try( Socket socket = new Socket( InetAddress.getLoopbackAddress(), port ) ) {
+      DataInputStream in = new DataInputStream( new BufferedInputStream( socket.getInputStream(), BUFFER_SIZE ) );
+      DataOutputStream out = new DataOutputStream( new BufferedOutputStream( socket.getOutputStream(), BUFFER_SIZE ) );
+      out.writeLong( token );
+      out.flush();
+
+      List<Entry> shard = new ArrayList<>();
+      while( readShard( in, shard ) ) {
+        Entry[] entries = shard.toArray( new Entry[0] );
+        shard.clear();
+        MergeSort.mergeSort( entries, 0, entries.length, new Entry[( entries.length + 1 ) / 2], BY_KEY );
+        for( Entry entry : entries ) {
+          writeRecord( out, entry.key(), entry.value() );
+        }
+        out.writeInt( END_OF_SHARD );
+        out.flush();
+      }
+    }
+  }
+
+  /**
+   * Reads one shard into the given list.
+   *
+   * @return false if the connection was closed before the shard started.
+   */
+  private static boolean readShard( DataInputStream in, List<Entry> shard ) throws IOException {
+    byte[] key;
+    try {
+      key = readBytes( in );
+    } catch( EOFException e ) {
+      return false;
+    }
+    while( key != null ) {
+      shard.add( new Entry( key, readBytes( in ) ) );
+      key = readBytes( in );
+    }
+    return true;
+  }
+
+  /**
+   * Writes a record in the shard framing.
+   */
+  static void writeRecord( DataOutputStream out, byte[] key, byte[] value ) throws IOException {
+    out.writeInt( key.length );
+    out.write( key );
+    out.writeInt( value.length );
+    out.write( value );
+  }
+
+  /**
+   * Reads a length-prefixed byte array.
+   *
+   * @return The bytes, or null at the end of a shard.
+   */
+  static byte[] readBytes( DataInputStream in ) throws IOException {
+    int length = in.readInt();
+    if( length == END_OF_SHARD ) {
+      return null;
+    }
+    if( length < 0 ) {
+      throw new IOException( "Corrupt shard stream: negative length " + length + "." );
+    }
+    byte[] bytes = new byte[length];
+    in.readFully( bytes );
+    return bytes;
+  }
+
+  private record Entry( byte[] key, byte[] value ) {
+  }
+}
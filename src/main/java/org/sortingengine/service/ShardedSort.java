@@ -0,0 +1,312 @@
+package org.sortingengine.service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.file.Path;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.sortingengine.io.RecordCodec;
+
+/**
+ * Sorts across several worker JVMs on the same machine. This class is meant for inputs that would need one very large
+ * heap: each worker holds and sorts only its own shard in a medium-sized heap, so no single garbage collector has to
+ * trace the whole data set and pauses stay short.
+ *
+ * <p>{@link #launch(int, List)} starts the workers, each a {@link ShardWorker} running in its own JVM with the
+ * classpath of this one. The workers connect back to the coordinator on the loopback interface and stay up until
+ * {@link #close()}, so their startup cost is paid once for any number of sorts.</p>
+ *
+ * <p>A sort makes two passes over its input:</p>
+ * <ol>
+ *     <li><b>Sampling.</b> A reservoir of {@value #SAMPLES_PER_WORKER} keys per worker is drawn, sorted, and cut into
+ *     evenly spaced splitters, one fewer than there are workers.</li>
+ *     <li><b>Sharding.</b> Each record is encoded with the {@link RecordCodec} and streamed to the worker whose key
+ *     range holds its key. All records with equal keys go to the same worker.</li>
+ * </ol>
+ * <p>The workers sort their shards concurrently and stream them back. The coordinator reads the shards in key range
+ * order and decodes them to the output, so the concatenation is the sorted input and the coordinator never holds more
+ * than the sample and its socket buffers.</p>
+ *
+ * <p>Records are ordered by their encoded key bytes compared as unsigned values, so the codec must preserve order as
+ * described in {@link RecordCodec}, as the codecs of its static methods do. Comparators are not used because they
+ * cannot be sent to another JVM. The sort is stable: records with equal keys keep their input order. Heavily skewed
+ * keys put most records on one worker, since a key is never split between workers.</p>
+ *
+ * <p>Instances are thread-safe; sorts on the same instance run one at a time. If a sort fails, the workers are
+ * stopped and the instance is closed.</p>
+ */
+public final class ShardedSort implements AutoCloseable {
+
+  /**
+   * The number of sampled keys per worker used to choose the splitters.
+   */
+  public static final int SAMPLES_PER_WORKER = 128;
+
+  /**
+   * How long to wait for the workers to connect, and for them to exit on close.
+   */
+  static final long WORKER_TIMEOUT_MILLIS = 60_000;
+
+  /**
+   * How often to check for workers that exited while waiting for connections.
+   */
+  private static final long POLL_MILLIS = 200;
+
+  private static final long SAMPLE_SEED = 43;
+
+  private final List<Process> processes;
+  private final List<Socket> sockets;
+  private final List<DataInputStream> inputs = new ArrayList<>();
+  private final List<DataOutputStream> outputs = new ArrayList<>();
+  private boolean closed;
+
+  private ShardedSort( List<Process> processes, List<Socket> sockets ) throws IOException {
+    this.processes = processes;
+    this.sockets = sockets;
+    for( Socket socket : sockets ) {
+      inputs.add( new DataInputStream( new BufferedInputStream( socket.getInputStream(), ShardWorker.BUFFER_SIZE ) ) );
+      outputs.add( new DataOutputStream( new BufferedOutputStream( socket.getOutputStream(),
+          ShardWorker.BUFFER_SIZE ) ) );
+    }
+  }
+
+  /**
+   * Starts worker JVMs and waits until all of them are connected.
+   *
+   * @param workers    The number of worker JVMs. Must be positive.
+   * @param jvmOptions Options for the worker JVMs, such as {@code -Xmx512m} or {@code -XX:+UseParallelGC}. Must not
+   *                   be null.
+   * @return A sorter using the started workers.
+   * @throws IllegalArgumentException if the worker count is not positive or the options are null.
+   * @throws IOException              if a worker cannot be started or does not connect in time.
+   */
+  public static ShardedSort launch( int workers, List<String> jvmOptions ) throws IOException {
+    if( workers <= 0 ) {
+      throw new IllegalArgumentException( "The number of workers must be positive." );
+    }
+    if( jvmOptions == null ) {
+      throw new IllegalArgumentException( "The JVM options cannot be null." );
+    }
+
+    long token = new SecureRandom().nextLong();
+    List<Process> processes = new ArrayList<>();
+    List<Socket> sockets = new ArrayList<>();
+    try( ServerSocket server = new ServerSocket( 0, workers, InetAddress.getLoopbackAddress() ) ) {
+      server.setSoTimeout( (int) POLL_MILLIS );
+      List<String> command = new ArrayList<>();
+      command.add( Path.of( System.getProperty( "java.home" ), "bin", "java" ).toString() );
+      command.addAll( jvmOptions );
+      command.add( "-cp" );
+      command.add( System.getProperty( "java.class.path" ) );
+      command.add( ShardWorker.class.getName() );
+      command.add( Integer.toString( server.getLocalPort() ) );
+      command.add( Long.toString( token ) );
+      for( int i = 0; i < workers; i++ ) {
+        processes.add( new ProcessBuilder( command ).redirectOutput( ProcessBuilder.Redirect.DISCARD )
+            .redirectError( ProcessBuilder.Redirect.INHERIT ).start() );
+      }
+
+      // Workers are interchangeable, so they are taken in the order they connect; other local connections are dropped
+      long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos( WORKER_TIMEOUT_MILLIS );
+      while( sockets.size() < workers ) {
+        Socket socket;
+        try {
+          socket = server.accept();
+        } catch( SocketTimeoutException e ) {
+          for( Process process : processes ) {
+            if( !process.isAlive() ) {
+              throw new IOException( "A worker exited before connecting, with exit code " + process.exitValue()
+                  + "." );
+            }
+          }
+          if( System.nanoTime() > deadline ) {
+            throw new IOException( "The workers did not connect within " + WORKER_TIMEOUT_MILLIS + " ms." );
+          }
+          continue;
+        }
+        if( authenticate( socket, token ) ) {
+          sockets.add( socket );
+        } else {
+          socket.close();
+        }
+      }
+      return new ShardedSort( processes, sockets );
+    } catch( IOException | RuntimeException e ) {
+      stop( processes, sockets, 0 );
+      throw e;
+    }
+  }
+
+  private static boolean authenticate( Socket socket, long token ) {
+    try {
+      socket.setSoTimeout( (int) WORKER_TIMEOUT_MILLIS );
+      if( new DataInputStream( socket.getInputStream() ).readLong() != token ) {
+        return false;
+      }
+      socket.setSoTimeout( 0 );
+      socket.setTcpNoDelay( true );
+      return true;
+    } catch( IOException e ) {
+      return false;
+    }
+  }
+
+  /**
+   * Returns the number of workers.
+   *
+   * @return The worker count.
+   */
+  public int workers() {
+    return sockets.size();
+  }
+
+  /**
+   * Sorts the records of an input by their encoded keys across the workers.
+   *
+   * <p>The input is iterated twice, once to sample keys and once to send the records, and must return the same
+   * records both times.</p>
+   *
+   * <p><b>Time Complexity:</b> O(n log(n / w)) on each of w workers for evenly spread keys, plus O(n) encoding and
+   * decoding on the coordinator.</p>
+   * <p><b>Space Complexity:</b> O(w) sampled keys on the coordinator; each worker holds its shard.</p>
+   *
+   * @param <T>    The type of the records.
+   * @param input  The records to sort. Must not be null.
+   * @param codec  The order-preserving codec the records are sent with. Must not be null.
+   * @param output Receives the records in ascending key order. Must not be null.
+   * @return The number of records sorted.
+   * @throws IllegalArgumentException if any argument is null.
+   * @throws IllegalStateException    if the sorter is closed.
+   * @throws IOException              if a worker fails or exits. The sorter is closed in that case.
+   */
+  public synchronized <T> long sort( Iterable<T> input, RecordCodec<T> codec, Consumer<T> output )
+      throws IOException {
+    if( input == null ) {
+      throw new IllegalArgumentException( "The input cannot be null." );
+    }
+    if( codec == null ) {
+      throw new IllegalArgumentException( "The codec cannot be null." );
+    }
+    if( output == null ) {
+      throw new IllegalArgumentException( "The output cannot be null." );
+    }
+    if( closed ) {
+      throw new IllegalStateException( "The sorter is closed." );
+    }
+
+    try {
+      byte[][] splitters = splitters( input, codec, workers() );
+      long count = 0;
+      for( T record : input ) {
+        byte[] key = codec.encodeKey( record );
+        ShardWorker.writeRecord( outputs.get( shardOf( key, splitters ) ), key, codec.encodeValue( record ) );
+        count++;
+      }
+      for( DataOutputStream out : outputs ) {
+        out.writeInt( ShardWorker.END_OF_SHARD );
+        out.flush();
+      }
+
+      // Later workers finish sorting while earlier shards are being read, and then wait on their socket buffers
+      for( DataInputStream in : inputs ) {
+        for( byte[] key = ShardWorker.readBytes( in ); key != null; key = ShardWorker.readBytes( in ) ) {
+          output.accept( codec.decode( key, ShardWorker.readBytes( in ) ) );
+        }
+      }
+      return count;
+    } catch( IOException | RuntimeException e ) {
+      // The streams are out of step with the workers, so they cannot be used for another sort
+      close();
+      throw e;
+    }
+  }
+
+  /**
+   * Draws a reservoir sample of keys and returns {@code workers - 1} evenly spaced splitters from it, in ascending
+   * order.
+   */
+  static <T> byte[][] splitters( Iterable<T> input, RecordCodec<T> codec, int workers ) {
+    byte[][] sample = new byte[SAMPLES_PER_WORKER * workers][];
+    Random rand = new Random( SAMPLE_SEED );
+    long seen = 0;
+    for( T record : input ) {
+      long slot = seen < sample.length ? seen : (long) ( rand.nextDouble() * ( seen + 1 ) );
+      if( slot < sample.length ) {
+        sample[(int) slot] = codec.encodeKey( record );
+      }
+      seen++;
+    }
+
+    int size = (int) Math.min( seen, sample.length );
+    byte[][] sorted = Arrays.copyOf( sample, size );
+    Arrays.sort( sorted, Arrays::compareUnsigned );
+    byte[][] splitters = new byte[size == 0 ? 0 : workers - 1][];
+    for( int i = 0; i < splitters.length; i++ ) {
+      splitters[i] = sorted[(int) ( (long) size * ( i + 1 ) / workers )];
+    }
+    return splitters;
+  }
+
+  /**
+   * Returns the shard of a key: the number of splitters at or below it.
+   */
+  static int shardOf( byte[] key, byte[][] splitters ) {
+    int low = 0;
+    int high = splitters.length;
+    while( low < high ) {
+      int mid = ( low + high ) >>> 1;
+      if( Arrays.compareUnsigned( splitters[mid], key ) <= 0 ) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Disconnects the workers, which then exit, and waits for them. Workers that do not exit in time are killed.
+   */
+  @Override
+  public synchronized void close() {
+    if( closed ) {
+      return;
+    }
+    closed = true;
+    stop( processes, sockets, WORKER_TIMEOUT_MILLIS );
+  }
+
+  private static void stop( List<Process> processes, List<Socket> sockets, long timeoutMillis ) {
+    for( Socket socket : sockets ) {
+      try {
+        socket.close();
+      } catch( IOException e ) {
+        // The worker exits on its own or is killed below
+      }
+    }
+    long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos( timeoutMillis );
+    for( Process process : processes ) {
+      try {
+        if( !process.waitFor( Math.max( 0, deadline - System.nanoTime() ), TimeUnit.NANOSECONDS ) ) {
+          process.destroyForcibly();
+        }
+      } catch( InterruptedException e ) {
+        process.destroyForcibly();
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+}
@@ -0,0 +1,245 @@
+package org.sortingengine.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.sortingengine.algo.sorting.MergeSort;
+import org.sortingengine.algo.sorting.MergeSorter;
+
+/**
+ * Runs sort requests asynchronously on virtual threads. This class is meant for service tiers where many request
+ * threads each need a small list sorted: instead of every caller sorting on its own platform thread, callers hand
+ * their list to the executor and receive a {@code CompletableFuture} for the sorted copy.
+ *
+ * <p>Submitted jobs are placed on a bounded queue. A single dispatcher drains the queue and coalesces consecutive
+ * small jobs into batches of up to {@code batchSize} jobs, each batch being sorted on one virtual thread. Jobs larger
+ * than {@code smallJobThreshold} elements are dispatched on their own. When the queue is full, {@link #submit} blocks
+ * the caller until space is available, which gives the service natural back-pressure instead of unbounded memory
+ * growth.</p>
+ *
+ * <p>Sorting is done with a {@link MergeSorter}, so results are stable and identical to
+ * {@link MergeSort#mergeSort(List, Comparator)}. Sorters and their scratch arrays are borrowed from a small pool and
+ * returned after each batch. A pool is used rather than {@link MergeSorter#threadLocal()} because virtual threads are
+ * not reused between batches, so per-thread sorters would be allocated anew every time.</p>
+ *
+ * <p>Instances are thread-safe. {@link #close()} stops accepting new jobs, lets queued jobs finish and releases the
+ * dispatcher.</p>
+ */
+public final class SortExecutor implements AutoCloseable {
+
+  /**
+   * Default capacity of the job queue.
+   */
+  public static final int DEFAULT_QUEUE_CAPACITY = 4096;
+
+  /**
+   * Default maximum number of jobs sorted together on one virtual thread.
+   */
+  public static final int DEFAULT_BATCH_SIZE = 32;
+
+  /**
+   * Default size, in elements, above which a job is never coalesced with others.
+   */
+  public static final int DEFAULT_SMALL_JOB_THRESHOLD = 1024;
+
+  private static final Job<?> POISON = new Job<>( List.of(), ( a, b ) -> 0 );
+
+  private final BlockingQueue<Job<?>> queue;
+  private final BlockingQueue<MergeSorter> sorterPool;
+  private final ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+  private final int batchSize;
+  private final int smallJobThreshold;
+  private final Thread dispatcher;
+  private final AtomicBoolean closed = new AtomicBoolean();
+
+  /**
+   * Creates an executor with the default queue capacity, batch size and small-job threshold.
+   */
+  public SortExecutor() {
+    this( DEFAULT_QUEUE_CAPACITY, DEFAULT_BATCH_SIZE, DEFAULT_SMALL_JOB_THRESHOLD );
+  }
+
+  /**
+   * Creates an executor with the given limits.
+   *
+   * @param queueCapacity     The maximum number of jobs waiting to be dispatched. Must be positive.
+   * @param batchSize         The maximum number of small jobs sorted together on one virtual thread. Must be
+   *                          positive.
+   * @param smallJobThreshold The size, in elements, up to which a job may be coalesced with others. Must not be
+   *                          negative.
+   * @throws IllegalArgumentException if any limit is out of range.
+   */
+  public SortExecutor( int queueCapacity, int batchSize, int smallJobThreshold ) {
+    if( queueCapacity <= 0 ) {
+      throw new IllegalArgumentException( "Queue capacity must be positive." );
+    }
+    if( batchSize <= 0 ) {
+      throw new IllegalArgumentException( "Batch size must be positive." );
+    }
+    if( smallJobThreshold < 0 ) {
+      throw new IllegalArgumentException( "Small job threshold cannot be negative." );
+    }
+    this.queue = new ArrayBlockingQueue<>( queueCapacity );
+    this.batchSize = batchSize;
+    this.smallJobThreshold = smallJobThreshold;
+
+    int poolSize = Runtime.getRuntime().availableProcessors() * 2;
+    this.sorterPool = new ArrayBlockingQueue<>( poolSize );
+    for( int i = 0; i < poolSize; i++ ) {
+      sorterPool.add( new MergeSorter() );
+    }
+
+    this.dispatcher = Thread.ofVirtual().name( "sort-executor-dispatcher" ).start( this::dispatchLoop );
+  }
+
+  /**
+   * Submits a list to be sorted asynchronously.
+   *
+   * <p>The list is not modified; the returned future completes with a new sorted list, or exceptionally if the
+   * comparator throws. If the job queue is full, this method blocks until space becomes available.</p>
+   *
+   * @param <T>        The type of elements in the list.
+   * @param list       The list to be sorted. Must not be null and must not be modified until the future completes.
+   * @param comparator The comparator to determine the order of the elements. Must not be null.
+   * @return A future completing with a new list containing the sorted elements of the original list.
+   * @throws IllegalArgumentException if the list or comparator is null.
+   * @throws IllegalStateException    if the executor has been closed or the calling thread is interrupted while
+   *                                  waiting for queue space.
+   */
+  public <T> CompletableFuture<List<T>> submit( List<T> list, Comparator<T> comparator ) {
+    if( list == null ) {
+      throw new IllegalArgumentException( "The list cannot be null." );
+    }
+    if( comparator == null ) {
+      throw new IllegalArgumentException( "Comparator cannot be null." );
+    }
+    if( closed.get() ) {
+      throw new IllegalStateException( "The executor has been closed." );
+    }
+
+    Job<T> job = new Job<>( list, comparator );
+    try {
+      queue.put( job );
+    } catch( InterruptedException e ) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException( "Interrupted while waiting for queue space.", e );
+    }
+    // A job enqueued while close() was running may sit behind the poison pill after the queue has been drained. If
+    // it is still queued, nothing will ever run it, so it is failed here; otherwise it was either dispatched or
+    // failed by close().
+    if( closed.get() && queue.remove( job ) ) {
+      job.future.completeExceptionally( new IllegalStateException( "The executor has been closed." ) );
+    }
+    return job.future;
+  }
+
+  /**
+   * Returns the number of jobs currently waiting to be dispatched.
+   *
+   * @return The current queue length.
+   */
+  public int queuedJobs() {
+    return queue.size();
+  }
+
+  /**
+   * Stops accepting new jobs and waits for the queued ones to finish.
+   */
+  @Override
+  public void close() {
+    if( !closed.compareAndSet( false, true ) ) {
+      return;
+    }
+    try {
+      queue.put( POISON );
+      dispatcher.join();
+      // Jobs that raced with close() and landed behind the poison pill are failed rather than left hanging
+      for( Job<?> job = queue.poll(); job != null; job = queue.poll() ) {
+        job.future.completeExceptionally( new IllegalStateException( "The executor has been closed." ) );
+      }
+      workers.shutdown();
+      workers.awaitTermination( Long.MAX_VALUE, TimeUnit.NANOSECONDS );
+    } catch( InterruptedException e ) {
+      Thread.currentThread().interrupt();
+      workers.shutdownNow();
+    }
+  }
+
+  private void dispatchLoop() {
+    List<Job<?>> batch = new ArrayList<>( batchSize );
+    try {
+      while( true ) {
+        Job<?> first = queue.take();
+        if( first == POISON ) {
+          return;
+        }
+        if( first.list.size() > smallJobThreshold ) {
+          workers.execute( () -> runBatch( List.of( first ) ) );
+          continue;
+        }
+
+        // Coalesce whatever small jobs are already waiting behind the first one
+        batch.add( first );
+        while( batch.size() < batchSize ) {
+          Job<?> next = queue.peek();
+          if( next == null || next == POISON || next.list.size() > smallJobThreshold ) {
+            break;
+          }
+          batch.add( queue.poll() );
+        }
+        List<Job<?>> dispatched = List.copyOf( batch );
+        batch.clear();
+        workers.execute( () -> runBatch( dispatched ) );
+      }
+    } catch( InterruptedException e ) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void runBatch( List<Job<?>> batch ) {
+    MergeSorter sorter = sorterPool.poll();
+    if( sorter == null ) {
+      sorter = new MergeSorter();
+    }
+    try {
+      for( Job<?> job : batch ) {
+        job.run( sorter );
+      }
+    } finally {
+      sorterPool.offer( sorter );
+    }
+  }
+
+  /**
+   * A single submitted sort request and the future it completes.
+   */
+  private static final class Job<T> {
+    private final List<T> list;
+    private final Comparator<T> comparator;
+    private final CompletableFuture<List<T>> future = new CompletableFuture<>();
+
+    Job( List<T> list, Comparator<T> comparator ) {
+      this.list = list;
+      this.comparator = comparator;
+    }
+
+    void run( MergeSorter sorter ) {
+      try {
+        List<T> sortedList = new ArrayList<>( list );
+        sorter.sort( sortedList, comparator );
+        future.complete( sortedList );
+      } catch( Throwable e ) {
+        // Errors such as StackOverflowError from a deep comparator must still complete the future
+        future.completeExceptionally( e );
+      }
+    }
+  }
+}
@@ -0,0 +1,18 @@
+package org.sortingengine.service;
+
+/**
+ * Describes how a {@link BudgetedSort} ran and how much memory it used.
+ *
+ * @param strategy           The strategy that was chosen.
+ * @param budgetBytes        The memory budget the sort was given, in bytes.
+ * @param estimatedPeakBytes The estimated peak of the memory the sort held at once, in bytes. It can exceed the
+ *                           budget only when the budget is too small for a single run and merge to fit.
+ * @param allocatedBytes     The bytes the calling thread allocated during the sort, as measured by the JVM, or -1 if
+ *                           the JVM does not measure it. It includes the result and short-lived garbage, so it is an
+ *                           upper bound of the heap growth rather than a peak.
+ * @param runCount           The number of run files written, including those of intermediate merge passes; 0 unless
+ *                           the strategy is {@link SortStrategy#SPILL}.
+ */
+public record SortReport( SortStrategy strategy, long budgetBytes, long estimatedPeakBytes, long allocatedBytes,
+                          int runCount ) {
+}
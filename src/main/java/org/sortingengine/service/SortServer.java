@@ -0,0 +1,590 @@
+package org.sortingengine.service;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.sortingengine.algo.sorting.MergeSort;
+import org.sortingengine.algo.sorting.ParallelQuickSort;
+import org.sortingengine.algo.sorting.PdqSort;
+import org.sortingengine.algo.sorting.QuickSort;
+
+/**
+ * An embedded HTTP server that sorts request payloads, for processes outside the JVM that need a sort without
+ * starting one. It is built on the JDK's {@code com.sun.net.httpserver} and handles every exchange on its own virtual
+ * thread, so a slow client holds no platform thread.
+ *
+ * <p>{@code POST /sort} sorts the request body and streams the result back. The sort is described by query
+ * parameters:</p>
+ * <ul>
+ *     <li>{@code type}: {@code lines} (the default) for newline-delimited UTF-8 text ordered by
+ *     {@link String#compareTo(String)}, or {@code int} or {@code long} for numbers.</li>
+ *     <li>{@code format}: {@code text} (the default) for one element per line, or {@code binary} for numbers as
+ *     big-endian 4- or 8-byte values. The response uses the format of the request.</li>
+ *     <li>{@code order}: {@code asc} (the default) or {@code desc}.</li>
+ *     <li>{@code algorithm}: for numbers above {@link SortExecutor#DEFAULT_SMALL_JOB_THRESHOLD} elements, one of
+ *     {@code pdq} (the default, {@link PdqSort}), {@code quick} ({@link QuickSort}), {@code merge}
+ *     ({@link MergeSort}) or {@code parallel} ({@link ParallelQuickSort}).</li>
+ * </ul>
+ *
+ * <p>Text payloads and small numeric payloads are sorted through a {@link SortExecutor}, which coalesces small
+ * requests arriving together into batches. Larger numeric payloads are sorted as primitive arrays on the handling
+ * thread with the requested algorithm. A malformed request is answered with status 400 and a one-line message.</p>
+ *
+ * <p>Request bodies are held in memory, so their size is limited, to {@value #DEFAULT_MAX_BODY_BYTES} bytes unless
+ * another limit is given when the server is started. A request whose {@code Content-Length} exceeds the limit is
+ * rejected before its body is read, and a body without a length is counted while it is read and rejected as soon as
+ * it passes the limit. Both are answered with status 413.</p>
+ *
+ * <p>{@code GET /stats} returns the {@link SortServerStats} counters as {@code name=value} lines, for load generators
+ * and monitoring. The same snapshot is available in process from {@link #stats()}.</p>
+ */
+public final class SortServer implements AutoCloseable {
+
+  /**
+   * The default maximum size, in bytes, of a request body.
+   */
+  public static final int DEFAULT_MAX_BODY_BYTES = 64 * 1024 * 1024;
+
+  /**
+   * The number of latency histogram buckets; bucket {@code b} counts latencies below 2<sup>b</sup> microseconds.
+   */
+  static final int LATENCY_BUCKETS = 64;
+
+  /**
+   * The number of seconds {@link #close()} waits for exchanges in progress.
+   */
+  static final int STOP_DELAY_SECONDS = 1;
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private final HttpServer server;
+  private final ExecutorService handlers = Executors.newVirtualThreadPerTaskExecutor();
+  private final SortExecutor executor;
+  private final boolean ownsExecutor;
+  private final int maxBodyBytes;
+  private final long startedAt;
+  private volatile long startupNanos;
+  private final LongAdder requests = new LongAdder();
+  private final LongAdder failedRequests = new LongAdder();
+  private final LongAdder elements = new LongAdder();
+  private final LongAdder bytesIn = new LongAdder();
+  private final LongAdder bytesOut = new LongAdder();
+  private final LongAdder totalLatencyNanos = new LongAdder();
+  private final AtomicLong maxLatencyNanos = new AtomicLong();
+  private final AtomicLongArray latencyHistogram = new AtomicLongArray( LATENCY_BUCKETS );
+
+  private SortServer( HttpServer server, SortExecutor executor, boolean ownsExecutor, int maxBodyBytes,
+                      long startedAt ) {
+    this.server = server;
+    this.executor = executor;
+    this.ownsExecutor = ownsExecutor;
+    this.maxBodyBytes = maxBodyBytes;
+    this.startedAt = startedAt;
+  }
+
+  /**
+   * Starts a server with its own {@link SortExecutor}, which is closed with the server.
+   *
+   * @param address The address to listen on; port 0 picks a free port. Must not be null.
+   * @return The running server.
+   * @throws IllegalArgumentException if the address is null.
+   * @throws IOException              if the address cannot be bound.
+   */
+  public static SortServer start( InetSocketAddress address ) throws IOException {
+    return start( address, DEFAULT_MAX_BODY_BYTES );
+  }
+
+  /**
+   * Starts a server with its own {@link SortExecutor}, which is closed with the server, and a limit on the size of
+   * request bodies.
+   *
+   * @param address      The address to listen on; port 0 picks a free port. Must not be null.
+   * @param maxBodyBytes The maximum size, in bytes, of a request body. Must be positive.
+   * @return The running server.
+   * @throws IllegalArgumentException if the address is null or the limit is not positive.
+   * @throws IOException              if the address cannot be bound.
+   */
+  public static SortServer start( InetSocketAddress address, int maxBodyBytes ) throws IOException {
+    if( address == null ) {
+      throw new IllegalArgumentException( "The address cannot be null." );
+    }
+    if( maxBodyBytes <= 0 ) {
+      throw new IllegalArgumentException( "The maximum body size must be positive." );
+    }
+    long startedAt = System.nanoTime();
+    SortExecutor executor = new SortExecutor();
+    try {
+      return start( address, executor, true, maxBodyBytes, startedAt );
+    } catch( IOException | RuntimeException e ) {
+      executor.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Starts a server that sorts through a shared {@link SortExecutor}, which is left open when the server is closed.
+   *
+   * @param address  The address to listen on; port 0 picks a free port. Must not be null.
+   * @param executor The executor to sort text and small payloads with. Must not be null.
+   * @return The running server.
+   * @throws IllegalArgumentException if the address or executor is null.
+   * @throws IOException              if the address cannot be bound.
+   */
+  public static SortServer start( InetSocketAddress address, SortExecutor executor ) throws IOException {
+    return start( address, executor, DEFAULT_MAX_BODY_BYTES );
+  }
+
+  /**
+   * Starts a server that sorts through a shared {@link SortExecutor}, which is left open when the server is closed,
+   * with a limit on the size of request bodies.
+   *
+   * @param address      The address to listen on; port 0 picks a free port. Must not be null.
+   * @param executor     The executor to sort text and small payloads with. Must not be null.
+   * @param maxBodyBytes The maximum size, in bytes, of a request body. Must be positive.
+   * @return The running server.
+   * @throws IllegalArgumentException if the address or executor is null, or the limit is not positive.
+   * @throws IOException              if the address cannot be bound.
+   */
+  public static SortServer start( InetSocketAddress address, SortExecutor executor, int maxBodyBytes )
+      throws IOException {
+    if( address == null ) {
+      throw new IllegalArgumentException( "The address cannot be null." );
+    }
+    if( executor == null ) {
+      throw new IllegalArgumentException( "The executor cannot be null." );
+    }
+    if( maxBodyBytes <= 0 ) {
+      throw new IllegalArgumentException( "The maximum body size must be positive." );
+    }
+    return start( address, executor, false, maxBodyBytes, System.nanoTime() );
+  }
+
+  private static SortServer start( InetSocketAddress address, SortExecutor executor, boolean ownsExecutor,
+                                   int maxBodyBytes, long startedAt ) throws IOException {
+    HttpServer httpServer = HttpServer.create( address, 0 );
+    SortServer sortServer = new SortServer( httpServer, executor, ownsExecutor, maxBodyBytes, startedAt );
+    httpServer.setExecutor( sortServer.handlers );
+    httpServer.createContext( "/sort", sortServer::handleSort );
+    httpServer.createContext( "/stats", sortServer::handleStats );
+    httpServer.start();
+    sortServer.startupNanos = System.nanoTime() - startedAt;
+    return sortServer;
+  }
+
+  /**
+   * Returns the address the server listens on, with the actual port if it was started on port 0.
+   *
+   * @return The bound address.
+   */
+  public InetSocketAddress address() {
+    return server.getAddress();
+  }
+
+  /**
+   * Returns a snapshot of the server's counters.
+   *
+   * @return The current counters.
+   */
+  public SortServerStats stats() {
+    long count = 0;
+    long[] buckets = new long[LATENCY_BUCKETS];
+    for( int b = 0; b < LATENCY_BUCKETS; b++ ) {
+      buckets[b] = latencyHistogram.get( b );
+      count += buckets[b];
+    }
+    long handled = requests.sum();
+    return new SortServerStats( startupNanos / 1_000, ( System.nanoTime() - startedAt ) / 1_000_000, handled,
+        failedRequests.sum(), elements.sum(), bytesIn.sum(), bytesOut.sum(), executor.queuedJobs(),
+        handled == 0 ? 0 : totalLatencyNanos.sum() / handled / 1_000, percentile( buckets, count, 0.50 ),
+        percentile( buckets, count, 0.99 ), maxLatencyNanos.get() / 1_000 );
+  }
+
+  /**
+   * Stops the server, waiting up to {@value #STOP_DELAY_SECONDS} second for exchanges in progress, and closes the
+   * executor if the server created it.
+   */
+  @Override
+  public void close() {
+    server.stop( STOP_DELAY_SECONDS );
+    handlers.close();
+    if( ownsExecutor ) {
+      executor.close();
+    }
+  }
+
+  private void handleSort( HttpExchange exchange ) throws IOException {
+    long start = System.nanoTime();
+    boolean failed = true;
+    try( exchange ) {
+      if( !exchange.getRequestMethod().equals( "POST" ) ) {
+        reply( exchange, 405, "Only POST is supported." );
+        return;
+      }
+      byte[] body = readBody( exchange );
+      if( body == null ) {
+        reply( exchange, 413, "The request body exceeds " + maxBodyBytes + " bytes." );
+        return;
+      }
+
+      SortSpec spec;
+      Payload payload;
+      try {
+        spec = SortSpec.parse( exchange.getRequestURI().getRawQuery() );
+        payload = parse( body, spec );
+      } catch( IllegalArgumentException e ) {
+        reply( exchange, 400, e.getMessage() );
+        return;
+      }
+
+      try {
+        payload = sort( payload, spec );
+      } catch( CompletionException | IllegalStateException e ) {
+        reply( exchange, 503, "The sort could not be run: " + e.getMessage() );
+        return;
+      }
+      elements.add( payload.size() );
+
+      exchange.getResponseHeaders().set( "Content-Type",
+          spec.binary() ? "application/octet-stream" : "text/plain; charset=utf-8" );
+      exchange.sendResponseHeaders( 200, 0 );
+      CountingOutputStream counter = new CountingOutputStream( exchange.getResponseBody() );
+      try( DataOutputStream out = new DataOutputStream( new BufferedOutputStream( counter, BUFFER_SIZE ) ) ) {
+        write( out, payload, spec );
+      }
+      bytesOut.add( counter.count );
+      failed = false;
+    } finally {
+      record( System.nanoTime() - start, failed );
+    }
+  }
+
+  /**
+   * Reads the request body, or returns null without reading it all if it exceeds the maximum body size.
+   */
+  private byte[] readBody( HttpExchange exchange ) throws IOException {
+    String contentLength = exchange.getRequestHeaders().getFirst( "Content-Length" );
+    if( contentLength != null ) {
+      try {
+        if( Long.parseLong( contentLength.trim() ) > maxBodyBytes ) {
+          return null;
+        }
+      } catch( NumberFormatException e ) {
+        // Leave a malformed length to the counted read below
+      }
+    }
+    // Reading one byte past the limit tells a body at the limit from a longer one without a length
+    int limit = (int) Math.min( maxBodyBytes + 1L, Integer.MAX_VALUE - 8 );
+    byte[] body = exchange.getRequestBody().readNBytes( limit );
+    bytesIn.add( body.length );
+    return body.length > maxBodyBytes ? null : body;
+  }
+
+  private void handleStats( HttpExchange exchange ) throws IOException {
+    try( exchange ) {
+      SortServerStats stats = stats();
+      String text = "startupMicros=" + stats.startupMicros() + "\n"
+          + "uptimeMillis=" + stats.uptimeMillis() + "\n"
+          + "requests=" + stats.requests() + "\n"
+          + "failedRequests=" + stats.failedRequests() + "\n"
+          + "elements=" + stats.elements() + "\n"
+          + "bytesIn=" + stats.bytesIn() + "\n"
+          + "bytesOut=" + stats.bytesOut() + "\n"
+          + "queuedJobs=" + stats.queuedJobs() + "\n"
+          + "requestsPerSecond=" + String.format( Locale.ROOT, "%.1f", stats.requestsPerSecond() ) + "\n"
+          + "elementsPerSecond=" + String.format( Locale.ROOT, "%.1f", stats.elementsPerSecond() ) + "\n"
+          + "meanLatencyMicros=" + stats.meanLatencyMicros() + "\n"
+          + "p50LatencyMicros=" + stats.p50LatencyMicros() + "\n"
+          + "p99LatencyMicros=" + stats.p99LatencyMicros() + "\n"
+          + "maxLatencyMicros=" + stats.maxLatencyMicros() + "\n";
+      reply( exchange, 200, text );
+    }
+  }
+
+  private void record( long latencyNanos, boolean failed ) {
+    requests.increment();
+    if( failed ) {
+      failedRequests.increment();
+    }
+    totalLatencyNanos.add( latencyNanos );
+    maxLatencyNanos.accumulateAndGet( latencyNanos, Math::max );
+    long micros = latencyNanos / 1_000;
+    latencyHistogram.incrementAndGet( Math.min( LATENCY_BUCKETS - 1, 64 - Long.numberOfLeadingZeros( micros ) ) );
+  }
+
+  /**
+   * Returns the upper bound of the histogram bucket holding the given quantile, in microseconds.
+   */
+  static long percentile( long[] buckets, long count, double quantile ) {
+    long rank = (long) Math.ceil( count * quantile );
+    long seen = 0;
+    for( int b = 0; b < buckets.length; b++ ) {
+      seen += buckets[b];
+      if( seen >= rank && seen > 0 ) {
+        return b == 0 ? 0 : 1L << Math.min( b, 62 );
+      }
+    }
+    return 0;
+  }
+
+  private Payload parse( byte[] body, SortSpec spec ) {
+    if( spec.type() == Type.LINES ) {
+      return new Payload( lines( body ), null, null );
+    }
+    int width = spec.type() == Type.INT ? Integer.BYTES : Long.BYTES;
+    if( spec.binary() ) {
+      if( body.length % width != 0 ) {
+        throw new IllegalArgumentException( "A binary payload must be a multiple of " + width + " bytes." );
+      }
+      ByteBuffer buffer = ByteBuffer.wrap( body );
+      if( spec.type() == Type.INT ) {
+        int[] values = new int[body.length / width];
+        buffer.asIntBuffer().get( values );
+        return new Payload( null, values, null );
+      }
+      long[] values = new long[body.length / width];
+      buffer.asLongBuffer().get( values );
+      return new Payload( null, null, values );
+    }
+
+    List<String> lines = lines( body );
+    if( spec.type() == Type.INT ) {
+      int[] values = new int[lines.size()];
+      for( int i = 0; i < values.length; i++ ) {
+        values[i] = Integer.parseInt( lines.get( i ).trim() );
+      }
+      return new Payload( null, values, null );
+    }
+    long[] values = new long[lines.size()];
+    for( int i = 0; i < values.length; i++ ) {
+      values[i] = Long.parseLong( lines.get( i ).trim() );
+    }
+    return new Payload( null, null, values );
+  }
+
+  /**
+   * Splits a UTF-8 body into lines ending in {@code \n} or {@code \r\n}; a missing newline after the last line is
+   * allowed.
+   */
+  static List<String> lines( byte[] body ) {
+    List<String> lines = new ArrayList<>();
+    int start = 0;
+    for( int i = 0; i <= body.length; i++ ) {
+      if( i == body.length ? i > start : body[i] == '\n' ) {
+        int end = i > start && body[i - 1] == '\r' ? i - 1 : i;
+        lines.add( new String( body, start, end - start, StandardCharsets.UTF_8 ) );
+        start = i + 1;
+      }
+    }
+    return lines;
+  }
+
+  private Payload sort( Payload payload, SortSpec spec ) {
+    if( payload.lines() != null ) {
+      Comparator<String> order = spec.descending() ? Comparator.reverseOrder() : Comparator.naturalOrder();
+      return new Payload( executor.submit( payload.lines(), order ).join(), null, null );
+    }
+
+    // Small numeric payloads are boxed so they can be batched with other small requests
+    if( payload.size() <= SortExecutor.DEFAULT_SMALL_JOB_THRESHOLD ) {
+      if( payload.ints() != null ) {
+        List<Integer> boxed = new ArrayList<>( payload.size() );
+        for( int value : payload.ints() ) {
+          boxed.add( value );
+        }
+        List<Integer> sorted = executor.submit( boxed, Integer::compare ).join();
+        int[] values = new int[sorted.size()];
+        for( int i = 0; i < values.length; i++ ) {
+          values[i] = sorted.get( spec.descending() ? values.length - 1 - i : i );
+        }
+        return new Payload( null, values, null );
+      }
+      List<Long> boxed = new ArrayList<>( payload.size() );
+      for( long value : payload.longs() ) {
+        boxed.add( value );
+      }
+      List<Long> sorted = executor.submit( boxed, Long::compare ).join();
+      long[] values = new long[sorted.size()];
+      for( int i = 0; i < values.length; i++ ) {
+        values[i] = sorted.get( spec.descending() ? values.length - 1 - i : i );
+      }
+      return new Payload( null, null, values );
+    }
+
+    if( payload.ints() != null ) {
+      int[] values = switch( spec.algorithm() ) {
+        case "quick" -> QuickSort.quickSort( payload.ints() );
+        case "merge" -> MergeSort.mergeSort( payload.ints() );
+        case "parallel" -> ParallelQuickSort.parallelQuickSort( payload.ints() );
+        default -> PdqSort.pdqSort( payload.ints() );
+      };
+      if( spec.descending() ) {
+        for( int i = 0, j = values.length - 1; i < j; i++, j-- ) {
+          int swap = values[i];
+          values[i] = values[j];
+          values[j] = swap;
+        }
+      }
+      return new Payload( null, values, null );
+    }
+    long[] values = switch( spec.algorithm() ) {
+      case "quick" -> QuickSort.quickSort( payload.longs() );
+      case "merge" -> MergeSort.mergeSort( payload.longs() );
+      case "parallel" -> ParallelQuickSort.parallelQuickSort( payload.longs() );
+      default -> PdqSort.pdqSort( payload.longs() );
+    };
+    if( spec.descending() ) {
+      for( int i = 0, j = values.length - 1; i < j; i++, j-- ) {
+        long swap = values[i];
+        values[i] = values[j];
+        values[j] = swap;
+      }
+    }
+    return new Payload( null, null, values );
+  }
+
+  private static void write( DataOutputStream out, Payload payload, SortSpec spec ) throws IOException {
+    if( payload.lines() != null ) {
+      for( String line : payload.lines() ) {
+        out.write( line.getBytes( StandardCharsets.UTF_8 ) );
+        out.write( '\n' );
+      }
+    } else if( payload.ints() != null ) {
+      for( int value : payload.ints() ) {
+        if( spec.binary() ) {
+          out.writeInt( value );
+        } else {
+          out.writeBytes( value + "\n" );
+        }
+      }
+    } else {
+      for( long value : payload.longs() ) {
+        if( spec.binary() ) {
+          out.writeLong( value );
+        } else {
+          out.writeBytes( value + "\n" );
+        }
+      }
+    }
+  }
+
+  private static void reply( HttpExchange exchange, int status, String message ) throws IOException {
+    byte[] bytes = ( message.endsWith( "\n" ) ? message : message + "\n" ).getBytes( StandardCharsets.UTF_8 );
+    exchange.getResponseHeaders().set( "Content-Type", "text/plain; charset=utf-8" );
+    exchange.sendResponseHeaders( status, bytes.length );
+    exchange.getResponseBody().write( bytes );
+  }
+
+  /**
+   * The element types a request can sort.
+   */
+  enum Type {
+    LINES, INT, LONG
+  }
+
+  /**
+   * A parsed sort specification.
+   */
+  record SortSpec( Type type, boolean binary, boolean descending, String algorithm ) {
+
+    /**
+     * Parses the query string of a sort request.
+     *
+     * @throws IllegalArgumentException if a parameter is unknown or has an unsupported value.
+     */
+    static SortSpec parse( String rawQuery ) {
+      Type type = Type.LINES;
+      boolean binary = false;
+      boolean descending = false;
+      String algorithm = "pdq";
+      if( rawQuery != null && !rawQuery.isEmpty() ) {
+        for( String parameter : rawQuery.split( "&" ) ) {
+          int equals = parameter.indexOf( '=' );
+          String name = URLDecoder.decode( equals < 0 ? parameter : parameter.substring( 0, equals ),
+              StandardCharsets.UTF_8 );
+          String value = equals < 0 ? ""
+              : URLDecoder.decode( parameter.substring( equals + 1 ), StandardCharsets.UTF_8 );
+          switch( name ) {
+            case "type" -> type = switch( value ) {
+              case "lines" -> Type.LINES;
+              case "int" -> Type.INT;
+              case "long" -> Type.LONG;
+              default -> throw new IllegalArgumentException( "Unknown type: " + value );
+            };
+            case "format" -> binary = switch( value ) {
+              case "text" -> false;
+              case "binary" -> true;
+              default -> throw new IllegalArgumentException( "Unknown format: " + value );
+            };
+            case "order" -> descending = switch( value ) {
+              case "asc" -> false;
+              case "desc" -> true;
+              default -> throw new IllegalArgumentException( "Unknown order: " + value );
+            };
+            case "algorithm" -> {
+              if( !List.of( "pdq", "quick", "merge", "parallel" ).contains( value ) ) {
+                throw new IllegalArgumentException( "Unknown algorithm: " + value );
+              }
+              algorithm = value;
+            }
+            default -> throw new IllegalArgumentException( "Unknown parameter: " + name );
+          }
+        }
+      }
+      if( binary && type == Type.LINES ) {
+        throw new IllegalArgumentException( "The binary format needs type int or long." );
+      }
+      return new SortSpec( type, binary, descending, algorithm );
+    }
+  }
+
+  /**
+   * The elements of a request: exactly one of the fields is set.
+   */
+  private record Payload( List<String> lines, int[] ints, long[] longs ) {
+    int size() {
+      return lines != null ? lines.size() : ints != null ? ints.length : longs.length;
+    }
+  }
+
+  /**
+   * Counts the bytes written through it.
+   */
+  private static final class CountingOutputStream extends FilterOutputStream {
+    private long count;
+
+    CountingOutputStream( OutputStream out ) {
+      super( out );
+    }
+
+    @Override
+    public void write( int b ) throws IOException {
+      out.write( b );
+      count++;
+    }
+
+    @Override
+    public void write( byte[] b, int off, int len ) throws IOException {
+      out.write( b, off, len );
+      count += len;
+    }
+  }
+}
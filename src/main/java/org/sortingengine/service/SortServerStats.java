@@ -0,0 +1,44 @@
+package org.sortingengine.service;
+
+/**
+ * A snapshot of the counters of a {@link SortServer}.
+ *
+ * <p>Latency is measured from the moment a sort request is handled until its response has been written. Percentiles
+ * are read from a histogram with power-of-two buckets, so they are upper bounds accurate to within a factor of
+ * two.</p>
+ *
+ * @param startupMicros     The time it took to start the server, in microseconds.
+ * @param uptimeMillis      The time since the server started, in milliseconds.
+ * @param requests          The number of sort requests handled, including failed ones.
+ * @param failedRequests    The number of sort requests answered with an error status.
+ * @param elements          The number of elements sorted.
+ * @param bytesIn           The number of request body bytes read by sort requests.
+ * @param bytesOut          The number of response body bytes written by successful sort requests.
+ * @param queuedJobs        The number of jobs waiting in the {@link SortExecutor} when the snapshot was taken.
+ * @param meanLatencyMicros The mean latency of a sort request, in microseconds.
+ * @param p50LatencyMicros  The median latency of a sort request, in microseconds.
+ * @param p99LatencyMicros  The 99th percentile latency of a sort request, in microseconds.
+ * @param maxLatencyMicros  The highest latency of a sort request, in microseconds.
+ */
+public record SortServerStats( long startupMicros, long uptimeMillis, long requests, long failedRequests, long elements,
+                               long bytesIn, long bytesOut, int queuedJobs, long meanLatencyMicros,
+                               long p50LatencyMicros, long p99LatencyMicros, long maxLatencyMicros ) {
+
+  /**
+   * Returns the number of sort requests handled per second since the server started.
+   *
+   * @return The request throughput.
+   */
+  public double requestsPerSecond() {
+    return uptimeMillis == 0 ? 0 : requests * 1000.0 / uptimeMillis;
+  }
+
+  /**
+   * Returns the number of elements sorted per second since the server started.
+   *
+   * @return The element throughput.
+   */
+  public double elementsPerSecond() {
+    return uptimeMillis == 0 ? 0 : elements * 1000.0 / uptimeMillis;
+  }
+}
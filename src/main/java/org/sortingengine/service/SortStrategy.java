@@ -0,0 +1,24 @@
+package org.sortingengine.service;
+
+/**
+ * The execution strategies {@link BudgetedSort} chooses between.
+ */
+public enum SortStrategy {
+
+  /**
+   * The elements are sorted by Heap Sort on the result itself, with no scratch memory. Equal elements may be
+   * reordered.
+   */
+  IN_PLACE,
+
+  /**
+   * The elements are sorted in memory by Merge Sort with a merge buffer of half their number. The sort is stable.
+   */
+  BUFFERED_MERGE,
+
+  /**
+   * The elements are cut into sorted runs that fit the budget, each written to a run file, and the run files are then
+   * merged, in several passes if too many are open for the budget. The sort is stable.
+   */
+  SPILL
+}
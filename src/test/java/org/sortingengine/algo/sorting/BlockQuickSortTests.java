@@ -0,0 +1,189 @@
+package org.sortingengine.algo.sorting;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+import org.sortingengine.model.User;
+import org.sortingengine.model.Users;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BlockQuickSortTests {
+
+  @Test
+  void test_blockQuickSort_withEmptyAndSingletonList() {
+    assertTrue( BlockQuickSort.blockQuickSort( Collections.<Integer>emptyList(), Integer::compare ).isEmpty(),
+        "The sorted list should be empty." );
+    assertEquals( List.of( 7 ), BlockQuickSort.blockQuickSort( List.of( 7 ), Integer::compare ),
+        "A single element should be returned as is." );
+  }
+
+  @Test
+  void test_blockQuickSort_withDistributions() {
+    Random rand = new Random( 40 );
+    for( int n : new int[]{ 2, 23, 24, 25, 65, 257, 1_000, 4_099, 50_000 } ) {
+      for( int[] values : distributions( rand, n ) ) {
+        List<Integer> list = new ArrayList<>( n );
+        for( int value : values ) {
+          list.add( value );
+        }
+        List<Integer> expected = new ArrayList<>( list );
+        expected.sort( Integer::compare );
+        assertEquals( expected, BlockQuickSort.blockQuickSort( list, Integer::compare ),
+            "The list of size " + n + " should be sorted." );
+
+        int[] expectedInts = values.clone();
+        Arrays.sort( expectedInts );
+        assertArrayEquals( expectedInts, BlockQuickSort.blockQuickSort( values ),
+            "The int array of size " + n + " should be sorted." );
+
+        long[] longs = new long[n];
+        for( int i = 0; i < n; i++ ) {
+          longs[i] = (long) values[i] * 0x1_0000_0001L;
+        }
+        long[] expectedLongs = longs.clone();
+        Arrays.sort( expectedLongs );
+        assertArrayEquals( expectedLongs, BlockQuickSort.blockQuickSort( longs ),
+            "The long array of size " + n + " should be sorted." );
+      }
+    }
+  }
+
+  @Test
+  void test_blockQuickSort_withExtremeValues() {
+    int[] ints = { Integer.MAX_VALUE, 0, Integer.MIN_VALUE, -1, 1, Integer.MIN_VALUE, Integer.MAX_VALUE };
+    int[] expectedInts = ints.clone();
+    Arrays.sort( expectedInts );
+    assertArrayEquals( expectedInts, BlockQuickSort.blockQuickSort( ints ), "Extreme ints should be sorted." );
+
+    long[] longs = new Random( 41 ).longs( 5_000 ).toArray();
+    longs[0] = Long.MIN_VALUE;
+    longs[1] = Long.MAX_VALUE;
+    long[] expectedLongs = longs.clone();
+    Arrays.sort( expectedLongs );
+    assertArrayEquals( expectedLongs, BlockQuickSort.blockQuickSort( longs ), "Extreme longs should be sorted." );
+  }
+
+  @Test
+  void test_blockQuickSort_leavesInputUnmodified() {
+    List<Integer> list = Arrays.asList( 5, 3, 1, 4, 2 );
+    int[] ints = { 5, 3, 1, 4, 2 };
+    BlockQuickSort.blockQuickSort( list, Integer::compare );
+    BlockQuickSort.blockQuickSort( ints );
+    assertEquals( Arrays.asList( 5, 3, 1, 4, 2 ), list, "The original list should be unmodified." );
+    assertArrayEquals( new int[]{ 5, 3, 1, 4, 2 }, ints, "The original array should be unmodified." );
+  }
+
+  @Test
+  void test_blockQuickSort_withCustomComparator() {
+    List<User> users = Users.random( 2_000, 300, 42 );
+    Comparator<User> order = Comparator.comparingInt( User::id ).thenComparing( User::name ).reversed();
+    List<User> expected = new ArrayList<>( users );
+    expected.sort( order );
+    assertEquals( expected, BlockQuickSort.blockQuickSort( users, order ), "Users should be sorted." );
+  }
+
+  @Test
+  void test_blockQuickSort_withDuplicatesStaysLinearithmic() {
+    int n = 100_000;
+    for( int distinct : new int[]{ 1, 2, 16 } ) {
+      List<Integer> list = new ArrayList<>( n );
+      Random rand = new Random( 43 );
+      for( int i = 0; i < n; i++ ) {
+        list.add( rand.nextInt( distinct ) );
+      }
+      AtomicLong comparisons = new AtomicLong();
+      BlockQuickSort.blockQuickSort( list, ( a, b ) -> {
+        comparisons.incrementAndGet();
+        return Integer.compare( a, b );
+      } );
+      // Each distinct value costs about two linear passes once it has been chosen as a pivot
+      long bound = 4L * n * ( 32 - Integer.numberOfLeadingZeros( distinct ) + 1 );
+      assertTrue( comparisons.get() < bound,
+          distinct + " distinct values took " + comparisons.get() + " comparisons." );
+    }
+  }
+
+  @Test
+  void test_partitionRight_reportsPartitionedRange() {
+    Integer[] partitioned = { 5, 1, 2, 3, 6, 7, 8 };
+    int result = BlockQuickSort.partitionRight( partitioned, 0, partitioned.length, Integer::compare, new int[128],
+        new int[128] );
+    assertTrue( BlockQuickSort.wasPartitioned( result ), "No element had to move." );
+    assertEquals( 3, BlockQuickSort.pivotIndex( result ), "The pivot should land after the smaller elements." );
+    assertArrayEquals( new Integer[]{ 3, 1, 2, 5, 6, 7, 8 }, partitioned, "Only the pivot should move." );
+
+    int[] mixed = { 5, 9, 1, 8, 2, 7, 3, 6 };
+    result = BlockQuickSort.partitionRight( mixed, 0, mixed.length, new int[128], new int[128] );
+    int pivot = BlockQuickSort.pivotIndex( result );
+    assertFalse( BlockQuickSort.wasPartitioned( result ), "Elements had to move." );
+    assertEquals( 5, mixed[pivot], "The pivot should be in its final place." );
+    for( int i = 0; i < mixed.length; i++ ) {
+      assertTrue( i < pivot ? mixed[i] < 5 : mixed[i] >= 5, "Element " + i + " is on the wrong side." );
+    }
+  }
+
+  @Test
+  void test_heapSort_sortsPrimitiveRange() {
+    // The fallback for partitions that go too deep, checked directly because well-chosen pivots rarely reach it
+    int[] ints = new Random( 44 ).ints( 1_000, 0, 100 ).toArray();
+    long[] longs = new Random( 45 ).longs( 1_000 ).toArray();
+    int[] expectedInts = ints.clone();
+    long[] expectedLongs = longs.clone();
+    Arrays.sort( expectedInts, 100, 900 );
+    Arrays.sort( expectedLongs, 100, 900 );
+    BlockQuickSort.heapSort( ints, 100, 900 );
+    BlockQuickSort.heapSort( longs, 100, 900 );
+    assertArrayEquals( expectedInts, ints, "Only the int range should be sorted." );
+    assertArrayEquals( expectedLongs, longs, "Only the long range should be sorted." );
+  }
+
+  @Test
+  void test_blockQuickSort_withNullArguments() {
+    assertThrows( IllegalArgumentException.class, () -> BlockQuickSort.blockQuickSort( null, Integer::compare ),
+        "A null list should be rejected." );
+    assertThrows( IllegalArgumentException.class, () -> BlockQuickSort.blockQuickSort( List.of( 1 ), null ),
+        "A null comparator should be rejected." );
+    assertThrows( IllegalArgumentException.class, () -> BlockQuickSort.blockQuickSort( (int[]) null ),
+        "A null int array should be rejected." );
+    assertThrows( IllegalArgumentException.class, () -> BlockQuickSort.blockQuickSort( (long[]) null ),
+        "A null long array should be rejected." );
+  }
+
+  /**
+   * Returns random, sorted, reversed, organ-pipe, sawtooth, few-distinct and all-equal arrays of length n.
+   */
+  static List<int[]> distributions( Random rand, int n ) {
+    List<int[]> arrays = new ArrayList<>();
+    arrays.add( rand.ints( n ).toArray() );
+    int[] sorted = new int[n];
+    int[] reversed = new int[n];
+    int[] organPipe = new int[n];
+    int[] sawtooth = new int[n];
+    int[] fewDistinct = new int[n];
+    for( int i = 0; i < n; i++ ) {
+      sorted[i] = i;
+      reversed[i] = n - i;
+      organPipe[i] = Math.min( i, n - i );
+      sawtooth[i] = i % 97;
+      fewDistinct[i] = rand.nextInt( 4 );
+    }
+    arrays.add( sorted );
+    arrays.add( reversed );
+    arrays.add( organPipe );
+    arrays.add( sawtooth );
+    arrays.add( fewDistinct );
+    arrays.add( new int[n] );
+    return arrays;
+  }
+}
@@ -0,0 +1,115 @@
+package org.sortingengine.algo.sorting;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.sortingengine.model.User;
+import org.sortingengine.model.Users;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BucketSortTests {
+
+  private static final Comparator<User> BY_ID = Comparator.comparingInt( User::id );
+
+  @Test
+  void test_bucketSort_withUniformLongs() {
+    Random rand = new Random( 56 );
+    for( int n : new int[]{ 0, 1, 2, 33, 1_000, 100_000, 1_000_000 } ) {
+      long[] array = rand.longs( n ).toArray();
+      long[] expected = array.clone();
+      Arrays.sort( expected );
+      long[] original = array.clone();
+      assertArrayEquals( expected, BucketSort.bucketSort( array ),
+          "Uniform longs of size " + n + " should be sorted." );
+      assertArrayEquals( original, array, "The input array should not be modified." );
+    }
+  }
+
+  @Test
+  void test_bucketSort_withSkewedLongs() {
+    Random rand = new Random( 57 );
+    long[][] inputs = {
+        // Almost all keys in one bucket, with a single outlier stretching the range
+        rand.longs( 200_000, 0, 1_000 ).map( key -> key == 0 ? Long.MAX_VALUE : key ).toArray(),
+        // The extremes of the key space
+        rand.longs( 50_000 ).map( key -> key % 3 == 0 ? Long.MIN_VALUE : key % 3 == 1 ? Long.MAX_VALUE : key )
+            .toArray(),
+        // Exponentially distributed keys, clustered near zero
+        rand.doubles( 100_000 ).mapToLong( x -> (long) Math.exp( 40 * x ) ).toArray(),
+        // Many duplicates, and a single value repeated throughout
+        rand.longs( 100_000, 0, 4 ).toArray(), new long[10_000]
+    };
+    for( long[] array : inputs ) {
+      long[] expected = array.clone();
+      Arrays.sort( expected );
+      assertArrayEquals( expected, BucketSort.bucketSort( array ), "Skewed longs should be sorted." );
+    }
+  }
+
+  @Test
+  void test_bucketSort_withInts() {
+    Random rand = new Random( 58 );
+    for( int n : new int[]{ 0, 1, 100, 300_000 } ) {
+      int[] array = rand.ints( n ).toArray();
+      if( n > 1 ) {
+        array[0] = Integer.MIN_VALUE;
+        array[1] = Integer.MAX_VALUE;
+      }
+      int[] expected = array.clone();
+      Arrays.sort( expected );
+      assertArrayEquals( expected, BucketSort.bucketSort( array ), "Ints of size " + n + " should be sorted." );
+    }
+  }
+
+  @Test
+  void test_bucketSort_byKeyIsStable() {
+    for( int n : new int[]{ 0, 1, 20, 5_000, 200_000 } ) {
+      for( int range : new int[]{ 10, Integer.MAX_VALUE } ) {
+        List<User> users = Users.random( n, range, 59 );
+        assertEquals( MergeSort.mergeSort( users, BY_ID ), BucketSort.bucketSort( users, User::id ),
+            "Sorting " + n + " users in range " + range + " should equal a stable sort." );
+      }
+    }
+  }
+
+  @Test
+  void test_bucketSort_withBucketFunction() {
+    // Hash-partitioned data: the top bits of the id pick the bucket, the comparator orders within it
+    for( int n : new int[]{ 0, 1, 1_000, 200_000 } ) {
+      List<User> users = Users.random( n, 1 << 20, 60 );
+      List<User> sorted = BucketSort.bucketSort( users, 1 << 10, user -> user.id() >>> 10, BY_ID );
+      assertEquals( MergeSort.mergeSort( users, BY_ID ), sorted,
+          "Sorting " + n + " users by bucket should equal a stable sort." );
+    }
+    List<User> crowded = Users.random( 10_000, 1_000, 61 );
+    assertEquals( MergeSort.mergeSort( crowded, BY_ID ), BucketSort.bucketSort( crowded, 2, user -> 0, BY_ID ),
+        "A single overfull bucket should be sorted stably." );
+  }
+
+  @Test
+  void test_bucketSort_withInvalidArguments() {
+    List<User> users = Users.random( 10, 100, 62 );
+    assertThrows( IllegalArgumentException.class, () -> BucketSort.bucketSort( (int[]) null ),
+        "A null int array should be rejected." );
+    assertThrows( IllegalArgumentException.class, () -> BucketSort.bucketSort( (long[]) null ),
+        "A null long array should be rejected." );
+    assertThrows( IllegalArgumentException.class, () -> BucketSort.bucketSort( null, User::id ),
+        "A null list should be rejected." );
+    assertThrows( IllegalArgumentException.class, () -> BucketSort.bucketSort( users, null ),
+        "A null key extractor should be rejected." );
+    assertThrows( IllegalArgumentException.class, () -> BucketSort.bucketSort( users, 0, User::id, BY_ID ),
+        "A non-positive number of buckets should be rejected." );
+    assertThrows( IllegalArgumentException.class, () -> BucketSort.bucketSort( users, 10, null, BY_ID ),
+        "A null bucket function should be rejected." );
+    assertThrows( IllegalArgumentException.class, () -> BucketSort.bucketSort( users, 10, User::id, null ),
+        "A null comparator should be rejected." );
+    assertThrows( IllegalArgumentException.class, () -> BucketSort.bucketSort( users, 10, user -> 10, BY_ID ),
+        "A bucket out of range should be rejected." );
+  }
+}
@@ -0,0 +1,41 @@
+package org.sortingengine.algo.sorting;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CancellationTokenTests {
+
+  @Test
+  void test_cancel_isSticky() {
+    CancellationToken token = CancellationToken.create();
+    assertFalse( token.isCancelled(), "A new token should not be cancelled." );
+    token.cancel();
+    assertTrue( token.isCancelled(), "A cancelled token should report it." );
+    assertTrue( token.isCancelled(), "Cancellation should stay." );
+  }
+
+  @Test
+  void test_withTimeout_expires() throws InterruptedException {
+    assertTrue( CancellationToken.withTimeout( Duration.ZERO ).isCancelled(), "A zero timeout should expire at once." );
+    assertTrue( CancellationToken.withTimeout( Duration.ofSeconds( -1 ) ).isCancelled(),
+        "A negative timeout should expire at once." );
+    assertFalse( CancellationToken.withTimeout( Duration.ofDays( 365_000_000 ) ).isCancelled(),
+        "A huge timeout should never expire." );
+
+    CancellationToken token = CancellationToken.withTimeout( Duration.ofMillis( 20 ) );
+    assertFalse( token.isCancelled(), "The deadline should not have passed yet." );
+    Thread.sleep( 40 );
+    assertTrue( token.isCancelled(), "The deadline should have passed." );
+  }
+
+  @Test
+  void test_withTimeout_withNull() {
+    assertThrows( IllegalArgumentException.class, () -> CancellationToken.withTimeout( null ),
+        "A null timeout should be rejected." );
+  }
+}
@@ -0,0 +1,109 @@
+package org.sortingengine.algo.sorting;
+
+import java.text.Collator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.sortingengine.model.User;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CollationSortTests {
+
+  private static final String[] NAMES = { "Äpfel", "apfel", "Zebra", "Ångström", "Öl", "ol", "Müller", "Mueller",
+      "muller", "éclair", "Eclair", "ecole", "École", "Ørsted", "straße", "strasse", "Strauss", "côte", "coté",
+      "cote", "côté", "Zoë", "zoe", "" };
+
+  @Test
+  void test_collationSort_matchesCollatorComparator() {
+    for( Locale locale : List.of( Locale.GERMAN, Locale.FRENCH, Locale.forLanguageTag( "sv-SE" ), Locale.ROOT ) ) {
+      for( int strength : new int[]{ Collator.PRIMARY, Collator.SECONDARY, Collator.TERTIARY } ) {
+        Collator collator = Collator.getInstance( locale );
+        collator.setStrength( strength );
+        List<User> users = new ArrayList<>();
+        for( int i = 0; i < NAMES.length; i++ ) {
+          users.add( new User( i, NAMES[i] ) );
+        }
+        List<User> expected = MergeSort.mergeSort( users, Comparator.comparing( User::name, collator ) );
+        String message = "The order should match the collator for " + locale + " at strength " + strength + ".";
+        assertEquals( expected, CollationSort.collationSort( users, User::name, collator ), message );
+        assertEquals( expected, CollationSort.collationSort( users, User::name, new CollationKeyCache( collator, 64 ) ),
+            message );
+      }
+    }
+  }
+
+  @Test
+  void test_collationSort_withLargeList() {
+    Random rand = new Random( 46 );
+    List<User> users = new ArrayList<>();
+    for( int i = 0; i < 4 * CollationSort.PARALLEL_THRESHOLD; i++ ) {
+      users.add( new User( i, NAMES[rand.nextInt( NAMES.length )] + rand.nextInt( 100 ) ) );
+    }
+    Collator collator = Collator.getInstance( Locale.GERMAN );
+    List<User> expected = MergeSort.mergeSort( users, Comparator.comparing( User::name, collator ) );
+    assertEquals( expected, CollationSort.collationSort( users, User::name, collator ),
+        "Keys computed in parallel should give the collator's order." );
+  }
+
+  @Test
+  void test_collationSort_reusesCachedKeys() {
+    CollationKeyCache cache = new CollationKeyCache( Collator.getInstance( Locale.FRENCH ), 1_000 );
+    List<String> words = Arrays.asList( NAMES );
+    List<String> first = CollationSort.collationSort( words, word -> word, cache );
+    assertEquals( NAMES.length, cache.size(), "Every distinct string should be cached." );
+    byte[] key = cache.key( "côte" );
+    assertEquals( first, CollationSort.collationSort( words, word -> word, cache ), "The order should not change." );
+    assertEquals( NAMES.length, cache.size(), "Sorting again should not add keys." );
+    assertSame( key, cache.key( "côte" ), "A cached key should be reused." );
+  }
+
+  @Test
+  void test_key_clearsWhenFull() {
+    CollationKeyCache cache = new CollationKeyCache( Collator.getInstance( Locale.ROOT ), 4 );
+    for( int i = 0; i < 100; i++ ) {
+      cache.key( "word" + i );
+      assertTrue( cache.size() <= 4, "The cache should never exceed its maximum." );
+    }
+    Collator collator = Collator.getInstance( Locale.ROOT );
+    assertEquals( 0, Arrays.compareUnsigned( collator.getCollationKey( "word1" ).toByteArray(), cache.key( "word1" ) ),
+        "A key computed after clearing should be the collation key." );
+  }
+
+  @Test
+  void test_collationSort_withNullKey() {
+    List<User> users = List.of( new User( 1, "b" ), new User( 2, null ), new User( 3, "a" ) );
+    assertThrows( IllegalArgumentException.class,
+        () -> CollationSort.collationSort( users, User::name, Collator.getInstance() ),
+        "A null key should be rejected." );
+  }
+
+  @Test
+  void test_collationSort_withNullArguments() {
+    Collator collator = Collator.getInstance();
+    assertThrows( IllegalArgumentException.class, () -> CollationSort.collationSort( null, User::name, collator ),
+        "A null list should be rejected." );
+    assertThrows( IllegalArgumentException.class, () -> CollationSort.collationSort( List.of(), null, collator ),
+        "A null key extractor should be rejected." );
+    assertThrows( IllegalArgumentException.class,
+        () -> CollationSort.collationSort( List.of(), User::name, (Collator) null ),
+        "A null collator should be rejected." );
+    assertThrows( IllegalArgumentException.class,
+        () -> CollationSort.collationSort( List.of(), User::name, (CollationKeyCache) null ),
+        "A null cache should be rejected." );
+    assertThrows( IllegalArgumentException.class, () -> new CollationKeyCache( null, 1 ),
+        "A null collator should be rejected by the cache." );
+    assertThrows( IllegalArgumentException.class, () -> new CollationKeyCache( collator, 0 ),
+        "A non-positive maximum should be rejected." );
+    assertThrows( IllegalArgumentException.class, () -> new CollationKeyCache( collator, 1 ).key( null ),
+        "A null string should be rejected." );
+  }
+}
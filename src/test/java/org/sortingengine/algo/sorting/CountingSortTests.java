@@ -1,13 +1,18 @@
 package org.sortingengine.algo.sorting;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
 
 import org.junit.jupiter.api.Test;
 import org.sortingengine.model.User;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -96,4 +101,100 @@ class CountingSortTests {
     assertEquals( sameElementsList, sortedList,
         "The sorted list should be the same as the original when all elements are equal." );
   }
+
+  @Test
+  void test_counts_withLowAndHighCardinality() {
+    Random rand = new Random( 35 );
+    for( int bound : new int[]{ 5, 1_000, 1_000_000 } ) {
+      List<Integer> list = new ArrayList<>();
+      TreeMap<Integer, Long> expected = new TreeMap<>();
+      for( int i = 0; i < 50_000; i++ ) {
+        int value = rand.nextInt( bound ) - bound / 2;
+        list.add( value );
+        expected.merge( value, 1L, Long::sum );
+      }
+
+      List<ValueCount<Integer>> counts = CountingSort.counts( list, Integer::compare );
+      assertEquals( expected.size(), counts.size(), "There should be one pair per distinct value." );
+      int i = 0;
+      for( Map.Entry<Integer, Long> entry : expected.entrySet() ) {
+        assertEquals( new ValueCount<>( entry.getKey(), entry.getValue() ), counts.get( i++ ),
+            "Pairs should be sorted and counted." );
+      }
+      assertEquals( new ArrayList<>( expected.keySet() ), CountingSort.distinct( list, Integer::compare ),
+          "Distinct values should be sorted." );
+    }
+  }
+
+  @Test
+  void test_counts_keepsFirstOfEqualElements() {
+    List<User> users = new ArrayList<>();
+    for( int i = 0; i < 20_000; i++ ) {
+      // Both a low- and a high-cardinality key, to exercise both strategies
+      users.add( new User( i % 3, "user" + i ) );
+    }
+    List<User> byMod = CountingSort.distinct( users, Comparator.comparingInt( User::id ) );
+    assertEquals( Arrays.asList( users.get( 0 ), users.get( 1 ), users.get( 2 ) ), byMod,
+        "The first of several equal users should be kept." );
+
+    Comparator<User> byHalf = Comparator.comparingInt( u -> Integer.parseInt( u.name().substring( 4 ) ) / 2 );
+    List<ValueCount<User>> halves = CountingSort.counts( users, byHalf );
+    assertEquals( 10_000, halves.size(), "Every pair of users should collapse into one value." );
+    assertEquals( new ValueCount<>( users.get( 4 ), 2 ), halves.get( 2 ),
+        "The first user of each pair should be kept after sorting." );
+  }
+
+  @Test
+  void test_counts_withPrimitiveArrays() {
+    Random rand = new Random( 36 );
+    for( int bound : new int[]{ 1, 3, 500, Integer.MAX_VALUE } ) {
+      int[] ints = new int[30_000];
+      long[] longs = new long[ints.length];
+      for( int i = 0; i < ints.length; i++ ) {
+        ints[i] = rand.nextInt( bound ) - bound / 2;
+        longs[i] = (long) ints[i] << 20;
+      }
+      int[] copy = ints.clone();
+
+      int[] sorted = ints.clone();
+      Arrays.sort( sorted );
+      int[] expectedValues = Arrays.stream( sorted ).distinct().toArray();
+      long[] expectedCounts = new long[expectedValues.length];
+      for( int i = 0, j = 0; i < sorted.length; i++ ) {
+        if( sorted[i] != expectedValues[j] ) {
+          j++;
+        }
+        expectedCounts[j]++;
+      }
+
+      IntCounts intCounts = CountingSort.counts( ints );
+      assertArrayEquals( expectedValues, intCounts.values(), "Distinct ints should be sorted." );
+      assertArrayEquals( expectedCounts, intCounts.counts(), "Ints should be counted." );
+      assertArrayEquals( expectedValues, CountingSort.distinct( ints ), "Distinct ints should match the counts." );
+      assertArrayEquals( copy, ints, "The input array should not be modified." );
+
+      LongCounts longCounts = CountingSort.counts( longs );
+      assertArrayEquals( Arrays.stream( expectedValues ).asLongStream().map( v -> v << 20 ).toArray(),
+          longCounts.values(), "Distinct longs should be sorted." );
+      assertArrayEquals( expectedCounts, longCounts.counts(), "Longs should be counted." );
+      assertEquals( expectedValues.length, CountingSort.distinct( longs ).length,
+          "Distinct longs should match the counts." );
+    }
+  }
+
+  @Test
+  void test_counts_withEmptyInputs() {
+    assertTrue( CountingSort.counts( Collections.<Integer>emptyList(), Integer::compare ).isEmpty(),
+        "An empty list should have no counts." );
+    assertEquals( 0, CountingSort.counts( new int[0] ).size(), "An empty int array should have no counts." );
+    assertEquals( 0, CountingSort.counts( new long[0] ).size(), "An empty long array should have no counts." );
+  }
+
+  @Test
+  void test_counts_withNullArguments() {
+    assertThrows( IllegalArgumentException.class, () -> CountingSort.counts( null, Integer::compare ) );
+    assertThrows( IllegalArgumentException.class, () -> CountingSort.distinct( Arrays.asList( 1 ), null ) );
+    assertThrows( IllegalArgumentException.class, () -> CountingSort.counts( (int[]) null ) );
+    assertThrows( IllegalArgumentException.class, () -> CountingSort.distinct( (long[]) null ) );
+  }
 }
@@ -0,0 +1,167 @@
+package org.sortingengine.algo.sorting;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+import org.sortingengine.model.User;
+import org.sortingengine.model.Users;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DeadlineSortTests {
+
+  @Test
+  void test_sorts_withoutCancellation() {
+    Random rand = new Random( 34 );
+    for( int n : new int[]{ 0, 1, 17, 1_000, 50_000 } ) {
+      List<Integer> list = randomList( rand, n, n / 4 + 1 );
+      List<Integer> expected = new ArrayList<>( list );
+      expected.sort( Integer::compare );
+      CancellationToken token = CancellationToken.create();
+
+      assertEquals( expected, DeadlineSort.quickSort( list, Integer::compare, token ), "Quick Sort should sort." );
+      assertEquals( expected, DeadlineSort.mergeSort( list, Integer::compare, token ), "Merge Sort should sort." );
+      assertEquals( expected, DeadlineSort.parallelMergeSort( list, Integer::compare, token ),
+          "Parallel Merge Sort should sort." );
+      SortResult<Integer> result = DeadlineSort.sortOrTopK( list, Integer::compare, token, 10 );
+      assertTrue( result.complete(), "An uncancelled sort should complete." );
+      assertEquals( expected, result.elements(), "A completed sort should return every element." );
+    }
+  }
+
+  @Test
+  void test_sorts_returnModifiableLists() {
+    List<Integer> list = randomList( new Random( 39 ), 100, 50 );
+    CancellationToken token = CancellationToken.create();
+    List<List<Integer>> results = List.of( DeadlineSort.quickSort( list, Integer::compare, token ),
+        DeadlineSort.mergeSort( list, Integer::compare, token ),
+        DeadlineSort.parallelMergeSort( list, Integer::compare, token ),
+        DeadlineSort.sortOrTopK( list, Integer::compare, token, 10 ).elements() );
+    for( List<Integer> result : results ) {
+      result.add( -1 );
+      assertEquals( list.size() + 1, result.size(), "The sorted list should be modifiable like other sorters'." );
+    }
+  }
+
+  @Test
+  void test_mergeSorts_areStable() {
+    List<User> users = Users.random( 30_000, 100, 35 );
+    Comparator<User> byId = Comparator.comparingInt( User::id );
+    List<User> expected = MergeSort.mergeSort( users, byId );
+
+    assertEquals( expected, DeadlineSort.mergeSort( users, byId, CancellationToken.create() ),
+        "Equal ids should keep their input order." );
+    assertEquals( expected, DeadlineSort.parallelMergeSort( users, byId, CancellationToken.create() ),
+        "Equal ids should keep their input order in parallel too." );
+  }
+
+  @Test
+  void test_sorts_withCancelledToken() {
+    List<Integer> list = randomList( new Random( 36 ), 100_000, 100_000 );
+    CancellationToken token = CancellationToken.create();
+    token.cancel();
+
+    SortCancelledException e = assertThrows( SortCancelledException.class,
+        () -> DeadlineSort.quickSort( list, Integer::compare, token ), "A cancelled token should stop the sort." );
+    assertEquals( 0.0, e.progress(), "Nothing should have been sorted." );
+    assertThrows( SortCancelledException.class, () -> DeadlineSort.mergeSort( list, Integer::compare, token ),
+        "A cancelled token should stop Merge Sort." );
+    assertThrows( SortCancelledException.class, () -> DeadlineSort.parallelMergeSort( list, Integer::compare, token ),
+        "A cancelled token should stop the parallel sort." );
+  }
+
+  @Test
+  void test_sorts_stopPromptlyAfterCancellation() {
+    List<Integer> list = randomList( new Random( 37 ), 200_000, 1_000_000 );
+    int n = list.size();
+
+    // Cancel half-way through the expected comparisons and count how many follow
+    for( int mode = 0; mode < 3; mode++ ) {
+      CancellationToken token = CancellationToken.create();
+      AtomicLong comparisons = new AtomicLong();
+      AtomicLong afterCancel = new AtomicLong();
+      Comparator<Integer> comparator = ( a, b ) -> {
+        if( comparisons.incrementAndGet() == n * 8L ) {
+          token.cancel();
+        } else if( token.isCancelled() ) {
+          afterCancel.incrementAndGet();
+        }
+        return Integer.compare( a, b );
+      };
+
+      int finalMode = mode;
+      SortCancelledException e = assertThrows( SortCancelledException.class, () -> {
+        switch( finalMode ) {
+          case 0 -> DeadlineSort.quickSort( list, comparator, token );
+          case 1 -> DeadlineSort.mergeSort( list, comparator, token );
+          default -> DeadlineSort.parallelMergeSort( list, comparator, token );
+        }
+      }, "Cancelling mid-way should stop the sort." );
+      assertTrue( e.progress() > 0 && e.progress() < 1, "Progress should be partial: " + e.progress() );
+      // At most a few check-size ranges per worker may finish after the cancellation
+      long bound = 64L * DeadlineSort.CHECK_SIZE * Runtime.getRuntime().availableProcessors();
+      assertTrue( afterCancel.get() < bound, "Too much work after cancellation: " + afterCancel.get() );
+    }
+  }
+
+  @Test
+  void test_sortOrTopK_returnsSortedPrefix() {
+    List<Integer> list = randomList( new Random( 38 ), 100_000, 1_000_000 );
+    List<Integer> expected = new ArrayList<>( list );
+    expected.sort( Integer::compare );
+
+    CancellationToken token = CancellationToken.create();
+    token.cancel();
+    SortResult<Integer> result = DeadlineSort.sortOrTopK( list, Integer::compare, token, 100 );
+    assertFalse( result.complete(), "A cancelled sort should report an incomplete result." );
+    assertTrue( result.elements().size() >= 100, "At least the requested prefix should be returned." );
+    assertEquals( expected.subList( 0, result.elements().size() ), result.elements(),
+        "The result should be a prefix of the sorted list." );
+
+    SortResult<Integer> all = DeadlineSort.sortOrTopK( list, Integer::compare, token, list.size() + 5 );
+    assertEquals( expected, all.elements(), "A prefix larger than the list should sort everything." );
+  }
+
+  @Test
+  void test_quickSort_withAdversarialInput() {
+    // Organ-pipe input defeats median-of-three; the depth limit must fall back to Heap Sort
+    List<Integer> list = new ArrayList<>();
+    for( int i = 0; i < 20_000; i++ ) {
+      list.add( Math.min( i, 20_000 - i ) );
+    }
+    List<Integer> expected = new ArrayList<>( list );
+    expected.sort( Integer::compare );
+    assertEquals( expected, DeadlineSort.quickSort( list, Integer::compare, CancellationToken.create() ),
+        "Adversarial input should still sort." );
+  }
+
+  @Test
+  void test_sorts_withInvalidArguments() {
+    CancellationToken token = CancellationToken.create();
+    List<Integer> list = Arrays.asList( 2, 1 );
+    assertThrows( IllegalArgumentException.class, () -> DeadlineSort.quickSort( null, Integer::compare, token ),
+        "A null list should be rejected." );
+    assertThrows( IllegalArgumentException.class, () -> DeadlineSort.mergeSort( list, null, token ),
+        "A null comparator should be rejected." );
+    assertThrows( IllegalArgumentException.class, () -> DeadlineSort.parallelMergeSort( list, Integer::compare, null ),
+        "A null token should be rejected." );
+    assertThrows( IllegalArgumentException.class, () -> DeadlineSort.sortOrTopK( list, Integer::compare, token, -1 ),
+        "A negative prefix size should be rejected." );
+  }
+
+  private static List<Integer> randomList( Random rand, int n, int bound ) {
+    List<Integer> list = new ArrayList<>( n );
+    for( int i = 0; i < n; i++ ) {
+      list.add( rand.nextInt( bound ) );
+    }
+    return list;
+  }
+}
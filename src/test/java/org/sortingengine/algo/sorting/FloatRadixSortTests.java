@@ -0,0 +1,113 @@
+package org.sortingengine.algo.sorting;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.sortingengine.model.User;
+import org.sortingengine.model.Users;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FloatRadixSortTests {
+
+  @Test
+  void test_radixSort_withSpecialDoubles() {
+    double[] values = { 1.0, Double.NaN, -0.0, Double.NEGATIVE_INFINITY, 0.0, Double.MIN_VALUE, -Double.MIN_VALUE,
+        Double.POSITIVE_INFINITY, Double.longBitsToDouble( 0x7ff0_0000_0000_0001L ), -Double.MAX_VALUE, -1.0 };
+    double[] expected = values.clone();
+    Arrays.sort( expected );
+    double[] sorted = FloatRadixSort.radixSort( values );
+    assertArrayEquals( expected, sorted, "The order should match Double.compare." );
+    assertEquals( Double.doubleToRawLongBits( -0.0 ), Double.doubleToRawLongBits( sorted[4] ),
+        "-0.0 should sort before 0.0." );
+    assertEquals( Double.doubleToRawLongBits( Double.NaN ), Double.doubleToRawLongBits( sorted[10] ),
+        "NaN payloads should be canonicalized." );
+  }
+
+  @Test
+  void test_radixSort_withSpecialFloats() {
+    float[] values = { Float.NaN, 0.0f, -0.0f, Float.MAX_VALUE, -Float.MIN_VALUE, Float.NEGATIVE_INFINITY, 2.5f };
+    float[] expected = values.clone();
+    Arrays.sort( expected );
+    assertArrayEquals( expected, FloatRadixSort.radixSort( values ), "The order should match Float.compare." );
+  }
+
+  @Test
+  void test_radixSort_withRandomValues() {
+    Random rand = new Random( 45 );
+    for( int n : new int[]{ 0, 1, 2, 1_000, 100_000 } ) {
+      double[] doubles = new double[n];
+      float[] floats = new float[n];
+      for( int i = 0; i < n; i++ ) {
+        doubles[i] = rand.nextGaussian() * 1e6;
+        floats[i] = (float) doubles[i];
+      }
+      double[] expectedDoubles = doubles.clone();
+      float[] expectedFloats = floats.clone();
+      Arrays.sort( expectedDoubles );
+      Arrays.sort( expectedFloats );
+      assertArrayEquals( expectedDoubles, FloatRadixSort.radixSort( doubles ), "Doubles of size " + n + "." );
+      assertArrayEquals( expectedFloats, FloatRadixSort.radixSort( floats ), "Floats of size " + n + "." );
+    }
+  }
+
+  @Test
+  void test_radixSort_withNarrowRange() {
+    // Prices in cents share their high bytes, so most passes are skipped
+    double[] prices = new Random( 46 ).ints( 10_000, 100, 10_000 ).mapToDouble( cents -> cents / 100.0 ).toArray();
+    double[] expected = prices.clone();
+    Arrays.sort( expected );
+    assertArrayEquals( expected, FloatRadixSort.radixSort( prices ), "Prices should be sorted." );
+
+    double[] constant = new double[1_000];
+    Arrays.fill( constant, 9.99 );
+    assertArrayEquals( constant.clone(), FloatRadixSort.radixSort( constant ), "Equal values should be unchanged." );
+  }
+
+  @Test
+  void test_radixSort_listIsStable() {
+    List<User> users = Users.random( "user", 20_000, -100, 100, 47 );
+    List<User> expected = new ArrayList<>( users );
+    expected.sort( Comparator.comparingDouble( user -> user.id() / 8.0 ) );
+    assertEquals( expected, FloatRadixSort.radixSort( users, user -> user.id() / 8.0 ),
+        "Users with equal keys should keep their input order." );
+
+    List<String> words = List.of( "nan", "b", "a", "nan2", "c" );
+    List<String> sorted = FloatRadixSort.radixSort( words, word -> word.startsWith( "nan" ) ? Double.NaN
+        : word.charAt( 0 ) == 'b' ? -0.0 : word.charAt( 0 ) == 'a' ? 0.0 : -1.0 );
+    assertEquals( List.of( "c", "b", "a", "nan", "nan2" ), sorted, "NaN keys should sort last and stay stable." );
+  }
+
+  @Test
+  void test_radixSort_callsKeyOncePerElement() {
+    List<Integer> list = new Random( 48 ).ints( 5_000 ).boxed().toList();
+    int[] calls = new int[1];
+    List<Integer> sorted = FloatRadixSort.radixSort( list, value -> {
+      calls[0]++;
+      return value;
+    } );
+    assertEquals( list.size(), calls[0], "The key should be extracted once per element." );
+    for( int i = 1; i < sorted.size(); i++ ) {
+      assertTrue( sorted.get( i - 1 ) <= sorted.get( i ), "The list should be sorted at " + i + "." );
+    }
+  }
+
+  @Test
+  void test_radixSort_withNullArguments() {
+    assertThrows( IllegalArgumentException.class, () -> FloatRadixSort.radixSort( null, value -> 0.0 ),
+        "A null list should be rejected." );
+    assertThrows( IllegalArgumentException.class, () -> FloatRadixSort.radixSort( List.of( 1 ), null ),
+        "A null key extractor should be rejected." );
+    assertThrows( IllegalArgumentException.class, () -> FloatRadixSort.radixSort( (float[]) null ),
+        "A null float array should be rejected." );
+    assertThrows( IllegalArgumentException.class, () -> FloatRadixSort.radixSort( (double[]) null ),
+        "A null double array should be rejected." );
+  }
+}
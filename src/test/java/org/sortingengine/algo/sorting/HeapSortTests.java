@@ -5,6 +5,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Random;
 
 import org.junit.jupiter.api.Test;
 import org.sortingengine.model.User;
@@ -108,6 +109,67 @@ class HeapSortTests {
     assertEquals( expectedSortedList, sortedList, "The sorted list should be in descending order." );
   }
 
+  @Test
+  void test_heapSort_withDaryHeaps() {
+    Random rand = new Random( 31 );
+    List<Integer> list = new ArrayList<>();
+    for( int i = 0; i < 5000; i++ ) {
+      list.add( rand.nextInt( 2000 ) );
+    }
+    List<Integer> expectedSortedList = new ArrayList<>( list );
+    expectedSortedList.sort( Integer::compare );
+    for( int arity : new int[]{ 2, 3, 4, 8, 16 } ) {
+      assertEquals( expectedSortedList, HeapSort.heapSort( list, Integer::compare, arity ),
+          "The list should be sorted with a " + arity + "-ary heap." );
+    }
+  }
+
+  @Test
+  void test_heapSort_withHugeArity() {
+    Random rand = new Random( 41 );
+    List<Integer> list = new ArrayList<>();
+    for( int i = 0; i < 2000; i++ ) {
+      list.add( rand.nextInt( 2000 ) );
+    }
+    List<Integer> expectedSortedList = new ArrayList<>( list );
+    expectedSortedList.sort( Integer::compare );
+    for( int arity : new int[]{ 1_999, 1 << 20, Integer.MAX_VALUE } ) {
+      assertEquals( expectedSortedList, HeapSort.heapSort( list, Integer::compare, arity ),
+          "Child indices should not overflow with an arity of " + arity + "." );
+    }
+  }
+
+  @Test
+  void test_heapSort_withEveryLengthAroundNetworkCutoff() {
+    Random rand = new Random( 37 );
+    for( int n = 0; n < 100; n++ ) {
+      List<Integer> list = new ArrayList<>();
+      for( int i = 0; i < n; i++ ) {
+        list.add( rand.nextInt( 10 ) );
+      }
+      List<Integer> expectedSortedList = new ArrayList<>( list );
+      expectedSortedList.sort( Integer::compare );
+      assertEquals( expectedSortedList, HeapSort.heapSort( list, Integer::compare, 4 ),
+          "The list of size " + n + " should be sorted." );
+    }
+  }
+
+  @Test
+  void test_heapSort_withInvalidArity() {
+    List<Integer> list = Arrays.asList( 3, 1, 2 );
+    Exception exception = assertThrows( IllegalArgumentException.class,
+        () -> HeapSort.heapSort( list, Integer::compare, 1 ) );
+    assertEquals( "The arity must be at least 2.", exception.getMessage() );
+  }
+
+  @Test
+  void test_sortInPlace_withArrayRangeView() {
+    Integer[] array = { 9, 8, 7, 6, 5, 4, 3, 2, 1, 0 };
+    HeapSort.sortInPlace( Arrays.asList( array ).subList( 2, 8 ), Integer::compare, 2 );
+    assertEquals( Arrays.asList( 9, 8, 2, 3, 4, 5, 6, 7, 1, 0 ), Arrays.asList( array ),
+        "Only the viewed range should be sorted." );
+  }
+
   private <T> boolean isSorted( List<T> list, Comparator<T> comparator ) {
     for( int i = 0; i < list.size() - 1; i++ ) {
       if( comparator.compare( list.get( i ), list.get( i + 1 ) ) > 0 ) {
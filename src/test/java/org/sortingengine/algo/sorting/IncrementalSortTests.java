@@ -0,0 +1,85 @@
+package org.sortingengine.algo.sorting;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+import org.sortingengine.model.User;
+import org.sortingengine.model.Users;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IncrementalSortTests {
+
+  private static final Comparator<User> BY_ID = Comparator.comparingInt( User::id );
+
+  @Test
+  void test_applyDelta_matchesFullSort() {
+    Random rand = new Random( 37 );
+    for( int round = 0; round < 20; round++ ) {
+      List<User> base = Users.random( "base", rand.nextInt( 2_000 ), 0, 200, rand.nextLong() );
+      base = MergeSort.mergeSort( base, BY_ID );
+      List<User> inserts = Users.random( "new" + round, rand.nextInt( 50 ), 0, 200, rand.nextLong() );
+      List<User> deletes = new ArrayList<>();
+      List<User> remaining = new ArrayList<>( base );
+      for( int i = 0; i < Math.min( 30, base.size() ); i++ ) {
+        deletes.add( remaining.remove( rand.nextInt( remaining.size() ) ) );
+      }
+
+      // A stable sort of the remaining base followed by the inserts defines the expected order
+      List<User> expected = new ArrayList<>( remaining );
+      expected.addAll( MergeSort.mergeSort( inserts, BY_ID ) );
+      expected = MergeSort.mergeSort( expected, BY_ID );
+
+      assertEquals( expected, IncrementalSort.applyDelta( base, inserts, deletes, BY_ID ),
+          "Applying the delta should equal a full stable sort." );
+    }
+  }
+
+  @Test
+  void test_applyDelta_comparisonsScaleWithDelta() {
+    List<Integer> base = new ArrayList<>();
+    for( int i = 0; i < 1_000_000; i++ ) {
+      base.add( i * 2 );
+    }
+    AtomicLong comparisons = new AtomicLong();
+    Comparator<Integer> counting = ( a, b ) -> {
+      comparisons.incrementAndGet();
+      return Integer.compare( a, b );
+    };
+
+    List<Integer> result = IncrementalSort.applyDelta( base, Arrays.asList( 7, 1_999_999, 3 ),
+        Arrays.asList( 500_000 ), counting );
+    assertEquals( base.size() + 2, result.size(), "Three inserts and one delete should grow the list by two." );
+    assertEquals( Integer.valueOf( 3 ), result.get( 2 ), "Small inserts should land in order." );
+    assertEquals( Integer.valueOf( 1_999_999 ), result.get( result.size() - 1 ), "Large inserts should go last." );
+    assertTrue( comparisons.get() < 300, "Galloping should need few comparisons: " + comparisons.get() );
+  }
+
+  @Test
+  void test_applyDelta_withLinkedBaseAndEmptyDelta() {
+    List<Integer> base = new LinkedList<>( Arrays.asList( 1, 2, 3 ) );
+    assertEquals( base, IncrementalSort.applyDelta( base, Collections.emptyList(), Collections.emptyList(),
+        Integer::compare ), "An empty delta should return the base." );
+  }
+
+  @Test
+  void test_applyDelta_withInvalidArguments() {
+    List<Integer> base = Arrays.asList( 1, 2, 3 );
+    assertThrows( IllegalArgumentException.class,
+        () -> IncrementalSort.applyDelta( base, List.of(), List.of( 4 ), Integer::compare ),
+        "Deleting a missing element should be rejected." );
+    assertThrows( IllegalArgumentException.class,
+        () -> IncrementalSort.applyDelta( null, List.of(), List.of(), Integer::compare ) );
+    assertThrows( IllegalArgumentException.class,
+        () -> IncrementalSort.applyDelta( base, List.of(), List.of(), null ) );
+  }
+}
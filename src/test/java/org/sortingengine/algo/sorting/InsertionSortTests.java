@@ -5,9 +5,11 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.Test;
 import org.sortingengine.model.User;
+import org.sortingengine.model.Users;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -139,4 +141,83 @@ class InsertionSortTests {
     assertEquals( expectedSortedList, sortedList,
         "The sorted list should match the expected sorted list for a nearly sorted input." );
   }
-}
\ No newline at end of file
+
+  @Test
+  void test_binaryInsertionSort_sortsStablyWithFewComparisons() {
+    List<User> users = Users.random( 2_000, 50, 36 );
+    AtomicInteger comparisons = new AtomicInteger();
+    Comparator<User> byId = ( a, b ) -> {
+      comparisons.incrementAndGet();
+      return Integer.compare( a.id(), b.id() );
+    };
+
+    List<User> sorted = InsertionSort.binaryInsertionSort( users, byId );
+    assertEquals( MergeSort.mergeSort( users, Comparator.comparingInt( User::id ) ), sorted,
+        "Binary Insertion Sort should sort stably." );
+    // At most one comparison for the in-place check plus ceil(log2(i)) for the search, per element
+    assertTrue( comparisons.get() <= 2_000 * 12, "Too many comparisons: " + comparisons.get() );
+  }
+
+  @Test
+  void test_binaryInsertionSort_withEdgeCases() {
+    assertTrue( InsertionSort.binaryInsertionSort( Collections.<Integer>emptyList(), Integer::compare ).isEmpty(),
+        "The sorted list should be empty." );
+    assertEquals( Arrays.asList( 1, 2, 3, 4 ),
+        InsertionSort.binaryInsertionSort( Arrays.asList( 4, 3, 2, 1 ), Integer::compare ),
+        "Reversed input should be sorted." );
+    assertThrows( IllegalArgumentException.class, () -> InsertionSort.binaryInsertionSort( null, Integer::compare ) );
+    assertThrows( IllegalArgumentException.class, () -> InsertionSort.binaryInsertionSort( List.of( 1 ), null ) );
+  }
+
+  @Test
+  void test_mergeInsertionSort_meetsFordJohnsonBound() {
+    // Worst-case comparison counts of merge insertion for n = 0..8
+    int[] bounds = { 0, 0, 1, 3, 5, 7, 10, 13, 16 };
+    for( int n = 0; n < bounds.length; n++ ) {
+      int worst = 0;
+      for( List<Integer> permutation : permutations( n ) ) {
+        AtomicInteger comparisons = new AtomicInteger();
+        List<Integer> sorted = InsertionSort.mergeInsertionSort( permutation, ( a, b ) -> {
+          comparisons.incrementAndGet();
+          return Integer.compare( a, b );
+        } );
+        List<Integer> expected = new ArrayList<>( permutation );
+        Collections.sort( expected );
+        assertEquals( expected, sorted, "Every permutation should be sorted." );
+        worst = Math.max( worst, comparisons.get() );
+      }
+      assertEquals( bounds[n], worst, "The worst case for " + n + " elements should match Ford-Johnson." );
+    }
+  }
+
+  @Test
+  void test_mergeInsertionSort_isStable() {
+    List<User> users = Users.random( 500, 10, 37 );
+    Comparator<User> byId = Comparator.comparingInt( User::id );
+    assertEquals( MergeSort.mergeSort( users, byId ), InsertionSort.mergeInsertionSort( users, byId ),
+        "Equal ids should keep their input order." );
+    assertThrows( IllegalArgumentException.class, () -> InsertionSort.mergeInsertionSort( users, null ) );
+  }
+
+  private static List<List<Integer>> permutations( int n ) {
+    List<List<Integer>> result = new ArrayList<>();
+    permute( new ArrayList<>(), new boolean[n], result );
+    return result;
+  }
+
+  private static void permute( List<Integer> prefix, boolean[] used, List<List<Integer>> result ) {
+    if( prefix.size() == used.length ) {
+      result.add( new ArrayList<>( prefix ) );
+      return;
+    }
+    for( int i = 0; i < used.length; i++ ) {
+      if( !used[i] ) {
+        used[i] = true;
+        prefix.add( i );
+        permute( prefix, used, result );
+        prefix.remove( prefix.size() - 1 );
+        used[i] = false;
+      }
+    }
+  }
+}
@@ -0,0 +1,147 @@
+package org.sortingengine.algo.sorting;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.sortingengine.model.User;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class KWayMergeTests {
+
+  @Test
+  void test_merge_withNoSources() {
+    List<Integer> merged = KWayMerge.merge( Collections.<List<Integer>>emptyList(), Integer::compare );
+    assertTrue( merged.isEmpty(), "Merging no sources should give an empty list." );
+  }
+
+  @Test
+  void test_merge_withEmptyAndSingleSources() {
+    List<List<Integer>> sources = Arrays.asList( Collections.emptyList(), Arrays.asList( 1, 4 ),
+        Collections.emptyList() );
+    assertEquals( Arrays.asList( 1, 4 ), KWayMerge.merge( sources, Integer::compare ),
+        "Empty sources should be skipped." );
+  }
+
+  @Test
+  void test_merge_withManyShards() {
+    Random rand = new Random( 41 );
+    for( int k : new int[]{ 1, 2, 3, 7, 64, 100 } ) {
+      List<List<Integer>> sources = new ArrayList<>();
+      List<Integer> expected = new ArrayList<>();
+      for( int s = 0; s < k; s++ ) {
+        List<Integer> shard = new ArrayList<>();
+        int size = rand.nextInt( 50 );
+        for( int i = 0; i < size; i++ ) {
+          shard.add( rand.nextInt( 1000 ) );
+        }
+        shard.sort( Integer::compare );
+        sources.add( shard );
+        expected.addAll( shard );
+      }
+      expected.sort( Integer::compare );
+      assertEquals( expected, KWayMerge.merge( sources, Integer::compare ),
+          "The merge of " + k + " shards should be sorted." );
+    }
+  }
+
+  @Test
+  void test_merge_isStableBySourceIndex() {
+    List<List<User>> sources = Arrays.asList(
+        Arrays.asList( new User( 1, "a0" ), new User( 2, "a1" ) ),
+        Arrays.asList( new User( 1, "b0" ), new User( 1, "b1" ), new User( 3, "b2" ) ),
+        Arrays.asList( new User( 2, "c0" ) ) );
+    List<User> merged = KWayMerge.merge( sources, Comparator.comparing( User::id ) );
+    List<String> names = new ArrayList<>();
+    for( User user : merged ) {
+      names.add( user.name() );
+    }
+    assertEquals( Arrays.asList( "a0", "b0", "b1", "a1", "c0", "b2" ), names,
+        "Equal elements should be ordered by source index." );
+  }
+
+  @Test
+  void test_mergeIterators_isLazy() {
+    List<Integer> pulled = new ArrayList<>();
+    Iterator<Integer> first = recording( Arrays.asList( 1, 3, 5 ).iterator(), pulled );
+    Iterator<Integer> second = recording( Arrays.asList( 2, 4, 6 ).iterator(), pulled );
+    Iterator<Integer> merged = KWayMerge.mergeIterators( Arrays.asList( first, second ), Integer::compare );
+    assertEquals( 2, pulled.size(), "Only one head per source should be buffered up front." );
+    assertEquals( 1, merged.next() );
+    assertEquals( 2, merged.next() );
+    assertEquals( 4, pulled.size(), "Each emitted element should pull exactly one replacement." );
+  }
+
+  @Test
+  void test_mergeIterators_exhaustion() {
+    Iterator<Integer> merged = KWayMerge.mergeIterators( Arrays.asList( Arrays.asList( 1 ).iterator() ),
+        Integer::compare );
+    assertEquals( 1, merged.next() );
+    assertFalse( merged.hasNext(), "The iterator should be exhausted." );
+    assertThrows( NoSuchElementException.class, merged::next );
+  }
+
+  @Test
+  void test_merge_withIntArrays() {
+    Random rand = new Random( 43 );
+    int[][] sources = new int[64][];
+    List<Integer> all = new ArrayList<>();
+    for( int s = 0; s < sources.length; s++ ) {
+      sources[s] = rand.ints( rand.nextInt( 100 ), -50, 50 ).sorted().toArray();
+      for( int value : sources[s] ) {
+        all.add( value );
+      }
+    }
+    int[] expected = all.stream().mapToInt( Integer::intValue ).sorted().toArray();
+    assertArrayEquals( expected, KWayMerge.merge( sources ), "The merged int array should be sorted." );
+  }
+
+  @Test
+  void test_merge_withLongArrays() {
+    long[][] sources = { { 1, 5, 9 }, {}, { 2, 2, 10 }, { Long.MIN_VALUE, Long.MAX_VALUE } };
+    assertArrayEquals( new long[]{ Long.MIN_VALUE, 1, 2, 2, 5, 9, 10, Long.MAX_VALUE }, KWayMerge.merge( sources ),
+        "The merged long array should be sorted." );
+  }
+
+  @Test
+  void test_merge_withNullSource() {
+    List<List<Integer>> sources = Arrays.asList( Arrays.asList( 1 ), null );
+    Exception exception = assertThrows( IllegalArgumentException.class,
+        () -> KWayMerge.merge( sources, Integer::compare ) );
+    assertEquals( "A source cannot be null.", exception.getMessage() );
+  }
+
+  @Test
+  void test_merge_withNullComparator() {
+    List<List<Integer>> sources = Arrays.asList( Arrays.asList( 1 ) );
+    Exception exception = assertThrows( IllegalArgumentException.class, () -> KWayMerge.merge( sources, null ) );
+    assertEquals( "Comparator cannot be null.", exception.getMessage() );
+  }
+
+  private static Iterator<Integer> recording( Iterator<Integer> delegate, List<Integer> pulled ) {
+    return new Iterator<>() {
+      @Override
+      public boolean hasNext() {
+        return delegate.hasNext();
+      }
+
+      @Override
+      public Integer next() {
+        Integer value = delegate.next();
+        pulled.add( value );
+        return value;
+      }
+    };
+  }
+}
@@ -5,10 +5,12 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Random;
 
 import org.junit.jupiter.api.Test;
 import org.sortingengine.model.User;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -115,6 +117,113 @@ class MergeSortTests {
     assertTrue( isSorted( sortedList, Integer::compare ), "The nearly sorted list should be sorted correctly." );
   }
 
+  @Test
+  void test_mergeSort_isStable() {
+    List<User> users = new ArrayList<>();
+    for( int i = 0; i < 100; i++ ) {
+      users.add( new User( i % 4, "user" + i ) );
+    }
+    List<User> expectedSortedList = new ArrayList<>( users );
+    expectedSortedList.sort( Comparator.comparing( User::id ) );
+    List<User> sortedList = MergeSort.mergeSort( users, Comparator.comparing( User::id ) );
+    assertEquals( expectedSortedList, sortedList, "Equal users should keep their original order." );
+  }
+
+  @Test
+  void test_mergeSort_withArrayRangeAndScratch() {
+    Integer[] array = { 9, 8, 7, 6, 5, 4, 3, 2, 1, 0 };
+    Integer[] scratch = new Integer[2];
+    MergeSort.mergeSort( array, 2, 6, scratch, Integer::compare );
+    assertEquals( Arrays.asList( 9, 8, 4, 5, 6, 7, 3, 2, 1, 0 ), Arrays.asList( array ),
+        "Only the requested range should be sorted." );
+  }
+
+  @Test
+  void test_mergeSort_withArrayLargeDataset() {
+    Integer[] array = new Integer[1000];
+    for( int i = 0; i < array.length; i++ ) {
+      array[i] = (int) ( Math.random() * 1000 );
+    }
+    MergeSort.mergeSort( array, 0, array.length, new Integer[array.length / 2], Integer::compare );
+    assertTrue( isSorted( Arrays.asList( array ), Integer::compare ), "The large array should be sorted correctly." );
+  }
+
+  @Test
+  void test_mergeSort_withArrayIsStable() {
+    User[] users = { new User( 2, "Bob" ), new User( 1, "Alice" ), new User( 2, "Anna" ), new User( 1, "Zoe" ) };
+    MergeSort.mergeSort( users, 0, users.length, new User[2], Comparator.comparing( User::id ) );
+    assertEquals( Arrays.asList( new User( 1, "Alice" ), new User( 1, "Zoe" ), new User( 2, "Bob" ),
+        new User( 2, "Anna" ) ), Arrays.asList( users ), "Equal users should keep their original order." );
+  }
+
+  @Test
+  void test_mergeSort_withShortScratchArray() {
+    Integer[] array = { 3, 1, 2, 5, 4 };
+    Exception exception = assertThrows( IllegalArgumentException.class,
+        () -> MergeSort.mergeSort( array, 0, array.length, new Integer[2], Integer::compare ) );
+    assertEquals( "The scratch array is too short for the range.", exception.getMessage() );
+  }
+
+  @Test
+  void test_mergeSort_withIntArray() {
+    Random rand = new Random( 7 );
+    for( int size : new int[]{ 0, 1, 7, 8, 33, 64, 65, 1000, 10_000 } ) {
+      int[] array = rand.ints( size, -500, 500 ).toArray();
+      int[] expected = array.clone();
+      Arrays.sort( expected );
+      int[] original = array.clone();
+      assertArrayEquals( expected, MergeSort.mergeSort( array ),
+          "The int array of size " + size + " should be sorted." );
+      assertArrayEquals( original, array, "The original array should be unmodified." );
+    }
+  }
+
+  @Test
+  void test_mergeSort_withLongArray() {
+    Random rand = new Random( 11 );
+    for( int size : new int[]{ 0, 1, 9, 64, 500, 10_000 } ) {
+      long[] array = rand.longs( size ).toArray();
+      long[] expected = array.clone();
+      Arrays.sort( expected );
+      assertArrayEquals( expected, MergeSort.mergeSort( array ),
+          "The long array of size " + size + " should be sorted." );
+    }
+  }
+
+  @Test
+  void test_mergeSort_withFloatArraySpecialValues() {
+    float[] array = { 1.5f, Float.NaN, -0.0f, 0.0f, Float.NEGATIVE_INFINITY, -2f, Float.POSITIVE_INFINITY, 0.0f };
+    float[] expected = array.clone();
+    Arrays.sort( expected );
+    assertArrayEquals( expected, MergeSort.mergeSort( array ), "Floats should follow Float.compare ordering." );
+  }
+
+  @Test
+  void test_mergeSort_withDoubleArray() {
+    Random rand = new Random( 13 );
+    double[] array = rand.doubles( 5000, -1e6, 1e6 ).toArray();
+    array[10] = Double.NaN;
+    array[20] = -0.0;
+    array[30] = 0.0;
+    double[] expected = array.clone();
+    Arrays.sort( expected );
+    assertArrayEquals( expected, MergeSort.mergeSort( array ), "Doubles should follow Double.compare ordering." );
+  }
+
+  @Test
+  void test_mergeSort_withManyDuplicatesIntArray() {
+    int[] array = new Random( 17 ).ints( 20_000, 0, 3 ).toArray();
+    int[] expected = array.clone();
+    Arrays.sort( expected );
+    assertArrayEquals( expected, MergeSort.mergeSort( array ), "Duplicate-heavy arrays should be sorted." );
+  }
+
+  @Test
+  void test_mergeSort_withNullIntArray() {
+    Exception exception = assertThrows( IllegalArgumentException.class, () -> MergeSort.mergeSort( (int[]) null ) );
+    assertEquals( "The array cannot be null.", exception.getMessage() );
+  }
+
   private <T> boolean isSorted( List<T> list, Comparator<T> comparator ) {
     for( int i = 0; i < list.size() - 1; i++ ) {
       if( comparator.compare( list.get( i ), list.get( i + 1 ) ) > 0 ) {
@@ -0,0 +1,162 @@
+package org.sortingengine.algo.sorting;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+
+import com.sun.management.ThreadMXBean;
+import org.junit.jupiter.api.Test;
+import org.sortingengine.model.User;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MergeSorterTests {
+
+  @Test
+  void test_sort_withList() {
+    MergeSorter sorter = new MergeSorter();
+    List<Integer> list = new ArrayList<>( Arrays.asList( 5, 3, 9, 1, 7 ) );
+    sorter.sort( list, Integer::compare );
+    assertEquals( Arrays.asList( 1, 3, 5, 7, 9 ), list, "The list should be sorted in place." );
+  }
+
+  @Test
+  void test_sort_withLinkedList() {
+    MergeSorter sorter = new MergeSorter();
+    List<Integer> list = new LinkedList<>( Arrays.asList( 5, 3, 9, 1, 7 ) );
+    sorter.sort( list, Integer::compare );
+    assertEquals( Arrays.asList( 1, 3, 5, 7, 9 ), list, "Sequential-access lists should be sorted in place." );
+  }
+
+  @Test
+  void test_sort_isStable() {
+    MergeSorter sorter = new MergeSorter();
+    List<User> users = new ArrayList<>();
+    for( int i = 0; i < 200; i++ ) {
+      users.add( new User( i % 5, "user" + i ) );
+    }
+    List<User> expected = MergeSort.mergeSort( users, Comparator.comparing( User::id ) );
+    sorter.sort( users, Comparator.comparing( User::id ) );
+    assertEquals( expected, users, "The sorter should match MergeSort, including the order of equal users." );
+  }
+
+  @Test
+  void test_sort_reusesScratchAcrossSizes() {
+    MergeSorter sorter = new MergeSorter();
+    Random rand = new Random( 47 );
+    for( int size : new int[]{ 1000, 10, 500, 1000 } ) {
+      List<Integer> list = new ArrayList<>();
+      for( int i = 0; i < size; i++ ) {
+        list.add( rand.nextInt() );
+      }
+      List<Integer> expected = new ArrayList<>( list );
+      expected.sort( Integer::compare );
+      sorter.sort( list, Integer::compare );
+      assertEquals( expected, list, "The list of size " + size + " should be sorted." );
+    }
+    assertEquals( 1000, sorter.capacity(), "The scratch arrays should only grow to the largest input." );
+  }
+
+  @Test
+  void test_sort_withArrayRange() {
+    MergeSorter sorter = new MergeSorter();
+    Integer[] array = { 9, 8, 7, 6, 5, 4, 3, 2, 1, 0 };
+    sorter.sort( array, 1, 9, Integer::compare );
+    assertEquals( Arrays.asList( 9, 1, 2, 3, 4, 5, 6, 7, 8, 0 ), Arrays.asList( array ),
+        "Only the requested range should be sorted." );
+  }
+
+  @Test
+  void test_sort_withPrimitiveArrays() {
+    MergeSorter sorter = new MergeSorter();
+    Random rand = new Random( 53 );
+    for( int size : new int[]{ 0, 5, 64, 65, 3000 } ) {
+      int[] ints = rand.ints( size ).toArray();
+      int[] expectedInts = ints.clone();
+      Arrays.sort( expectedInts );
+      sorter.sort( ints );
+      assertArrayEquals( expectedInts, ints, "The int array of size " + size + " should be sorted in place." );
+
+      long[] longs = rand.longs( size ).toArray();
+      long[] expectedLongs = longs.clone();
+      Arrays.sort( expectedLongs );
+      sorter.sort( longs );
+      assertArrayEquals( expectedLongs, longs, "The long array of size " + size + " should be sorted in place." );
+    }
+  }
+
+  @Test
+  void test_sort_steadyStateAllocatesNothing() {
+    ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+    MergeSorter sorter = new MergeSorter();
+    Random rand = new Random( 59 );
+    List<Integer> list = new ArrayList<>();
+    for( int i = 0; i < 2000; i++ ) {
+      list.add( rand.nextInt( 100_000 ) );
+    }
+    int[] ints = rand.ints( 2000 ).toArray();
+    Comparator<Integer> comparator = Integer::compare;
+
+    // Warm up so that the scratch arrays reach their final size and the JIT has compiled the hot paths
+    for( int round = 0; round < 2000; round++ ) {
+      Collections.shuffle( list, rand );
+      refill( ints, rand );
+      sorter.sort( list, comparator );
+      sorter.sort( ints );
+    }
+
+    // Every measured sort gets unsorted input, so it merges through the scratch arrays; refilling allocates nothing
+    long threadId = Thread.currentThread().threadId();
+    long before = threads.getThreadAllocatedBytes( threadId );
+    for( int round = 0; round < 100; round++ ) {
+      Collections.shuffle( list, rand );
+      refill( ints, rand );
+      sorter.sort( list, comparator );
+      sorter.sort( ints );
+    }
+    long allocated = threads.getThreadAllocatedBytes( threadId ) - before;
+    assertTrue( allocated < 16 * 1024, "Repeated sorts should not allocate, but allocated " + allocated + " bytes." );
+  }
+
+  @Test
+  void test_threadLocal_returnsSameInstanceOnOneThread() {
+    assertSame( MergeSorter.threadLocal(), MergeSorter.threadLocal(), "A thread should always get its own sorter." );
+  }
+
+  @Test
+  void test_release_dropsScratch() {
+    MergeSorter sorter = new MergeSorter();
+    sorter.sort( new ArrayList<>( Arrays.asList( 3, 2, 1 ) ), Integer::compare );
+    sorter.release();
+    assertEquals( 0, sorter.capacity(), "Released sorters should hold no scratch." );
+  }
+
+  @Test
+  void test_sort_withNullList() {
+    Exception exception = assertThrows( IllegalArgumentException.class,
+        () -> new MergeSorter().sort( (List<Integer>) null, Integer::compare ) );
+    assertEquals( "The list cannot be null.", exception.getMessage() );
+  }
+
+  @Test
+  void test_sort_withNullComparator() {
+    List<Integer> list = new ArrayList<>( Arrays.asList( 3, 1, 2 ) );
+    Exception exception = assertThrows( IllegalArgumentException.class, () -> new MergeSorter().sort( list, null ) );
+    assertEquals( "Comparator cannot be null.", exception.getMessage() );
+  }
+
+  private static void refill( int[] array, Random rand ) {
+    for( int i = 0; i < array.length; i++ ) {
+      array[i] = rand.nextInt();
+    }
+  }
+}
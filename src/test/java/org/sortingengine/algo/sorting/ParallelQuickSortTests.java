@@ -0,0 +1,140 @@
+package org.sortingengine.algo.sorting;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.sortingengine.model.User;
+import org.sortingengine.model.Users;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ParallelQuickSortTests {
+
+  private static ForkJoinPool pool;
+
+  @BeforeAll
+  static void startPool() {
+    // A fixed parallelism, so that parallel partitioning is exercised on machines with few cores as well
+    pool = new ForkJoinPool( 4 );
+  }
+
+  @AfterAll
+  static void stopPool() {
+    pool.shutdown();
+  }
+
+  @Test
+  void test_parallelQuickSort_withEmptyAndSingletonList() {
+    assertTrue( ParallelQuickSort.parallelQuickSort( Collections.<Integer>emptyList(), Integer::compare ).isEmpty(),
+        "The sorted list should be empty." );
+    assertEquals( List.of( 7 ), ParallelQuickSort.parallelQuickSort( List.of( 7 ), Integer::compare ),
+        "A single element should be returned as is." );
+  }
+
+  @Test
+  void test_parallelQuickSort_withDistributions() {
+    Random rand = new Random( 42 );
+    for( int n : new int[]{ 100, 8_193, 40_000, ParallelQuickSort.PARALLEL_PARTITION_THRESHOLD + 1, 400_000 } ) {
+      for( int[] values : BlockQuickSortTests.distributions( rand, n ) ) {
+        List<Integer> list = new ArrayList<>( n );
+        for( int value : values ) {
+          list.add( value );
+        }
+        List<Integer> expected = new ArrayList<>( list );
+        expected.sort( Integer::compare );
+        assertEquals( expected, ParallelQuickSort.parallelQuickSort( list, Integer::compare, pool ),
+            "The list of size " + n + " should be sorted." );
+
+        int[] expectedInts = values.clone();
+        Arrays.sort( expectedInts );
+        assertArrayEquals( expectedInts, ParallelQuickSort.parallelQuickSort( values, pool ),
+            "The int array of size " + n + " should be sorted." );
+
+        long[] longs = new long[n];
+        for( int i = 0; i < n; i++ ) {
+          longs[i] = (long) values[i] << 20 ^ i % 5;
+        }
+        long[] expectedLongs = longs.clone();
+        Arrays.sort( expectedLongs );
+        assertArrayEquals( expectedLongs, ParallelQuickSort.parallelQuickSort( longs, pool ),
+            "The long array of size " + n + " should be sorted." );
+      }
+    }
+  }
+
+  @Test
+  void test_parallelQuickSort_onCommonPool() {
+    int[] values = new Random( 43 ).ints( 300_000 ).toArray();
+    int[] expected = values.clone();
+    Arrays.sort( expected );
+    assertArrayEquals( expected, ParallelQuickSort.parallelQuickSort( values ), "The array should be sorted." );
+    try( ForkJoinPool single = new ForkJoinPool( 1 ) ) {
+      assertArrayEquals( expected, ParallelQuickSort.parallelQuickSort( values, single ),
+          "A single worker should give the same result." );
+    }
+  }
+
+  @Test
+  void test_parallelQuickSort_withCustomComparator() {
+    List<User> users = Users.random( 200_000, 1_000, 44 );
+    Comparator<User> order = Comparator.comparingInt( User::id ).thenComparing( User::name, Comparator.reverseOrder() );
+    List<User> expected = new ArrayList<>( users );
+    expected.sort( order );
+    assertEquals( expected, ParallelQuickSort.parallelQuickSort( users, order, pool ), "Users should be sorted." );
+  }
+
+  @Test
+  void test_partition_inParallel() {
+    int n = 3 * ParallelQuickSort.PARALLEL_PARTITION_THRESHOLD;
+    int[] values = new Random( 45 ).ints( n, 0, 1_000 ).toArray();
+    int[] partitioned = values.clone();
+    int split = pool.submit( () -> ParallelQuickSort.partition( partitioned, 0, n, 500, false ) ).join();
+    assertEquals( Arrays.stream( values ).filter( value -> value < 500 ).count(), split,
+        "The split point should follow the elements below the pivot." );
+    for( int i = 0; i < n; i++ ) {
+      assertTrue( i < split ? partitioned[i] < 500 : partitioned[i] >= 500, "Element " + i + " is on the wrong side." );
+    }
+    Arrays.sort( values );
+    Arrays.sort( partitioned );
+    assertArrayEquals( values, partitioned, "Partitioning should only move elements." );
+  }
+
+  @Test
+  void test_swapRuns_pairsMisplacedElements() {
+    // Chunks [0, 10), [10, 20) and [20, 30) with 7, 2 and 6 smaller elements: the split point is 15
+    int[] bounds = { 0, 10, 20, 30 };
+    int[] splits = { 7, 12, 26 };
+    int[] runs = ParallelQuickSort.swapRuns( bounds, splits, 15 );
+    assertArrayEquals( new int[]{ 7, 20, 3, 12, 23, 3 }, runs,
+        "Larger elements in [7, 10) and [12, 15) should be swapped with smaller ones in [20, 26)." );
+
+    assertArrayEquals( new int[0], ParallelQuickSort.swapRuns( bounds, new int[]{ 10, 20, 20 }, 20 ),
+        "Nothing is misplaced when every chunk left of the split is all smaller." );
+  }
+
+  @Test
+  void test_parallelQuickSort_withNullArguments() {
+    assertThrows( IllegalArgumentException.class, () -> ParallelQuickSort.parallelQuickSort( null, Integer::compare ),
+        "A null list should be rejected." );
+    assertThrows( IllegalArgumentException.class, () -> ParallelQuickSort.parallelQuickSort( List.of( 1 ), null ),
+        "A null comparator should be rejected." );
+    assertThrows( IllegalArgumentException.class,
+        () -> ParallelQuickSort.parallelQuickSort( List.of( 1 ), Integer::compare, null ),
+        "A null pool should be rejected." );
+    assertThrows( IllegalArgumentException.class, () -> ParallelQuickSort.parallelQuickSort( (int[]) null ),
+        "A null int array should be rejected." );
+    assertThrows( IllegalArgumentException.class, () -> ParallelQuickSort.parallelQuickSort( new long[1], null ),
+        "A null pool should be rejected for long arrays." );
+  }
+}
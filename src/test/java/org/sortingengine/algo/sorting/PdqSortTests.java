@@ -0,0 +1,177 @@
+package org.sortingengine.algo.sorting;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+import org.sortingengine.model.User;
+import org.sortingengine.model.Users;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PdqSortTests {
+
+  @Test
+  void test_pdqSort_withEmptyAndSingletonList() {
+    assertTrue( PdqSort.pdqSort( Collections.<Integer>emptyList(), Integer::compare ).isEmpty(),
+        "The sorted list should be empty." );
+    assertEquals( List.of( 7 ), PdqSort.pdqSort( List.of( 7 ), Integer::compare ),
+        "A single element should be returned as is." );
+  }
+
+  @Test
+  void test_pdqSort_withDistributions() {
+    Random rand = new Random( 41 );
+    for( int n : new int[]{ 2, 24, 25, 65, 129, 1_000, 4_099, 50_000 } ) {
+      for( int[] values : patterns( rand, n ) ) {
+        List<Integer> list = new ArrayList<>( n );
+        for( int value : values ) {
+          list.add( value );
+        }
+        List<Integer> expected = new ArrayList<>( list );
+        expected.sort( Integer::compare );
+        assertEquals( expected, PdqSort.pdqSort( list, Integer::compare ),
+            "The list of size " + n + " should be sorted." );
+
+        int[] expectedInts = values.clone();
+        Arrays.sort( expectedInts );
+        assertArrayEquals( expectedInts, PdqSort.pdqSort( values ),
+            "The int array of size " + n + " should be sorted." );
+
+        long[] longs = new long[n];
+        for( int i = 0; i < n; i++ ) {
+          longs[i] = (long) values[i] << 20 ^ i % 3;
+        }
+        long[] expectedLongs = longs.clone();
+        Arrays.sort( expectedLongs );
+        assertArrayEquals( expectedLongs, PdqSort.pdqSort( longs ),
+            "The long array of size " + n + " should be sorted." );
+      }
+    }
+  }
+
+  @Test
+  void test_pdqSort_withCustomComparator() {
+    List<User> users = Users.random( 3_000, 200, 42 );
+    Comparator<User> order = Comparator.comparingInt( User::id ).thenComparing( User::name, Comparator.reverseOrder() );
+    List<User> expected = new ArrayList<>( users );
+    expected.sort( order );
+    assertEquals( expected, PdqSort.pdqSort( users, order ), "Users should be sorted." );
+  }
+
+  @Test
+  void test_pdqSort_isLinearOnPresortedInput() {
+    int n = 100_000;
+    List<Integer> sorted = new ArrayList<>( n );
+    List<Integer> reversed = new ArrayList<>( n );
+    List<Integer> allEqual = new ArrayList<>( n );
+    for( int i = 0; i < n; i++ ) {
+      sorted.add( i );
+      reversed.add( n - i );
+      allEqual.add( 5 );
+    }
+    assertTrue( comparisons( sorted ) < 3L * n, "Sorted input should take linear time: " + comparisons( sorted ) );
+    assertTrue( comparisons( reversed ) < 4L * n,
+        "Reversed input should take linear time: " + comparisons( reversed ) );
+    assertTrue( comparisons( allEqual ) < 3L * n,
+        "Equal elements should take linear time: " + comparisons( allEqual ) );
+  }
+
+  @Test
+  void test_pdqSort_staysLinearithmicOnEveryPattern() {
+    int n = 50_000;
+    long bound = (long) ( 3 * n * Math.log( n ) / Math.log( 2 ) );
+    for( int[] values : patterns( new Random( 43 ), n ) ) {
+      List<Integer> list = new ArrayList<>( n );
+      for( int value : values ) {
+        list.add( value );
+      }
+      long comparisons = comparisons( list );
+      assertTrue( comparisons < bound, "A pattern took " + comparisons + " comparisons, above " + bound + "." );
+    }
+  }
+
+  @Test
+  void test_pdqSort_withMedianOfThreeKiller() {
+    // Musser's sequence places the median-of-three candidates so that every partition is as bad as possible
+    int n = 1 << 15;
+    int k = n / 2;
+    int[] killer = new int[n];
+    for( int i = 1; i <= k; i++ ) {
+      killer[i - 1] = i % 2 == 1 ? i : k + i - 1;
+      killer[k + i - 1] = 2 * i;
+    }
+    int[] expected = killer.clone();
+    Arrays.sort( expected );
+    assertArrayEquals( expected, PdqSort.pdqSort( killer ), "The killer sequence should be sorted." );
+
+    List<Integer> list = new ArrayList<>( n );
+    for( int value : killer ) {
+      list.add( value );
+    }
+    long bound = (long) ( 3 * n * Math.log( n ) / Math.log( 2 ) );
+    assertTrue( comparisons( list ) < bound, "The killer sequence should stay O(n log n)." );
+  }
+
+  @Test
+  void test_partialInsertionSort_givesUp() {
+    Integer[] nearlySorted = { 1, 2, 4, 3, 5, 6, 8, 7 };
+    assertTrue( PdqSort.partialInsertionSort( nearlySorted, 0, nearlySorted.length, Integer::compare ),
+        "A nearly sorted range should be finished." );
+    assertArrayEquals( new Integer[]{ 1, 2, 3, 4, 5, 6, 7, 8 }, nearlySorted, "The range should be sorted." );
+
+    int[] reversed = { 9, 8, 7, 6, 5, 4, 3, 2, 1 };
+    assertFalse( PdqSort.partialInsertionSort( reversed, 0, reversed.length ),
+        "A reversed range needs too many moves." );
+  }
+
+  @Test
+  void test_pdqSort_withNullArguments() {
+    assertThrows( IllegalArgumentException.class, () -> PdqSort.pdqSort( null, Integer::compare ),
+        "A null list should be rejected." );
+    assertThrows( IllegalArgumentException.class, () -> PdqSort.pdqSort( List.of( 1 ), null ),
+        "A null comparator should be rejected." );
+    assertThrows( IllegalArgumentException.class, () -> PdqSort.pdqSort( (int[]) null ),
+        "A null int array should be rejected." );
+    assertThrows( IllegalArgumentException.class, () -> PdqSort.pdqSort( (long[]) null ),
+        "A null long array should be rejected." );
+  }
+
+  private static long comparisons( List<Integer> list ) {
+    AtomicLong comparisons = new AtomicLong();
+    PdqSort.pdqSort( list, ( a, b ) -> {
+      comparisons.incrementAndGet();
+      return Integer.compare( a, b );
+    } );
+    return comparisons.get();
+  }
+
+  /**
+   * Returns the distributions of {@link BlockQuickSortTests} plus sorted input with noise and a push-front pattern.
+   */
+  private static List<int[]> patterns( Random rand, int n ) {
+    List<int[]> arrays = BlockQuickSortTests.distributions( rand, n );
+    int[] noisy = new int[n];
+    int[] pushFront = new int[n];
+    for( int i = 0; i < n; i++ ) {
+      noisy[i] = i;
+      pushFront[i] = i + 1;
+    }
+    for( int i = 0; i < n / 100 + 1; i++ ) {
+      BlockQuickSort.swap( noisy, rand.nextInt( n ), rand.nextInt( n ) );
+    }
+    pushFront[n - 1] = 0;
+    arrays.add( noisy );
+    arrays.add( pushFront );
+    return arrays;
+  }
+}
@@ -0,0 +1,272 @@
+package org.sortingengine.algo.sorting;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+import com.sun.management.ThreadMXBean;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Performance contracts: comparison counts against theoretical bounds, and comparison counts and per-thread allocation
+ * against the baselines in {@code performance-baselines.properties}. Inputs are generated from fixed seeds, so
+ * comparison counts are exact; allocation may fall below its baseline but not exceed it by more than a small
+ * tolerance. Running times depend on the machine, so they are only compared with each other: the median time of
+ * {@link BlockQuickSort} as a percentage of the median time of {@link QuickSort} on the same input.
+ *
+ * <p>The tier is tagged {@code performance} and excluded from the default build; run it with
+ * {@code mvn test -Pperformance}. After an intended change, add {@code -Dperformance.record=true} to write the measured
+ * values to {@code target/performance-baselines.properties} instead of checking them, and copy them into the baseline
+ * file.</p>
+ */
+@Tag( "performance" )
+class PerformanceContractTests {
+
+  private static final int SIZE = 10_000;
+  private static final int WARMUP_ROUNDS = 50;
+  private static final int MEASUREMENT_ATTEMPTS = 20;
+  private static final double ALLOCATION_TOLERANCE = 1.25;
+  private static final long ALLOCATION_SLACK = 8 * 1024;
+  private static final int RUNTIME_SIZE = 100_000;
+  private static final int RUNTIME_WARMUP_ROUNDS = 100;
+  private static final int RUNTIME_ROUNDS = 31;
+  private static final double RUNTIME_TOLERANCE = 1.5;
+  private static final boolean RECORD = Boolean.getBoolean( "performance.record" );
+  private static final Path RECORDED = Path.of( "target", "performance-baselines.properties" );
+
+  private static Properties baselines;
+  private static Properties recorded;
+
+  @BeforeAll
+  static void loadBaselines() throws IOException {
+    baselines = new Properties();
+    try( InputStream in = PerformanceContractTests.class.getResourceAsStream( "/performance-baselines.properties" ) ) {
+      assertNotNull( in, "The baseline file should be on the test classpath." );
+      baselines.load( in );
+    }
+    recorded = new Properties();
+  }
+
+  @AfterAll
+  static void writeRecorded() throws IOException {
+    if( RECORD ) {
+      Files.createDirectories( RECORDED.getParent() );
+      try( Writer out = Files.newBufferedWriter( RECORDED ) ) {
+        recorded.store( out, "Measured by PerformanceContractTests" );
+      }
+    }
+  }
+
+  @Test
+  void test_comparisons_withinTheoreticalBounds() {
+    List<Integer> input = randomList( new Random( 39 ), SIZE );
+    double log2 = Math.log( SIZE ) / Math.log( 2 );
+    long mergeBound = (long) SIZE * (long) Math.ceil( log2 );
+    long heapBound = (long) ( 2 * SIZE * log2 );
+
+    Map<String, Long> bounds = new LinkedHashMap<>();
+    bounds.put( "mergeSort.list", mergeBound );
+    bounds.put( "mergeSort.array", mergeBound );
+    bounds.put( "mergeSorter", mergeBound );
+    bounds.put( "binaryInsertionSort", mergeBound );
+    bounds.put( "heapSort", heapBound );
+    bounds.put( "quickSort.list", heapBound );
+    bounds.put( "blockQuickSort", heapBound );
+    bounds.put( "pdqSort", heapBound );
+    bounds.put( "parallelQuickSort", heapBound );
+    for( Map.Entry<String, Long> bound : bounds.entrySet() ) {
+      long comparisons = countComparisons( objectSorters().get( bound.getKey() ), input );
+      assertTrue( comparisons <= bound.getValue(), bound.getKey() + " made " + comparisons
+          + " comparisons on random input, above the bound of " + bound.getValue() + "." );
+    }
+  }
+
+  @Test
+  void test_comparisons_adaptiveSortsOnSortedInput() {
+    List<Integer> sorted = new ArrayList<>( SIZE );
+    for( int i = 0; i < SIZE; i++ ) {
+      sorted.add( i );
+    }
+    for( String name : List.of( "insertionSort", "binaryInsertionSort", "bubbleSort", "mergeSort.array",
+        "mergeSorter" ) ) {
+      long comparisons = countComparisons( objectSorters().get( name ), sorted );
+      assertTrue( comparisons <= SIZE - 1, name + " made " + comparisons + " comparisons on sorted input." );
+    }
+  }
+
+  @Test
+  void test_comparisons_matchBaselines() {
+    List<Integer> input = randomList( new Random( 39 ), SIZE );
+    for( Map.Entry<String, BiConsumer<List<Integer>, Comparator<Integer>>> sorter : objectSorters().entrySet() ) {
+      if( sorter.getKey().equals( "insertionSort" ) || sorter.getKey().equals( "bubbleSort" ) ) {
+        // Quadratic in comparisons, so they are only held to the sorted-input contract
+        continue;
+      }
+      long comparisons = countComparisons( sorter.getValue(), input );
+      check( "comparisons." + sorter.getKey(), comparisons, 1.0, 0 );
+    }
+  }
+
+  @Test
+  void test_allocation_matchBaselines() {
+    assumeTrue( ManagementFactory.getThreadMXBean() instanceof ThreadMXBean threads
+        && threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled(),
+        "Per-thread allocation is not measured by this JVM." );
+    ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+    Random rand = new Random( 40 );
+    List<Integer> input = randomList( rand, SIZE );
+    int[] ints = rand.ints( SIZE ).toArray();
+    long[] longs = rand.longs( SIZE ).toArray();
+
+    Map<String, Runnable> jobs = new LinkedHashMap<>();
+    jobs.put( "mergeSort.list", () -> MergeSort.mergeSort( input, Integer::compare ) );
+    jobs.put( "quickSort.list", () -> QuickSort.quickSort( input, Integer::compare ) );
+    jobs.put( "heapSort", () -> HeapSort.heapSort( input, Integer::compare ) );
+    jobs.put( "mergeSort.int", () -> MergeSort.mergeSort( ints ) );
+    jobs.put( "quickSort.int", () -> QuickSort.quickSort( ints ) );
+    jobs.put( "mergeSort.long", () -> MergeSort.mergeSort( longs ) );
+    jobs.put( "quickSort.long", () -> QuickSort.quickSort( longs ) );
+    jobs.put( "blockQuickSort.list", () -> BlockQuickSort.blockQuickSort( input, Integer::compare ) );
+    jobs.put( "blockQuickSort.int", () -> BlockQuickSort.blockQuickSort( ints ) );
+    jobs.put( "blockQuickSort.long", () -> BlockQuickSort.blockQuickSort( longs ) );
+    jobs.put( "pdqSort.list", () -> PdqSort.pdqSort( input, Integer::compare ) );
+    jobs.put( "pdqSort.int", () -> PdqSort.pdqSort( ints ) );
+    jobs.put( "pdqSort.long", () -> PdqSort.pdqSort( longs ) );
+
+    for( Map.Entry<String, Runnable> job : jobs.entrySet() ) {
+      String key = "allocatedBytes." + job.getKey();
+      long limit = RECORD ? Long.MIN_VALUE : limit( key, ALLOCATION_TOLERANCE, ALLOCATION_SLACK );
+      // Keep the lowest measurement, warming up further while it is over the limit: before the JIT has compiled the
+      // vector kernels they allocate for every operation, and a slow machine may need longer to get there
+      long lowest = Long.MAX_VALUE;
+      for( int attempt = 0; attempt < MEASUREMENT_ATTEMPTS && lowest > limit; attempt++ ) {
+        for( int round = 0; round < WARMUP_ROUNDS; round++ ) {
+          job.getValue().run();
+        }
+        long before = threads.getCurrentThreadAllocatedBytes();
+        job.getValue().run();
+        lowest = Math.min( lowest, threads.getCurrentThreadAllocatedBytes() - before );
+      }
+      check( key, lowest, ALLOCATION_TOLERANCE, ALLOCATION_SLACK );
+    }
+  }
+
+  @Test
+  void test_runtime_blockQuickSortAgainstQuickSort() {
+    Random rand = new Random( 41 );
+    List<Integer> list = randomList( rand, RUNTIME_SIZE );
+    int[] ints = rand.ints( RUNTIME_SIZE ).toArray();
+    long[] longs = rand.longs( RUNTIME_SIZE ).toArray();
+    Comparator<Integer> comparator = Integer::compare;
+
+    long listPercent = runtimePercent( () -> BlockQuickSort.blockQuickSort( list, comparator ),
+        () -> QuickSort.quickSort( list, comparator ) );
+    long intPercent = runtimePercent( () -> BlockQuickSort.blockQuickSort( ints ), () -> QuickSort.quickSort( ints ) );
+    long longPercent = runtimePercent( () -> BlockQuickSort.blockQuickSort( longs ),
+        () -> QuickSort.quickSort( longs ) );
+    check( "runtimePercent.blockQuickSort.list", listPercent, RUNTIME_TOLERANCE, 0 );
+    check( "runtimePercent.blockQuickSort.int", intPercent, RUNTIME_TOLERANCE, 0 );
+    check( "runtimePercent.blockQuickSort.long", longPercent, RUNTIME_TOLERANCE, 0 );
+  }
+
+  /**
+   * Returns the median running time of a sort as a percentage of the median running time of a reference sort. The two
+   * are warmed up and then timed in alternation, so that a change in machine load affects both alike.
+   */
+  private static long runtimePercent( Runnable sort, Runnable reference ) {
+    for( int round = 0; round < RUNTIME_WARMUP_ROUNDS; round++ ) {
+      sort.run();
+      reference.run();
+    }
+    long[] sortNanos = new long[RUNTIME_ROUNDS];
+    long[] referenceNanos = new long[RUNTIME_ROUNDS];
+    for( int round = 0; round < RUNTIME_ROUNDS; round++ ) {
+      long start = System.nanoTime();
+      sort.run();
+      long middle = System.nanoTime();
+      reference.run();
+      sortNanos[round] = middle - start;
+      referenceNanos[round] = System.nanoTime() - middle;
+    }
+    Arrays.sort( sortNanos );
+    Arrays.sort( referenceNanos );
+    return Math.round( 100.0 * sortNanos[RUNTIME_ROUNDS / 2] / referenceNanos[RUNTIME_ROUNDS / 2] );
+  }
+
+  /**
+   * Fails when a measurement exceeds its baseline times the tolerance plus the slack, or records it in record mode.
+   */
+  private static void check( String key, long measured, double tolerance, long slack ) {
+    if( RECORD ) {
+      recorded.setProperty( key, Long.toString( measured ) );
+      return;
+    }
+    assertTrue( measured <= limit( key, tolerance, slack ), key + " regressed: measured " + measured + ", baseline "
+        + baselines.getProperty( key ).trim() + "." );
+  }
+
+  private static long limit( String key, double tolerance, long slack ) {
+    String baseline = baselines.getProperty( key );
+    if( baseline == null ) {
+      fail( "No baseline for " + key + "." );
+    }
+    return (long) ( Long.parseLong( baseline.trim() ) * tolerance ) + slack;
+  }
+
+  private static Map<String, BiConsumer<List<Integer>, Comparator<Integer>>> objectSorters() {
+    Map<String, BiConsumer<List<Integer>, Comparator<Integer>>> sorters = new LinkedHashMap<>();
+    sorters.put( "mergeSort.list", MergeSort::mergeSort );
+    sorters.put( "mergeSort.array", ( list, comparator ) -> {
+      Integer[] array = list.toArray( new Integer[0] );
+      MergeSort.mergeSort( array, 0, array.length, new Integer[( array.length + 1 ) / 2], comparator );
+    } );
+    sorters.put( "mergeSorter", ( list, comparator ) -> new MergeSorter().sort( new ArrayList<>( list ), comparator ) );
+    sorters.put( "quickSort.list", QuickSort::quickSort );
+    sorters.put( "blockQuickSort", BlockQuickSort::blockQuickSort );
+    sorters.put( "pdqSort", PdqSort::pdqSort );
+    sorters.put( "parallelQuickSort", ParallelQuickSort::parallelQuickSort );
+    sorters.put( "heapSort", HeapSort::heapSort );
+    sorters.put( "insertionSort", InsertionSort::insertionSort );
+    sorters.put( "binaryInsertionSort", InsertionSort::binaryInsertionSort );
+    sorters.put( "bubbleSort", BubbleSort::bubbleSort );
+    return sorters;
+  }
+
+  private static long countComparisons( BiConsumer<List<Integer>, Comparator<Integer>> sorter, List<Integer> input ) {
+    AtomicLong comparisons = new AtomicLong();
+    sorter.accept( input, ( a, b ) -> {
+      comparisons.incrementAndGet();
+      return Integer.compare( a, b );
+    } );
+    return comparisons.get();
+  }
+
+  private static List<Integer> randomList( Random rand, int n ) {
+    List<Integer> list = new ArrayList<>( n );
+    for( int i = 0; i < n; i++ ) {
+      list.add( rand.nextInt( n ) );
+    }
+    return list;
+  }
+}
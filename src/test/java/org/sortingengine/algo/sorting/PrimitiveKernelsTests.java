@@ -0,0 +1,98 @@
+package org.sortingengine.algo.sorting;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PrimitiveKernelsTests {
+
+  @Test
+  void test_sortSmall_withEveryBlockSize() {
+    Random rand = new Random( 3 );
+    int[] block = PrimitiveKernels.intBlock();
+    long[] longBlock = PrimitiveKernels.longBlock();
+    for( int size = 0; size <= PrimitiveKernels.SMALL_SORT_THRESHOLD; size++ ) {
+      int[] array = rand.ints( size + 4, -20, 20 ).toArray();
+      int[] expected = array.clone();
+      Arrays.sort( expected, 2, 2 + size );
+      PrimitiveKernels.sortSmall( array, 2, 2 + size, block );
+      assertArrayEquals( expected, array, "Only the block of size " + size + " should be sorted." );
+
+      long[] longArray = rand.longs( size ).toArray();
+      long[] longExpected = longArray.clone();
+      Arrays.sort( longExpected );
+      PrimitiveKernels.sortSmall( longArray, 0, size, longBlock );
+      assertArrayEquals( longExpected, longArray, "The long block of size " + size + " should be sorted." );
+    }
+  }
+
+  @Test
+  void test_sortSmall_withExtremeValues() {
+    int[] array = { Integer.MAX_VALUE, 0, Integer.MIN_VALUE, Integer.MAX_VALUE, -1, 1, Integer.MIN_VALUE, 5, 4 };
+    int[] expected = array.clone();
+    Arrays.sort( expected );
+    PrimitiveKernels.sortSmall( array, 0, array.length, PrimitiveKernels.intBlock() );
+    assertArrayEquals( expected, array, "Sentinel-valued elements should sort like any other." );
+  }
+
+  @Test
+  void test_partition_matchesScalarPartition() {
+    Random rand = new Random( 5 );
+    for( int size : new int[]{ 1, 7, 16, 100, 1001 } ) {
+      int[] array = rand.ints( size, 0, 10 ).toArray();
+      int[] scalar = array.clone();
+      int pivot = array[size / 2];
+      long vectorBounds = PrimitiveKernels.partition( array, 0, size, pivot,
+          PrimitiveKernels.intPartitionBuffer( size ), PrimitiveKernels.intPartitionBuffer( size ) );
+      long scalarBounds = PrimitiveKernels.partitionScalar( scalar, 0, size, pivot );
+      assertEquals( scalarBounds, vectorBounds, "Both partitions should agree on the equal run." );
+      assertPartitioned( array, PrimitiveKernels.equalStart( vectorBounds ),
+          PrimitiveKernels.greaterStart( vectorBounds ), pivot );
+      assertPartitioned( scalar, PrimitiveKernels.equalStart( scalarBounds ),
+          PrimitiveKernels.greaterStart( scalarBounds ), pivot );
+    }
+  }
+
+  @Test
+  void test_partition_withLongArray() {
+    long[] array = new Random( 9 ).longs( 333, -5, 5 ).toArray();
+    long pivot = 0;
+    long bounds = PrimitiveKernels.partition( array, 0, array.length, pivot,
+        PrimitiveKernels.longPartitionBuffer( array.length ), PrimitiveKernels.longPartitionBuffer( array.length ) );
+    int equalStart = PrimitiveKernels.equalStart( bounds );
+    int greaterStart = PrimitiveKernels.greaterStart( bounds );
+    for( int i = 0; i < array.length; i++ ) {
+      long expectedSign = i < equalStart ? -1 : i < greaterStart ? 0 : 1;
+      assertEquals( expectedSign, Long.signum( array[i] - pivot ), "Element " + i + " is on the wrong side." );
+    }
+  }
+
+  @Test
+  void test_sortableBits_preserveOrder() {
+    double[] values = { Double.NEGATIVE_INFINITY, -1e300, -1.0, -Double.MIN_VALUE, -0.0, 0.0, Double.MIN_VALUE, 1.0,
+        Double.MAX_VALUE, Double.POSITIVE_INFINITY, Double.NaN };
+    for( int i = 0; i + 1 < values.length; i++ ) {
+      assertTrue( SortableBits.doubleToSortableLong( values[i] ) < SortableBits.doubleToSortableLong( values[i + 1] ),
+          values[i] + " should map below " + values[i + 1] );
+      assertEquals( Double.doubleToLongBits( values[i] ),
+          Double.doubleToLongBits(
+              SortableBits.sortableLongToDouble( SortableBits.doubleToSortableLong( values[i] ) ) ),
+          "The mapping should round-trip." );
+    }
+    assertTrue( SortableBits.floatToSortableInt( -0.0f ) < SortableBits.floatToSortableInt( 0.0f ),
+        "-0.0f should map below 0.0f" );
+  }
+
+  private static void assertPartitioned( int[] array, int equalStart, int greaterStart, int pivot ) {
+    for( int i = 0; i < array.length; i++ ) {
+      int expectedSign = i < equalStart ? -1 : i < greaterStart ? 0 : 1;
+      assertEquals( expectedSign, Integer.signum( Integer.compare( array[i], pivot ) ),
+          "Element " + i + " is on the wrong side." );
+    }
+  }
+}
@@ -10,6 +10,7 @@ import java.util.Random;
 import org.junit.jupiter.api.Test;
 import org.sortingengine.model.User;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -128,6 +129,66 @@ class QuickSortTests {
     assertEquals( expectedSortedList, sortedList, "The sorted list should be in descending order." );
   }
 
+  @Test
+  void test_quickSort_withIntArray() {
+    Random rand = new Random( 7 );
+    for( int size : new int[]{ 0, 1, 7, 8, 33, 64, 65, 1000, 10_000 } ) {
+      int[] array = rand.ints( size, -500, 500 ).toArray();
+      int[] expected = array.clone();
+      Arrays.sort( expected );
+      int[] original = array.clone();
+      assertArrayEquals( expected, QuickSort.quickSort( array ),
+          "The int array of size " + size + " should be sorted." );
+      assertArrayEquals( original, array, "The original array should be unmodified." );
+    }
+  }
+
+  @Test
+  void test_quickSort_withLongArray() {
+    Random rand = new Random( 11 );
+    for( int size : new int[]{ 0, 1, 9, 64, 500, 10_000 } ) {
+      long[] array = rand.longs( size ).toArray();
+      long[] expected = array.clone();
+      Arrays.sort( expected );
+      assertArrayEquals( expected, QuickSort.quickSort( array ),
+          "The long array of size " + size + " should be sorted." );
+    }
+  }
+
+  @Test
+  void test_quickSort_withFloatArraySpecialValues() {
+    float[] array = { 1.5f, Float.NaN, -0.0f, 0.0f, Float.NEGATIVE_INFINITY, -2f, Float.POSITIVE_INFINITY, 0.0f };
+    float[] expected = array.clone();
+    Arrays.sort( expected );
+    assertArrayEquals( expected, QuickSort.quickSort( array ), "Floats should follow Float.compare ordering." );
+  }
+
+  @Test
+  void test_quickSort_withDoubleArray() {
+    Random rand = new Random( 13 );
+    double[] array = rand.doubles( 5000, -1e6, 1e6 ).toArray();
+    array[10] = Double.NaN;
+    array[20] = -0.0;
+    array[30] = 0.0;
+    double[] expected = array.clone();
+    Arrays.sort( expected );
+    assertArrayEquals( expected, QuickSort.quickSort( array ), "Doubles should follow Double.compare ordering." );
+  }
+
+  @Test
+  void test_quickSort_withManyDuplicatesIntArray() {
+    int[] array = new Random( 17 ).ints( 20_000, 0, 3 ).toArray();
+    int[] expected = array.clone();
+    Arrays.sort( expected );
+    assertArrayEquals( expected, QuickSort.quickSort( array ), "Duplicate-heavy arrays should be sorted." );
+  }
+
+  @Test
+  void test_quickSort_withNullIntArray() {
+    Exception exception = assertThrows( IllegalArgumentException.class, () -> QuickSort.quickSort( (int[]) null ) );
+    assertEquals( "The array cannot be null.", exception.getMessage() );
+  }
+
   // Utility method to check if a list is sorted
   private <T> boolean isSorted( List<T> list, Comparator<T> comparator ) {
     for( int i = 0; i < list.size() - 1; i++ ) {
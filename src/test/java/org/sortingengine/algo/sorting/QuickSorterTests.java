@@ -0,0 +1,102 @@
+package org.sortingengine.algo.sorting;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Random;
+
+import com.sun.management.ThreadMXBean;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QuickSorterTests {
+
+  @Test
+  void test_sort_withPrimitiveArrays() {
+    QuickSorter sorter = new QuickSorter();
+    Random rand = new Random( 61 );
+    for( int size : new int[]{ 0, 5, 64, 65, 3000, 100 } ) {
+      int[] ints = rand.ints( size, 0, 500 ).toArray();
+      int[] expectedInts = ints.clone();
+      Arrays.sort( expectedInts );
+      sorter.sort( ints );
+      assertArrayEquals( expectedInts, ints, "The int array of size " + size + " should be sorted in place." );
+
+      long[] longs = rand.longs( size ).toArray();
+      long[] expectedLongs = longs.clone();
+      Arrays.sort( expectedLongs );
+      sorter.sort( longs );
+      assertArrayEquals( expectedLongs, longs, "The long array of size " + size + " should be sorted in place." );
+    }
+    assertEquals( 3000, sorter.capacity(), "The buffers should only grow to the largest input." );
+  }
+
+  @Test
+  void test_sort_steadyStateAllocatesNothing() {
+    ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+    QuickSorter sorter = new QuickSorter();
+    Random rand = new Random( 67 );
+    int[] ints = rand.ints( 2000 ).toArray();
+    long[] longs = rand.longs( 2000 ).toArray();
+
+    // Warm up so that the buffers reach their final size and the JIT has compiled the hot paths
+    for( int round = 0; round < 2000; round++ ) {
+      refill( ints, rand );
+      refill( longs, rand );
+      sorter.sort( ints );
+      sorter.sort( longs );
+    }
+
+    // Every measured sort gets unsorted input, so it partitions through the buffers; refilling allocates nothing
+    long threadId = Thread.currentThread().threadId();
+    long before = threads.getThreadAllocatedBytes( threadId );
+    for( int round = 0; round < 100; round++ ) {
+      refill( ints, rand );
+      refill( longs, rand );
+      sorter.sort( ints );
+      sorter.sort( longs );
+    }
+    long allocated = threads.getThreadAllocatedBytes( threadId ) - before;
+    assertTrue( allocated < 16 * 1024, "Repeated sorts should not allocate, but allocated " + allocated + " bytes." );
+  }
+
+  @Test
+  void test_threadLocal_returnsSameInstanceOnOneThread() {
+    assertSame( QuickSorter.threadLocal(), QuickSorter.threadLocal(), "A thread should always get its own sorter." );
+  }
+
+  @Test
+  void test_release_dropsBuffers() {
+    QuickSorter sorter = new QuickSorter();
+    sorter.sort( new int[]{ 3, 2, 1 } );
+    sorter.release();
+    assertEquals( 0, sorter.capacity(), "Released sorters should hold no buffers." );
+    int[] array = { 5, 4, 3, 2, 1 };
+    sorter.sort( array );
+    assertArrayEquals( new int[]{ 1, 2, 3, 4, 5 }, array, "A released sorter should still sort." );
+  }
+
+  @Test
+  void test_sort_withNullArray() {
+    Exception exception = assertThrows( IllegalArgumentException.class, () -> new QuickSorter().sort( (int[]) null ) );
+    assertEquals( "The array cannot be null.", exception.getMessage() );
+    assertThrows( IllegalArgumentException.class, () -> new QuickSorter().sort( (long[]) null ),
+        "A null long array should be rejected." );
+  }
+
+  private static void refill( int[] array, Random rand ) {
+    for( int i = 0; i < array.length; i++ ) {
+      array[i] = rand.nextInt();
+    }
+  }
+
+  private static void refill( long[] array, Random rand ) {
+    for( int i = 0; i < array.length; i++ ) {
+      array[i] = rand.nextLong();
+    }
+  }
+}
@@ -0,0 +1,145 @@
+package org.sortingengine.algo.sorting;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.sortingengine.model.User;
+import org.sortingengine.model.Users;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SortMergeJoinTests {
+
+  private static final Comparator<Integer> ORDER = Comparator.naturalOrder();
+
+  @Test
+  void test_joins_matchNestedLoops() {
+    Random rand = new Random( 49 );
+    int[][] sizes = { { 0, 0 }, { 0, 20 }, { 20, 0 }, { 200, 200 }, { 10, 5_000 }, { 5_000, 10 }, { 1_000, 300 } };
+    for( int[] size : sizes ) {
+      for( int range : new int[]{ 10, 10_000 } ) {
+        List<User> users = sortedUsers( "user", size[0], range, rand.nextLong() );
+        List<User> orders = new LinkedList<>( sortedUsers( "order", size[1], range, rand.nextLong() ) );
+        String message = " of sizes " + size[0] + " and " + size[1] + " in range " + range + ".";
+
+        List<String> inner = new ArrayList<>();
+        List<String> left = new ArrayList<>();
+        List<User> semi = new ArrayList<>();
+        List<User> anti = new ArrayList<>();
+        for( User user : users ) {
+          boolean matched = false;
+          for( User order : orders ) {
+            if( user.id() == order.id() ) {
+              inner.add( pair( user, order ) );
+              left.add( pair( user, order ) );
+              matched = true;
+            }
+          }
+          if( !matched ) {
+            left.add( pair( user, null ) );
+            anti.add( user );
+          } else {
+            semi.add( user );
+          }
+        }
+
+        assertEquals( inner, SortMergeJoin.innerJoin( users, orders, User::id, User::id, ORDER,
+            SortMergeJoinTests::pair ), "Inner join" + message );
+        assertEquals( left, SortMergeJoin.leftJoin( users, orders, User::id, User::id, ORDER,
+            SortMergeJoinTests::pair ), "Left join" + message );
+        assertEquals( semi, SortMergeJoin.semiJoin( users, orders, User::id, User::id, ORDER ), "Semi join" + message );
+        assertEquals( anti, SortMergeJoin.antiJoin( users, orders, User::id, User::id, ORDER ), "Anti join" + message );
+
+        assertEquals( inner, drain( SortMergeJoin.innerJoin( users.iterator(), orders.iterator(), User::id, User::id,
+            ORDER, SortMergeJoinTests::pair ) ), "Lazy inner join" + message );
+        assertEquals( left, drain( SortMergeJoin.leftJoin( users.iterator(), orders.iterator(), User::id, User::id,
+            ORDER, SortMergeJoinTests::pair ) ), "Lazy left join" + message );
+        assertEquals( semi, drain( SortMergeJoin.semiJoin( users.iterator(), orders.iterator(), User::id, User::id,
+            ORDER ) ), "Lazy semi join" + message );
+        assertEquals( anti, drain( SortMergeJoin.antiJoin( users.iterator(), orders.iterator(), User::id, User::id,
+            ORDER ) ), "Lazy anti join" + message );
+      }
+    }
+  }
+
+  @Test
+  void test_innerJoin_withDifferentTypes() {
+    List<User> users = List.of( new User( 1, "ann" ), new User( 2, "bob" ), new User( 4, "dan" ) );
+    List<String> orders = List.of( "1:book", "1:pen", "3:cup", "4:ink" );
+    Function<String, Integer> customer = order -> Integer.parseInt( order.substring( 0, order.indexOf( ':' ) ) );
+    assertEquals( List.of( "ann-1:book", "ann-1:pen", "dan-4:ink" ),
+        SortMergeJoin.innerJoin( users, orders, User::id, customer, ORDER,
+            ( user, order ) -> user.name() + "-" + order ), "Every order should be paired with its customer." );
+  }
+
+  @Test
+  void test_semiJoin_gallopsThroughSkewedInputs() {
+    List<User> large = sortedUsers( "event", 1_000_000, 100_000_000, 50 );
+    List<User> small = List.of( large.get( 10 ), large.get( 500_000 ), large.get( 999_999 ) );
+    int[] comparisons = new int[1];
+    Comparator<Integer> counting = ( x, y ) -> {
+      comparisons[0]++;
+      return Integer.compare( x, y );
+    };
+    List<User> matched = SortMergeJoin.semiJoin( small, large, User::id, User::id, counting );
+    assertEquals( small, matched, "Every element of the small input should be matched." );
+    assertTrue( comparisons[0] < 500, "Galloping should skip the large input, but compared " + comparisons[0] + "." );
+  }
+
+  @Test
+  void test_innerJoin_iteratorIsLazy() {
+    // An endless left input and a right input that is only read as far as the join has progressed
+    Iterator<Integer> naturals = IntStream.iterate( 0, i -> i + 1 ).iterator();
+    int[] pulled = new int[1];
+    Iterator<Integer> multiplesOfTen = IntStream.iterate( 0, i -> i + 10 ).peek( i -> pulled[0]++ ).iterator();
+    Iterator<Integer> joined = SortMergeJoin.innerJoin( naturals, multiplesOfTen, i -> i, i -> i, ORDER,
+        ( a, b ) -> a );
+    for( int i = 0; i < 5; i++ ) {
+      assertEquals( 10 * i, joined.next(), "The join should produce matches in order." );
+    }
+    assertTrue( pulled[0] <= 6, "Only the right elements reached so far should be read." );
+  }
+
+  @Test
+  void test_joins_withNullArguments() {
+    List<User> users = List.of( new User( 1, "a" ) );
+    assertThrows( IllegalArgumentException.class,
+        () -> SortMergeJoin.semiJoin( (List<User>) null, users, User::id, User::id, ORDER ),
+        "A null list should be rejected." );
+    assertThrows( IllegalArgumentException.class,
+        () -> SortMergeJoin.antiJoin( users.iterator(), null, User::id, User::id, ORDER ),
+        "A null iterator should be rejected." );
+    assertThrows( IllegalArgumentException.class,
+        () -> SortMergeJoin.semiJoin( users, users, null, User::id, ORDER ),
+        "A null key extractor should be rejected." );
+    assertThrows( IllegalArgumentException.class,
+        () -> SortMergeJoin.semiJoin( users, users, User::id, User::id, null ),
+        "A null comparator should be rejected." );
+    assertThrows( IllegalArgumentException.class,
+        () -> SortMergeJoin.innerJoin( users, users, User::id, User::id, ORDER, null ),
+        "A null combiner should be rejected." );
+  }
+
+  private static List<User> sortedUsers( String prefix, int count, int range, long seed ) {
+    return MergeSort.mergeSort( Users.random( prefix, count, 0, range, seed ), Comparator.comparingInt( User::id ) );
+  }
+
+  private static String pair( User left, User right ) {
+    return left.name() + "-" + ( right == null ? "none" : right.name() );
+  }
+
+  private static <T> List<T> drain( Iterator<T> iterator ) {
+    List<T> result = new ArrayList<>();
+    iterator.forEachRemaining( result::add );
+    return result;
+  }
+}
@@ -0,0 +1,105 @@
+package org.sortingengine.algo.sorting;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.sortingengine.model.User;
+import org.sortingengine.model.Users;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SortedChunkListTests {
+
+  private static final Comparator<User> BY_ID = Comparator.comparingInt( User::id );
+
+  @Test
+  void test_insertAndDelete_keepListSorted() {
+    Random rand = new Random( 38 );
+    List<User> users = Users.random( 20_000, 1_000, 38 );
+    SortedChunkList<User> list = new SortedChunkList<>( BY_ID );
+    List<User> expected = new ArrayList<>();
+    for( int i = 0; i < 20_000; i++ ) {
+      if( !expected.isEmpty() && rand.nextInt( 3 ) == 0 ) {
+        User victim = expected.remove( rand.nextInt( expected.size() ) );
+        assertTrue( list.delete( victim ), "A present element should be deleted." );
+      } else {
+        User user = users.get( i );
+        expected.add( user );
+        list.insert( user );
+      }
+    }
+
+    assertEquals( MergeSort.mergeSort( expected, BY_ID ), new ArrayList<>( list ),
+        "Iteration should match a stable sort of the surviving elements." );
+    List<User> sorted = MergeSort.mergeSort( expected, BY_ID );
+    for( int i = 0; i < sorted.size(); i += 97 ) {
+      assertEquals( sorted.get( i ), list.get( i ), "Positional reads should match." );
+    }
+    assertTrue( list.chunkCount() > 1, "A large list should be split into chunks." );
+  }
+
+  @Test
+  void test_fromSorted_andApplyDelta() {
+    List<Integer> base = new ArrayList<>();
+    for( int i = 0; i < 10_000; i++ ) {
+      base.add( i * 3 );
+    }
+    SortedChunkList<Integer> list = SortedChunkList.fromSorted( base, Integer::compare );
+    assertEquals( base, list, "A list built from sorted input should equal it." );
+
+    int deleted = list.applyDelta( List.of( 4, 1, 29_999 ), List.of( 0, 3, 5 ) );
+    assertEquals( 2, deleted, "Only present elements should be deleted." );
+    assertEquals( List.of( 1, 4, 6, 9 ), list.subList( 0, 4 ), "Inserts should land in order." );
+    assertEquals( Integer.valueOf( 29_999 ), list.get( list.size() - 1 ), "Inserts past the end should go last." );
+    assertEquals( 10_001, list.size(), "The size should reflect the delta." );
+  }
+
+  @Test
+  void test_get_afterSplitsGrowOffsets() {
+    // 1536 elements fill three chunks; reading caches their offsets, then splits add chunks past that capacity
+    List<Integer> expected = new ArrayList<>();
+    for( int i = 0; i < 1536; i++ ) {
+      expected.add( i );
+    }
+    SortedChunkList<Integer> list = SortedChunkList.fromSorted( expected, Integer::compare );
+    assertEquals( Integer.valueOf( 1024 ), list.get( 1024 ), "The element should be read before the splits." );
+    Random rand = new Random( 39 );
+    for( int round = 0; round < 20; round++ ) {
+      for( int i = 0; i < 600; i++ ) {
+        int value = 1536 + rand.nextInt( 1_000_000 );
+        expected.add( value );
+        list.insert( value );
+      }
+      expected.sort( Integer::compare );
+      for( int i = 0; i < expected.size(); i += 37 ) {
+        assertEquals( expected.get( i ), list.get( i ), "Index " + i + " should be read correctly after splits." );
+      }
+    }
+  }
+
+  @Test
+  void test_delete_withMissingAndEmpty() {
+    SortedChunkList<Integer> list = new SortedChunkList<>( Integer::compare );
+    assertFalse( list.delete( 1 ), "Deleting from an empty list should find nothing." );
+    list.insert( 1 );
+    assertFalse( list.delete( 2 ), "Deleting a missing element should find nothing." );
+    assertTrue( list.delete( 1 ), "Deleting the only element should succeed." );
+    assertTrue( list.isEmpty(), "The list should be empty again." );
+    list.insert( 5 );
+    assertEquals( List.of( 5 ), list, "The list should be usable after becoming empty." );
+  }
+
+  @Test
+  void test_listInterface_isReadOnly() {
+    SortedChunkList<Integer> list = new SortedChunkList<>( Integer::compare );
+    assertThrows( UnsupportedOperationException.class, () -> list.add( 1 ), "List.add should not be supported." );
+    assertThrows( IndexOutOfBoundsException.class, () -> list.get( 0 ), "Reads past the end should fail." );
+    assertThrows( IllegalArgumentException.class, () -> new SortedChunkList<Integer>( null ) );
+  }
+}
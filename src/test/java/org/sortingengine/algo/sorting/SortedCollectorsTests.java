@@ -0,0 +1,123 @@
+package org.sortingengine.algo.sorting;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.sortingengine.model.User;
+import org.sortingengine.model.Users;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SortedCollectorsTests {
+
+  private static final Comparator<User> BY_ID = Comparator.comparingInt( User::id );
+
+  @Test
+  void test_toSortedList_isStable() {
+    for( int n : new int[]{ 0, 1, 17, 10_000, 200_000 } ) {
+      List<User> users = Users.random( n, 100, 51 );
+      List<User> expected = MergeSort.mergeSort( users, BY_ID );
+      assertEquals( expected, users.parallelStream().collect( SortedCollectors.toSortedList( BY_ID ) ),
+          "A parallel collection of " + n + " users should equal a stable sort." );
+      assertEquals( expected, users.stream().collect( SortedCollectors.toSortedList( BY_ID ) ),
+          "A sequential collection of " + n + " users should equal a stable sort." );
+    }
+  }
+
+  @Test
+  void test_toSortedList_releasesLargeScratch() {
+    MergeSorter sorter = MergeSorter.threadLocal();
+    sorter.release();
+    Users.random( 1_000, 100, 52 ).stream().collect( SortedCollectors.toSortedList( BY_ID ) );
+    assertTrue( sorter.capacity() >= 1_000, "The scratch of a small chunk should be kept for reuse." );
+    Users.random( 4 * SortedCollectors.MAX_RETAINED_CAPACITY, 100, 53 ).stream()
+        .collect( SortedCollectors.toSortedList( BY_ID ) );
+    assertEquals( 0, sorter.capacity(), "The scratch of a large chunk should be released." );
+  }
+
+  @Test
+  void test_toUnstableSortedList_isSorted() {
+    List<User> users = Users.random( 100_000, 1_000, 52 );
+    List<User> sorted = users.parallelStream().collect( SortedCollectors.toUnstableSortedList( BY_ID ) );
+    assertEquals( users.size(), sorted.size(), "No element should be lost." );
+    for( int i = 1; i < sorted.size(); i++ ) {
+      assertTrue( sorted.get( i - 1 ).id() <= sorted.get( i ).id(), "The list should be sorted at " + i + "." );
+    }
+    assertEquals( users.stream().map( User::name ).collect( Collectors.toSet() ),
+        sorted.stream().map( User::name ).collect( Collectors.toSet() ), "Every element should be kept." );
+  }
+
+  @Test
+  void test_toSortedList_withSortedSource() {
+    List<Integer> expected = IntStream.range( 0, 100_000 ).boxed().toList();
+    int[] comparisons = new int[1];
+    Comparator<Integer> counting = ( x, y ) -> {
+      synchronized( comparisons ) {
+        comparisons[0]++;
+      }
+      return Integer.compare( x, y );
+    };
+    assertEquals( expected, expected.parallelStream().collect( SortedCollectors.toSortedList( counting ) ),
+        "A sorted source should stay sorted." );
+    assertTrue( comparisons[0] < 2 * expected.size(), "Sorted chunks should be concatenated, not merged." );
+  }
+
+  @Test
+  void test_topK_keepsSmallestInOrder() {
+    List<User> users = Users.random( 50_000, 5_000, 53 );
+    List<User> sorted = MergeSort.mergeSort( users, BY_ID );
+    for( int k : new int[]{ 0, 1, 10, 1_000, 60_000 } ) {
+      List<User> expected = sorted.subList( 0, Math.min( k, sorted.size() ) );
+      assertEquals( expected, users.parallelStream().collect( SortedCollectors.topK( k, BY_ID ) ),
+          "The parallel top " + k + " should be the first elements of a stable sort." );
+      assertEquals( expected, users.stream().collect( SortedCollectors.topK( k, BY_ID ) ),
+          "The sequential top " + k + " should be the first elements of a stable sort." );
+    }
+  }
+
+  @Test
+  void test_sorted_withSpliterators() {
+    TreeSet<Integer> set = new TreeSet<>( new Random( 54 ).ints( 10_000 ).boxed().toList() );
+    int[] comparisons = new int[1];
+    assertEquals( new ArrayList<>( set ), SortedCollectors.sorted( set.spliterator(), Comparator.naturalOrder() ),
+        "A sorted set should be copied in order." );
+
+    TreeSet<Integer> descending = new TreeSet<>( Comparator.reverseOrder() );
+    descending.addAll( set );
+    Spliterator<Integer> spliterator = descending.spliterator();
+    assertEquals( new ArrayList<>( set ), SortedCollectors.sorted( spliterator, ( x, y ) -> {
+      comparisons[0]++;
+      return Integer.compare( x, y );
+    } ), "A set sorted in another order should be sorted again." );
+    assertTrue( comparisons[0] > 0, "A different order should be sorted." );
+
+    List<User> users = Users.random( 20_000, 100, 55 );
+    assertEquals( MergeSort.mergeSort( users, BY_ID ), SortedCollectors.sorted( users.spliterator(), BY_ID ),
+        "An unsorted spliterator should be sorted stably." );
+  }
+
+  @Test
+  void test_collectors_withInvalidArguments() {
+    assertThrows( IllegalArgumentException.class, () -> SortedCollectors.toSortedList( null ),
+        "A null comparator should be rejected." );
+    assertThrows( IllegalArgumentException.class, () -> SortedCollectors.toUnstableSortedList( null ),
+        "A null comparator should be rejected." );
+    assertThrows( IllegalArgumentException.class, () -> SortedCollectors.topK( -1, BY_ID ),
+        "A negative k should be rejected." );
+    assertThrows( IllegalArgumentException.class, () -> SortedCollectors.topK( 1, null ),
+        "A null comparator should be rejected." );
+    assertThrows( IllegalArgumentException.class, () -> SortedCollectors.sorted( null, BY_ID ),
+        "A null spliterator should be rejected." );
+    assertThrows( IllegalArgumentException.class, () -> SortedCollectors.sorted( List.<User>of().spliterator(), null ),
+        "A null comparator should be rejected." );
+  }
+}
@@ -0,0 +1,166 @@
+package org.sortingengine.algo.sorting;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.function.IntBinaryOperator;
+
+import org.junit.jupiter.api.Test;
+import org.sortingengine.model.User;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SortedSetOperationsTests {
+
+  private static final int[][] SIZES = { { 0, 0 }, { 0, 50 }, { 50, 0 }, { 1, 1 }, { 100, 100 }, { 10, 10_000 },
+      { 10_000, 10 }, { 5_000, 3_000 } };
+
+  @Test
+  void test_operations_matchMultisetCounts() {
+    Random rand = new Random( 48 );
+    for( int[] size : SIZES ) {
+      for( int range : new int[]{ 20, 100_000 } ) {
+        int[] a = rand.ints( size[0], 0, range ).sorted().toArray();
+        int[] b = rand.ints( size[1], 0, range ).sorted().toArray();
+        String message = " of sizes " + size[0] + " and " + size[1] + " in range " + range + ".";
+
+        assertArrayEquals( expected( a, b, Math::max ), SortedSetOperations.union( a, b ), "Union" + message );
+        assertArrayEquals( expected( a, b, Math::min ), SortedSetOperations.intersection( a, b ),
+            "Intersection" + message );
+        assertArrayEquals( expected( a, b, ( x, y ) -> Math.max( x - y, 0 ) ), SortedSetOperations.difference( a, b ),
+            "Difference" + message );
+
+        long[] longA = Arrays.stream( a ).asLongStream().toArray();
+        long[] longB = Arrays.stream( b ).asLongStream().toArray();
+        assertArrayEquals( longs( SortedSetOperations.union( a, b ) ), SortedSetOperations.union( longA, longB ),
+            "Long union" + message );
+        assertArrayEquals( longs( SortedSetOperations.intersection( a, b ) ),
+            SortedSetOperations.intersection( longA, longB ), "Long intersection" + message );
+        assertArrayEquals( longs( SortedSetOperations.difference( a, b ) ),
+            SortedSetOperations.difference( longA, longB ), "Long difference" + message );
+
+        List<Integer> listA = Arrays.stream( a ).boxed().toList();
+        List<Integer> listB = new LinkedList<>( Arrays.stream( b ).boxed().toList() );
+        Comparator<Integer> order = Comparator.naturalOrder();
+        assertEquals( boxed( SortedSetOperations.union( a, b ) ), SortedSetOperations.union( listA, listB, order ),
+            "List union" + message );
+        assertEquals( boxed( SortedSetOperations.intersection( a, b ) ),
+            SortedSetOperations.intersection( listA, listB, order ), "List intersection" + message );
+        assertEquals( boxed( SortedSetOperations.difference( a, b ) ),
+            SortedSetOperations.difference( listA, listB, order ), "List difference" + message );
+
+        assertEquals( boxed( SortedSetOperations.union( a, b ) ),
+            drain( SortedSetOperations.union( listA.iterator(), listB.iterator(), order ) ),
+            "Iterator union" + message );
+        assertEquals( boxed( SortedSetOperations.intersection( a, b ) ),
+            drain( SortedSetOperations.intersection( listA.iterator(), listB.iterator(), order ) ),
+            "Iterator intersection" + message );
+        assertEquals( boxed( SortedSetOperations.difference( a, b ) ),
+            drain( SortedSetOperations.difference( listA.iterator(), listB.iterator(), order ) ),
+            "Iterator difference" + message );
+      }
+    }
+  }
+
+  @Test
+  void test_operations_keepElementsOfFirstInput() {
+    Comparator<User> byId = Comparator.comparingInt( User::id );
+    List<User> first = List.of( new User( 1, "a1" ), new User( 2, "a2" ), new User( 2, "a2'" ) );
+    List<User> second = List.of( new User( 2, "b2" ), new User( 3, "b3" ) );
+    List<User> union = SortedSetOperations.union( first, second, byId );
+    assertEquals( List.of( first.get( 0 ), first.get( 1 ), first.get( 2 ), second.get( 1 ) ), union,
+        "Equal elements should be taken from the first input." );
+    assertSame( first.get( 1 ), SortedSetOperations.intersection( first, second, byId ).get( 0 ),
+        "The intersection should return the element of the first input." );
+    assertEquals( List.of( first.get( 0 ), first.get( 2 ) ), SortedSetOperations.difference( first, second, byId ),
+        "The second occurrence should survive a single removal." );
+  }
+
+  @Test
+  void test_intersection_gallopsThroughSkewedInputs() {
+    List<Integer> large = new ArrayList<>();
+    for( int i = 0; i < 1_000_000; i++ ) {
+      large.add( 2 * i );
+    }
+    List<Integer> small = List.of( 10, 500_001, 1_000_000, 1_999_998 );
+    int[] comparisons = new int[1];
+    Comparator<Integer> counting = ( x, y ) -> {
+      comparisons[0]++;
+      return Integer.compare( x, y );
+    };
+    assertEquals( List.of( 10, 1_000_000, 1_999_998 ), SortedSetOperations.intersection( large, small, counting ),
+        "The common elements should be found." );
+    assertTrue( comparisons[0] < 500, "Galloping should skip the large input, but compared " + comparisons[0] + "." );
+
+    comparisons[0] = 0;
+    List<Integer> interleaved = new ArrayList<>();
+    for( int i = 0; i < 10_000; i++ ) {
+      interleaved.add( 2 * i + 1 );
+    }
+    SortedSetOperations.union( large.subList( 0, 10_000 ), interleaved, counting );
+    assertTrue( comparisons[0] < 20_000, "Interleaved inputs should cost one comparison per element." );
+  }
+
+  @Test
+  void test_operations_withNullArguments() {
+    Comparator<Integer> order = Comparator.naturalOrder();
+    assertThrows( IllegalArgumentException.class, () -> SortedSetOperations.union( null, List.of(), order ),
+        "A null list should be rejected." );
+    assertThrows( IllegalArgumentException.class, () -> SortedSetOperations.intersection( List.of(), null, order ),
+        "A null list should be rejected." );
+    assertThrows( IllegalArgumentException.class,
+        () -> SortedSetOperations.difference( List.of(), List.<Integer>of(), null ),
+        "A null comparator should be rejected." );
+    assertThrows( IllegalArgumentException.class,
+        () -> SortedSetOperations.union( (Iterator<Integer>) null, List.<Integer>of().iterator(), order ),
+        "A null iterator should be rejected." );
+    assertThrows( IllegalArgumentException.class, () -> SortedSetOperations.union( null, new int[0] ),
+        "A null int array should be rejected." );
+    assertThrows( IllegalArgumentException.class, () -> SortedSetOperations.difference( new long[0], null ),
+        "A null long array should be rejected." );
+  }
+
+  /**
+   * Builds the expected result from the counts of every value in both arrays.
+   */
+  private static int[] expected( int[] a, int[] b, IntBinaryOperator count ) {
+    TreeMap<Integer, int[]> counts = new TreeMap<>();
+    for( int value : a ) {
+      counts.computeIfAbsent( value, key -> new int[2] )[0]++;
+    }
+    for( int value : b ) {
+      counts.computeIfAbsent( value, key -> new int[2] )[1]++;
+    }
+    List<Integer> result = new ArrayList<>();
+    for( Map.Entry<Integer, int[]> entry : counts.entrySet() ) {
+      for( int i = count.applyAsInt( entry.getValue()[0], entry.getValue()[1] ); i > 0; i-- ) {
+        result.add( entry.getKey() );
+      }
+    }
+    return result.stream().mapToInt( Integer::intValue ).toArray();
+  }
+
+  private static long[] longs( int[] values ) {
+    return Arrays.stream( values ).asLongStream().toArray();
+  }
+
+  private static List<Integer> boxed( int[] values ) {
+    return Arrays.stream( values ).boxed().toList();
+  }
+
+  private static <T> List<T> drain( Iterator<T> iterator ) {
+    List<T> result = new ArrayList<>();
+    iterator.forEachRemaining( result::add );
+    return result;
+  }
+}
@@ -0,0 +1,102 @@
+package org.sortingengine.algo.sorting;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.sortingengine.model.User;
+import org.sortingengine.model.Users;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SortingNetworksTests {
+
+  @Test
+  void test_sort_everyNetworkSortsAllZeroOneInputs() {
+    // By the 0-1 principle a network that sorts every binary input sorts every input
+    for( int n = 0; n <= SortingNetworks.MAX_SIZE; n++ ) {
+      for( int mask = 0; mask < 1 << n; mask++ ) {
+        int[] array = new int[n];
+        for( int i = 0; i < n; i++ ) {
+          array[i] = ( mask >> i ) & 1;
+        }
+        SortingNetworks.sort( array, 0, n );
+        for( int i = 0; i + 1 < n; i++ ) {
+          assertTrue( array[i] <= array[i + 1], "The network for " + n + " inputs failed on mask " + mask );
+        }
+      }
+    }
+  }
+
+  @Test
+  void test_sort_withListRange() {
+    Random rand = new Random( 21 );
+    for( int n = 0; n <= SortingNetworks.MAX_SIZE; n++ ) {
+      List<Integer> list = new ArrayList<>();
+      for( int i = 0; i < n + 4; i++ ) {
+        list.add( rand.nextInt( 50 ) );
+      }
+      List<Integer> expected = new ArrayList<>( list );
+      expected.subList( 2, 2 + n ).sort( Integer::compare );
+      SortingNetworks.sort( list, 2, 2 + n, Integer::compare );
+      assertEquals( expected, list, "Only the range of size " + n + " should be sorted." );
+    }
+  }
+
+  @Test
+  void test_sort_withLongArray() {
+    long[] array = new Random( 23 ).longs( SortingNetworks.MAX_SIZE ).toArray();
+    long[] expected = array.clone();
+    Arrays.sort( expected );
+    SortingNetworks.sort( array, 0, array.length );
+    assertArrayEquals( expected, array, "The long array should be sorted." );
+  }
+
+  @Test
+  void test_stableSort_keepsEqualElementsInOrder() {
+    for( int n = 2; n <= SortingNetworks.MAX_SIZE; n++ ) {
+      List<User> users = Users.random( n, 3, 29 + n );
+      List<User> expected = new ArrayList<>( users );
+      expected.sort( Comparator.comparing( User::id ) );
+      SortingNetworks.stableSort( users, 0, n, Comparator.comparing( User::id ) );
+      assertEquals( expected, users, "Equal users should keep their original order for size " + n + "." );
+    }
+  }
+
+  @Test
+  void test_sort_withTooLargeRange() {
+    int[] array = new int[SortingNetworks.MAX_SIZE + 1];
+    Exception exception = assertThrows( IllegalArgumentException.class,
+        () -> SortingNetworks.sort( array, 0, array.length ) );
+    assertEquals( "Sorting networks are only available for up to 16 elements.", exception.getMessage() );
+  }
+
+  @Test
+  void test_sort_withInvalidRange() {
+    List<Integer> list = Arrays.asList( 3, 1, 2 );
+    Exception exception = assertThrows( IllegalArgumentException.class,
+        () -> SortingNetworks.sort( list, 2, 1, Integer::compare ) );
+    assertEquals( "Invalid range [2, 1).", exception.getMessage() );
+  }
+
+  @Test
+  void test_sort_withNullList() {
+    Exception exception = assertThrows( IllegalArgumentException.class,
+        () -> SortingNetworks.sort( (List<Integer>) null, 0, 0, Integer::compare ) );
+    assertEquals( "The list cannot be null.", exception.getMessage() );
+  }
+
+  @Test
+  void test_sort_withNullComparator() {
+    List<Integer> list = Arrays.asList( 3, 1, 2 );
+    Exception exception = assertThrows( IllegalArgumentException.class,
+        () -> SortingNetworks.sort( list, 0, 3, null ) );
+    assertEquals( "Comparator cannot be null.", exception.getMessage() );
+  }
+}
@@ -0,0 +1,141 @@
+package org.sortingengine.io;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DelimitedFileSorterTests {
+
+  @TempDir
+  Path dir;
+
+  @Test
+  void test_sortByColumn_withTextKeys() throws IOException {
+    Path input = write( "3,carol\n1,alice\n2,bob\n" );
+    Path output = dir.resolve( "out.csv" );
+    DelimitedFileSorter.sortByColumn( input, output, ',', 1 );
+    assertEquals( "1,alice\n2,bob\n3,carol\n", read( output ), "Lines should be sorted by the second column." );
+  }
+
+  @Test
+  void test_sortByColumn_withNumericKeysAndHeader() throws IOException {
+    Path input = write( "id;name\n10;j\n9;i\n100;k\n" );
+    Path output = dir.resolve( "out.csv" );
+    DelimitedFileSorter.sortByColumn( input, output, ';', 0, true, Long::parseLong, Long::compare );
+    assertEquals( "id;name\n9;i\n10;j\n100;k\n", read( output ),
+        "The header should stay first and keys should compare numerically." );
+  }
+
+  @Test
+  void test_sortByColumn_isStable() throws IOException {
+    Path input = write( "b,1\na,2\nb,3\na,4\n" );
+    Path output = dir.resolve( "out.csv" );
+    DelimitedFileSorter.sortByColumn( input, output, ',', 0 );
+    assertEquals( "a,2\na,4\nb,1\nb,3\n", read( output ), "Lines with equal keys should keep their input order." );
+  }
+
+  @Test
+  void test_sortByColumn_withMissingColumnsAndNoFinalNewline() throws IOException {
+    Path input = write( "x,b\ny\nz,a" );
+    Path output = dir.resolve( "out.csv" );
+    DelimitedFileSorter.sortByColumn( input, output, ',', 1 );
+    assertEquals( "y\nz,a\nx,b\n", read( output ),
+        "A missing column should sort as empty and the last line should gain a terminator." );
+  }
+
+  @Test
+  void test_sortByColumn_withCrLfLineEndings() throws IOException {
+    Path input = write( "2\tb\r\n1\ta\r\n" );
+    Path output = dir.resolve( "out.tsv" );
+    DelimitedFileSorter.sortByColumn( input, output, '\t', 1 );
+    assertEquals( "1\ta\r\n2\tb\r\n", read( output ), "CRLF endings should be preserved and not be part of the key." );
+  }
+
+  @Test
+  void test_sortByColumn_withEmptyFile() throws IOException {
+    Path input = write( "" );
+    Path output = dir.resolve( "out.csv" );
+    DelimitedFileSorter.sortByColumn( input, output, ',', 0 );
+    assertEquals( "", read( output ), "An empty file should give an empty file." );
+  }
+
+  @Test
+  void test_sortByColumn_withLinesSpanningBuffers() throws IOException {
+    Random rand = new Random( 32 );
+    List<String> lines = new ArrayList<>();
+    StringBuilder content = new StringBuilder();
+    for( int i = 0; i < 500; i++ ) {
+      String line = rand.nextInt( 1000 ) + "," + "v".repeat( rand.nextInt( 200 ) ) + i;
+      lines.add( line );
+      content.append( line ).append( '\n' );
+    }
+    Path input = write( content.toString() );
+    Path output = dir.resolve( "out.csv" );
+
+    // A buffer smaller than some lines forces both compaction and growth
+    DelimitedFileSorter.sortByColumn( input, output, ',', 0, false, Integer::parseInt, Integer::compare, 64 );
+
+    lines.sort( Comparator.comparingInt( line -> Integer.parseInt( line.substring( 0, line.indexOf( ',' ) ) ) ) );
+    StringBuilder expected = new StringBuilder();
+    for( String line : lines ) {
+      expected.append( line ).append( '\n' );
+    }
+    assertEquals( expected.toString(), read( output ), "Small buffers should not change the result." );
+  }
+
+  @Test
+  void test_sortByColumn_withLargeSortedRuns() throws IOException {
+    StringBuilder content = new StringBuilder();
+    for( int i = 0; i < 20_000; i++ ) {
+      content.append( String.format( "%06d,%s\n", i, "payload" ) );
+    }
+    Path input = write( content.toString() );
+    Path output = dir.resolve( "out.csv" );
+    DelimitedFileSorter.sortByColumn( input, output, ',', 0 );
+    assertEquals( content.toString(), read( output ), "Already sorted input should be copied through unchanged." );
+  }
+
+  @Test
+  void test_sortByColumn_withInvalidArguments() throws IOException {
+    Path input = write( "a\n" );
+    Path output = dir.resolve( "out.csv" );
+    assertThrows( IllegalArgumentException.class, () -> DelimitedFileSorter.sortByColumn( null, output, ',', 0 ),
+        "A null input should be rejected." );
+    assertThrows( IllegalArgumentException.class, () -> DelimitedFileSorter.sortByColumn( input, output, ',', -1 ),
+        "A negative column should be rejected." );
+    assertThrows( IllegalArgumentException.class, () -> DelimitedFileSorter.sortByColumn( input, output, 'é', 0 ),
+        "A non-ASCII delimiter should be rejected." );
+  }
+
+  @Test
+  void test_sortByColumn_withOutputSameAsInput() throws IOException {
+    Path input = write( "2,b\n1,a\n" );
+    assertThrows( IllegalArgumentException.class, () -> DelimitedFileSorter.sortByColumn( input, input, ',', 0 ),
+        "Sorting a file onto itself should be rejected." );
+    Path alias = dir.resolve( "." ).resolve( "in.csv" );
+    assertThrows( IllegalArgumentException.class, () -> DelimitedFileSorter.sortByColumn( input, alias, ',', 0 ),
+        "Another path to the input file should be rejected." );
+    assertEquals( "2,b\n1,a\n", read( input ), "The input should be left intact." );
+  }
+
+  private Path write( String content ) throws IOException {
+    Path input = dir.resolve( "in.csv" );
+    Files.writeString( input, content, StandardCharsets.UTF_8 );
+    return input;
+  }
+
+  private static String read( Path path ) throws IOException {
+    return Files.readString( path, StandardCharsets.UTF_8 );
+  }
+}
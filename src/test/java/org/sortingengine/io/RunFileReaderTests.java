@@ -0,0 +1,209 @@
+package org.sortingengine.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RunFileReaderTests {
+
+  @TempDir
+  Path dir;
+
+  @Test
+  void test_cursor_roundTripsRecords() throws IOException {
+    for( boolean compressed : new boolean[]{ true, false } ) {
+      Path path = dir.resolve( "run-" + compressed );
+      List<String> keys = sortedKeys( 2_000, 7 );
+      try( RunFileWriter writer = new RunFileWriter( path, 512, compressed ) ) {
+        for( String key : keys ) {
+          writer.append( bytes( key ), bytes( "value-" + key ) );
+        }
+      }
+
+      try( RunFileReader reader = new RunFileReader( path ) ) {
+        assertEquals( keys.size(), reader.recordCount(), "The record count should be stored in the footer." );
+        assertTrue( reader.blockCount() > 1, "Small blocks should split the run." );
+        RunFileReader.Cursor cursor = reader.cursor();
+        for( String key : keys ) {
+          assertTrue( cursor.next(), "Every record should be read back." );
+          assertEquals( key, text( cursor.key() ), "Keys should be read back in order." );
+          assertEquals( "value-" + key, text( cursor.value() ), "Values should be read back with their keys." );
+        }
+        assertFalse( cursor.next(), "The cursor should end after the last record." );
+      }
+    }
+  }
+
+  @Test
+  void test_cursor_withEmptyRun() throws IOException {
+    Path path = dir.resolve( "empty" );
+    new RunFileWriter( path ).close();
+    try( RunFileReader reader = new RunFileReader( path ) ) {
+      assertEquals( 0, reader.recordCount(), "An empty run should have no records." );
+      assertFalse( reader.cursor().next(), "An empty run should yield nothing." );
+      assertFalse( reader.seek( bytes( "a" ) ).next(), "Seeking in an empty run should yield nothing." );
+    }
+  }
+
+  @Test
+  void test_seek_findsFirstKeyNotSmaller() throws IOException {
+    Path path = dir.resolve( "run" );
+    List<String> keys = sortedKeys( 3_000, 11 );
+    try( RunFileWriter writer = new RunFileWriter( path, 256, true ) ) {
+      for( String key : keys ) {
+        writer.append( bytes( key ), RunFileWriter.EMPTY );
+      }
+    }
+
+    Random rand = new Random( 12 );
+    try( RunFileReader reader = new RunFileReader( path ) ) {
+      for( int i = 0; i < 200; i++ ) {
+        String target = i % 2 == 0 ? keys.get( rand.nextInt( keys.size() ) ) : randomKey( rand );
+        int expected = firstNotSmaller( keys, target );
+        RunFileReader.Cursor cursor = reader.seek( bytes( target ) );
+        if( expected == keys.size() ) {
+          assertFalse( cursor.next(), "Seeking past the last key should yield nothing." );
+          continue;
+        }
+        for( int j = expected; j < Math.min( keys.size(), expected + 3 ); j++ ) {
+          assertTrue( cursor.next(), "Records after the seek target should follow." );
+          assertEquals( keys.get( j ), text( cursor.key() ), "Seek should land on the first key not smaller." );
+        }
+      }
+    }
+  }
+
+  @Test
+  void test_seek_withDuplicatesAcrossBlocks() throws IOException {
+    Path path = dir.resolve( "run" );
+    try( RunFileWriter writer = new RunFileWriter( path, 16, true ) ) {
+      writer.append( bytes( "a" ), bytes( "0" ) );
+      for( int i = 1; i <= 50; i++ ) {
+        writer.append( bytes( "m" ), bytes( Integer.toString( i ) ) );
+      }
+      writer.append( bytes( "z" ), bytes( "51" ) );
+    }
+    try( RunFileReader reader = new RunFileReader( path ) ) {
+      RunFileReader.Cursor cursor = reader.seek( bytes( "m" ) );
+      assertTrue( cursor.next(), "The duplicate key should be found." );
+      assertEquals( "1", text( cursor.value() ), "Seek should land on the first of the duplicates." );
+    }
+  }
+
+  @Test
+  void test_iterator_withCodecs() throws IOException {
+    Path path = dir.resolve( "longs" );
+    long[] values = { Long.MIN_VALUE, -5, -1, 0, 1, 42, Long.MAX_VALUE };
+    try( RunFileWriter writer = new RunFileWriter( path ) ) {
+      for( long value : values ) {
+        writer.append( value, RecordCodec.longs() );
+      }
+    }
+    try( RunFileReader reader = new RunFileReader( path ) ) {
+      Iterator<Long> iterator = reader.iterator( RecordCodec.longs() );
+      for( long value : values ) {
+        assertEquals( value, iterator.next(), "Codec records should decode to their original values." );
+      }
+      assertFalse( iterator.hasNext(), "The iterator should end after the last record." );
+      RunFileReader.Cursor cursor = reader.seek( RecordCodec.longs().encodeKey( 0L ) );
+      assertTrue( cursor.next(), "Seeking an encoded key should find it." );
+      assertEquals( 0L, RecordCodec.longs().decode( cursor.key(), cursor.value() ), "Seek should honor signed order." );
+    }
+  }
+
+  @Test
+  void test_cursor_detectsCorruptBlock() throws IOException {
+    Path path = dir.resolve( "run" );
+    try( RunFileWriter writer = new RunFileWriter( path ) ) {
+      for( String key : sortedKeys( 100, 3 ) ) {
+        writer.append( bytes( key ), bytes( key ) );
+      }
+    }
+    try( FileChannel channel = FileChannel.open( path, StandardOpenOption.WRITE ) ) {
+      channel.write( ByteBuffer.wrap( new byte[]{ 0x55 } ), RunFileWriter.HEADER_SIZE + 10 );
+    }
+    try( RunFileReader reader = new RunFileReader( path ) ) {
+      RunFileReader.Cursor cursor = reader.cursor();
+      assertThrows( IOException.class, cursor::next, "A corrupt block should fail its checksum." );
+    }
+  }
+
+  @Test
+  void test_open_detectsCorruptFooter() throws IOException {
+    Path path = dir.resolve( "run" );
+    try( RunFileWriter writer = new RunFileWriter( path ) ) {
+      for( String key : sortedKeys( 100, 4 ) ) {
+        writer.append( bytes( key ), bytes( key ) );
+      }
+    }
+    long footer = Files.size( path ) - RunFileWriter.FOOTER_SIZE;
+    ByteBuffer[] corruptions = {
+        ByteBuffer.allocate( 12 ).putLong( 0 ).putInt( 16 ).flip(),
+        ByteBuffer.allocate( 12 ).putLong( RunFileWriter.HEADER_SIZE ).putInt( -1 ).flip(),
+        ByteBuffer.allocate( 12 ).putLong( RunFileWriter.HEADER_SIZE ).putInt( Integer.MAX_VALUE ).flip(),
+        ByteBuffer.allocate( 12 ).putLong( Long.MAX_VALUE ).putInt( 16 ).flip()
+    };
+    byte[] original = Files.readAllBytes( path );
+    for( ByteBuffer corruption : corruptions ) {
+      Files.write( path, original );
+      try( FileChannel channel = FileChannel.open( path, StandardOpenOption.WRITE ) ) {
+        channel.write( corruption, footer );
+      }
+      assertThrows( IOException.class, () -> new RunFileReader( path ).close(),
+          "An index location outside the file should be rejected." );
+    }
+  }
+
+  @Test
+  void test_open_rejectsOtherFiles() throws IOException {
+    Path path = dir.resolve( "not-a-run" );
+    Files.write( path, new byte[64] );
+    assertThrows( IOException.class, () -> new RunFileReader( path ), "A file without the magic should be rejected." );
+  }
+
+  private static List<String> sortedKeys( int count, long seed ) {
+    Random rand = new Random( seed );
+    TreeSet<String> keys = new TreeSet<>();
+    while( keys.size() < count ) {
+      keys.add( randomKey( rand ) );
+    }
+    return new ArrayList<>( keys );
+  }
+
+  private static String randomKey( Random rand ) {
+    return "user/" + rand.nextInt( 50 ) + "/" + Integer.toString( rand.nextInt( 1_000_000 ), 36 );
+  }
+
+  private static int firstNotSmaller( List<String> keys, String target ) {
+    int index = 0;
+    while( index < keys.size() && keys.get( index ).compareTo( target ) < 0 ) {
+      index++;
+    }
+    return index;
+  }
+
+  private static byte[] bytes( String text ) {
+    return text.getBytes( StandardCharsets.UTF_8 );
+  }
+
+  private static String text( byte[] bytes ) {
+    return new String( bytes, StandardCharsets.UTF_8 );
+  }
+}
@@ -0,0 +1,72 @@
+package org.sortingengine.io;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RunFileWriterTests {
+
+  @TempDir
+  Path dir;
+
+  @Test
+  void test_append_prefixCompressionShrinksSortedKeys() throws IOException {
+    Path compressed = dir.resolve( "compressed" );
+    Path plain = dir.resolve( "plain" );
+    try( RunFileWriter a = new RunFileWriter( compressed, RunFileWriter.DEFAULT_BLOCK_SIZE, true );
+         RunFileWriter b = new RunFileWriter( plain, RunFileWriter.DEFAULT_BLOCK_SIZE, false ) ) {
+      for( int i = 0; i < 10_000; i++ ) {
+        byte[] key = String.format( "tenant-0042/orders/%08d", i ).getBytes();
+        a.append( key, RunFileWriter.EMPTY );
+        b.append( key, RunFileWriter.EMPTY );
+      }
+      assertEquals( 10_000, a.recordCount(), "Every append should be counted." );
+    }
+    assertTrue( Files.size( compressed ) * 3 < Files.size( plain ),
+        "Shared key prefixes should be stored only once per block." );
+  }
+
+  @Test
+  void test_append_withCodecsPreservesOrder() {
+    Random rand = new Random( 33 );
+    int[] ints = rand.ints( 1_000 ).toArray();
+    int[] byKey = Arrays.stream( ints ).boxed()
+        .sorted( ( x, y ) -> Arrays.compareUnsigned( RecordCodec.ints().encodeKey( x ),
+            RecordCodec.ints().encodeKey( y ) ) )
+        .mapToInt( Integer::intValue ).toArray();
+    int[] expected = ints.clone();
+    Arrays.sort( expected );
+    assertArrayEquals( expected, byKey, "Int keys should sort by unsigned bytes in numeric order." );
+    for( int value : new int[]{ Integer.MIN_VALUE, -1, 0, Integer.MAX_VALUE } ) {
+      assertEquals( value, RecordCodec.ints().decode( RecordCodec.ints().encodeKey( value ), RunFileWriter.EMPTY ),
+          "Int keys should decode to their value." );
+    }
+    assertEquals( "héllo", RecordCodec.utf8().decode( RecordCodec.utf8().encodeKey( "héllo" ), RunFileWriter.EMPTY ),
+        "Strings should round-trip through UTF-8." );
+  }
+
+  @Test
+  void test_append_withInvalidArguments() throws IOException {
+    assertThrows( IllegalArgumentException.class, () -> new RunFileWriter( null ), "A null path should be rejected." );
+    assertThrows( IllegalArgumentException.class, () -> new RunFileWriter( dir.resolve( "x" ), 0, true ),
+        "A non-positive block size should be rejected." );
+
+    RunFileWriter writer = new RunFileWriter( dir.resolve( "run" ) );
+    assertThrows( IllegalArgumentException.class, () -> writer.append( null, RunFileWriter.EMPTY ),
+        "A null key should be rejected." );
+    writer.close();
+    writer.close();
+    assertThrows( IllegalStateException.class, () -> writer.append( new byte[1], RunFileWriter.EMPTY ),
+        "Appending after close should be rejected." );
+  }
+}
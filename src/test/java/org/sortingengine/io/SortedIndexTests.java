@@ -0,0 +1,288 @@
+package org.sortingengine.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.sortingengine.algo.sorting.MergeSort;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SortedIndexTests {
+
+  @TempDir
+  Path dir;
+
+  @Test
+  void test_get_findsWrittenRecords() throws IOException {
+    Path path = dir.resolve( "ints" );
+    List<Integer> values = MergeSort.mergeSort( new Random( 47 ).ints( 20_000, -1_000_000, 1_000_000 ).boxed()
+        .toList(), Comparator.naturalOrder() );
+    assertEquals( values.size(), SortedIndex.write( values, RecordCodec.ints(), path ), "Every record is written." );
+
+    try( SortedIndex index = SortedIndex.open( path ) ) {
+      assertEquals( values.size(), index.recordCount(), "The record count should be stored." );
+      assertTrue( index.blockCount() > 1, "The index should span several blocks." );
+      Random rand = new Random( 48 );
+      for( int i = 0; i < 1_000; i++ ) {
+        int probe = rand.nextInt( 2_000_000 ) - 1_000_000;
+        Integer found = index.get( probe, RecordCodec.ints() );
+        assertEquals( values.contains( probe ) ? probe : null, found, "Lookup of " + probe + "." );
+      }
+      assertEquals( values.get( 0 ), index.get( values.get( 0 ), RecordCodec.ints() ), "The first key is found." );
+      assertEquals( values.get( values.size() - 1 ), index.get( values.get( values.size() - 1 ), RecordCodec.ints() ),
+          "The last key is found." );
+    }
+  }
+
+  @Test
+  void test_range_matchesSortedMap() throws IOException {
+    Path path = dir.resolve( "words" );
+    TreeMap<String, String> expected = new TreeMap<>();
+    Random rand = new Random( 49 );
+    while( expected.size() < 5_000 ) {
+      String key = "item/" + Integer.toString( rand.nextInt( 1_000_000 ), 36 );
+      expected.put( key, "value-" + key );
+    }
+    try( RunFileWriter writer = new RunFileWriter( path, 512, true ) ) {
+      for( Map.Entry<String, String> entry : expected.entrySet() ) {
+        writer.append( bytes( entry.getKey() ), bytes( entry.getValue() ) );
+      }
+    }
+
+    try( SortedIndex index = SortedIndex.open( path ) ) {
+      for( int i = 0; i < 100; i++ ) {
+        String from = "item/" + Integer.toString( rand.nextInt( 1_000_000 ), 36 );
+        String to = from + "~";
+        List<String> keys = new ArrayList<>();
+        SortedIndex.Cursor cursor = index.range( bytes( from ), bytes( to ) );
+        while( cursor.next() ) {
+          keys.add( text( cursor.key() ) );
+          assertEquals( "value-" + text( cursor.key() ), text( cursor.value() ), "Values should follow their keys." );
+        }
+        assertEquals( new ArrayList<>( expected.subMap( from, to ).keySet() ), keys, "Range " + from + "." );
+        byte[] value = index.get( bytes( from ) );
+        assertEquals( expected.get( from ), value == null ? null : text( value ), "Point lookup of " + from + "." );
+      }
+
+      List<String> all = new ArrayList<>();
+      SortedIndex.Cursor cursor = index.range( null, null );
+      while( cursor.next() ) {
+        all.add( text( cursor.key() ) );
+      }
+      assertEquals( new ArrayList<>( expected.keySet() ), all, "An unbounded range should cover every record." );
+      assertFalse( index.range( bytes( "z" ), null ).next(), "A range past the last key should be empty." );
+      assertFalse( index.range( bytes( "item/5" ), bytes( "item/4" ) ).next(), "An inverted range should be empty." );
+    }
+  }
+
+  @Test
+  void test_range_withCodec() throws IOException {
+    Path path = dir.resolve( "longs" );
+    List<Long> values = List.of( Long.MIN_VALUE, -5L, -1L, 0L, 0L, 7L, 42L, Long.MAX_VALUE );
+    SortedIndex.write( values, RecordCodec.longs(), path );
+    try( SortedIndex index = SortedIndex.open( path ) ) {
+      List<Long> range = new ArrayList<>();
+      index.range( -1L, 42L, RecordCodec.longs() ).forEachRemaining( range::add );
+      assertEquals( List.of( -1L, 0L, 0L, 7L ), range, "The range should include its start and exclude its end." );
+      Iterator<Long> tail = index.range( 8L, null, RecordCodec.longs() );
+      assertEquals( 42L, tail.next(), "An open range should start at the first key not smaller." );
+      assertEquals( Long.MAX_VALUE, tail.next(), "An open range should run to the end." );
+      assertFalse( tail.hasNext(), "An open range should end after the last record." );
+    }
+  }
+
+  @Test
+  void test_merge_combinesIndexesStably() throws IOException {
+    List<Path> inputs = new ArrayList<>();
+    List<String[]> expected = new ArrayList<>();
+    Random rand = new Random( 50 );
+    for( int input = 0; input < 4; input++ ) {
+      Path path = dir.resolve( "part-" + input );
+      inputs.add( path );
+      int[] keys = rand.ints( 1_000 + input * 300, 0, 2_000 ).sorted().toArray();
+      try( RunFileWriter writer = new RunFileWriter( path, 1_024, input % 2 == 0 ) ) {
+        for( int i = 0; i < keys.length; i++ ) {
+          String key = String.format( "%05d", keys[i] );
+          writer.append( bytes( key ), bytes( input + ":" + i ) );
+          expected.add( new String[]{ key, input + ":" + i } );
+        }
+      }
+    }
+    // A stable sort by key keeps the input order among equal keys
+    expected = MergeSort.mergeSort( expected, Comparator.comparing( record -> record[0] ) );
+
+    Path merged = dir.resolve( "merged" );
+    assertEquals( expected.size(), SortedIndex.merge( inputs, merged ), "Every record should be merged." );
+    try( SortedIndex index = SortedIndex.open( merged ) ) {
+      SortedIndex.Cursor cursor = index.range( null, null );
+      for( String[] record : expected ) {
+        assertTrue( cursor.next(), "Every record should be read back." );
+        assertArrayEquals( record, new String[]{ text( cursor.key() ), text( cursor.value() ) },
+            "Equal keys should keep the order of their inputs." );
+      }
+      assertFalse( cursor.next(), "The merged index should end after the last record." );
+    }
+
+    Path empty = dir.resolve( "empty" );
+    assertEquals( 0, SortedIndex.merge( List.of(), empty ), "Merging nothing should write an empty index." );
+    try( SortedIndex index = SortedIndex.open( empty ) ) {
+      assertNull( index.get( bytes( "a" ) ), "An empty index should find nothing." );
+    }
+  }
+
+  @Test
+  void test_merge_rejectsOutputAmongInputs() throws IOException {
+    Path first = dir.resolve( "first" );
+    Path second = dir.resolve( "second" );
+    SortedIndex.write( List.of( "a", "c" ), RecordCodec.utf8(), first );
+    SortedIndex.write( List.of( "b" ), RecordCodec.utf8(), second );
+    assertThrows( IllegalArgumentException.class, () -> SortedIndex.merge( List.of( first ), first ),
+        "Merging an index onto itself should be rejected." );
+    assertThrows( IllegalArgumentException.class,
+        () -> SortedIndex.merge( List.of( second, first ), dir.resolve( "." ).resolve( "first" ) ),
+        "Another path to an input should be rejected." );
+    try( SortedIndex index = SortedIndex.open( first ) ) {
+      assertEquals( 2, index.recordCount(), "The input should be left intact." );
+    }
+  }
+
+  @Test
+  void test_merge_leavesNoOutputOnFailure() throws IOException {
+    Path good = dir.resolve( "good" );
+    Path corrupt = dir.resolve( "corrupt" );
+    SortedIndex.write( List.of( "a", "c" ), RecordCodec.utf8(), good );
+    SortedIndex.write( List.of( "b", "d" ), RecordCodec.utf8(), corrupt );
+    try( FileChannel channel = FileChannel.open( corrupt, StandardOpenOption.WRITE ) ) {
+      channel.write( ByteBuffer.wrap( new byte[]{ 0x55 } ), RunFileWriter.HEADER_SIZE + 3 );
+    }
+    Path output = dir.resolve( "merged" );
+    assertThrows( IOException.class, () -> SortedIndex.merge( List.of( good, corrupt ), output ),
+        "A corrupt input should fail the merge." );
+    try( Stream<Path> files = Files.list( dir ) ) {
+      assertEquals( List.of( "corrupt", "good" ), files.map( file -> file.getFileName().toString() ).sorted()
+          .toList(), "Neither the output nor a temporary file should be left behind." );
+    }
+  }
+
+  @Test
+  void test_write_rejectsUnsortedRecords() {
+    Path path = dir.resolve( "unsorted" );
+    assertThrows( IllegalArgumentException.class, () -> SortedIndex.write( List.of( 1, 3, 2 ), RecordCodec.ints(),
+        path ), "Unsorted records should be rejected." );
+    assertFalse( Files.exists( path ), "A rejected index should not be left behind." );
+  }
+
+  @Test
+  void test_write_keepsExistingIndexWhenRejected() throws IOException {
+    Path path = dir.resolve( "existing" );
+    SortedIndex.write( List.of( 1, 2 ), RecordCodec.ints(), path );
+    assertThrows( IllegalArgumentException.class, () -> SortedIndex.write( List.of( 2, 1 ), RecordCodec.ints(),
+        path ), "Unsorted records should be rejected." );
+    try( SortedIndex index = SortedIndex.open( path ) ) {
+      List<Integer> values = new ArrayList<>();
+      index.range( null, null, RecordCodec.ints() ).forEachRemaining( values::add );
+      assertEquals( List.of( 1, 2 ), values, "A rejected write should leave the existing index unchanged." );
+    }
+    try( Stream<Path> files = Files.list( dir ) ) {
+      assertEquals( 1, files.count(), "No temporary file should be left behind." );
+    }
+  }
+
+  @Test
+  void test_write_rejectsOpenIndex() throws IOException {
+    Path path = dir.resolve( "open" );
+    SortedIndex.write( List.of( "a", "b" ), RecordCodec.utf8(), path );
+    SortedIndex index = SortedIndex.open( path );
+    SortedIndex other = SortedIndex.open( path );
+    assertThrows( IllegalArgumentException.class, () -> SortedIndex.write( List.of( "c" ), RecordCodec.utf8(), path ),
+        "An open index should not be overwritten." );
+    Path input = dir.resolve( "input" );
+    SortedIndex.write( List.of( "c" ), RecordCodec.utf8(), input );
+    assertThrows( IllegalArgumentException.class, () -> SortedIndex.merge( List.of( input ),
+        dir.resolve( "." ).resolve( "open" ) ), "An open index should not be merged over." );
+    assertEquals( "b", index.get( "b", RecordCodec.utf8() ), "The open index should stay readable." );
+
+    index.close();
+    index.close();
+    assertThrows( IllegalArgumentException.class, () -> SortedIndex.write( List.of( "c" ), RecordCodec.utf8(), path ),
+        "An index open on another instance should not be overwritten." );
+    other.close();
+    SortedIndex.write( List.of( "c" ), RecordCodec.utf8(), path );
+    try( SortedIndex written = SortedIndex.open( path ) ) {
+      assertEquals( "c", written.get( "c", RecordCodec.utf8() ), "A closed index should be replaceable." );
+    }
+  }
+
+  @Test
+  void test_get_detectsCorruptBlock() throws IOException {
+    Path path = dir.resolve( "corrupt" );
+    SortedIndex.write( Arrays.asList( "apple", "banana", "cherry" ), RecordCodec.utf8(), path );
+    try( FileChannel channel = FileChannel.open( path, StandardOpenOption.WRITE ) ) {
+      channel.write( ByteBuffer.wrap( new byte[]{ 0x55 } ), RunFileWriter.HEADER_SIZE + 5 );
+    }
+    try( SortedIndex index = SortedIndex.open( path ) ) {
+      assertThrows( IOException.class, () -> index.get( bytes( "banana" ) ), "A corrupt block should be detected." );
+    }
+  }
+
+  @Test
+  void test_close_rejectsFurtherReads() throws IOException {
+    Path path = dir.resolve( "closed" );
+    SortedIndex.write( List.of( "a", "b" ), RecordCodec.utf8(), path );
+    SortedIndex index = SortedIndex.open( path );
+    SortedIndex.Cursor cursor = index.range( null, null );
+    index.close();
+    assertThrows( IllegalStateException.class, () -> index.get( bytes( "a" ) ), "A closed index should be unusable." );
+    assertTrue( cursor.next(), "A cursor opened before closing should stay readable." );
+  }
+
+  @Test
+  void test_withNullArguments() throws IOException {
+    Path path = dir.resolve( "nulls" );
+    SortedIndex.write( List.of( "a" ), RecordCodec.utf8(), path );
+    assertThrows( IllegalArgumentException.class, () -> SortedIndex.open( null ), "A null path should be rejected." );
+    assertThrows( IllegalArgumentException.class, () -> SortedIndex.write( null, RecordCodec.utf8(), path ),
+        "Null records should be rejected." );
+    assertThrows( IllegalArgumentException.class, () -> SortedIndex.write( List.of( "a" ), null, path ),
+        "A null codec should be rejected." );
+    assertThrows( IllegalArgumentException.class, () -> SortedIndex.write( List.of( "a" ), RecordCodec.utf8(), null ),
+        "A null path should be rejected." );
+    assertThrows( IllegalArgumentException.class, () -> SortedIndex.merge( null, path ),
+        "Null inputs should be rejected." );
+    assertThrows( IllegalArgumentException.class, () -> SortedIndex.merge( Arrays.asList( path, null ), path ),
+        "A null input should be rejected." );
+    try( SortedIndex index = SortedIndex.open( path ) ) {
+      assertThrows( IllegalArgumentException.class, () -> index.get( null ), "A null key should be rejected." );
+      assertThrows( IllegalArgumentException.class, () -> index.get( "a", null ), "A null codec should be rejected." );
+    }
+  }
+
+  private static byte[] bytes( String text ) {
+    return text.getBytes( StandardCharsets.UTF_8 );
+  }
+
+  private static String text( byte[] bytes ) {
+    return new String( bytes, StandardCharsets.UTF_8 );
+  }
+}
@@ -0,0 +1,50 @@
+package org.sortingengine.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Builds lists of {@link User} fixtures for tests. Ids are drawn from a fixed seed, so a test sees the same users on
+ * every run, and names are unique, so tests can tell apart users with equal ids when they check stability.
+ */
+public final class Users {
+
+  /**
+   * Private Constructor to prevent instantiation.
+   */
+  private Users() {
+  }
+
+  /**
+   * Returns users named {@code user0}, {@code user1}, ... in order, with random ids.
+   *
+   * @param count The number of users.
+   * @param range The exclusive upper bound of the ids, which are not negative.
+   * @param seed  The seed of the random ids.
+   * @return A new, modifiable list of users.
+   */
+  public static List<User> random( int count, int range, long seed ) {
+    return random( "user", count, 0, range, seed );
+  }
+
+  /**
+   * Returns users named by a prefix followed by their position, such as {@code order0}, {@code order1}, ..., with
+   * random ids in a range.
+   *
+   * @param prefix The prefix of the names.
+   * @param count  The number of users.
+   * @param origin The inclusive lower bound of the ids.
+   * @param bound  The exclusive upper bound of the ids.
+   * @param seed   The seed of the random ids.
+   * @return A new, modifiable list of users.
+   */
+  public static List<User> random( String prefix, int count, int origin, int bound, long seed ) {
+    Random rand = new Random( seed );
+    List<User> users = new ArrayList<>( count );
+    for( int i = 0; i < count; i++ ) {
+      users.add( new User( origin + rand.nextInt( bound - origin ), prefix + i ) );
+    }
+    return users;
+  }
+}
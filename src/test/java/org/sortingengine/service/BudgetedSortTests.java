@@ -0,0 +1,212 @@
+package org.sortingengine.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.sortingengine.algo.sorting.MergeSort;
+import org.sortingengine.io.RecordCodec;
+import org.sortingengine.model.User;
+import org.sortingengine.model.Users;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BudgetedSortTests {
+
+  @TempDir
+  Path dir;
+
+  @Test
+  void test_sortList_withLargeBudget() {
+    List<User> users = Users.random( 10_000, 50, 38 );
+    Comparator<User> byId = Comparator.comparingInt( User::id );
+
+    BudgetedSortResult<User> result = BudgetedSort.sort( users, byId, 1 << 20 );
+    assertEquals( SortStrategy.BUFFERED_MERGE, result.report().strategy(), "The merge buffer should fit." );
+    assertEquals( MergeSort.mergeSort( users, byId ), result.elements(), "Equal ids should keep their input order." );
+    assertEquals( BudgetedSort.mergeScratchBytes( users.size() ), result.report().estimatedPeakBytes(),
+        "The peak should be the merge buffer." );
+    assertTrue( result.report().estimatedPeakBytes() <= 1 << 20, "The peak should stay within the budget." );
+  }
+
+  @Test
+  void test_sortList_returnsModifiableListForEveryStrategy() {
+    List<Integer> list = randomList( new Random( 40 ), 1_000 );
+    for( long budget : new long[]{ 0, 1 << 20 } ) {
+      List<Integer> elements = BudgetedSort.sort( list, Integer::compare, budget ).elements();
+      elements.add( -1 );
+      assertEquals( list.size() + 1, elements.size(), "The result should be modifiable with a budget of " + budget
+          + " bytes." );
+    }
+  }
+
+  @Test
+  void test_sortList_withSmallBudget() {
+    List<Integer> list = randomList( new Random( 39 ), 10_000 );
+    List<Integer> expected = new ArrayList<>( list );
+    expected.sort( Integer::compare );
+
+    for( long budget : new long[]{ 0, BudgetedSort.mergeScratchBytes( list.size() ) - 1 } ) {
+      BudgetedSortResult<Integer> result = BudgetedSort.sort( list, Integer::compare, budget );
+      assertEquals( SortStrategy.IN_PLACE, result.report().strategy(), "The merge buffer should not fit." );
+      assertEquals( expected, result.elements(), "The list should be sorted in place." );
+      assertEquals( 0, result.report().estimatedPeakBytes(), "An in-place sort should need no scratch." );
+      assertEquals( budget, result.report().budgetBytes(), "The budget should be reported." );
+    }
+  }
+
+  @Test
+  void test_sortList_reportsAllocation() {
+    List<Integer> list = randomList( new Random( 40 ), 1_000 );
+    SortReport report = BudgetedSort.sort( list, Integer::compare, Long.MAX_VALUE ).report();
+    assertTrue( report.allocatedBytes() == -1 || report.allocatedBytes() > 0,
+        "The copy should count as allocated: " + report.allocatedBytes() );
+    assertEquals( Arrays.asList( 1, 2, 3 ), BudgetedSort.sort( Arrays.asList( 3, 1, 2 ), Integer::compare, 0 )
+        .elements(), "A small list should be sorted." );
+  }
+
+  @Test
+  void test_sortStream_withLargeBudget() throws IOException {
+    List<String> strings = randomStrings( new Random( 41 ), 5_000 );
+    List<String> expected = new ArrayList<>( strings );
+    expected.sort( Comparator.naturalOrder() );
+
+    List<String> output = new ArrayList<>();
+    SortReport report = BudgetedSort.sort( strings.iterator(), Comparator.naturalOrder(), RecordCodec.utf8(),
+        64L << 20, dir, output::add );
+    assertEquals( SortStrategy.BUFFERED_MERGE, report.strategy(), "Every record should fit in memory." );
+    assertEquals( 0, report.runCount(), "Nothing should be spilled." );
+    assertEquals( expected, output, "The records should be sorted." );
+    assertTrue( report.estimatedPeakBytes() <= 64L << 20, "The peak should stay within the budget." );
+  }
+
+  @Test
+  void test_sortStream_spillsWhenOverBudget() throws IOException {
+    List<String> strings = randomStrings( new Random( 42 ), 50_000 );
+    List<String> expected = new ArrayList<>( strings );
+    expected.sort( Comparator.naturalOrder() );
+
+    long budget = 1 << 20;
+    List<String> output = new ArrayList<>();
+    SortReport report = BudgetedSort.sort( strings.iterator(), Comparator.naturalOrder(), RecordCodec.utf8(), budget,
+        dir, output::add );
+    assertEquals( SortStrategy.SPILL, report.strategy(), "The records should not fit in memory." );
+    assertTrue( report.runCount() > 1, "Several runs should be written: " + report.runCount() );
+    assertEquals( expected, output, "The merged runs should be sorted." );
+    assertTrue( report.estimatedPeakBytes() <= budget, "The peak should stay within the budget." );
+    assertNoRunFilesLeft();
+  }
+
+  @Test
+  void test_sortStream_mergesInSeveralPasses() throws IOException {
+    List<String> strings = randomStrings( new Random( 43 ), 20_000 );
+    List<String> expected = new ArrayList<>( strings );
+    expected.sort( Comparator.naturalOrder() );
+
+    // Room for little more than the writer, so runs are small and merged two or three at a time
+    long budget = 300_000;
+    List<String> output = new ArrayList<>();
+    SortReport report = BudgetedSort.sort( strings.iterator(), Comparator.naturalOrder(), RecordCodec.utf8(), budget,
+        dir, output::add );
+    assertEquals( SortStrategy.SPILL, report.strategy(), "The records should not fit in memory." );
+    assertEquals( expected, output, "The multi-pass merge should be sorted." );
+    assertNoRunFilesLeft();
+  }
+
+  @Test
+  void test_sortStream_isStable() throws IOException {
+    Random rand = new Random( 44 );
+    List<Long> values = new ArrayList<>();
+    for( int i = 0; i < 40_000; i++ ) {
+      values.add( (long) rand.nextInt( 100 ) << 32 | i );
+    }
+    // Compare the high half only; the low half records the input position
+    Comparator<Long> byHigh = Comparator.comparingLong( v -> v >>> 32 );
+
+    List<Long> output = new ArrayList<>();
+    SortReport report = BudgetedSort.sort( values.iterator(), byHigh, RecordCodec.longs(), 400_000, dir,
+        output::add );
+    assertEquals( SortStrategy.SPILL, report.strategy(), "The records should not fit in memory." );
+    assertEquals( MergeSort.mergeSort( values, byHigh ), output, "Equal keys should keep their input order." );
+  }
+
+  @Test
+  void test_sortStream_passesConsumerExceptionsThrough() throws IOException {
+    List<String> strings = randomStrings( new Random( 45 ), 20_000 );
+    UncheckedIOException failure = new UncheckedIOException( new IOException( "The consumer failed." ) );
+    UncheckedIOException thrown = assertThrows( UncheckedIOException.class,
+        () -> BudgetedSort.sort( strings.iterator(), Comparator.naturalOrder(), RecordCodec.utf8(), 1 << 20, dir,
+            record -> {
+              throw failure;
+            } ), "The consumer's exception should not be turned into a failure of the sort." );
+    assertSame( failure, thrown, "The consumer's exception should be rethrown unchanged." );
+    assertNoRunFilesLeft();
+  }
+
+  @Test
+  void test_sortStream_keepsFailureWhenCleanupFails() throws IOException {
+    List<String> strings = randomStrings( new Random( 46 ), 20_000 );
+    IllegalStateException thrown = assertThrows( IllegalStateException.class,
+        () -> BudgetedSort.sort( strings.iterator(), Comparator.naturalOrder(), RecordCodec.utf8(), 1 << 20, dir,
+            record -> {
+              // Turn a run file into a non-empty directory, which cannot be deleted
+              try( Stream<Path> files = Files.list( dir ) ) {
+                Path run = files.findFirst().orElseThrow();
+                Files.delete( run );
+                Files.createFile( Files.createDirectory( run ).resolve( "blocker" ) );
+              } catch( IOException e ) {
+                throw new UncheckedIOException( e );
+              }
+              throw new IllegalStateException( "The consumer failed." );
+            } ), "The consumer's exception should be rethrown." );
+    assertEquals( "The consumer failed.", thrown.getMessage(), "The original failure should not be hidden." );
+    assertEquals( 1, thrown.getSuppressed().length, "The cleanup failure should be suppressed." );
+    assertTrue( thrown.getSuppressed()[0] instanceof IOException, "The cleanup failure should be an I/O failure." );
+  }
+
+  @Test
+  void test_sort_withInvalidArguments() {
+    assertThrows( IllegalArgumentException.class, () -> BudgetedSort.sort( null, Integer::compare, 0 ),
+        "A null list should be rejected." );
+    assertThrows( IllegalArgumentException.class, () -> BudgetedSort.sort( List.of( 1 ), null, 0 ),
+        "A null comparator should be rejected." );
+    assertThrows( IllegalArgumentException.class, () -> BudgetedSort.sort( List.of( 1 ), Integer::compare, -1 ),
+        "A negative budget should be rejected." );
+    assertThrows( IllegalArgumentException.class, () -> BudgetedSort.sort( List.of( 1 ).iterator(),
+        Integer::compare, RecordCodec.ints(), 0, null, x -> { } ), "A null spill directory should be rejected." );
+  }
+
+  private void assertNoRunFilesLeft() throws IOException {
+    try( Stream<Path> files = Files.list( dir ) ) {
+      assertEquals( 0, files.count(), "Run files should be deleted." );
+    }
+  }
+
+  private static List<Integer> randomList( Random rand, int n ) {
+    List<Integer> list = new ArrayList<>( n );
+    for( int i = 0; i < n; i++ ) {
+      list.add( rand.nextInt( n ) );
+    }
+    return list;
+  }
+
+  private static List<String> randomStrings( Random rand, int n ) {
+    List<String> strings = new ArrayList<>( n );
+    for( int i = 0; i < n; i++ ) {
+      strings.add( Integer.toString( rand.nextInt( 1_000_000 ), 36 ) + "-" + i );
+    }
+    return strings;
+  }
+}
@@ -0,0 +1,141 @@
+package org.sortingengine.service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.sortingengine.algo.sorting.MergeSort;
+import org.sortingengine.io.RecordCodec;
+import org.sortingengine.model.User;
+import org.sortingengine.model.Users;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ShardedSortTests {
+
+  private static final RecordCodec<User> BY_ID = new RecordCodec<>() {
+    @Override
+    public byte[] encodeKey( User record ) {
+      return RecordCodec.ints().encodeKey( record.id() );
+    }
+
+    @Override
+    public byte[] encodeValue( User record ) {
+      return record.name().getBytes( StandardCharsets.UTF_8 );
+    }
+
+    @Override
+    public User decode( byte[] key, byte[] value ) {
+      return new User( RecordCodec.ints().decode( key, value ), new String( value, StandardCharsets.UTF_8 ) );
+    }
+  };
+
+  private static ShardedSort sorter;
+
+  @BeforeAll
+  static void launchWorkers() throws IOException {
+    sorter = ShardedSort.launch( 3, List.of( "-Xmx64m", "-XX:TieredStopAtLevel=1" ) );
+  }
+
+  @AfterAll
+  static void closeWorkers() {
+    sorter.close();
+  }
+
+  @Test
+  void test_sort_withIntegers() throws IOException {
+    assertEquals( 3, sorter.workers(), "All workers should be connected." );
+    Random rand = new Random( 43 );
+    List<Integer> input = new ArrayList<>();
+    for( int i = 0; i < 100_000; i++ ) {
+      input.add( rand.nextInt() );
+    }
+    List<Integer> expected = new ArrayList<>( input );
+    expected.sort( Integer::compare );
+
+    List<Integer> output = new ArrayList<>();
+    assertEquals( input.size(), sorter.sort( input, RecordCodec.ints(), output::add ), "Every record should count." );
+    assertEquals( expected, output, "The shards should concatenate to the sorted input." );
+  }
+
+  @Test
+  void test_sort_isStableAcrossShards() throws IOException {
+    List<User> users = Users.random( "user", 20_000, -50, 50, 44 );
+    List<User> output = new ArrayList<>();
+    sorter.sort( users, BY_ID, output::add );
+    assertEquals( MergeSort.mergeSort( users, Comparator.comparingInt( User::id ) ), output,
+        "Users with equal ids should keep their input order." );
+  }
+
+  @Test
+  void test_sort_reusesWorkers() throws IOException {
+    List<String> output = new ArrayList<>();
+    assertEquals( 0, sorter.sort( List.of(), RecordCodec.utf8(), output::add ), "An empty input has no records." );
+    assertTrue( output.isEmpty(), "Nothing should be output." );
+
+    sorter.sort( List.of( "pear", "apple", "fig" ), RecordCodec.utf8(), output::add );
+    sorter.sort( List.of( "b", "a" ), RecordCodec.utf8(), output::add );
+    assertEquals( List.of( "apple", "fig", "pear", "a", "b" ), output, "Each sort should be complete on its own." );
+  }
+
+  @Test
+  void test_splitters_partitionSampleEvenly() {
+    List<Integer> input = new ArrayList<>();
+    for( int i = 0; i < 1_000; i++ ) {
+      input.add( i );
+    }
+    byte[][] splitters = ShardedSort.splitters( input, RecordCodec.ints(), 4 );
+    assertEquals( 3, splitters.length, "There should be one splitter fewer than workers." );
+    int[] shardSizes = new int[4];
+    for( Integer value : input ) {
+      shardSizes[ShardedSort.shardOf( RecordCodec.ints().encodeKey( value ), splitters )]++;
+    }
+    for( int size : shardSizes ) {
+      assertTrue( size > 150 && size < 350, "Shards should be roughly even: " + Arrays.toString( shardSizes ) );
+    }
+    assertEquals( 0, ShardedSort.splitters( List.of(), RecordCodec.ints(), 4 ).length,
+        "An empty input has no splitters." );
+  }
+
+  @Test
+  void test_shardOf_keepsEqualKeysTogether() {
+    byte[][] splitters = { { 2 }, { 2 }, { 5 } };
+    assertEquals( 0, ShardedSort.shardOf( new byte[]{ 1 }, splitters ), "Keys below all splitters go first." );
+    assertEquals( 2, ShardedSort.shardOf( new byte[]{ 2 }, splitters ), "A key equal to splitters goes after them." );
+    assertEquals( 3, ShardedSort.shardOf( new byte[]{ (byte) 0xff }, splitters ), "Keys compare as unsigned." );
+    assertArrayEquals( new byte[]{ 2 }, splitters[0], "The splitters should be unchanged." );
+  }
+
+  @Test
+  void test_launch_withFailingWorker() {
+    assertThrows( IOException.class, () -> ShardedSort.launch( 1, List.of( "-XX:+NoSuchOption" ) ),
+        "A worker that cannot start should fail the launch." );
+  }
+
+  @Test
+  void test_sort_withInvalidArguments() throws IOException {
+    assertThrows( IllegalArgumentException.class, () -> ShardedSort.launch( 0, List.of() ),
+        "At least one worker is needed." );
+    assertThrows( IllegalArgumentException.class, () -> ShardedSort.launch( 1, null ),
+        "Null options should be rejected." );
+    assertThrows( IllegalArgumentException.class, () -> sorter.sort( null, RecordCodec.ints(), value -> {
+    } ), "A null input should be rejected." );
+    assertThrows( IllegalArgumentException.class, () -> sorter.sort( List.of( 1 ), null, value -> {
+    } ), "A null codec should be rejected." );
+
+    ShardedSort closed = ShardedSort.launch( 1, List.of() );
+    closed.close();
+    assertThrows( IllegalStateException.class, () -> closed.sort( List.of( 1 ), RecordCodec.ints(), value -> {
+    } ), "A closed sorter should be rejected." );
+  }
+}
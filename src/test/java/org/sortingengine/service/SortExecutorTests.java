@@ -0,0 +1,183 @@
+package org.sortingengine.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.sortingengine.algo.sorting.MergeSort;
+import org.sortingengine.model.User;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SortExecutorTests {
+  @Test
+  void test_submit_withEmptyList() {
+    try( SortExecutor executor = new SortExecutor() ) {
+      List<Integer> sortedList = executor.submit( Collections.<Integer>emptyList(), Integer::compare ).join();
+      assertTrue( sortedList.isEmpty(), "The sorted list should be empty." );
+    }
+  }
+
+  @Test
+  void test_submit_withUnsortedInput() {
+    try( SortExecutor executor = new SortExecutor() ) {
+      List<Integer> unsortedList = Arrays.asList( 4, 2, 5, 1, 3 );
+      List<Integer> sortedList = executor.submit( unsortedList, Integer::compare ).join();
+      assertEquals( Arrays.asList( 1, 2, 3, 4, 5 ), sortedList, "The list should be sorted." );
+      assertEquals( Arrays.asList( 4, 2, 5, 1, 3 ), unsortedList, "The original list should be unmodified." );
+    }
+  }
+
+  @Test
+  void test_submit_isStable() {
+    try( SortExecutor executor = new SortExecutor() ) {
+      List<User> users = Arrays.asList( new User( 2, "Bob" ), new User( 1, "Alice" ), new User( 2, "Anna" ),
+          new User( 1, "Zoe" ) );
+      List<User> sortedList = executor.submit( users, Comparator.comparing( User::id ) ).join();
+      assertEquals( Arrays.asList( new User( 1, "Alice" ), new User( 1, "Zoe" ), new User( 2, "Bob" ),
+          new User( 2, "Anna" ) ), sortedList, "Equal users should keep their original order." );
+    }
+  }
+
+  @Test
+  void test_submit_matchesMergeSortForLargeJob() {
+    try( SortExecutor executor = new SortExecutor( 16, 4, 100 ) ) {
+      List<Integer> largeList = randomList( new Random( 42 ), 50_000 );
+      List<Integer> sortedList = executor.submit( largeList, Integer::compare ).join();
+      assertEquals( MergeSort.mergeSort( largeList, Integer::compare ), sortedList,
+          "Large jobs should be sorted like MergeSort." );
+    }
+  }
+
+  @Test
+  void test_submit_withFailingComparator() {
+    try( SortExecutor executor = new SortExecutor() ) {
+      CompletableFuture<List<Integer>> future = executor.submit( Arrays.asList( 2, 1 ), ( a, b ) -> {
+        throw new IllegalStateException( "boom" );
+      } );
+      CompletionException exception = assertThrows( CompletionException.class, future::join );
+      assertInstanceOf( IllegalStateException.class, exception.getCause() );
+    }
+  }
+
+  @Test
+  void test_submit_withComparatorThrowingError() {
+    try( SortExecutor executor = new SortExecutor() ) {
+      CompletableFuture<List<Integer>> future = executor.submit( Arrays.asList( 2, 1 ), ( a, b ) -> {
+        throw new StackOverflowError();
+      } );
+      CompletionException exception = assertThrows( CompletionException.class, future::join );
+      assertInstanceOf( StackOverflowError.class, exception.getCause(), "An error should complete the future." );
+    }
+  }
+
+  @Test
+  void test_submit_racingWithClose() throws Exception {
+    for( int round = 0; round < 20; round++ ) {
+      SortExecutor executor = new SortExecutor( 8, 4, 1024 );
+      List<CompletableFuture<List<Integer>>> futures = Collections.synchronizedList( new ArrayList<>() );
+      try( ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor() ) {
+        for( int c = 0; c < 200; c++ ) {
+          callers.submit( () -> {
+            try {
+              futures.add( executor.submit( Arrays.asList( 3, 1, 2 ), Integer::compare ) );
+            } catch( IllegalStateException e ) {
+              // Rejected because the executor was already closed
+            }
+          } );
+        }
+        // Concurrent closes must not enqueue the poison pill twice
+        callers.submit( executor::close );
+        callers.submit( executor::close );
+      }
+      for( CompletableFuture<List<Integer>> future : futures ) {
+        try {
+          future.get( 10, TimeUnit.SECONDS );
+        } catch( ExecutionException e ) {
+          assertInstanceOf( IllegalStateException.class, e.getCause(), "A job racing with close should be failed." );
+        }
+      }
+      assertEquals( 0, executor.queuedJobs(), "No job should be left behind in the queue." );
+    }
+  }
+
+  @Test
+  void test_submit_withNullList() {
+    try( SortExecutor executor = new SortExecutor() ) {
+      Exception exception = assertThrows( IllegalArgumentException.class,
+          () -> executor.submit( null, Integer::compare ) );
+      assertEquals( "The list cannot be null.", exception.getMessage() );
+    }
+  }
+
+  @Test
+  void test_submit_withNullComparator() {
+    try( SortExecutor executor = new SortExecutor() ) {
+      List<Integer> list = Arrays.asList( 3, 1, 2 );
+      Exception exception = assertThrows( IllegalArgumentException.class, () -> executor.submit( list, null ) );
+      assertEquals( "Comparator cannot be null.", exception.getMessage() );
+    }
+  }
+
+  @Test
+  void test_submit_afterClose() {
+    SortExecutor executor = new SortExecutor();
+    executor.close();
+    List<Integer> list = Arrays.asList( 3, 1, 2 );
+    Exception exception = assertThrows( IllegalStateException.class,
+        () -> executor.submit( list, Integer::compare ) );
+    assertEquals( "The executor has been closed.", exception.getMessage() );
+  }
+
+  @Test
+  void test_constructor_withInvalidLimits() {
+    assertThrows( IllegalArgumentException.class, () -> new SortExecutor( 0, 1, 1 ) );
+    assertThrows( IllegalArgumentException.class, () -> new SortExecutor( 1, 0, 1 ) );
+    assertThrows( IllegalArgumentException.class, () -> new SortExecutor( 1, 1, -1 ) );
+  }
+
+  @Test
+  void test_submit_withTenThousandConcurrentCallers() throws Exception {
+    // A small queue forces callers through the back-pressure path while jobs are being coalesced
+    try( SortExecutor executor = new SortExecutor( 256, 32, 1024 );
+         ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor() ) {
+      List<Future<Boolean>> results = new ArrayList<>();
+      for( int c = 0; c < 10_000; c++ ) {
+        int seed = c;
+        results.add( callers.submit( () -> {
+          Random rand = new Random( seed );
+          List<Integer> list = randomList( rand, 10 + rand.nextInt( 990 ) );
+          List<Integer> sortedList = executor.submit( list, Integer::compare ).join();
+          List<Integer> expected = new ArrayList<>( list );
+          expected.sort( Integer::compare );
+          return expected.equals( sortedList );
+        } ) );
+      }
+      for( Future<Boolean> result : results ) {
+        assertTrue( result.get(), "Every concurrent caller should receive its own sorted list." );
+      }
+    }
+  }
+
+  private static List<Integer> randomList( Random rand, int size ) {
+    List<Integer> list = new ArrayList<>( size );
+    for( int i = 0; i < size; i++ ) {
+      list.add( rand.nextInt( 1000 ) );
+    }
+    return list;
+  }
+}
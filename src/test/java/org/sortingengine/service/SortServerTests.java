@@ -0,0 +1,223 @@
+package org.sortingengine.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SortServerTests {
+
+  private static SortServer server;
+  private static HttpClient client;
+
+  @BeforeAll
+  static void startServer() throws IOException {
+    server = SortServer.start( new InetSocketAddress( InetAddress.getLoopbackAddress(), 0 ) );
+    client = HttpClient.newHttpClient();
+  }
+
+  @AfterAll
+  static void stopServer() {
+    server.close();
+    client.close();
+  }
+
+  @Test
+  void test_sort_withLines() throws Exception {
+    HttpResponse<String> response = post( "", "pear\r\napple\nfig" );
+    assertEquals( 200, response.statusCode(), "The request should succeed." );
+    assertEquals( "apple\nfig\npear\n", response.body(), "The lines should be sorted." );
+
+    response = post( "order=desc", "b\na\nc\n" );
+    assertEquals( "c\nb\na\n", response.body(), "The lines should be sorted in descending order." );
+  }
+
+  @Test
+  void test_sort_withTextNumbers() throws Exception {
+    assertEquals( "-3\n2\n10\n", post( "type=int", "10\n-3\n2\n" ).body(), "Ints should be sorted numerically." );
+    assertEquals( "9223372036854775807\n0\n-1\n", post( "type=long&order=desc", "0\n-1\n9223372036854775807" ).body(),
+        "Longs should be sorted in descending order." );
+  }
+
+  @Test
+  void test_sort_withLargeBinaryPayloads() throws Exception {
+    int[] ints = new Random( 44 ).ints( 20_000 ).toArray();
+    int[] expectedInts = ints.clone();
+    Arrays.sort( expectedInts );
+    for( String algorithm : List.of( "pdq", "quick", "merge", "parallel" ) ) {
+      ByteBuffer body = ByteBuffer.allocate( ints.length * Integer.BYTES );
+      body.asIntBuffer().put( ints );
+      HttpResponse<byte[]> response = client.send( request( "type=int&format=binary&algorithm=" + algorithm )
+          .POST( HttpRequest.BodyPublishers.ofByteArray( body.array() ) ).build(),
+          HttpResponse.BodyHandlers.ofByteArray() );
+      assertEquals( 200, response.statusCode(), "The request should succeed with " + algorithm + "." );
+      int[] sorted = new int[ints.length];
+      ByteBuffer.wrap( response.body() ).asIntBuffer().get( sorted );
+      assertArrayEquals( expectedInts, sorted, "The ints should be sorted with " + algorithm + "." );
+    }
+
+    long[] longs = new Random( 45 ).longs( 5_000 ).toArray();
+    ByteBuffer body = ByteBuffer.allocate( longs.length * Long.BYTES );
+    body.asLongBuffer().put( longs );
+    HttpResponse<byte[]> response = client.send( request( "type=long&format=binary&order=desc" )
+        .POST( HttpRequest.BodyPublishers.ofByteArray( body.array() ) ).build(),
+        HttpResponse.BodyHandlers.ofByteArray() );
+    long[] sorted = new long[longs.length];
+    ByteBuffer.wrap( response.body() ).asLongBuffer().get( sorted );
+    Arrays.sort( longs );
+    for( int i = 0; i < longs.length; i++ ) {
+      assertEquals( longs[longs.length - 1 - i], sorted[i], "The longs should be in descending order at " + i + "." );
+    }
+  }
+
+  @Test
+  void test_sort_withMalformedRequests() throws Exception {
+    assertEquals( 400, post( "type=float", "1" ).statusCode(), "An unknown type should be rejected." );
+    assertEquals( 400, post( "colour=red", "1" ).statusCode(), "An unknown parameter should be rejected." );
+    assertEquals( 400, post( "type=int", "1\ntwo\n" ).statusCode(), "A malformed number should be rejected." );
+    assertEquals( 400, post( "type=int&format=binary", "abcdef" ).statusCode(),
+        "A binary payload of partial ints should be rejected." );
+    assertEquals( 400, post( "format=binary", "abcd" ).statusCode(), "Binary lines should be rejected." );
+    HttpResponse<String> response = client.send( request( "" ).GET().build(), HttpResponse.BodyHandlers.ofString() );
+    assertEquals( 405, response.statusCode(), "Only POST should be accepted." );
+  }
+
+  @Test
+  void test_sort_withBodyOverLimit() throws Exception {
+    try( SortServer limited = SortServer.start( new InetSocketAddress( InetAddress.getLoopbackAddress(), 0 ), 16 ) ) {
+      URI sort = URI.create( "http://" + limited.address().getHostString() + ":" + limited.address().getPort()
+          + "/sort" );
+      HttpResponse<String> response = client.send( HttpRequest.newBuilder( sort )
+          .POST( HttpRequest.BodyPublishers.ofString( "b\na\n".repeat( 4 ) ) ).build(),
+          HttpResponse.BodyHandlers.ofString() );
+      assertEquals( 200, response.statusCode(), "A body at the limit should be accepted." );
+
+      response = client.send( HttpRequest.newBuilder( sort )
+          .POST( HttpRequest.BodyPublishers.ofString( "b\na\n".repeat( 5 ) ) ).build(),
+          HttpResponse.BodyHandlers.ofString() );
+      assertEquals( 413, response.statusCode(), "A declared length over the limit should be rejected." );
+
+      // A body published from a stream has no length and is sent in chunks, so it must be counted while read
+      byte[] chunked = "b\na\n".repeat( 5 ).getBytes( StandardCharsets.UTF_8 );
+      response = client.send( HttpRequest.newBuilder( sort )
+          .POST( HttpRequest.BodyPublishers.ofInputStream( () -> new ByteArrayInputStream( chunked ) ) ).build(),
+          HttpResponse.BodyHandlers.ofString() );
+      assertEquals( 413, response.statusCode(), "A body without a length should be rejected past the limit." );
+      assertEquals( 2, limited.stats().failedRequests(), "Only the oversized requests should fail." );
+    }
+  }
+
+  @Test
+  void test_stats_withLoadGenerator() throws Exception {
+    SortServerStats before = server.stats();
+    int clients = 50;
+    int requestsPerClient = 20;
+    List<Future<Boolean>> results = new ArrayList<>();
+    try( ExecutorService load = Executors.newVirtualThreadPerTaskExecutor() ) {
+      for( int c = 0; c < clients; c++ ) {
+        Random rand = new Random( c );
+        results.add( load.submit( () -> {
+          boolean sorted = true;
+          for( int r = 0; r < requestsPerClient; r++ ) {
+            int[] values = rand.ints( 100, 0, 1_000 ).toArray();
+            StringBuilder body = new StringBuilder();
+            for( int value : values ) {
+              body.append( value ).append( '\n' );
+            }
+            Arrays.sort( values );
+            StringBuilder expected = new StringBuilder();
+            for( int value : values ) {
+              expected.append( value ).append( '\n' );
+            }
+            sorted &= expected.toString().equals( post( "type=int", body.toString() ).body() );
+          }
+          return sorted;
+        } ) );
+      }
+    }
+    for( Future<Boolean> result : results ) {
+      assertTrue( result.get(), "Every response should be sorted." );
+    }
+
+    SortServerStats after = server.stats();
+    assertTrue( after.requests() - before.requests() >= clients * requestsPerClient, "Every request should count." );
+    assertTrue( after.elements() - before.elements() >= 100L * clients * requestsPerClient,
+        "Every element should count." );
+    assertTrue( after.p50LatencyMicros() <= after.p99LatencyMicros(), "The median should not exceed the p99." );
+    assertTrue( after.meanLatencyMicros() <= after.maxLatencyMicros(), "The mean should not exceed the maximum." );
+    assertTrue( after.startupMicros() > 0, "The startup time should be measured." );
+
+    HttpResponse<String> response = client.send( request( "" ).uri( uri( "/stats", "" ) ).GET().build(),
+        HttpResponse.BodyHandlers.ofString() );
+    Properties stats = new Properties();
+    stats.load( new StringReader( response.body() ) );
+    assertTrue( Long.parseLong( stats.getProperty( "requests" ) ) >= after.requests(),
+        "The stats endpoint should report the request count." );
+    assertTrue( stats.containsKey( "p99LatencyMicros" ), "The stats endpoint should report latency." );
+  }
+
+  @Test
+  void test_percentile_readsHistogram() {
+    long[] buckets = new long[SortServer.LATENCY_BUCKETS];
+    buckets[3] = 50;
+    buckets[10] = 49;
+    buckets[20] = 1;
+    assertEquals( 8, SortServer.percentile( buckets, 100, 0.50 ), "Half of the latencies are below 8 us." );
+    assertEquals( 1 << 10, SortServer.percentile( buckets, 100, 0.99 ), "99 latencies are below 1024 us." );
+    assertEquals( 0, SortServer.percentile( new long[SortServer.LATENCY_BUCKETS], 0, 0.5 ), "No latencies." );
+  }
+
+  @Test
+  void test_lines_withLineEndings() {
+    assertEquals( List.of( "a", "", "b" ), SortServer.lines( "a\r\n\nb".getBytes( StandardCharsets.UTF_8 ) ),
+        "Lines should split on both line endings and keep empty lines." );
+    assertEquals( List.of(), SortServer.lines( new byte[0] ), "An empty body has no lines." );
+  }
+
+  @Test
+  void test_start_withNullArguments() {
+    assertThrows( IllegalArgumentException.class, () -> SortServer.start( null ), "A null address should fail." );
+    assertThrows( IllegalArgumentException.class, () -> SortServer.start( new InetSocketAddress( 0 ), null ),
+        "A null executor should fail." );
+    assertThrows( IllegalArgumentException.class, () -> SortServer.start( new InetSocketAddress( 0 ), 0 ),
+        "A body limit that is not positive should fail." );
+  }
+
+  private static HttpResponse<String> post( String query, String body ) throws IOException, InterruptedException {
+    return client.send( request( query ).POST( HttpRequest.BodyPublishers.ofString( body ) ).build(),
+        HttpResponse.BodyHandlers.ofString() );
+  }
+
+  private static HttpRequest.Builder request( String query ) {
+    return HttpRequest.newBuilder( uri( "/sort", query ) );
+  }
+
+  private static URI uri( String path, String query ) {
+    return URI.create( "http://" + server.address().getHostString() + ":" + server.address().getPort() + path
+        + ( query.isEmpty() ? "" : "?" + query ) );
+  }
+}